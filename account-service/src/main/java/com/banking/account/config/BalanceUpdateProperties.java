@@ -0,0 +1,37 @@
+package com.banking.account.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * How AccountService.updateBalance guards concurrent writers (account.balance-update.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "account.balance-update")
+public class BalanceUpdateProperties {
+
+    /**
+     * Concurrency strategy for single-account balance updates
+     */
+    private Mode mode = Mode.PESSIMISTIC;
+
+    /**
+     * Attempts made in OPTIMISTIC mode before giving up with a conflict
+     */
+    private int maxAttempts = 3;
+
+    public enum Mode {
+        /**
+         * SELECT ... FOR UPDATE inside a SERIALIZABLE transaction
+         */
+        PESSIMISTIC,
+        /**
+         * Read without locking, write with a @Version check, retry on conflict
+         */
+        OPTIMISTIC,
+        /**
+         * One UPDATE ... SET balance = balance + :amount guarded by the funds check
+         */
+        CONDITIONAL
+    }
+}
@@ -1,9 +1,15 @@
 package com.banking.account.controller;
 
-import com.banking.account.dto.AccountDto;
+import com.banking.account.dto.BatchCreateAccountRequest;
+import com.banking.account.dto.BatchGetAccountsRequest;
 import com.banking.account.dto.CreateAccountRequest;
-import com.banking.account.dto.UpdateBalanceRequest;
+import com.banking.account.dto.HotAccountRequest;
+import com.banking.account.dto.TransferFundsRequest;
+import com.banking.account.dto.TransferFundsResponse;
+import com.banking.account.exception.UnauthorizedAccessException;
 import com.banking.account.service.AccountService;
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.UpdateBalanceRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/accounts")
@@ -42,6 +49,25 @@ public class AccountController {
         return ResponseEntity.status(HttpStatus.CREATED).body(account);
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Create accounts in bulk", 
+               description = "Creates up to 500 accounts in one transaction, used by register-service when importing users. " +
+                       "**AUTHORIZATION: Only users with TELLER role can create accounts in bulk.**")
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Accounts created, in request order"),
+        @ApiResponse(responseCode = "400", description = "Invalid request"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - TELLER role required")
+    })
+    public ResponseEntity<List<AccountDto>> createAccounts(
+            @Valid @RequestBody BatchCreateAccountRequest request,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole) {
+        log.info("POST /api/accounts/batch - accounts: {}, userRole: {}", request.getAccounts().size(), userRole);
+        
+        requireTeller(userRole, "create accounts in bulk");
+        List<AccountDto> accounts = accountService.createAccounts(request.getAccounts());
+        return ResponseEntity.status(HttpStatus.CREATED).body(accounts);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get account by ID", description = "Retrieves account details by account ID")
     @ApiResponses({
@@ -50,7 +76,7 @@ public class AccountController {
         @ApiResponse(responseCode = "404", description = "Account not found")
     })
     public ResponseEntity<AccountDto> getAccount(
-            @Parameter(description = "Account ID (7-digit account number)", example = "1234567")
+            @Parameter(description = "Account ID (10-digit account number)", example = "1000000016")
             @PathVariable String id,
             @RequestHeader(value = "X-User-Id", required = false) Long authenticatedUserId,
             @RequestHeader(value = "X-User-Role", required = false) String userRole) {
@@ -60,24 +86,65 @@ public class AccountController {
         return ResponseEntity.ok(account);
     }
     
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get accounts by IDs", 
+               description = "Retrieves up to 500 accounts with one lookup. The result maps every requested ID to its " +
+                       "account, or to null when there is no account with that ID")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Accounts looked up, in request order"),
+        @ApiResponse(responseCode = "400", description = "Invalid request"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - not owner of every account found")
+    })
+    public ResponseEntity<Map<String, AccountDto>> getAccounts(
+            @Valid @RequestBody BatchGetAccountsRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) Long authenticatedUserId,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole) {
+        log.info("POST /api/accounts/batch-get - ids: {}, authenticatedUserId: {}, userRole: {}", 
+                request.getIds().size(), authenticatedUserId, userRole);
+        
+        Map<String, AccountDto> accounts = accountService.getAccounts(request.getIds(), authenticatedUserId);
+        return ResponseEntity.ok(accounts);
+    }
+    
     @PutMapping("/{id}/balance")
     @Operation(summary = "Update account balance", 
                description = "Updates account balance by adding the specified amount (use negative value to deduct)")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Balance updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid amount or insufficient funds"),
-        @ApiResponse(responseCode = "404", description = "Account not found")
+        @ApiResponse(responseCode = "404", description = "Account not found"),
+        @ApiResponse(responseCode = "409", description = "Concurrent updates exhausted the retry budget")
     })
     public ResponseEntity<AccountDto> updateBalance(
-            @Parameter(description = "Account ID (7-digit account number)", example = "1234567")
+            @Parameter(description = "Account ID (10-digit account number)", example = "1000000016")
             @PathVariable String id,
             @Valid @RequestBody UpdateBalanceRequest request) {
-        log.info("PUT /api/accounts/{}/balance - amount: {}", id, request.getAmount());
+        log.info("PUT /api/accounts/{}/balance - amount: {}", id, request.amount());
         
-        AccountDto account = accountService.updateBalance(id, request.getAmount());
+        AccountDto account = accountService.updateBalance(id, request.amount());
         return ResponseEntity.ok(account);
     }
     
+    @PostMapping("/transfer")
+    @Operation(summary = "Transfer funds between accounts", 
+               description = "Debits the source and credits the destination account atomically in one transaction")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Transfer applied to both accounts"),
+        @ApiResponse(responseCode = "400", description = "Invalid amount, same account or insufficient funds; "
+            + "the error field is \"Insufficient Funds\" only for the latter"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - not owner of the source account"),
+        @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<TransferFundsResponse> transferFunds(
+            @Valid @RequestBody TransferFundsRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) Long authenticatedUserId) {
+        log.info("POST /api/accounts/transfer - from: {}, to: {}, amount: {}", 
+                request.getFromAccountId(), request.getToAccountId(), request.getAmount());
+        
+        TransferFundsResponse response = accountService.transferFunds(request, authenticatedUserId);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get accounts by user ID", description = "Retrieves all accounts for a specific user")
     @ApiResponses({
@@ -95,6 +162,56 @@ public class AccountController {
         return ResponseEntity.ok(accounts);
     }
     
+    @PutMapping("/{id}/hot")
+    @Operation(summary = "Promote a hot account", 
+               description = "Splits the balance of a high-traffic account into slots so concurrent credits do not " +
+                       "contend on one row. Calling it again changes the number of slots. " +
+                       "**AUTHORIZATION: Only users with TELLER role can manage hot accounts.**")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Account is now a hot account"),
+        @ApiResponse(responseCode = "400", description = "Invalid number of slots"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - TELLER role required"),
+        @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<AccountDto> promoteToHotAccount(
+            @Parameter(description = "Account ID (10-digit account number)", example = "1000000016")
+            @PathVariable String id,
+            @Valid @RequestBody HotAccountRequest request,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole) {
+        log.info("PUT /api/accounts/{}/hot - slots: {}, userRole: {}", id, request.getSlots(), userRole);
+        
+        requireTeller(userRole, "manage hot accounts");
+        AccountDto account = accountService.promoteToHotAccount(id, request.getSlots());
+        return ResponseEntity.ok(account);
+    }
+    
+    @DeleteMapping("/{id}/hot")
+    @Operation(summary = "Demote a hot account", 
+               description = "Folds the balance slots back into the account. " +
+                       "**AUTHORIZATION: Only users with TELLER role can manage hot accounts.**")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Account is a regular account again"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - TELLER role required"),
+        @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<AccountDto> demoteHotAccount(
+            @Parameter(description = "Account ID (10-digit account number)", example = "1000000016")
+            @PathVariable String id,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole) {
+        log.info("DELETE /api/accounts/{}/hot - userRole: {}", id, userRole);
+        
+        requireTeller(userRole, "manage hot accounts");
+        AccountDto account = accountService.demoteHotAccount(id);
+        return ResponseEntity.ok(account);
+    }
+    
+    private void requireTeller(String userRole, String action) {
+        if (!"TELLER".equals(userRole)) {
+            log.warn("Unauthorized attempt to {} by role: {}", action, userRole);
+            throw new UnauthorizedAccessException("Only tellers are authorized to " + action);
+        }
+    }
+    
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Simple health check endpoint")
     public ResponseEntity<String> health() {
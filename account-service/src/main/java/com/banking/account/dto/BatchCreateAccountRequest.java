@@ -0,0 +1,24 @@
+package com.banking.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to create several accounts in one call")
+public class BatchCreateAccountRequest {
+    
+    @NotEmpty(message = "Accounts are required")
+    @Size(max = 500, message = "At most 500 accounts per batch")
+    @Valid
+    @Schema(description = "Accounts to create, returned in this order")
+    private List<CreateAccountRequest> accounts;
+}
@@ -0,0 +1,23 @@
+package com.banking.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to look up several accounts in one call")
+public class BatchGetAccountsRequest {
+    
+    @NotEmpty(message = "Account IDs are required")
+    @Size(max = 500, message = "At most 500 accounts per lookup")
+    @Schema(description = "Account IDs (10-digit account numbers)", example = "[\"1000000016\", \"1000000024\"]")
+    private List<@NotBlank(message = "Account ID must not be blank") String> ids;
+}
@@ -0,0 +1,22 @@
+package com.banking.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to split a high-traffic account's balance into slots")
+public class HotAccountRequest {
+    
+    @NotNull(message = "Slots is required")
+    @Min(value = 2, message = "Slots must be at least 2")
+    @Max(value = 64, message = "Slots must be at most 64")
+    @Schema(description = "Number of balance slots", example = "8")
+    private Integer slots;
+}
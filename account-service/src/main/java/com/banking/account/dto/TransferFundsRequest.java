@@ -0,0 +1,31 @@
+package com.banking.account.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to move funds between two accounts in one transaction")
+public class TransferFundsRequest {
+
+    @NotBlank(message = "Source account ID is required")
+    @Schema(description = "Source account ID", example = "1000000016")
+    private String fromAccountId;
+
+    @NotBlank(message = "Destination account ID is required")
+    @Schema(description = "Destination account ID", example = "1000000024")
+    private String toAccountId;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    @Schema(description = "Amount to transfer", example = "500.00")
+    private BigDecimal amount;
+}
@@ -0,0 +1,20 @@
+package com.banking.account.dto;
+
+import com.banking.contracts.AccountDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Both accounts after a transfer")
+public class TransferFundsResponse {
+
+    @Schema(description = "Source account after the debit")
+    private AccountDto fromAccount;
+
+    @Schema(description = "Destination account after the credit")
+    private AccountDto toAccount;
+}
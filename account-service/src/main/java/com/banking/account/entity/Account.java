@@ -17,8 +17,11 @@ import java.time.LocalDateTime;
 @Builder
 public class Account {
     
+    /**
+     * 10-digit account number assigned by {@link com.banking.account.service.AccountNumberAllocator}
+     */
     @Id
-    @Column(length = 7)
+    @Column(length = 10)
     private String id;
     
     @Column(nullable = false)
@@ -33,12 +36,20 @@ public class Account {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    @Version
+    private Long version;
+    
+    /**
+     * Number of balance slots when this is a hot account, null otherwise
+     */
+    private Integer balanceSlots;
+    
+    public boolean isHot() {
+        return balanceSlots != null;
+    }
+    
     @PrePersist
     protected void onCreate() {
-        if (id == null) {
-            // Generate 7-digit account number (1000000 to 9999999)
-            id = String.format("%07d", (int)(Math.random() * 9000000) + 1000000);
-        }
         createdAt = LocalDateTime.now();
         if (balance == null) {
             balance = BigDecimal.ZERO;
@@ -0,0 +1,43 @@
+package com.banking.account.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * One share of a hot account's balance. Writers on a hot account update a slot row instead of
+ * the account row, so concurrent credits do not queue on a single lock.
+ * The account's balance is the account row's balance plus the sum of its slots.
+ */
+@Entity
+@Table(name = "account_balance_slots")
+@IdClass(AccountBalanceSlot.SlotId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountBalanceSlot {
+    
+    @Id
+    @Column(length = 10)
+    private String accountId;
+    
+    @Id
+    private Integer slotIndex;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SlotId implements Serializable {
+        private String accountId;
+        private Integer slotIndex;
+    }
+}
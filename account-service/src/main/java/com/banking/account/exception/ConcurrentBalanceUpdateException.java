@@ -0,0 +1,11 @@
+package com.banking.account.exception;
+
+/**
+ * Exception thrown when an optimistic balance update keeps losing to concurrent writers
+ */
+public class ConcurrentBalanceUpdateException extends RuntimeException {
+
+    public ConcurrentBalanceUpdateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.banking.account.exception;
+
+import java.math.BigDecimal;
+
+/**
+ * A bad request like any other, told apart in the error body so callers can react to it
+ */
+public class InsufficientFundsException extends IllegalArgumentException {
+    public InsufficientFundsException(BigDecimal balance) {
+        super("Insufficient funds. Current balance: " + balance);
+    }
+}
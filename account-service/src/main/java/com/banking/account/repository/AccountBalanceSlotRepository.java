@@ -0,0 +1,39 @@
+package com.banking.account.repository;
+
+import com.banking.account.entity.AccountBalanceSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, AccountBalanceSlot.SlotId> {
+    
+    /**
+     * Add amount to one slot in a single statement, only if the slot stays non-negative.
+     * Runs in its own transaction when called outside one, so a slot lock is held only for this statement.
+     * Returns 0 when the slot does not exist (anymore) or cannot cover a debit.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccountBalanceSlot s SET s.balance = s.balance + :amount " +
+           "WHERE s.accountId = :accountId AND s.slotIndex = :slotIndex AND s.balance + :amount >= 0")
+    int addToSlotIfSufficient(@Param("accountId") String accountId,
+                              @Param("slotIndex") int slotIndex,
+                              @Param("amount") BigDecimal amount);
+    
+    /**
+     * Lock all slots of an account, in slot order, for consolidation.
+     * Callers must hold the account row lock first so consolidations cannot deadlock each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceSlot s WHERE s.accountId = :accountId ORDER BY s.slotIndex")
+    List<AccountBalanceSlot> findByAccountIdForUpdate(@Param("accountId") String accountId);
+}
@@ -4,10 +4,12 @@ import com.banking.account.entity.Account;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +27,30 @@ public interface AccountRepository extends JpaRepository<Account, String> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT a FROM Account a WHERE a.id = :id")
     Optional<Account> findByIdForUpdate(@Param("id") String id);
+    
+    /**
+     * Add amount to the balance in a single statement, only if the result stays non-negative.
+     * The version is bumped as well so optimistic writers notice the change.
+     * Returns the number of rows updated: 0 means the account is missing or funds are insufficient.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.version = a.version + 1 " +
+           "WHERE a.id = :id AND a.balance + :amount >= 0")
+    int addToBalanceIfSufficient(@Param("id") String id, @Param("amount") BigDecimal amount);
+    
+    /**
+     * Slot count of a hot account, without loading or locking the row.
+     * Empty for regular accounts and for unknown ids.
+     */
+    @Query("SELECT a.balanceSlots FROM Account a WHERE a.id = :id")
+    Optional<Integer> findBalanceSlotsById(@Param("id") String id);
+    
+    /**
+     * Balance of a hot account: the row plus its slots, read in one statement so a consolidation
+     * moving slot balances onto the row is seen either completely or not at all.
+     * Empty for unknown ids.
+     */
+    @Query("SELECT a.balance + COALESCE((SELECT SUM(s.balance) FROM AccountBalanceSlot s WHERE s.accountId = a.id), 0) " +
+           "FROM Account a WHERE a.id = :id")
+    Optional<BigDecimal> findTotalBalanceById(@Param("id") String id);
 }
@@ -0,0 +1,85 @@
+package com.banking.account.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out 10-digit account numbers: a 9-digit serial followed by a Luhn check digit.
+ * Serials come from the account_number_seq database sequence, which advances by a whole
+ * block per call, so each instance reserves a block and allocates from memory until it is used up.
+ * Replicas sharing the database therefore never collide, and numbers grow monotonically,
+ * which keeps inserts at the right edge of the primary key index.
+ * Numbers left in a block when an instance stops are simply never used.
+ */
+@Component
+@Slf4j
+public class AccountNumberAllocator {
+
+    static final long FIRST_SERIAL = 100_000_000L;
+    static final long LAST_SERIAL = 999_999_999L;
+
+    private static final String SEQUENCE = "account_number_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+
+    // Guarded by this; nextSerial == blockEnd means the current block is used up
+    private long nextSerial;
+    private long blockEnd;
+
+    public AccountNumberAllocator(JdbcTemplate jdbcTemplate,
+                                  @Value("${account.number.block-size:100}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * The block size is fixed when the sequence is created; all replicas must use the same value
+     */
+    @PostConstruct
+    void createSequenceIfMissing() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE
+                + " START WITH " + FIRST_SERIAL + " INCREMENT BY " + blockSize);
+    }
+
+    public synchronized String nextAccountNumber() {
+        if (nextSerial == blockEnd) {
+            reserveBlock();
+        }
+        long serial = nextSerial++;
+        return Long.toString(serial) + checkDigit(serial);
+    }
+
+    private void reserveBlock() {
+        Long blockStart = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + SEQUENCE, Long.class);
+        if (blockStart == null || blockStart + blockSize - 1 > LAST_SERIAL) {
+            throw new IllegalStateException("Account number range exhausted");
+        }
+        log.debug("Reserved account number block {} - {}", blockStart, blockStart + blockSize - 1);
+        nextSerial = blockStart;
+        blockEnd = blockStart + blockSize;
+    }
+
+    /**
+     * Luhn check digit of the serial, so that the full account number passes the Luhn check
+     */
+    static int checkDigit(long serial) {
+        int sum = 0;
+        boolean doubled = true;
+        for (long rest = serial; rest > 0; rest /= 10) {
+            int digit = (int) (rest % 10);
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -1,17 +1,29 @@
 package com.banking.account.service;
 
-import com.banking.account.dto.AccountDto;
+import com.banking.account.config.BalanceUpdateProperties;
 import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.dto.TransferFundsRequest;
+import com.banking.account.dto.TransferFundsResponse;
 import com.banking.account.entity.Account;
 import com.banking.account.exception.AccountNotFoundException;
+import com.banking.account.exception.ConcurrentBalanceUpdateException;
+import com.banking.account.exception.InsufficientFundsException;
 import com.banking.account.repository.AccountRepository;
+import com.banking.contracts.AccountDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +33,10 @@ public class AccountService {
     
     private final AccountRepository accountRepository;
     private final com.banking.account.client.RegisterServiceClient registerServiceClient;
+    private final HotAccountService hotAccountService;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final BalanceUpdateProperties balanceUpdateProperties;
+    private final PlatformTransactionManager transactionManager;
     
     @Transactional
     public AccountDto createAccount(CreateAccountRequest request) {
@@ -30,19 +46,40 @@ public class AccountService {
         // Validate that the citizen ID matches the user ID
         validateCitizenIdMatchesUserId(request.getUserId(), request.getCitizenId());
         
+        Account savedAccount = accountRepository.save(newAccount(request));
+        log.info("Account created successfully with id: {}", savedAccount.getId());
+        
+        return mapToDto(savedAccount);
+    }
+    
+    /**
+     * Default accounts for users that register-service has just imported in bulk. User and citizen IDs
+     * come from register-service's own records through a teller-only endpoint, so they are not
+     * checked back against it one by one; the accounts are inserted in JDBC batches.
+     */
+    @Transactional
+    public List<AccountDto> createAccounts(List<CreateAccountRequest> requests) {
+        log.info("Creating {} accounts in one batch", requests.size());
+        
+        List<Account> accounts = requests.stream()
+            .map(this::newAccount)
+            .collect(Collectors.toList());
+        
+        return accountRepository.saveAll(accounts).stream()
+            .map(this::mapToDto)
+            .collect(Collectors.toList());
+    }
+    
+    private Account newAccount(CreateAccountRequest request) {
         BigDecimal initialBalance = request.getInitialBalance() != null ? 
             request.getInitialBalance() : BigDecimal.ZERO;
         
-        Account account = Account.builder()
+        return Account.builder()
+            .id(accountNumberAllocator.nextAccountNumber())
             .userId(request.getUserId())
             .accountType(request.getAccountType())
             .balance(initialBalance)
             .build();
-        
-        Account savedAccount = accountRepository.save(account);
-        log.info("Account created successfully with id: {}", savedAccount.getId());
-        
-        return mapToDto(savedAccount);
     }
     
     private void validateCitizenIdMatchesUserId(Long userId, String citizenId) {
@@ -116,26 +153,173 @@ public class AccountService {
         return mapToDto(account);
     }
     
-    @Transactional(isolation = org.springframework.transaction.annotation.Isolation.SERIALIZABLE)
+    /**
+     * Look up several accounts with one query.
+     * Every requested ID is a key of the result, in request order; IDs with no account map to null.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, AccountDto> getAccounts(List<String> accountIds, Long authenticatedUserId) {
+        log.info("Fetching {} accounts for user: {}", accountIds.size(), authenticatedUserId);
+        
+        Map<String, AccountDto> accounts = new LinkedHashMap<>();
+        accountIds.forEach(id -> accounts.put(id, null));
+        
+        for (Account account : accountRepository.findAllById(accounts.keySet())) {
+            // Same rule as a single lookup: a user may only see their own accounts
+            if (authenticatedUserId != null && !account.getUserId().equals(authenticatedUserId)) {
+                log.warn("User {} attempted to access account {} owned by user {}", 
+                        authenticatedUserId, account.getId(), account.getUserId());
+                throw new com.banking.account.exception.UnauthorizedAccessException(
+                    "You are not authorized to access this account");
+            }
+            accounts.put(account.getId(), mapToDto(account));
+        }
+        
+        return accounts;
+    }
+    
+    /**
+     * Add amount to the account balance (negative amounts debit it).
+     * The concurrency strategy is chosen by account.balance-update.mode, see {@link BalanceUpdateProperties};
+     * each strategy runs its own transactions so OPTIMISTIC can retry after a conflict.
+     * Hot accounts always go through their balance slots.
+     */
     public AccountDto updateBalance(String accountId, BigDecimal amount) {
         log.info("Updating balance for account: {} by amount: {}", accountId, amount);
         
+        Integer balanceSlots = accountRepository.findBalanceSlotsById(accountId).orElse(null);
+        if (balanceSlots != null) {
+            hotAccountService.updateBalance(accountId, amount, balanceSlots);
+            return getAccount(accountId);
+        }
+        
+        Account updatedAccount = switch (balanceUpdateProperties.getMode()) {
+            case PESSIMISTIC -> inTransaction(TransactionDefinition.ISOLATION_SERIALIZABLE,
+                () -> updateBalanceLocked(accountId, amount));
+            case OPTIMISTIC -> updateBalanceOptimistic(accountId, amount);
+            case CONDITIONAL -> inTransaction(TransactionDefinition.ISOLATION_DEFAULT,
+                () -> updateBalanceConditional(accountId, amount));
+        };
+        
+        log.info("Balance updated successfully. New balance: {}", updatedAccount.getBalance());
+        
+        return mapToDto(updatedAccount);
+    }
+    
+    private Account updateBalanceLocked(String accountId, BigDecimal amount) {
         // Use pessimistic locking to prevent concurrent modifications and race conditions
-        Account account = accountRepository.findByIdForUpdate(accountId)
+        Account account = lockAccount(accountId);
+        account.setBalance(checkedNewBalance(account, amount));
+        return accountRepository.save(account);
+    }
+    
+    private Account updateBalanceOptimistic(String accountId, BigDecimal amount) {
+        int maxAttempts = balanceUpdateProperties.getMaxAttempts();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return inTransaction(TransactionDefinition.ISOLATION_DEFAULT, () -> {
+                    Account account = accountRepository.findById(accountId)
+                        .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
+                    // saveAndFlush so a stale version fails here rather than at commit
+                    account.setBalance(checkedNewBalance(account, amount));
+                    return accountRepository.saveAndFlush(account);
+                });
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Giving up balance update for account: {} after {} conflicting attempts", 
+                            accountId, attempt);
+                    throw new ConcurrentBalanceUpdateException(
+                        "Account " + accountId + " is being updated concurrently. Please try again.");
+                }
+                log.debug("Version conflict on account: {}, retrying (attempt {} of {})", 
+                        accountId, attempt + 1, maxAttempts);
+            }
+        }
+    }
+    
+    private Account updateBalanceConditional(String accountId, BigDecimal amount) {
+        // The database applies the funds check and the write atomically, so no lock or retry is needed
+        if (accountRepository.addToBalanceIfSufficient(accountId, amount) == 0) {
+            Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
+            throw new InsufficientFundsException(account.getBalance());
+        }
+        return accountRepository.findById(accountId)
             .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
-        
+    }
+    
+    private BigDecimal checkedNewBalance(Account account, BigDecimal amount) {
         BigDecimal newBalance = account.getBalance().add(amount);
         
         if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Insufficient funds. Current balance: " + account.getBalance());
+            throw new InsufficientFundsException(account.getBalance());
         }
+        return newBalance;
+    }
+    
+    private <T> T inTransaction(int isolationLevel, Supplier<T> work) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // Named as @Transactional would name it, so its statements are attributed to it in jdbc.query
+        transaction.setName(AccountService.class.getName() + ".updateBalance");
+        transaction.setIsolationLevel(isolationLevel);
+        return transaction.execute(status -> work.get());
+    }
+    
+    /**
+     * Move funds between two accounts in a single local transaction.
+     * Both rows are locked in ascending id order (account numbers have a fixed width,
+     * so string order is numeric order), which keeps concurrent transfers in opposite
+     * directions from deadlocking. The row locks alone guarantee the invariants, so the
+     * default isolation level is enough here.
+     */
+    @Transactional
+    public TransferFundsResponse transferFunds(TransferFundsRequest request, Long authenticatedUserId) {
+        String fromAccountId = request.getFromAccountId();
+        String toAccountId = request.getToAccountId();
+        BigDecimal amount = request.getAmount();
+        log.info("Transferring {} from account: {} to account: {}", amount, fromAccountId, toAccountId);
         
-        account.setBalance(newBalance);
-        Account updatedAccount = accountRepository.save(account);
+        if (fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
         
-        log.info("Balance updated successfully. New balance: {}", newBalance);
+        boolean fromLocksFirst = fromAccountId.compareTo(toAccountId) < 0;
+        Account first = lockAccount(fromLocksFirst ? fromAccountId : toAccountId);
+        Account second = lockAccount(fromLocksFirst ? toAccountId : fromAccountId);
+        Account fromAccount = fromLocksFirst ? first : second;
+        Account toAccount = fromLocksFirst ? second : first;
         
-        return mapToDto(updatedAccount);
+        // Check if the authenticated user owns the source account
+        if (authenticatedUserId != null && !fromAccount.getUserId().equals(authenticatedUserId)) {
+            log.warn("User {} attempted to transfer from account {} owned by user {}", 
+                    authenticatedUserId, fromAccountId, fromAccount.getUserId());
+            throw new com.banking.account.exception.UnauthorizedAccessException(
+                "You are not authorized to transfer from this account");
+        }
+        
+        // The destination can always be credited on its row; a hot source may need its slots folded in
+        if (fromAccount.isHot() && fromAccount.getBalance().compareTo(amount) < 0) {
+            hotAccountService.foldSlotsInto(fromAccount);
+        }
+        
+        if (fromAccount.getBalance().compareTo(amount) < 0) {
+            throw new InsufficientFundsException(fromAccount.getBalance());
+        }
+        
+        fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
+        toAccount.setBalance(toAccount.getBalance().add(amount));
+        Account updatedFrom = accountRepository.save(fromAccount);
+        Account updatedTo = accountRepository.save(toAccount);
+        
+        log.info("Transfer completed. New balances: {}={}, {}={}", 
+                fromAccountId, updatedFrom.getBalance(), toAccountId, updatedTo.getBalance());
+        
+        return new TransferFundsResponse(mapToDto(updatedFrom), mapToDto(updatedTo));
+    }
+    
+    private Account lockAccount(String accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
+            .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
     }
     
     @Transactional(readOnly = true)
@@ -167,13 +351,24 @@ public class AccountService {
             .collect(Collectors.toList());
     }
     
+    @Transactional
+    public AccountDto promoteToHotAccount(String accountId, int slots) {
+        return mapToDto(hotAccountService.promote(accountId, slots));
+    }
+    
+    @Transactional
+    public AccountDto demoteHotAccount(String accountId) {
+        return mapToDto(hotAccountService.demote(accountId));
+    }
+    
     private AccountDto mapToDto(Account account) {
         return AccountDto.builder()
             .id(account.getId())
             .userId(account.getUserId())
-            .balance(account.getBalance())
+            .balance(account.isHot() ? hotAccountService.totalBalance(account.getId()) : account.getBalance())
             .accountType(account.getAccountType())
             .createdAt(account.getCreatedAt())
+            .balanceSlots(account.getBalanceSlots())
             .build();
     }
 }
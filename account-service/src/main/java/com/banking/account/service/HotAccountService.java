@@ -0,0 +1,146 @@
+package com.banking.account.service;
+
+import com.banking.account.entity.Account;
+import com.banking.account.entity.AccountBalanceSlot;
+import com.banking.account.exception.AccountNotFoundException;
+import com.banking.account.exception.InsufficientFundsException;
+import com.banking.account.repository.AccountBalanceSlotRepository;
+import com.banking.account.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Balance updates for hot accounts, whose balance is spread over {@link AccountBalanceSlot} rows.
+ * Credits land on a random slot and debits are taken from any slot that can cover them, each as a
+ * single guarded UPDATE. Only when no slot can cover a debit (or the slots changed underneath us)
+ * do we lock the account row and fold the slots back into it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotAccountService {
+    
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository slotRepository;
+    private final PlatformTransactionManager transactionManager;
+    
+    /**
+     * Split the account's balance into the given number of slots, or change the number of slots
+     * of an account that is already hot. The current balance stays on the account row.
+     */
+    @Transactional
+    public Account promote(String accountId, int slots) {
+        log.info("Promoting account: {} to hot account with {} balance slots", accountId, slots);
+        
+        Account account = lockAccount(accountId);
+        List<AccountBalanceSlot> existingSlots = foldSlotsInto(account);
+        
+        // Keep slots that still fit so their rows are reused, drop the rest and add the missing ones
+        List<AccountBalanceSlot> removed = new ArrayList<>();
+        for (AccountBalanceSlot slot : existingSlots) {
+            if (slot.getSlotIndex() >= slots) {
+                removed.add(slot);
+            }
+        }
+        slotRepository.deleteAll(removed);
+        
+        List<AccountBalanceSlot> added = new ArrayList<>();
+        for (int index = existingSlots.size() - removed.size(); index < slots; index++) {
+            added.add(AccountBalanceSlot.builder()
+                .accountId(accountId)
+                .slotIndex(index)
+                .balance(BigDecimal.ZERO)
+                .build());
+        }
+        slotRepository.saveAll(added);
+        
+        account.setBalanceSlots(slots);
+        return accountRepository.save(account);
+    }
+    
+    /**
+     * Fold all slots back into the account row and remove them
+     */
+    @Transactional
+    public Account demote(String accountId) {
+        log.info("Demoting hot account: {}", accountId);
+        
+        Account account = lockAccount(accountId);
+        slotRepository.deleteAll(foldSlotsInto(account));
+        
+        account.setBalanceSlots(null);
+        return accountRepository.save(account);
+    }
+    
+    /**
+     * Apply amount to a hot account with the given slot count (negative amounts debit it).
+     * Not transactional on purpose: each slot attempt commits on its own, so a debit that
+     * misses on one slot does not keep that slot locked while it tries the next.
+     */
+    public void updateBalance(String accountId, BigDecimal amount, int slots) {
+        int start = ThreadLocalRandom.current().nextInt(slots);
+        // A credit always fits its slot; a debit tries every slot once
+        int attempts = amount.signum() >= 0 ? 1 : slots;
+        
+        for (int i = 0; i < attempts; i++) {
+            if (slotRepository.addToSlotIfSufficient(accountId, (start + i) % slots, amount) == 1) {
+                return;
+            }
+        }
+        
+        log.debug("No balance slot of account: {} could take amount: {}, consolidating", accountId, amount);
+        TransactionTemplate consolidation = new TransactionTemplate(transactionManager);
+        consolidation.setName(HotAccountService.class.getName() + ".updateBalance");
+        consolidation.executeWithoutResult(status -> {
+            Account account = lockAccount(accountId);
+            if (account.getBalance().add(amount).compareTo(BigDecimal.ZERO) < 0) {
+                foldSlotsInto(account);
+            }
+            BigDecimal newBalance = account.getBalance().add(amount);
+            if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
+                throw new InsufficientFundsException(account.getBalance());
+            }
+            account.setBalance(newBalance);
+            accountRepository.save(account);
+        });
+    }
+    
+    /**
+     * Move the slot balances onto the account row, leaving the slots at zero.
+     * The caller must hold the account row lock inside a transaction.
+     */
+    public List<AccountBalanceSlot> foldSlotsInto(Account account) {
+        List<AccountBalanceSlot> slots = slotRepository.findByAccountIdForUpdate(account.getId());
+        BigDecimal slotTotal = BigDecimal.ZERO;
+        for (AccountBalanceSlot slot : slots) {
+            slotTotal = slotTotal.add(slot.getBalance());
+            slot.setBalance(BigDecimal.ZERO);
+        }
+        account.setBalance(account.getBalance().add(slotTotal));
+        return slots;
+    }
+    
+    /**
+     * Balance of a hot account: the account row plus everything held in its slots. Both are read
+     * in one statement; adding a separately read row balance to the slot sum could miss or double
+     * what a concurrent consolidation moved between them.
+     */
+    public BigDecimal totalBalance(String accountId) {
+        return accountRepository.findTotalBalanceById(accountId)
+            .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
+    }
+    
+    private Account lockAccount(String accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
+            .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
+    }
+}
@@ -1,11 +1,19 @@
 package com.banking.account.controller;
 
-import com.banking.account.dto.AccountDto;
+import com.banking.account.dto.BatchCreateAccountRequest;
+import com.banking.account.dto.BatchGetAccountsRequest;
 import com.banking.account.dto.CreateAccountRequest;
-import com.banking.account.dto.UpdateBalanceRequest;
+import com.banking.account.dto.HotAccountRequest;
+import com.banking.account.dto.TransferFundsRequest;
+import com.banking.account.dto.TransferFundsResponse;
 import com.banking.account.exception.AccountNotFoundException;
+import com.banking.account.exception.InsufficientFundsException;
 import com.banking.account.service.AccountService;
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.AccountErrors;
+import com.banking.contracts.UpdateBalanceRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,11 +25,16 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -139,6 +152,36 @@ class AccountControllerTest {
                 .andExpect(status().isNotFound());
     }
     
+    @Test
+    void testGetAccounts_ReturnsAccountsAndNullForMissingIds() throws Exception {
+        // Given
+        Map<String, AccountDto> accounts = new LinkedHashMap<>();
+        accounts.put("1234567", testAccountDto);
+        accounts.put("9999999", null);
+        when(accountService.getAccounts(List.of("1234567", "9999999"), 1L)).thenReturn(accounts);
+        
+        // When & Then
+        mockMvc.perform(post("/accounts/batch-get")
+                .header("X-User-Id", 1L)
+                .header("X-User-Role", "CUSTOMER")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchGetAccountsRequest(List.of("1234567", "9999999")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['1234567'].balance").value(1000.00))
+                .andExpect(jsonPath("$['9999999']").value(nullValue()));
+    }
+    
+    @Test
+    void testGetAccounts_EmptyIds_Returns400() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/accounts/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchGetAccountsRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+        
+        verify(accountService, never()).getAccounts(any(), any());
+    }
+    
     @Test
     void testUpdateBalance_ValidRequest_Returns200() throws Exception {
         // Given
@@ -165,6 +208,30 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.balance").value(1500.00));
     }
     
+    @Test
+    void testUpdateBalance_CborRequest_RespondsInCbor() throws Exception {
+        // Given
+        String accountId = "1234567";
+        ObjectMapper cborMapper = new CBORMapper();
+        UpdateBalanceRequest updateRequest = new UpdateBalanceRequest(new BigDecimal("500.00"));
+        
+        when(accountService.updateBalance(eq(accountId), any(BigDecimal.class)))
+            .thenReturn(testAccountDto);
+        
+        // When
+        byte[] body = mockMvc.perform(put("/accounts/{id}/balance", accountId)
+                .contentType("application/cbor")
+                .accept("application/cbor", MediaType.APPLICATION_JSON_VALUE + ";q=0.9")
+                .content(cborMapper.writeValueAsBytes(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        // Then
+        verify(accountService).updateBalance(accountId, new BigDecimal("500.00"));
+        assertThat(cborMapper.readTree(body).get("id").asText()).isEqualTo(accountId);
+    }
+    
     @Test
     void testUpdateBalance_MissingAmount_Returns400() throws Exception {
         // Given
@@ -185,15 +252,155 @@ class AccountControllerTest {
         UpdateBalanceRequest updateRequest = new UpdateBalanceRequest(new BigDecimal("-1500.00"));
         
         when(accountService.updateBalance(eq(accountId), any(BigDecimal.class)))
-            .thenThrow(new IllegalArgumentException("Insufficient funds. Current balance: 1000.00"));
+            .thenThrow(new InsufficientFundsException(new BigDecimal("1000.00")));
         
         // When & Then
         mockMvc.perform(put("/accounts/{id}/balance", accountId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(AccountErrors.INSUFFICIENT_FUNDS));
+    }
+    
+    @Test
+    void testTransferFunds_Returns200() throws Exception {
+        // Given
+        TransferFundsRequest transferRequest = new TransferFundsRequest("1234567", "7654321", new BigDecimal("300.00"));
+        AccountDto fromAccount = AccountDto.builder()
+            .id("1234567")
+            .userId(1L)
+            .balance(new BigDecimal("700.00"))
+            .accountType("SAVINGS")
+            .build();
+        AccountDto toAccount = AccountDto.builder()
+            .id("7654321")
+            .userId(2L)
+            .balance(new BigDecimal("300.00"))
+            .accountType("SAVINGS")
+            .build();
+        
+        when(accountService.transferFunds(any(TransferFundsRequest.class), eq(null)))
+            .thenReturn(new TransferFundsResponse(fromAccount, toAccount));
+        
+        // When & Then
+        mockMvc.perform(post("/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transferRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromAccount.balance").value(700.00))
+                .andExpect(jsonPath("$.toAccount.balance").value(300.00));
+    }
+    
+    @Test
+    void testTransferFunds_NonPositiveAmount_Returns400() throws Exception {
+        // Given
+        TransferFundsRequest transferRequest = new TransferFundsRequest("1234567", "7654321", new BigDecimal("-1.00"));
+        
+        // When & Then
+        mockMvc.perform(post("/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transferRequest)))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void testTransferFunds_SameAccount_Returns400WithoutInsufficientFundsError() throws Exception {
+        // Given
+        TransferFundsRequest transferRequest = new TransferFundsRequest("1234567", "1234567", new BigDecimal("10.00"));
+        when(accountService.transferFunds(any(TransferFundsRequest.class), eq(null)))
+            .thenThrow(new IllegalArgumentException("Cannot transfer to the same account"));
+        
+        // When & Then - callers map only the insufficient funds error to a rejected debit
+        mockMvc.perform(post("/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transferRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"));
+    }
+    
+    @Test
+    void testPromoteToHotAccount_AsTeller_Returns200() throws Exception {
+        // Given
+        AccountDto hotAccount = AccountDto.builder()
+            .id("1234567")
+            .userId(1L)
+            .balance(new BigDecimal("1000.00"))
+            .accountType("SAVINGS")
+            .balanceSlots(8)
+            .build();
+        when(accountService.promoteToHotAccount("1234567", 8)).thenReturn(hotAccount);
+        
+        // When & Then
+        mockMvc.perform(put("/accounts/{id}/hot", "1234567")
+                .header("X-User-Role", "TELLER")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new HotAccountRequest(8))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balanceSlots").value(8));
+    }
+    
+    @Test
+    void testPromoteToHotAccount_AsCustomer_Returns403() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/accounts/{id}/hot", "1234567")
+                .header("X-User-Role", "CUSTOMER")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new HotAccountRequest(8))))
+                .andExpect(status().isForbidden());
+        
+        verify(accountService, never()).promoteToHotAccount(any(), any(Integer.class));
+    }
+    
+    @Test
+    void testPromoteToHotAccount_TooFewSlots_Returns400() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/accounts/{id}/hot", "1234567")
+                .header("X-User-Role", "TELLER")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new HotAccountRequest(1))))
                 .andExpect(status().isBadRequest());
     }
     
+    @Test
+    void testCreateAccounts_AsTeller_Returns201() throws Exception {
+        // Given
+        CreateAccountRequest request = new CreateAccountRequest(1L, "1234567890123", "SAVINGS", null);
+        when(accountService.createAccounts(List.of(request))).thenReturn(List.of(testAccountDto));
+        
+        // When & Then
+        mockMvc.perform(post("/accounts/batch")
+                .header("X-User-Role", "TELLER")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchCreateAccountRequest(List.of(request)))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(testAccountDto.id()));
+    }
+    
+    @Test
+    void testCreateAccounts_AsCustomer_Returns403() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/accounts/batch")
+                .header("X-User-Role", "CUSTOMER")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchCreateAccountRequest(
+                        List.of(new CreateAccountRequest(1L, "1234567890123", "SAVINGS", null))))))
+                .andExpect(status().isForbidden());
+        
+        verify(accountService, never()).createAccounts(any());
+    }
+    
+    @Test
+    void testDemoteHotAccount_AsTeller_Returns200() throws Exception {
+        // Given
+        when(accountService.demoteHotAccount("1234567")).thenReturn(testAccountDto);
+        
+        // When & Then
+        mockMvc.perform(delete("/accounts/{id}/hot", "1234567")
+                .header("X-User-Role", "TELLER"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balanceSlots").doesNotExist());
+    }
+    
     @Test
     void testGetAccountsByUserId_Returns200() throws Exception {
         // Given
@@ -0,0 +1,102 @@
+package com.banking.account.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberAllocatorTest {
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    private AccountNumberAllocator allocator;
+    
+    @BeforeEach
+    void setUp() {
+        allocator = new AccountNumberAllocator(jdbcTemplate, 3);
+    }
+    
+    @Test
+    void testCreateSequence_UsesBlockSizeAsIncrement() {
+        // When
+        allocator.createSequenceIfMissing();
+        
+        // Then
+        verify(jdbcTemplate).execute(contains("INCREMENT BY 3"));
+    }
+    
+    @Test
+    void testNextAccountNumber_OneDatabaseRoundTripPerBlock() {
+        // Given - two replicas share the sequence, this one gets every other block
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+            .thenReturn(100000000L, 100000006L);
+        
+        // When
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            numbers.add(allocator.nextAccountNumber());
+        }
+        
+        // Then
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+        assertThat(numbers).hasSize(6)
+            .extracting(number -> number.substring(0, 9))
+            .containsExactlyInAnyOrder("100000000", "100000001", "100000002",
+                                       "100000006", "100000007", "100000008");
+    }
+    
+    @Test
+    void testNextAccountNumber_TenDigitsAndPassesLuhnCheck() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(123456789L);
+        
+        // When
+        String accountNumber = allocator.nextAccountNumber();
+        
+        // Then
+        assertThat(accountNumber).isEqualTo("1234567897").hasSize(10);
+        assertThat(passesLuhn(accountNumber)).isTrue();
+    }
+    
+    @Test
+    void testCheckDigit_DetectsSingleDigitTypo() {
+        // Given
+        String accountNumber = "1000000016";
+        String typo = "1000000916";
+        
+        // Then
+        assertThat(passesLuhn(accountNumber)).isTrue();
+        assertThat(passesLuhn(typo)).isFalse();
+    }
+    
+    @Test
+    void testNextAccountNumber_RangeExhausted_ThrowsException() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+            .thenReturn(AccountNumberAllocator.LAST_SERIAL - 1);
+        
+        // When & Then
+        assertThatThrownBy(() -> allocator.nextAccountNumber())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("exhausted");
+    }
+    
+    private static boolean passesLuhn(String number) {
+        long serial = Long.parseLong(number.substring(0, number.length() - 1));
+        return AccountNumberAllocator.checkDigit(serial) == number.charAt(number.length() - 1) - '0';
+    }
+}
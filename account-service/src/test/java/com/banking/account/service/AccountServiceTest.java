@@ -1,21 +1,31 @@
 package com.banking.account.service;
 
-import com.banking.account.dto.AccountDto;
+import com.banking.account.config.BalanceUpdateProperties;
 import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.dto.TransferFundsRequest;
+import com.banking.account.dto.TransferFundsResponse;
 import com.banking.account.entity.Account;
 import com.banking.account.exception.AccountNotFoundException;
+import com.banking.account.exception.ConcurrentBalanceUpdateException;
+import com.banking.account.exception.UnauthorizedAccessException;
 import com.banking.account.repository.AccountRepository;
+import com.banking.contracts.AccountDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -33,6 +43,18 @@ class AccountServiceTest {
     @Mock
     private com.banking.account.client.RegisterServiceClient registerServiceClient;
     
+    @Mock
+    private HotAccountService hotAccountService;
+    
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Spy
+    private BalanceUpdateProperties balanceUpdateProperties = new BalanceUpdateProperties();
+    
     @InjectMocks
     private AccountService accountService;
     
@@ -62,6 +84,7 @@ class AccountServiceTest {
     @Test
     void testCreateAccount_Success() {
         // Given
+        when(accountNumberAllocator.nextAccountNumber()).thenReturn("1000000016");
         when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
         
         // When
@@ -69,9 +92,9 @@ class AccountServiceTest {
         
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getUserId()).isEqualTo(1L);
-        assertThat(result.getAccountType()).isEqualTo("SAVINGS");
-        verify(accountRepository).save(any(Account.class));
+        assertThat(result.userId()).isEqualTo(1L);
+        assertThat(result.accountType()).isEqualTo("SAVINGS");
+        verify(accountRepository).save(argThat(account -> "1000000016".equals(account.getId())));
     }
     
     @Test
@@ -93,10 +116,30 @@ class AccountServiceTest {
         
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getBalance()).isEqualTo(BigDecimal.ZERO);
+        assertThat(result.balance()).isEqualTo(BigDecimal.ZERO);
         verify(accountRepository).save(any(Account.class));
     }
     
+    @Test
+    void testCreateAccounts_SavesAllInOneCall_WithoutCitizenIdLookups() {
+        // Given
+        when(accountNumberAllocator.nextAccountNumber()).thenReturn("1000000016", "1000000024");
+        when(accountRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<CreateAccountRequest> requests = List.of(
+            new CreateAccountRequest(1L, "1234567890123", "SAVINGS", new BigDecimal("100.00")),
+            new CreateAccountRequest(2L, "1234567890124", "SAVINGS", null));
+        
+        // When
+        List<AccountDto> result = accountService.createAccounts(requests);
+        
+        // Then
+        assertThat(result).extracting(AccountDto::id).containsExactly("1000000016", "1000000024");
+        assertThat(result).extracting(AccountDto::userId).containsExactly(1L, 2L);
+        assertThat(result.get(1).balance()).isEqualTo(BigDecimal.ZERO);
+        verify(accountRepository).saveAll(anyList());
+        verifyNoInteractions(registerServiceClient);
+    }
+    
     @Test
     void testUpdateBalance_Success() {
         // Given
@@ -120,7 +163,7 @@ class AccountServiceTest {
         
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getBalance()).isEqualTo(expectedBalance);
+        assertThat(result.balance()).isEqualTo(expectedBalance);
         verify(accountRepository).findByIdForUpdate(accountId);
         verify(accountRepository).save(any(Account.class));
     }
@@ -159,6 +202,250 @@ class AccountServiceTest {
         verify(accountRepository, never()).save(any(Account.class));
     }
     
+    @Test
+    void testUpdateBalance_OptimisticMode_SavesWithoutLocking() {
+        // Given
+        balanceUpdateProperties.setMode(BalanceUpdateProperties.Mode.OPTIMISTIC);
+        String accountId = "1234567";
+        
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(testAccount));
+        when(accountRepository.saveAndFlush(testAccount)).thenReturn(testAccount);
+        
+        // When
+        AccountDto result = accountService.updateBalance(accountId, new BigDecimal("500.00"));
+        
+        // Then
+        assertThat(result.balance()).isEqualByComparingTo("1500.00");
+        verify(accountRepository, never()).findByIdForUpdate(any());
+    }
+    
+    @Test
+    void testUpdateBalance_OptimisticMode_RetriesAfterVersionConflict() {
+        // Given
+        balanceUpdateProperties.setMode(BalanceUpdateProperties.Mode.OPTIMISTIC);
+        String accountId = "1234567";
+        
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(testAccount));
+        when(accountRepository.saveAndFlush(testAccount))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, accountId))
+            .thenReturn(testAccount);
+        
+        // When
+        AccountDto result = accountService.updateBalance(accountId, new BigDecimal("-100.00"));
+        
+        // Then
+        assertThat(result).isNotNull();
+        verify(accountRepository, times(2)).findById(accountId);
+        verify(accountRepository, times(2)).saveAndFlush(testAccount);
+    }
+    
+    @Test
+    void testUpdateBalance_OptimisticMode_GivesUpAfterMaxAttempts() {
+        // Given
+        balanceUpdateProperties.setMode(BalanceUpdateProperties.Mode.OPTIMISTIC);
+        balanceUpdateProperties.setMaxAttempts(2);
+        String accountId = "1234567";
+        
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(testAccount));
+        when(accountRepository.saveAndFlush(testAccount))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, accountId));
+        
+        // When & Then
+        assertThatThrownBy(() -> accountService.updateBalance(accountId, new BigDecimal("100.00")))
+            .isInstanceOf(ConcurrentBalanceUpdateException.class)
+            .hasMessageContaining(accountId);
+        
+        verify(accountRepository, times(2)).saveAndFlush(testAccount);
+    }
+    
+    @Test
+    void testUpdateBalance_ConditionalMode_UsesSingleGuardedUpdate() {
+        // Given
+        balanceUpdateProperties.setMode(BalanceUpdateProperties.Mode.CONDITIONAL);
+        String accountId = "1234567";
+        BigDecimal amount = new BigDecimal("-200.00");
+        
+        when(accountRepository.addToBalanceIfSufficient(accountId, amount)).thenReturn(1);
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(testAccount));
+        
+        // When
+        AccountDto result = accountService.updateBalance(accountId, amount);
+        
+        // Then
+        assertThat(result.id()).isEqualTo(accountId);
+        verify(accountRepository, never()).findByIdForUpdate(any());
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+    
+    @Test
+    void testUpdateBalance_ConditionalMode_InsufficientFunds_ThrowsException() {
+        // Given
+        balanceUpdateProperties.setMode(BalanceUpdateProperties.Mode.CONDITIONAL);
+        String accountId = "1234567";
+        BigDecimal amount = new BigDecimal("-1500.00");
+        
+        when(accountRepository.addToBalanceIfSufficient(accountId, amount)).thenReturn(0);
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(testAccount));
+        
+        // When & Then
+        assertThatThrownBy(() -> accountService.updateBalance(accountId, amount))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Insufficient funds");
+    }
+    
+    @Test
+    void testUpdateBalance_ConditionalMode_AccountNotFound_ThrowsException() {
+        // Given
+        balanceUpdateProperties.setMode(BalanceUpdateProperties.Mode.CONDITIONAL);
+        String accountId = "9999999";
+        BigDecimal amount = new BigDecimal("100.00");
+        
+        when(accountRepository.addToBalanceIfSufficient(accountId, amount)).thenReturn(0);
+        when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
+        
+        // When & Then
+        assertThatThrownBy(() -> accountService.updateBalance(accountId, amount))
+            .isInstanceOf(AccountNotFoundException.class);
+    }
+    
+    @Test
+    void testUpdateBalance_HotAccount_GoesThroughBalanceSlots() {
+        // Given
+        String accountId = "1234567";
+        BigDecimal amount = new BigDecimal("250.00");
+        testAccount.setBalanceSlots(4);
+        
+        when(accountRepository.findBalanceSlotsById(accountId)).thenReturn(Optional.of(4));
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(testAccount));
+        when(hotAccountService.totalBalance(testAccount.getId())).thenReturn(new BigDecimal("1250.00"));
+        
+        // When
+        AccountDto result = accountService.updateBalance(accountId, amount);
+        
+        // Then
+        assertThat(result.balance()).isEqualByComparingTo("1250.00");
+        assertThat(result.balanceSlots()).isEqualTo(4);
+        verify(hotAccountService).updateBalance(accountId, amount, 4);
+        verify(accountRepository, never()).findByIdForUpdate(any());
+    }
+    
+    @Test
+    void testTransferFunds_Success_LocksAccountsInIdOrder() {
+        // Given
+        Account receiver = Account.builder()
+            .id("1000001")
+            .userId(2L)
+            .balance(new BigDecimal("200.00"))
+            .accountType("SAVINGS")
+            .createdAt(LocalDateTime.now())
+            .build();
+        TransferFundsRequest request = new TransferFundsRequest("1234567", "1000001", new BigDecimal("300.00"));
+        
+        when(accountRepository.findByIdForUpdate("1000001")).thenReturn(Optional.of(receiver));
+        when(accountRepository.findByIdForUpdate("1234567")).thenReturn(Optional.of(testAccount));
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        TransferFundsResponse result = accountService.transferFunds(request, 1L);
+        
+        // Then
+        assertThat(result.getFromAccount().balance()).isEqualByComparingTo("700.00");
+        assertThat(result.getToAccount().balance()).isEqualByComparingTo("500.00");
+        InOrder lockOrder = inOrder(accountRepository);
+        lockOrder.verify(accountRepository).findByIdForUpdate("1000001");
+        lockOrder.verify(accountRepository).findByIdForUpdate("1234567");
+        verify(accountRepository, times(2)).save(any(Account.class));
+    }
+    
+    @Test
+    void testTransferFunds_InsufficientFunds_ThrowsException() {
+        // Given
+        Account receiver = Account.builder()
+            .id("7654321")
+            .userId(2L)
+            .balance(BigDecimal.ZERO)
+            .accountType("SAVINGS")
+            .createdAt(LocalDateTime.now())
+            .build();
+        TransferFundsRequest request = new TransferFundsRequest("1234567", "7654321", new BigDecimal("1500.00"));
+        
+        when(accountRepository.findByIdForUpdate("1234567")).thenReturn(Optional.of(testAccount));
+        when(accountRepository.findByIdForUpdate("7654321")).thenReturn(Optional.of(receiver));
+        
+        // When & Then
+        assertThatThrownBy(() -> accountService.transferFunds(request, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Insufficient funds");
+        
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+    
+    @Test
+    void testTransferFunds_HotSourceShortOnRow_FoldsSlotsBeforeFundsCheck() {
+        // Given - most of the hot account's money sits in its slots
+        testAccount.setBalance(new BigDecimal("100.00"));
+        testAccount.setBalanceSlots(4);
+        Account receiver = Account.builder()
+            .id("7654321")
+            .userId(2L)
+            .balance(BigDecimal.ZERO)
+            .accountType("SAVINGS")
+            .build();
+        TransferFundsRequest request = new TransferFundsRequest("1234567", "7654321", new BigDecimal("500.00"));
+        
+        when(accountRepository.findByIdForUpdate("1234567")).thenReturn(Optional.of(testAccount));
+        when(accountRepository.findByIdForUpdate("7654321")).thenReturn(Optional.of(receiver));
+        doAnswer(invocation -> {
+            testAccount.setBalance(new BigDecimal("900.00"));
+            return List.of();
+        }).when(hotAccountService).foldSlotsInto(testAccount);
+        when(hotAccountService.totalBalance(testAccount.getId())).thenReturn(new BigDecimal("400.00"));
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        TransferFundsResponse response = accountService.transferFunds(request, null);
+        
+        // Then
+        assertThat(testAccount.getBalance()).isEqualByComparingTo("400.00");
+        assertThat(response.getToAccount().balance()).isEqualByComparingTo("500.00");
+        verify(hotAccountService).foldSlotsInto(testAccount);
+    }
+    
+    @Test
+    void testTransferFunds_SameAccount_ThrowsException() {
+        // Given
+        TransferFundsRequest request = new TransferFundsRequest("1234567", "1234567", new BigDecimal("10.00"));
+        
+        // When & Then
+        assertThatThrownBy(() -> accountService.transferFunds(request, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("same account");
+        
+        verify(accountRepository, never()).findByIdForUpdate(any());
+    }
+    
+    @Test
+    void testTransferFunds_NotOwner_ThrowsUnauthorized() {
+        // Given
+        Account receiver = Account.builder()
+            .id("7654321")
+            .userId(2L)
+            .balance(BigDecimal.ZERO)
+            .accountType("SAVINGS")
+            .createdAt(LocalDateTime.now())
+            .build();
+        TransferFundsRequest request = new TransferFundsRequest("1234567", "7654321", new BigDecimal("10.00"));
+        
+        when(accountRepository.findByIdForUpdate("1234567")).thenReturn(Optional.of(testAccount));
+        when(accountRepository.findByIdForUpdate("7654321")).thenReturn(Optional.of(receiver));
+        
+        // When & Then
+        assertThatThrownBy(() -> accountService.transferFunds(request, 2L))
+            .isInstanceOf(UnauthorizedAccessException.class);
+        
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+    
     @Test
     void testGetAccount_NotFound_ThrowsException() {
         // Given
@@ -186,13 +473,40 @@ class AccountServiceTest {
         
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo(accountId);
-        assertThat(result.getUserId()).isEqualTo(1L);
-        assertThat(result.getBalance()).isEqualTo(new BigDecimal("1000.00"));
-        assertThat(result.getAccountType()).isEqualTo("SAVINGS");
+        assertThat(result.id()).isEqualTo(accountId);
+        assertThat(result.userId()).isEqualTo(1L);
+        assertThat(result.balance()).isEqualTo(new BigDecimal("1000.00"));
+        assertThat(result.accountType()).isEqualTo("SAVINGS");
         verify(accountRepository).findById(accountId);
     }
     
+    @Test
+    void testGetAccounts_OneQuery_MarksMissingIdsWithNull() {
+        // Given
+        when(accountRepository.findAllById(any())).thenReturn(List.of(testAccount));
+        
+        // When
+        Map<String, AccountDto> result = accountService.getAccounts(List.of("9999999", "1234567", "9999999"), 1L);
+        
+        // Then
+        assertThat(result).containsOnlyKeys("9999999", "1234567");
+        assertThat(result.keySet()).containsExactly("9999999", "1234567");
+        assertThat(result.get("9999999")).isNull();
+        assertThat(result.get("1234567").balance()).isEqualTo(new BigDecimal("1000.00"));
+        verify(accountRepository, times(1)).findAllById(any());
+        verify(accountRepository, never()).findById(any());
+    }
+    
+    @Test
+    void testGetAccounts_OtherUsersAccount_ThrowsUnauthorized() {
+        // Given
+        when(accountRepository.findAllById(any())).thenReturn(List.of(testAccount));
+        
+        // When & Then
+        assertThatThrownBy(() -> accountService.getAccounts(List.of("1234567"), 2L))
+            .isInstanceOf(UnauthorizedAccessException.class);
+    }
+    
     @Test
     void testGetAccountsByUserId_ReturnsAccounts() {
         // Given
@@ -224,10 +538,10 @@ class AccountServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result).hasSize(2);
-        assertThat(result.get(0).getId()).isEqualTo("1234567");
-        assertThat(result.get(0).getAccountType()).isEqualTo("SAVINGS");
-        assertThat(result.get(1).getId()).isEqualTo("7654321");
-        assertThat(result.get(1).getAccountType()).isEqualTo("CHECKING");
+        assertThat(result.get(0).id()).isEqualTo("1234567");
+        assertThat(result.get(0).accountType()).isEqualTo("SAVINGS");
+        assertThat(result.get(1).id()).isEqualTo("7654321");
+        assertThat(result.get(1).accountType()).isEqualTo("CHECKING");
         verify(accountRepository).findByUserId(userId);
     }
     
@@ -284,7 +598,7 @@ class AccountServiceTest {
         
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getUserId()).isEqualTo(1L);
+        assertThat(result.userId()).isEqualTo(1L);
         verify(registerServiceClient).getUserById(1L);
         verify(accountRepository).save(any(Account.class));
     }
@@ -0,0 +1,200 @@
+package com.banking.account.service;
+
+import com.banking.account.entity.Account;
+import com.banking.account.entity.AccountBalanceSlot;
+import com.banking.account.repository.AccountBalanceSlotRepository;
+import com.banking.account.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotAccountServiceTest {
+    
+    @Mock
+    private AccountRepository accountRepository;
+    
+    @Mock
+    private AccountBalanceSlotRepository slotRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @InjectMocks
+    private HotAccountService hotAccountService;
+    
+    private Account hotAccount;
+    
+    @BeforeEach
+    void setUp() {
+        hotAccount = Account.builder()
+            .id("1234567")
+            .userId(1L)
+            .balance(new BigDecimal("100.00"))
+            .accountType("SAVINGS")
+            .createdAt(LocalDateTime.now())
+            .balanceSlots(4)
+            .build();
+    }
+    
+    @Test
+    void testUpdateBalance_Credit_SingleSlotUpdateWithoutLockingAccount() {
+        // Given
+        BigDecimal amount = new BigDecimal("50.00");
+        when(slotRepository.addToSlotIfSufficient(eq("1234567"), anyInt(), eq(amount))).thenReturn(1);
+        
+        // When
+        hotAccountService.updateBalance("1234567", amount, 4);
+        
+        // Then
+        verify(slotRepository, times(1)).addToSlotIfSufficient(eq("1234567"), anyInt(), eq(amount));
+        verify(accountRepository, never()).findByIdForUpdate(any());
+    }
+    
+    @Test
+    void testUpdateBalance_CreditToRemovedSlot_LandsOnAccountRow() {
+        // Given - the account was demoted after the caller read its slot count
+        BigDecimal amount = new BigDecimal("50.00");
+        when(slotRepository.addToSlotIfSufficient(eq("1234567"), anyInt(), eq(amount))).thenReturn(0);
+        when(accountRepository.findByIdForUpdate("1234567")).thenReturn(Optional.of(hotAccount));
+        
+        // When
+        hotAccountService.updateBalance("1234567", amount, 4);
+        
+        // Then
+        assertThat(hotAccount.getBalance()).isEqualByComparingTo("150.00");
+        verify(accountRepository).save(hotAccount);
+        verify(slotRepository, never()).findByAccountIdForUpdate(any());
+    }
+    
+    @Test
+    void testUpdateBalance_DebitNoSlotCovers_TriesEverySlotThenConsolidates() {
+        // Given - 100 on the row and 4 x 60 in the slots, no single place covers 200
+        BigDecimal amount = new BigDecimal("-200.00");
+        when(slotRepository.addToSlotIfSufficient(eq("1234567"), anyInt(), eq(amount))).thenReturn(0);
+        when(accountRepository.findByIdForUpdate("1234567")).thenReturn(Optional.of(hotAccount));
+        List<AccountBalanceSlot> slots = slots(4, "60.00");
+        when(slotRepository.findByAccountIdForUpdate("1234567")).thenReturn(slots);
+        
+        // When
+        hotAccountService.updateBalance("1234567", amount, 4);
+        
+        // Then
+        verify(slotRepository, times(4)).addToSlotIfSufficient(eq("1234567"), anyInt(), eq(amount));
+        assertThat(hotAccount.getBalance()).isEqualByComparingTo("140.00");
+        assertThat(slots).allSatisfy(slot -> assertThat(slot.getBalance()).isEqualByComparingTo("0"));
+    }
+    
+    @Test
+    void testUpdateBalance_DebitExceedsTotal_ThrowsException() {
+        // Given
+        BigDecimal amount = new BigDecimal("-500.00");
+        when(slotRepository.addToSlotIfSufficient(eq("1234567"), anyInt(), eq(amount))).thenReturn(0);
+        when(accountRepository.findByIdForUpdate("1234567")).thenReturn(Optional.of(hotAccount));
+        when(slotRepository.findByAccountIdForUpdate("1234567")).thenReturn(slots(4, "60.00"));
+        
+        // When & Then
+        assertThatThrownBy(() -> hotAccountService.updateBalance("1234567", amount, 4))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Insufficient funds");
+        
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Test
+    void testPromote_RegularAccount_CreatesEmptySlots() {
+        // Given
+        hotAccount.setBalanceSlots(null);
+        when(accountRepository.findByIdForUpdate("1234567")).thenReturn(Optional.of(hotAccount));
+        when(slotRepository.findByAccountIdForUpdate("1234567")).thenReturn(List.of());
+        when(accountRepository.save(hotAccount)).thenReturn(hotAccount);
+        
+        // When
+        Account result = hotAccountService.promote("1234567", 8);
+        
+        // Then
+        ArgumentCaptor<List<AccountBalanceSlot>> added = ArgumentCaptor.forClass(List.class);
+        verify(slotRepository).saveAll(added.capture());
+        assertThat(added.getValue()).hasSize(8)
+            .extracting(AccountBalanceSlot::getSlotIndex)
+            .containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+        assertThat(result.getBalanceSlots()).isEqualTo(8);
+        assertThat(result.getBalance()).isEqualByComparingTo("100.00");
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Test
+    void testPromote_FewerSlots_FoldsBalancesAndDropsExtraSlots() {
+        // Given
+        when(accountRepository.findByIdForUpdate("1234567")).thenReturn(Optional.of(hotAccount));
+        when(slotRepository.findByAccountIdForUpdate("1234567")).thenReturn(slots(4, "25.00"));
+        when(accountRepository.save(hotAccount)).thenReturn(hotAccount);
+        
+        // When
+        Account result = hotAccountService.promote("1234567", 2);
+        
+        // Then
+        ArgumentCaptor<List<AccountBalanceSlot>> removed = ArgumentCaptor.forClass(List.class);
+        verify(slotRepository).deleteAll(removed.capture());
+        assertThat(removed.getValue()).extracting(AccountBalanceSlot::getSlotIndex).containsExactly(2, 3);
+        assertThat(result.getBalance()).isEqualByComparingTo("200.00");
+        assertThat(result.getBalanceSlots()).isEqualTo(2);
+    }
+    
+    @Test
+    void testDemote_FoldsSlotsIntoAccountRow() {
+        // Given
+        List<AccountBalanceSlot> slots = slots(4, "25.00");
+        when(accountRepository.findByIdForUpdate("1234567")).thenReturn(Optional.of(hotAccount));
+        when(slotRepository.findByAccountIdForUpdate("1234567")).thenReturn(slots);
+        when(accountRepository.save(hotAccount)).thenReturn(hotAccount);
+        
+        // When
+        Account result = hotAccountService.demote("1234567");
+        
+        // Then
+        verify(slotRepository).deleteAll(slots);
+        assertThat(result.getBalance()).isEqualByComparingTo("200.00");
+        assertThat(result.isHot()).isFalse();
+    }
+    
+    private List<AccountBalanceSlot> slots(int count, String balance) {
+        List<AccountBalanceSlot> slots = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            slots.add(new AccountBalanceSlot("1234567", index, new BigDecimal(balance)));
+        }
+        return slots;
+    }
+    
+    @Test
+    void testTotalBalance_ReadsRowAndSlotsInOneQuery() {
+        // Given
+        when(accountRepository.findTotalBalanceById("1234567")).thenReturn(Optional.of(new BigDecimal("180.00")));
+        
+        // When
+        BigDecimal total = hotAccountService.totalBalance("1234567");
+        
+        // Then - the account row and the slots are not read separately
+        assertThat(total).isEqualByComparingTo("180.00");
+        verifyNoInteractions(slotRepository);
+    }
+}
@@ -39,7 +39,8 @@ public class CorsConfig {
             "Content-Type",
             "Accept",
             "Origin",
-            "X-Requested-With"
+            "X-Requested-With",
+            "Idempotency-Key"
         ));
         
         // Allow credentials (cookies, authorization headers)
@@ -51,7 +52,8 @@ public class CorsConfig {
         // Expose headers that clients can access
         corsConfig.setExposedHeaders(Arrays.asList(
             "Authorization",
-            "Content-Type"
+            "Content-Type",
+            "X-Next-Cursor"
         ));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,6 +1,7 @@
 package com.banking.gateway.filter;
 
-import com.banking.gateway.util.JwtUtil;
+import com.banking.gateway.util.JwtClaimsCache;
+import com.banking.gateway.util.TokenClaims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
@@ -14,6 +15,7 @@ import reactor.core.publisher.Mono;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Global filter for JWT authentication in API Gateway
@@ -23,7 +25,7 @@ import java.util.List;
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private JwtClaimsCache jwtClaimsCache;
 
     /**
      * Public routes that don't require authentication
@@ -38,11 +40,29 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         "/webjars"
     );
 
+    /**
+     * Routes under a public prefix that still require authentication
+     */
+    private static final List<String> PROTECTED_ROUTES = Arrays.asList(
+        "/api/register/import"
+    );
+
+    /**
+     * Routes only the services call on each other, never forwarded whatever the caller's role
+     */
+    private static final List<String> INTERNAL_ROUTES = Arrays.asList(
+        "/api/transactions/account-owners"
+    );
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
 
+        if (isInternalPath(request)) {
+            return onError(exchange, "Internal endpoint", HttpStatus.FORBIDDEN);
+        }
+
         // Check if path is public (no authentication required)
         if (isPublicPath(path)) {
             return chain.filter(exchange);
@@ -60,21 +80,17 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         String token = authHeader.substring(7);
 
         try {
-            // Validate token
-            if (!jwtUtil.validateToken(token)) {
+            // Validate token (parsed at most once, then served from cache until it expires)
+            Optional<TokenClaims> claims = jwtClaimsCache.getValidClaims(token);
+            if (claims.isEmpty()) {
                 return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
             }
 
-            // Extract user information from token
-            Long userId = jwtUtil.extractUserId(token);
-            String username = jwtUtil.extractUsername(token);
-            String role = jwtUtil.extractRole(token);
-
             // Add user information as headers for downstream services
             ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
-                    .header("X-User-Id", String.valueOf(userId))
-                    .header("X-Username", username)
-                    .header("X-User-Role", role)
+                    .header("X-User-Id", String.valueOf(claims.get().userId()))
+                    .header("X-Username", claims.get().username())
+                    .header("X-User-Role", claims.get().role())
                     .build();
 
             // Continue with modified request
@@ -89,9 +105,20 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
      * Check if the requested path is a public route
      */
     private boolean isPublicPath(String path) {
+        if (PROTECTED_ROUTES.stream().anyMatch(path::startsWith)) {
+            return false;
+        }
         return PUBLIC_ROUTES.stream().anyMatch(path::startsWith);
     }
 
+    /**
+     * Checked on the normalized path, so "/api/transactions//account-owners" or "/./" segments cannot slip past
+     */
+    private boolean isInternalPath(ServerHttpRequest request) {
+        String path = request.getURI().normalize().getPath().replaceAll("/{2,}", "/");
+        return INTERNAL_ROUTES.stream().anyMatch(path::startsWith);
+    }
+
     /**
      * Handle authentication errors
      */
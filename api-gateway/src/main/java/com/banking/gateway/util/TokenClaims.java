@@ -0,0 +1,16 @@
+package com.banking.gateway.util;
+
+import java.time.Instant;
+
+/**
+ * Verified claims the gateway forwards to downstream services
+ */
+public record TokenClaims(Long userId, String username, String role, Instant expiresAt) {
+
+    /**
+     * Check if the token these claims came from has expired
+     */
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -1,6 +1,7 @@
 package com.banking.gateway.filter;
 
-import com.banking.gateway.util.JwtUtil;
+import com.banking.gateway.util.JwtClaimsCache;
+import com.banking.gateway.util.TokenClaims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +19,9 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Instant;
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -30,7 +34,7 @@ import static org.mockito.Mockito.*;
 class JwtAuthenticationFilterTest {
 
     @Mock
-    private JwtUtil jwtUtil;
+    private JwtClaimsCache jwtClaimsCache;
 
     @Mock
     private GatewayFilterChain filterChain;
@@ -60,7 +64,7 @@ class JwtAuthenticationFilterTest {
                 .verifyComplete();
 
         verify(filterChain).filter(exchange);
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtClaimsCache, never()).getValidClaims(anyString());
     }
 
     @Test
@@ -80,7 +84,7 @@ class JwtAuthenticationFilterTest {
                 .verifyComplete();
 
         verify(filterChain).filter(exchange);
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtClaimsCache, never()).getValidClaims(anyString());
     }
 
     @Test
@@ -100,7 +104,48 @@ class JwtAuthenticationFilterTest {
                 .verifyComplete();
 
         verify(filterChain).filter(exchange);
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtClaimsCache, never()).getValidClaims(anyString());
+    }
+
+    @Test
+    void testFilter_RegisterImport_RequiresAuthentication() {
+        // Given
+        MockServerHttpRequest request = MockServerHttpRequest
+                .post("/api/register/import")
+                .header("X-User-Role", "TELLER")
+                .build();
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+
+        // When
+        Mono<Void> result = jwtAuthenticationFilter.filter(exchange, filterChain);
+
+        // Then
+        StepVerifier.create(result)
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(filterChain, never()).filter(any(ServerWebExchange.class));
+    }
+
+    @Test
+    void testFilter_InternalRoute_Returns403EvenWithValidToken() {
+        // Given
+        MockServerHttpRequest request = MockServerHttpRequest
+                .delete("/api/transactions/account-owners/101")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
+                .build();
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+
+        // When
+        Mono<Void> result = jwtAuthenticationFilter.filter(exchange, filterChain);
+
+        // Then
+        StepVerifier.create(result)
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        verify(filterChain, never()).filter(any(ServerWebExchange.class));
+        verify(jwtClaimsCache, never()).getValidClaims(anyString());
     }
 
     @Test
@@ -154,7 +199,7 @@ class JwtAuthenticationFilterTest {
                 .build();
         ServerWebExchange exchange = MockServerWebExchange.from(request);
 
-        when(jwtUtil.validateToken(invalidToken)).thenReturn(false);
+        when(jwtClaimsCache.getValidClaims(invalidToken)).thenReturn(Optional.empty());
 
         // When
         Mono<Void> result = jwtAuthenticationFilter.filter(exchange, filterChain);
@@ -165,7 +210,7 @@ class JwtAuthenticationFilterTest {
 
         ServerHttpResponse response = exchange.getResponse();
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-        verify(jwtUtil).validateToken(invalidToken);
+        verify(jwtClaimsCache).getValidClaims(invalidToken);
         verify(filterChain, never()).filter(any(ServerWebExchange.class));
     }
 
@@ -183,10 +228,8 @@ class JwtAuthenticationFilterTest {
                 .build();
         ServerWebExchange exchange = MockServerWebExchange.from(request);
 
-        when(jwtUtil.validateToken(validToken)).thenReturn(true);
-        when(jwtUtil.extractUserId(validToken)).thenReturn(userId);
-        when(jwtUtil.extractUsername(validToken)).thenReturn(username);
-        when(jwtUtil.extractRole(validToken)).thenReturn(role);
+        when(jwtClaimsCache.getValidClaims(validToken)).thenReturn(Optional.of(
+                new TokenClaims(userId, username, role, Instant.now().plusSeconds(3600))));
         when(filterChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
 
         // When
@@ -196,11 +239,8 @@ class JwtAuthenticationFilterTest {
         StepVerifier.create(result)
                 .verifyComplete();
 
-        // Verify JWT methods were called
-        verify(jwtUtil).validateToken(validToken);
-        verify(jwtUtil).extractUserId(validToken);
-        verify(jwtUtil).extractUsername(validToken);
-        verify(jwtUtil).extractRole(validToken);
+        // Verify the token was resolved exactly once
+        verify(jwtClaimsCache, times(1)).getValidClaims(validToken);
 
         // Verify filter chain was called with modified exchange
         verify(filterChain).filter(argThat(modifiedExchange -> {
@@ -227,10 +267,8 @@ class JwtAuthenticationFilterTest {
                 .build();
         ServerWebExchange exchange = MockServerWebExchange.from(request);
 
-        when(jwtUtil.validateToken(validToken)).thenReturn(true);
-        when(jwtUtil.extractUserId(validToken)).thenReturn(userId);
-        when(jwtUtil.extractUsername(validToken)).thenReturn(username);
-        when(jwtUtil.extractRole(validToken)).thenReturn(role);
+        when(jwtClaimsCache.getValidClaims(validToken)).thenReturn(Optional.of(
+                new TokenClaims(userId, username, role, Instant.now().plusSeconds(3600))));
         when(filterChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
 
         // When
@@ -240,7 +278,7 @@ class JwtAuthenticationFilterTest {
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(jwtUtil).validateToken(validToken);
+        verify(jwtClaimsCache).getValidClaims(validToken);
         verify(filterChain).filter(argThat(modifiedExchange -> {
             ServerHttpRequest modifiedRequest = modifiedExchange.getRequest();
             HttpHeaders headers = modifiedRequest.getHeaders();
@@ -259,7 +297,7 @@ class JwtAuthenticationFilterTest {
                 .build();
         ServerWebExchange exchange = MockServerWebExchange.from(request);
 
-        when(jwtUtil.validateToken(token)).thenThrow(new RuntimeException("Token parsing error"));
+        when(jwtClaimsCache.getValidClaims(token)).thenThrow(new RuntimeException("Token parsing error"));
 
         // When
         Mono<Void> result = jwtAuthenticationFilter.filter(exchange, filterChain);
@@ -290,7 +328,7 @@ class JwtAuthenticationFilterTest {
                 .verifyComplete();
 
         verify(filterChain).filter(exchange);
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtClaimsCache, never()).getValidClaims(anyString());
     }
 
     @Test
@@ -310,7 +348,7 @@ class JwtAuthenticationFilterTest {
                 .verifyComplete();
 
         verify(filterChain).filter(exchange);
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtClaimsCache, never()).getValidClaims(anyString());
     }
 
     @Test
@@ -331,7 +369,7 @@ class JwtAuthenticationFilterTest {
                 .build();
         ServerWebExchange exchange = MockServerWebExchange.from(request);
 
-        when(jwtUtil.validateToken("")).thenReturn(false);
+        when(jwtClaimsCache.getValidClaims("")).thenReturn(Optional.empty());
 
         // When
         Mono<Void> result = jwtAuthenticationFilter.filter(exchange, filterChain);
@@ -0,0 +1,110 @@
+package com.banking.gateway.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtClaimsCache
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtClaimsCacheTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtClaimsCache jwtClaimsCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtClaimsCache = new JwtClaimsCache(jwtUtil, meterRegistry, 100);
+    }
+
+    @Test
+    void testGetValidClaims_RepeatedToken_ParsesOnce() {
+        // Given
+        String token = "valid.jwt.token";
+        TokenClaims claims = new TokenClaims(1L, "testuser", "CUSTOMER", Instant.now().plusSeconds(3600));
+        when(jwtUtil.parseToken(token)).thenReturn(claims);
+
+        // When
+        Optional<TokenClaims> first = jwtClaimsCache.getValidClaims(token);
+        Optional<TokenClaims> second = jwtClaimsCache.getValidClaims(token);
+
+        // Then
+        assertThat(first).contains(claims);
+        assertThat(second).contains(claims);
+        verify(jwtUtil, times(1)).parseToken(token);
+    }
+
+    @Test
+    void testGetValidClaims_InvalidToken_ReturnsEmptyAndIsNotCached() {
+        // Given
+        String token = "invalid.jwt.token";
+        when(jwtUtil.parseToken(token)).thenThrow(new MalformedJwtException("bad token"));
+
+        // When
+        Optional<TokenClaims> first = jwtClaimsCache.getValidClaims(token);
+        Optional<TokenClaims> second = jwtClaimsCache.getValidClaims(token);
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(jwtUtil, times(2)).parseToken(token);
+    }
+
+    @Test
+    void testGetValidClaims_ExpiredToken_ReturnsEmpty() {
+        // Given
+        String token = "expired.jwt.token";
+        when(jwtUtil.parseToken(token)).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        // When
+        Optional<TokenClaims> result = jwtClaimsCache.getValidClaims(token);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void testGetValidClaims_NullOrEmptyToken_ReturnsEmptyWithoutParsing() {
+        // When & Then
+        assertThat(jwtClaimsCache.getValidClaims(null)).isEmpty();
+        assertThat(jwtClaimsCache.getValidClaims("")).isEmpty();
+        verifyNoInteractions(jwtUtil);
+    }
+
+    @Test
+    void testGetValidClaims_RecordsHitAndMissMetrics() {
+        // Given
+        String token = "valid.jwt.token";
+        when(jwtUtil.parseToken(token))
+                .thenReturn(new TokenClaims(1L, "testuser", "CUSTOMER", Instant.now().plusSeconds(3600)));
+
+        // When
+        jwtClaimsCache.getValidClaims(token);
+        jwtClaimsCache.getValidClaims(token);
+        jwtClaimsCache.getValidClaims(token);
+
+        // Then
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", "jwt.claims").functionCounter())
+                .isNotNull();
+    }
+}
@@ -1,10 +1,11 @@
 package com.banking.gateway.util;
 
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
@@ -26,8 +27,7 @@ class JwtUtilTest {
 
     @BeforeEach
     void setUp() {
-        jwtUtil = new JwtUtil();
-        ReflectionTestUtils.setField(jwtUtil, "secret", secret);
+        jwtUtil = new JwtUtil(secret, true, 4096);
         signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     }
 
@@ -221,4 +221,59 @@ class JwtUtilTest {
         // Then
         assertFalse(result, "Empty token should be invalid");
     }
+
+    @Test
+    void testParseToken_ValidToken_ReturnsAllClaims() {
+        // Given
+        Date expiration = new Date(System.currentTimeMillis() + 1000 * 60 * 60);
+        String token = generateTestToken("testuser", 42L, "TELLER", expiration);
+
+        // When
+        TokenClaims claims = jwtUtil.parseToken(token);
+
+        // Then
+        assertThat(claims.userId()).isEqualTo(42L);
+        assertThat(claims.username()).isEqualTo("testuser");
+        assertThat(claims.role()).isEqualTo("TELLER");
+        assertThat(claims.expiresAt().getEpochSecond()).isEqualTo(expiration.toInstant().getEpochSecond());
+    }
+
+    @Test
+    void testParseToken_ExpiredToken_ThrowsException() {
+        // Given
+        Date expiration = new Date(System.currentTimeMillis() - 1000);
+        String token = generateTestToken("testuser", 1L, "CUSTOMER", expiration);
+
+        // When & Then
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.parseToken(token));
+    }
+
+    @Test
+    void testValidateToken_OversizedToken_RejectedByPrecheck() {
+        // Given
+        String token = "a".repeat(5000) + ".b.c";
+
+        // When & Then
+        assertFalse(jwtUtil.validateToken(token), "Oversized token should be invalid");
+        assertThrows(MalformedJwtException.class, () -> jwtUtil.parseToken(token));
+    }
+
+    @Test
+    void testValidateToken_NonBase64UrlCharacters_RejectedByPrecheck() {
+        // Given
+        String token = "eyJhbGciOiJIUzI1NiJ9.{\"sub\":\"x\"}.signature";
+
+        // When & Then
+        assertFalse(jwtUtil.validateToken(token), "Token with invalid characters should be invalid");
+        assertThrows(MalformedJwtException.class, () -> jwtUtil.parseToken(token));
+    }
+
+    @Test
+    void testValidateToken_PrecheckDisabled_StillRejectsMalformedToken() {
+        // Given
+        JwtUtil unchecked = new JwtUtil(secret, false, 4096);
+
+        // When & Then
+        assertFalse(unchecked.validateToken("not-a-jwt"));
+    }
 }
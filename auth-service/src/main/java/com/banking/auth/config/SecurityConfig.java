@@ -1,16 +1,31 @@
 package com.banking.auth.config;
 
+import com.banking.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * Login only compares against hashes created by register-service, which carry their own cost.
+     * Hashing runs on its own pool, see {@link BoundedPasswordEncoder}.
+     */
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(@Value("${security.bcrypt.pool-size:0}") int poolSize,
+                                                  @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                                  MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, meterRegistry);
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -1,8 +1,10 @@
 package com.banking.auth.exception;
 
 import com.banking.auth.dto.ErrorResponse;
+import com.banking.security.HashingCapacityExceededException;
 import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -44,6 +46,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleHashingCapacityExceeded(HashingCapacityExceededException ex) {
+        log.warn("Hashing capacity exceeded: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+                String.valueOf(HttpStatus.SERVICE_UNAVAILABLE.value()),
+                ex.getMessage(),
+                Instant.now().toString()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -1,7 +1,9 @@
 package com.banking.auth.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,11 +19,28 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    /**
+     * Signing key and parser are immutable and thread-safe, so they are built once and shared
+     */
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    private final Long expiration;
+    private final boolean precheckEnabled;
+    private final int maxTokenLength;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") Long expiration,
+                   @Value("${jwt.precheck.enabled:true}") boolean precheckEnabled,
+                   @Value("${jwt.precheck.max-length:4096}") int maxTokenLength) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.expiration = expiration;
+        this.precheckEnabled = precheckEnabled;
+        this.maxTokenLength = maxTokenLength;
+    }
 
     /**
      * Generate JWT token for authenticated user
@@ -51,7 +70,7 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -63,11 +82,7 @@ public class JwtUtil {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return !isTokenExpired(token);
+            return !isTokenExpired(extractAllClaims(token));
         } catch (Exception e) {
             return false;
         }
@@ -113,25 +128,40 @@ public class JwtUtil {
      * Extract all claims from token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        if (precheckEnabled && !isWellFormed(token)) {
+            throw new MalformedJwtException("Token is not a well-formed compact JWS");
+        }
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
      * Check if token is expired
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     /**
-     * Get signing key from secret
+     * Cheap structural check run before any Base64 decoding or signature work:
+     * bounded length, exactly three segments and only Base64URL characters
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isWellFormed(String token) {
+        if (token == null || token.isEmpty() || token.length() > maxTokenLength) {
+            return false;
+        }
+        int separators = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                separators++;
+            } else if (!isBase64UrlChar(c)) {
+                return false;
+            }
+        }
+        return separators == 2;
+    }
+
+    private static boolean isBase64UrlChar(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
     }
 }
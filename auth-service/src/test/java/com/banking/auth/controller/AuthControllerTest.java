@@ -5,6 +5,7 @@ import com.banking.auth.dto.LoginResponse;
 import com.banking.auth.exception.InvalidCredentialsException;
 import com.banking.auth.exception.UserNotFoundException;
 import com.banking.auth.service.AuthService;
+import com.banking.security.HashingCapacityExceededException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -85,6 +86,20 @@ class AuthControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void testLogin_HashingQueueFull_Returns503() throws Exception {
+        // Given
+        when(authService.login(any(LoginRequest.class)))
+                .thenThrow(new HashingCapacityExceededException("Too many login attempts in progress, please retry shortly"));
+
+        // When & Then
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     void testLogin_InvalidRequest_EmptyUsername_WithMockValidation() throws Exception {
         // Given - When filters are disabled, validation doesn't trigger automatically
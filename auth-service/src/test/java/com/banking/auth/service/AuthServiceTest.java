@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
@@ -34,17 +35,17 @@ class AuthServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Spy
+    private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
     @InjectMocks
     private AuthService authService;
 
-    private BCryptPasswordEncoder passwordEncoder;
     private UserDto testUser;
     private LoginRequest loginRequest;
 
     @BeforeEach
     void setUp() {
-        passwordEncoder = new BCryptPasswordEncoder();
-        
         // Create test user with hashed password
         testUser = new UserDto();
         testUser.setId(1L);
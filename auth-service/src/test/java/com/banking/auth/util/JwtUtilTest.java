@@ -3,7 +3,6 @@ package com.banking.auth.util;
 import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -13,11 +12,11 @@ class JwtUtilTest {
 
     @BeforeEach
     void setUp() {
-        jwtUtil = new JwtUtil();
-        
-        // Set test values using ReflectionTestUtils
-        ReflectionTestUtils.setField(jwtUtil, "secret", "banking-system-secret-key-for-jwt-token-generation-and-validation");
-        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L); // 24 hours
+        jwtUtil = new JwtUtil(
+                "banking-system-secret-key-for-jwt-token-generation-and-validation",
+                86400000L, // 24 hours
+                true,
+                4096);
     }
 
     @Test
@@ -66,9 +65,11 @@ class JwtUtilTest {
     @Test
     void testValidateToken_ExpiredToken_ReturnsFalse() {
         // Given - Create a token with 0 expiration time (already expired)
-        JwtUtil expiredJwtUtil = new JwtUtil();
-        ReflectionTestUtils.setField(expiredJwtUtil, "secret", "banking-system-secret-key-for-jwt-token-generation-and-validation");
-        ReflectionTestUtils.setField(expiredJwtUtil, "expiration", -1000L); // Negative expiration = expired
+        JwtUtil expiredJwtUtil = new JwtUtil(
+                "banking-system-secret-key-for-jwt-token-generation-and-validation",
+                -1000L, // Negative expiration = expired
+                true,
+                4096);
         
         String expiredToken = expiredJwtUtil.generateToken("john_doe", 1L, "CUSTOMER");
 
@@ -167,4 +168,16 @@ class JwtUtilTest {
         assertThat(expirationDate).isNotNull();
         assertThat(expirationDate.getTime()).isGreaterThan(System.currentTimeMillis());
     }
+
+    @Test
+    void testValidateToken_MalformedToken_RejectedByPrecheck() {
+        // Given
+        String oversized = "a".repeat(5000) + ".b.c";
+        String twoSegments = "header.payload";
+
+        // When & Then
+        assertThat(jwtUtil.validateToken(oversized)).isFalse();
+        assertThat(jwtUtil.validateToken(twoSegments)).isFalse();
+        assertThat(jwtUtil.validateToken(null)).isFalse();
+    }
 }
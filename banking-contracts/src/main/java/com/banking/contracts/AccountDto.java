@@ -0,0 +1,118 @@
+package com.banking.contracts;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.banking.contracts.ContractFields.dateTimeDeserializer;
+import static com.banking.contracts.ContractFields.firstField;
+import static com.banking.contracts.ContractFields.nextField;
+import static com.banking.contracts.ContractFields.readDateTime;
+import static com.banking.contracts.ContractFields.readDecimal;
+import static com.banking.contracts.ContractFields.readInteger;
+import static com.banking.contracts.ContractFields.readLong;
+import static com.banking.contracts.ContractFields.readString;
+import static com.banking.contracts.ContractFields.writeLong;
+
+/**
+ * An account as account-service returns it; balanceSlots is left out unless the account is hot
+ */
+@Builder
+@Schema(description = "Account information")
+@JsonSerialize(using = AccountDto.Serializer.class)
+@JsonDeserialize(using = AccountDto.Deserializer.class)
+public record AccountDto(
+
+        @Schema(description = "Account ID (10-digit account number)", example = "1000000016")
+        String id,
+
+        @Schema(description = "User ID", example = "1")
+        Long userId,
+
+        @Schema(description = "Account balance", example = "1500.00")
+        BigDecimal balance,
+
+        @Schema(description = "Account type", example = "SAVINGS", allowableValues = {"SAVINGS", "CHECKING"})
+        String accountType,
+
+        @Schema(description = "Account creation timestamp", example = "2025-11-21T10:30:00")
+        LocalDateTime createdAt,
+
+        @Schema(description = "Number of balance slots, present only for hot accounts", example = "8")
+        Integer balanceSlots) {
+
+    public AccountDto(String id, Long userId, BigDecimal balance, String accountType, LocalDateTime createdAt) {
+        this(id, userId, balance, accountType, createdAt, null);
+    }
+
+    static class Serializer extends StdSerializer<AccountDto> {
+
+        Serializer() {
+            super(AccountDto.class);
+        }
+
+        @Override
+        public void serialize(AccountDto account, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(account, account.balanceSlots() != null ? 6 : 5);
+            gen.writeStringField("id", account.id());
+            writeLong(gen, "userId", account.userId());
+            gen.writeNumberField("balance", account.balance());
+            gen.writeStringField("accountType", account.accountType());
+            provider.defaultSerializeField("createdAt", account.createdAt(), gen);
+            if (account.balanceSlots() != null) {
+                gen.writeNumberField("balanceSlots", account.balanceSlots().intValue());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static class Deserializer extends StdDeserializer<AccountDto> implements ResolvableDeserializer {
+
+        private JsonDeserializer<Object> dateTimeDeserializer;
+
+        Deserializer() {
+            super(AccountDto.class);
+        }
+
+        @Override
+        public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+            dateTimeDeserializer = dateTimeDeserializer(ctxt);
+        }
+
+        @Override
+        public AccountDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String id = null;
+            Long userId = null;
+            BigDecimal balance = null;
+            String accountType = null;
+            LocalDateTime createdAt = null;
+            Integer balanceSlots = null;
+            for (String field = firstField(p, ctxt, AccountDto.class); field != null; field = nextField(p)) {
+                switch (field) {
+                    case "id" -> id = readString(p, ctxt);
+                    case "userId" -> userId = readLong(p, ctxt);
+                    case "balance" -> balance = readDecimal(p, ctxt);
+                    case "accountType" -> accountType = readString(p, ctxt);
+                    case "createdAt" -> createdAt = readDateTime(p, ctxt, dateTimeDeserializer);
+                    case "balanceSlots" -> balanceSlots = readInteger(p, ctxt);
+                    default -> ctxt.handleUnknownProperty(p, this, AccountDto.class, field);
+                }
+            }
+            return new AccountDto(id, userId, balance, accountType, createdAt, balanceSlots);
+        }
+    }
+}
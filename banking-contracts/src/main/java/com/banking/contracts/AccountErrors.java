@@ -0,0 +1,16 @@
+package com.banking.contracts;
+
+/**
+ * Values of the error field of account-service's error bodies that callers act on. Other 400s,
+ * such as a malformed body or a same-account transfer, carry the plain reason phrase.
+ */
+public final class AccountErrors {
+
+    /**
+     * The debit would take the balance below zero
+     */
+    public static final String INSUFFICIENT_FUNDS = "Insufficient Funds";
+
+    private AccountErrors() {
+    }
+}
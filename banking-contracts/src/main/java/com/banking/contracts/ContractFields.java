@@ -0,0 +1,97 @@
+package com.banking.contracts;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Field reads and writes of the contracts' serializers. Strings and numbers go straight between
+ * parser or generator and field; null, coercions and dates go through the mapper's own
+ * (de)serializers, so its configuration still decides how they look.
+ */
+final class ContractFields {
+
+    private static final JavaType LOCAL_DATE_TIME = TypeFactory.defaultInstance().constructType(LocalDateTime.class);
+
+    private ContractFields() {
+    }
+
+    /**
+     * The object's first field name, with the parser moved to its value; null for an empty object
+     */
+    static String firstField(JsonParser p, DeserializationContext ctxt, Class<?> type) throws IOException {
+        String name;
+        if (p.isExpectedStartObjectToken()) {
+            name = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            name = p.currentName();
+        } else {
+            throw ctxt.wrongTokenException(p, type, JsonToken.START_OBJECT, null);
+        }
+        if (name != null) {
+            p.nextToken();
+        }
+        return name;
+    }
+
+    /**
+     * The next field name, with the parser moved to its value; null at the end of the object
+     */
+    static String nextField(JsonParser p) throws IOException {
+        String name = p.nextFieldName();
+        if (name != null) {
+            p.nextToken();
+        }
+        return name;
+    }
+
+    static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_STRING) ? p.getText() : readOther(p, ctxt, String.class);
+    }
+
+    static Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getLongValue() : readOther(p, ctxt, Long.class);
+    }
+
+    static Integer readInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getIntValue() : readOther(p, ctxt, Integer.class);
+    }
+
+    static BigDecimal readDecimal(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.currentToken().isNumeric() ? p.getDecimalValue() : readOther(p, ctxt, BigDecimal.class);
+    }
+
+    /**
+     * The mapper's LocalDateTime deserializer, looked up once when a contract deserializer is resolved:
+     * reading through ctxt.readValue would repeat the lookup for every date
+     */
+    static JsonDeserializer<Object> dateTimeDeserializer(DeserializationContext ctxt) throws JsonMappingException {
+        return ctxt.findRootValueDeserializer(LOCAL_DATE_TIME);
+    }
+
+    static LocalDateTime readDateTime(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> deserializer)
+            throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : (LocalDateTime) deserializer.deserialize(p, ctxt);
+    }
+
+    static void writeLong(JsonGenerator gen, String name, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value.longValue());
+        }
+    }
+
+    private static <T> T readOther(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, type);
+    }
+}
@@ -0,0 +1,144 @@
+package com.banking.contracts;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.banking.contracts.ContractFields.dateTimeDeserializer;
+import static com.banking.contracts.ContractFields.firstField;
+import static com.banking.contracts.ContractFields.nextField;
+import static com.banking.contracts.ContractFields.readDateTime;
+import static com.banking.contracts.ContractFields.readDecimal;
+import static com.banking.contracts.ContractFields.readLong;
+import static com.banking.contracts.ContractFields.readString;
+import static com.banking.contracts.ContractFields.writeLong;
+
+@Schema(description = "Request to log a new transaction")
+@JsonSerialize(using = LogTransactionRequest.Serializer.class)
+@JsonDeserialize(using = LogTransactionRequest.Deserializer.class)
+public record LogTransactionRequest(
+
+        @NotNull(message = "Account ID is required")
+        @Schema(description = "Account ID", example = "101")
+        Long accountId,
+
+        @NotNull(message = "Transaction type is required")
+        @Schema(description = "Transaction type", example = "DEPOSIT", allowableValues = {"DEPOSIT", "WITHDRAWAL", "TRANSFER"})
+        String transactionType,
+
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be positive")
+        @Schema(description = "Transaction amount", example = "500.00")
+        BigDecimal amount,
+
+        @Schema(description = "Related account ID (for transfers)", example = "102")
+        Long relatedAccountId,
+
+        @Schema(description = "Transaction description", example = "Deposit from teller")
+        String description,
+
+        @Size(max = 36, message = "Idempotency key must be at most 36 characters")
+        @Schema(description = "Client-chosen key; a repeated request with the same key is logged only once",
+                example = "3f2b6c1e-8d4a-4e59-9a57-0c1d2e3f4a5b")
+        String idempotencyKey,
+
+        @Schema(description = "When the money moved; the time of logging when absent", example = "2025-11-21T10:30:15")
+        LocalDateTime occurredAt) {
+
+    public LogTransactionRequest(Long accountId, String transactionType, BigDecimal amount,
+                                 Long relatedAccountId, String description) {
+        this(accountId, transactionType, amount, relatedAccountId, description, null, null);
+    }
+
+    /**
+     * The same transaction under the key it is stored with in an outbox
+     */
+    public LogTransactionRequest withIdempotencyKey(String idempotencyKey) {
+        return new LogTransactionRequest(accountId, transactionType, amount, relatedAccountId, description,
+                idempotencyKey, occurredAt);
+    }
+
+    /**
+     * The same transaction stamped with the time it happened, which a delayed delivery must not change
+     */
+    public LogTransactionRequest withOccurredAt(LocalDateTime occurredAt) {
+        return new LogTransactionRequest(accountId, transactionType, amount, relatedAccountId, description,
+                idempotencyKey, occurredAt);
+    }
+
+    static class Serializer extends StdSerializer<LogTransactionRequest> {
+
+        Serializer() {
+            super(LogTransactionRequest.class);
+        }
+
+        @Override
+        public void serialize(LogTransactionRequest request, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(request, 7);
+            writeLong(gen, "accountId", request.accountId());
+            gen.writeStringField("transactionType", request.transactionType());
+            gen.writeNumberField("amount", request.amount());
+            writeLong(gen, "relatedAccountId", request.relatedAccountId());
+            gen.writeStringField("description", request.description());
+            gen.writeStringField("idempotencyKey", request.idempotencyKey());
+            provider.defaultSerializeField("occurredAt", request.occurredAt(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    static class Deserializer extends StdDeserializer<LogTransactionRequest> implements ResolvableDeserializer {
+
+        private JsonDeserializer<Object> dateTimeDeserializer;
+
+        Deserializer() {
+            super(LogTransactionRequest.class);
+        }
+
+        @Override
+        public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+            dateTimeDeserializer = dateTimeDeserializer(ctxt);
+        }
+
+        @Override
+        public LogTransactionRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Long accountId = null;
+            String transactionType = null;
+            BigDecimal amount = null;
+            Long relatedAccountId = null;
+            String description = null;
+            String idempotencyKey = null;
+            LocalDateTime occurredAt = null;
+            for (String field = firstField(p, ctxt, LogTransactionRequest.class); field != null; field = nextField(p)) {
+                switch (field) {
+                    case "accountId" -> accountId = readLong(p, ctxt);
+                    case "transactionType" -> transactionType = readString(p, ctxt);
+                    case "amount" -> amount = readDecimal(p, ctxt);
+                    case "relatedAccountId" -> relatedAccountId = readLong(p, ctxt);
+                    case "description" -> description = readString(p, ctxt);
+                    case "idempotencyKey" -> idempotencyKey = readString(p, ctxt);
+                    case "occurredAt" -> occurredAt = readDateTime(p, ctxt, dateTimeDeserializer);
+                    default -> ctxt.handleUnknownProperty(p, this, LogTransactionRequest.class, field);
+                }
+            }
+            return new LogTransactionRequest(accountId, transactionType, amount, relatedAccountId, description,
+                    idempotencyKey, occurredAt);
+        }
+    }
+}
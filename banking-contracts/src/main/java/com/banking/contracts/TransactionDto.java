@@ -0,0 +1,124 @@
+package com.banking.contracts;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.banking.contracts.ContractFields.dateTimeDeserializer;
+import static com.banking.contracts.ContractFields.firstField;
+import static com.banking.contracts.ContractFields.nextField;
+import static com.banking.contracts.ContractFields.readDateTime;
+import static com.banking.contracts.ContractFields.readDecimal;
+import static com.banking.contracts.ContractFields.readLong;
+import static com.banking.contracts.ContractFields.readString;
+import static com.banking.contracts.ContractFields.writeLong;
+
+/**
+ * A logged transaction as transaction-service returns it
+ */
+@Builder
+@Schema(description = "Transaction record")
+@JsonSerialize(using = TransactionDto.Serializer.class)
+@JsonDeserialize(using = TransactionDto.Deserializer.class)
+public record TransactionDto(
+
+        @Schema(description = "Transaction ID", example = "1001")
+        Long id,
+
+        @Schema(description = "Account ID", example = "101")
+        Long accountId,
+
+        @Schema(description = "Transaction type", example = "DEPOSIT", allowableValues = {"DEPOSIT", "WITHDRAWAL", "TRANSFER"})
+        String type,
+
+        @Schema(description = "Transaction amount", example = "500.00")
+        BigDecimal amount,
+
+        @Schema(description = "Related account ID (for transfers)", example = "102")
+        Long relatedAccountId,
+
+        @Schema(description = "Transaction description", example = "Deposit from teller")
+        String description,
+
+        @Schema(description = "Transaction timestamp", example = "2023-12-01T10:30:00")
+        LocalDateTime timestamp,
+
+        @Schema(description = "Transaction status", example = "COMPLETED", allowableValues = {"PENDING", "COMPLETED", "FAILED"})
+        String status) {
+
+    static class Serializer extends StdSerializer<TransactionDto> {
+
+        Serializer() {
+            super(TransactionDto.class);
+        }
+
+        @Override
+        public void serialize(TransactionDto transaction, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(transaction, 8);
+            writeLong(gen, "id", transaction.id());
+            writeLong(gen, "accountId", transaction.accountId());
+            gen.writeStringField("type", transaction.type());
+            gen.writeNumberField("amount", transaction.amount());
+            writeLong(gen, "relatedAccountId", transaction.relatedAccountId());
+            gen.writeStringField("description", transaction.description());
+            provider.defaultSerializeField("timestamp", transaction.timestamp(), gen);
+            gen.writeStringField("status", transaction.status());
+            gen.writeEndObject();
+        }
+    }
+
+    static class Deserializer extends StdDeserializer<TransactionDto> implements ResolvableDeserializer {
+
+        private JsonDeserializer<Object> dateTimeDeserializer;
+
+        Deserializer() {
+            super(TransactionDto.class);
+        }
+
+        @Override
+        public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+            dateTimeDeserializer = dateTimeDeserializer(ctxt);
+        }
+
+        @Override
+        public TransactionDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Long id = null;
+            Long accountId = null;
+            String type = null;
+            BigDecimal amount = null;
+            Long relatedAccountId = null;
+            String description = null;
+            LocalDateTime timestamp = null;
+            String status = null;
+            for (String field = firstField(p, ctxt, TransactionDto.class); field != null; field = nextField(p)) {
+                switch (field) {
+                    case "id" -> id = readLong(p, ctxt);
+                    case "accountId" -> accountId = readLong(p, ctxt);
+                    case "type" -> type = readString(p, ctxt);
+                    case "amount" -> amount = readDecimal(p, ctxt);
+                    case "relatedAccountId" -> relatedAccountId = readLong(p, ctxt);
+                    case "description" -> description = readString(p, ctxt);
+                    case "timestamp" -> timestamp = readDateTime(p, ctxt, dateTimeDeserializer);
+                    case "status" -> status = readString(p, ctxt);
+                    default -> ctxt.handleUnknownProperty(p, this, TransactionDto.class, field);
+                }
+            }
+            return new TransactionDto(id, accountId, type, amount, relatedAccountId, description, timestamp, status);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.banking.contracts;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static com.banking.contracts.ContractFields.firstField;
+import static com.banking.contracts.ContractFields.nextField;
+import static com.banking.contracts.ContractFields.readDecimal;
+
+/**
+ * Amount to add to an account's balance; negative to take it out
+ */
+@JsonSerialize(using = UpdateBalanceRequest.Serializer.class)
+@JsonDeserialize(using = UpdateBalanceRequest.Deserializer.class)
+public record UpdateBalanceRequest(
+
+        @NotNull(message = "Amount is required")
+        BigDecimal amount) {
+
+    static class Serializer extends StdSerializer<UpdateBalanceRequest> {
+
+        Serializer() {
+            super(UpdateBalanceRequest.class);
+        }
+
+        @Override
+        public void serialize(UpdateBalanceRequest request, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(request, 1);
+            gen.writeNumberField("amount", request.amount());
+            gen.writeEndObject();
+        }
+    }
+
+    static class Deserializer extends StdDeserializer<UpdateBalanceRequest> {
+
+        Deserializer() {
+            super(UpdateBalanceRequest.class);
+        }
+
+        @Override
+        public UpdateBalanceRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            BigDecimal amount = null;
+            for (String field = firstField(p, ctxt, UpdateBalanceRequest.class); field != null; field = nextField(p)) {
+                if (field.equals("amount")) {
+                    amount = readDecimal(p, ctxt);
+                } else {
+                    ctxt.handleUnknownProperty(p, this, UpdateBalanceRequest.class, field);
+                }
+            }
+            return new UpdateBalanceRequest(amount);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.banking.contracts;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The contracts' serializers with mappers configured the way Spring Boot configures them
+ */
+class ContractsJsonTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 11, 21, 10, 30, 15);
+
+    private final ObjectMapper jsonMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final ObjectMapper cborMapper = CBORMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Test
+    @DisplayName("Should write an account with the fields and date format of the former DTO classes")
+    void testAccountDto_WritesSameShape() throws Exception {
+        // Given
+        AccountDto account = new AccountDto("1000000016", 1L, new BigDecimal("1500.00"), "SAVINGS", CREATED_AT);
+
+        // When
+        String written = jsonMapper.writeValueAsString(account);
+        JsonNode json = jsonMapper.readTree(written);
+
+        // Then
+        assertThat(json.fieldNames()).toIterable()
+                .containsExactly("id", "userId", "balance", "accountType", "createdAt");
+        assertThat(json.get("id").asText()).isEqualTo("1000000016");
+        assertThat(json.get("userId").asLong()).isEqualTo(1L);
+        assertThat(written).contains("\"balance\":1500.00");
+        assertThat(json.get("createdAt").asText()).isEqualTo("2025-11-21T10:30:15");
+    }
+
+    @Test
+    @DisplayName("Should write balanceSlots only for hot accounts")
+    void testAccountDto_BalanceSlotsOnlyWhenSet() throws Exception {
+        // Given
+        AccountDto hot = AccountDto.builder().id("1000000016").balance(BigDecimal.TEN).balanceSlots(8).build();
+
+        // When
+        JsonNode json = jsonMapper.readTree(jsonMapper.writeValueAsString(hot));
+        AccountDto read = jsonMapper.readValue(jsonMapper.writeValueAsString(hot), AccountDto.class);
+
+        // Then
+        assertThat(json.get("balanceSlots").asInt()).isEqualTo(8);
+        assertThat(read).isEqualTo(hot);
+        assertThat(jsonMapper.readTree(jsonMapper.writeValueAsString(AccountDto.builder().id("1000000016").build()))
+                .has("balanceSlots")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should read JSON written by the mapper back into an equal record")
+    void testRoundTrip_Json() throws Exception {
+        // Given
+        TransactionDto transaction = new TransactionDto(1001L, 101L, "TRANSFER_OUT", new BigDecimal("250.00"),
+                102L, "Rent for March", CREATED_AT, "COMPLETED");
+        LogTransactionRequest request = new LogTransactionRequest(101L, "TRANSFER_OUT", new BigDecimal("250.00"),
+                102L, "Rent for March", "3f2b6c1e-8d4a-4e59-9a57-0c1d2e3f4a5b", CREATED_AT);
+        UpdateBalanceRequest update = new UpdateBalanceRequest(new BigDecimal("-250.00"));
+
+        // When / Then
+        assertThat(jsonMapper.readValue(jsonMapper.writeValueAsString(transaction), TransactionDto.class))
+                .isEqualTo(transaction);
+        assertThat(jsonMapper.readValue(jsonMapper.writeValueAsString(request), LogTransactionRequest.class))
+                .isEqualTo(request);
+        assertThat(jsonMapper.readValue(jsonMapper.writeValueAsString(update), UpdateBalanceRequest.class))
+                .isEqualTo(update);
+    }
+
+    @Test
+    @DisplayName("Should read CBOR written by the mapper back into an equal record")
+    void testRoundTrip_Cbor() throws Exception {
+        // Given
+        List<TransactionDto> transactions = List.of(
+                new TransactionDto(81L, 101L, "DEPOSIT", new BigDecimal("500.00"), null, null, CREATED_AT, "COMPLETED"),
+                TransactionDto.builder().id(82L).accountId(101L).build());
+        AccountDto account = new AccountDto("1000000016", 1L, new BigDecimal("1500.00"), "SAVINGS", CREATED_AT);
+
+        // When
+        List<TransactionDto> read = cborMapper.readValue(cborMapper.writeValueAsBytes(transactions),
+                cborMapper.getTypeFactory().constructCollectionType(List.class, TransactionDto.class));
+
+        // Then
+        assertThat(read).isEqualTo(transactions);
+        assertThat(cborMapper.readValue(cborMapper.writeValueAsBytes(account), AccountDto.class)).isEqualTo(account);
+    }
+
+    @Test
+    @DisplayName("Should read nulls, missing fields and coercible values the way the mapper would")
+    void testRead_NullsAndCoercion() throws Exception {
+        // Given
+        String json = """
+                {"id": 1000000016, "userId": null, "balance": "12.50", "createdAt": "2025-11-21T10:30:15"}
+                """;
+
+        // When
+        AccountDto account = jsonMapper.readValue(json, AccountDto.class);
+
+        // Then
+        assertThat(account.id()).isEqualTo("1000000016");
+        assertThat(account.userId()).isNull();
+        assertThat(account.balance()).isEqualTo(new BigDecimal("12.50"));
+        assertThat(account.accountType()).isNull();
+        assertThat(account.createdAt()).isEqualTo(CREATED_AT);
+        assertThat(jsonMapper.readValue("{}", UpdateBalanceRequest.class).amount()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should skip unknown fields, nested ones included, unless the mapper fails on them")
+    void testRead_UnknownFields() throws Exception {
+        // Given
+        String json = """
+                {"amount": 5, "channel": {"name": "teller", "ids": [1, 2]}, "accountId": 101}
+                """;
+
+        // When
+        LogTransactionRequest request = jsonMapper.readValue(json, LogTransactionRequest.class);
+
+        // Then
+        assertThat(request.amount()).isEqualTo(new BigDecimal("5"));
+        assertThat(request.accountId()).isEqualTo(101L);
+        assertThatThrownBy(() -> jsonMapper.copy()
+                .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(json, LogTransactionRequest.class))
+                .isInstanceOf(UnrecognizedPropertyException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a body that is not an object")
+    void testRead_NotAnObject() {
+        // When / Then
+        assertThatThrownBy(() -> jsonMapper.readValue("[1, 2]", UpdateBalanceRequest.class))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+}
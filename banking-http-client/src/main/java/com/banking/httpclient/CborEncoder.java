@@ -0,0 +1,33 @@
+package com.banking.httpclient;
+
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import org.springframework.http.HttpHeaders;
+
+import java.lang.reflect.Type;
+
+/**
+ * Encodes request bodies as application/cbor for banking.http-client.wire-format CBOR. Spring's
+ * encoder picks the message converter from the request's Content-Type, so setting it first is
+ * enough to select the CBOR converter.
+ */
+class CborEncoder implements Encoder {
+
+    static final String APPLICATION_CBOR = "application/cbor";
+
+    private final Encoder delegate;
+
+    CborEncoder(Encoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        template.removeHeader(HttpHeaders.CONTENT_TYPE);
+        template.header(HttpHeaders.CONTENT_TYPE, APPLICATION_CBOR);
+        delegate.encode(object, bodyType, template);
+        // Without a charset the body counts as binary; otherwise the HTTP client re-encodes it as text
+        template.body(template.body(), null);
+    }
+}
@@ -0,0 +1,50 @@
+package com.banking.httpclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import feign.Response;
+import feign.codec.ErrorDecoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns application/cbor error bodies into JSON before Feign builds its exception, so
+ * FeignException messages and contentUTF8() read the same as with JSON calls
+ */
+class CborErrorDecoder implements ErrorDecoder {
+
+    private final ErrorDecoder delegate = new ErrorDecoder.Default();
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    @Override
+    public Exception decode(String methodKey, Response response) {
+        if (response.body() == null || !isCbor(response)) {
+            return delegate.decode(methodKey, response);
+        }
+
+        byte[] json;
+        try (InputStream body = response.body().asInputStream()) {
+            json = jsonMapper.writeValueAsBytes(cborMapper.readTree(body));
+        } catch (IOException e) {
+            json = new byte[0];
+        }
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(response.headers());
+        headers.put(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE));
+        return delegate.decode(methodKey, response.toBuilder().headers(headers).body(json).build());
+    }
+
+    private static boolean isCbor(Response response) {
+        Collection<String> contentTypes = response.headers().get(HttpHeaders.CONTENT_TYPE);
+        return contentTypes != null && contentTypes.stream()
+                .anyMatch(contentType -> contentType.startsWith(CborEncoder.APPLICATION_CBOR));
+    }
+}
@@ -0,0 +1,81 @@
+package com.banking.httpclient;
+
+import feign.Client;
+import feign.RequestInterceptor;
+import feign.codec.Encoder;
+import feign.codec.ErrorDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.FeignLoadBalancerAutoConfiguration;
+import org.springframework.cloud.openfeign.loadbalancer.LoadBalancerFeignRequestTransformer;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+/**
+ * Puts {@link PooledFeignClient} under the load balancer for every {@code @FeignClient} of the
+ * service, and with banking.http-client.wire-format CBOR switches their bodies to CBOR. Runs before
+ * OpenFeign's own client configuration, which then backs off.
+ */
+@AutoConfiguration(before = FeignLoadBalancerAutoConfiguration.class)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientAutoConfiguration {
+
+    @Bean
+    public PooledFeignClient pooledFeignClient(HttpClientProperties properties, MeterRegistry meterRegistry) {
+        return new PooledFeignClient(properties, meterRegistry);
+    }
+
+    /**
+     * Primary because the pool itself is a Client bean too, and OpenFeign looks its client up by type
+     */
+    @Bean
+    @Primary
+    public Client feignClient(PooledFeignClient pooledFeignClient, LoadBalancerClient loadBalancerClient,
+                              LoadBalancerClientFactory loadBalancerClientFactory,
+                              List<LoadBalancerFeignRequestTransformer> transformers) {
+        return new FeignBlockingLoadBalancerClient(pooledFeignClient, loadBalancerClient,
+                loadBalancerClientFactory, transformers);
+    }
+
+    /**
+     * Beans found here take the place of OpenFeign's per-client defaults for every Feign client
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "banking.http-client.wire-format", havingValue = "CBOR")
+    static class CborWireFormatConfiguration {
+
+        @Bean
+        public Encoder feignEncoder(ObjectFactory<HttpMessageConverters> messageConverters) {
+            return new CborEncoder(new SpringEncoder(messageConverters));
+        }
+
+        /**
+         * JSON stays acceptable for endpoints that cannot answer in CBOR, such as plain strings
+         */
+        @Bean
+        public RequestInterceptor cborAcceptInterceptor() {
+            return template -> {
+                if (!template.headers().containsKey(HttpHeaders.ACCEPT)) {
+                    template.header(HttpHeaders.ACCEPT, CborEncoder.APPLICATION_CBOR + ", application/json;q=0.9");
+                }
+            };
+        }
+
+        @Bean
+        public ErrorDecoder feignErrorDecoder() {
+            return new CborErrorDecoder();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.banking.httpclient;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Turns off OpenFeign's Apache HttpClient 5 configuration, which would otherwise build a second,
+ * unused pool as soon as feign-hc5 is on the classpath. Added as the last property source, so a
+ * service can still set the property itself.
+ */
+public class HttpClientEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        environment.getPropertySources().addLast(new MapPropertySource("bankingHttpClient",
+                Map.of("spring.cloud.openfeign.httpclient.hc5.enabled", false)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.banking.httpclient;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection pools of the Feign clients (banking.http-client.*). Each target service, the name in
+ * {@code @FeignClient}, gets its own pool; the values here apply to every target unless overridden
+ * under targets.&lt;service-name&gt;.
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.http-client")
+public class HttpClientProperties {
+
+    /**
+     * Open connections to one target service, shared by all of its instances. Calls beyond that
+     * wait for a connection to be returned.
+     */
+    private int maxConnections = 200;
+
+    /**
+     * Feign's defaults; these replace spring.cloud.openfeign.client.config timeouts
+     */
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    private Duration readTimeout = Duration.ofSeconds(60);
+
+    /**
+     * How long a call waits for a free connection before it fails
+     */
+    private Duration leaseTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Idle connections are closed after this; below the 60 s after which the services' Tomcat closes
+     * an idle keep-alive connection, so the pool does not hand out one the server is dropping
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Encoding of the Feign clients' request and response bodies; the called services read and
+     * write both, so this only changes what a service sends and asks for
+     */
+    private WireFormat wireFormat = WireFormat.JSON;
+
+    private Map<String, Target> targets = new LinkedHashMap<>();
+
+    /**
+     * Settings for one target service, each falling back to the shared value when unset
+     */
+    @Data
+    public static class Target {
+
+        private Integer maxConnections;
+
+        private Duration connectTimeout;
+
+        private Duration readTimeout;
+
+        private Duration leaseTimeout;
+    }
+
+    public enum WireFormat {
+        /**
+         * application/json, as sent by external callers through the gateway
+         */
+        JSON,
+        /**
+         * application/cbor; error bodies are turned back into JSON, so FeignException stays readable
+         */
+        CBOR
+    }
+
+    /**
+     * The settings in effect for a target service
+     */
+    public Target resolve(String serviceName) {
+        Target overrides = targets.getOrDefault(serviceName, new Target());
+        Target resolved = new Target();
+        resolved.setMaxConnections(overrides.getMaxConnections() != null ? overrides.getMaxConnections() : maxConnections);
+        resolved.setConnectTimeout(overrides.getConnectTimeout() != null ? overrides.getConnectTimeout() : connectTimeout);
+        resolved.setReadTimeout(overrides.getReadTimeout() != null ? overrides.getReadTimeout() : readTimeout);
+        resolved.setLeaseTimeout(overrides.getLeaseTimeout() != null ? overrides.getLeaseTimeout() : leaseTimeout);
+        return resolved;
+    }
+}
@@ -0,0 +1,101 @@
+package com.banking.httpclient;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign client that sends each call over a keep-alive connection from its target service's pool.
+ * The target is the {@code @FeignClient} name, so the pool limit holds across all instances the
+ * load balancer picks from. Pools are created on a target's first call.
+ *
+ * <p>Metrics per pool, tagged with the target name: the httpcomponents.httpclient.pool.* gauges
+ * (leased, available and pending connections against the maximum) and the http.client.pool.lease
+ * timer (time waited for a connection).
+ */
+@Slf4j
+public class PooledFeignClient implements Client, Closeable {
+
+    private final HttpClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, TargetPool> pools = new ConcurrentHashMap<>();
+
+    public PooledFeignClient(HttpClientProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        TargetPool pool = pools.computeIfAbsent(targetName(request), this::createPool);
+        return pool.client().execute(request, new Request.Options(
+                pool.settings().getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                pool.settings().getReadTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                options.isFollowRedirects()));
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(pool -> pool.httpClient().close(CloseMode.GRACEFUL));
+        pools.clear();
+    }
+
+    /**
+     * The {@code @FeignClient} name; the URL's host for requests built without a Feign target
+     */
+    private static String targetName(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().feignTarget() != null) {
+            return request.requestTemplate().feignTarget().name();
+        }
+        return URI.create(request.url()).getHost();
+    }
+
+    private TargetPool createPool(String targetName) {
+        HttpClientProperties.Target settings = properties.resolve(targetName);
+        log.info("Creating HTTP connection pool for {}: max {} connections", targetName, settings.getMaxConnections());
+
+        Timer leaseTimer = Timer.builder("http.client.pool.lease")
+                .description("Time a call waited for a connection to its target service")
+                .tag("target", targetName)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        TimedConnectionManager connectionManager = new TimedConnectionManager(leaseTimer);
+        connectionManager.setMaxTotal(settings.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(settings.getMaxConnections());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, targetName).bindTo(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(settings.getLeaseTimeout().toMillis()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleTimeout().toMillis()))
+                // PUT /accounts/{id}/balance is not safe to send twice
+                .disableAutomaticRetries()
+                .disableCookieManagement()
+                .build();
+        return new TargetPool(new ApacheHttp5Client(httpClient), httpClient, settings);
+    }
+
+    private record TargetPool(ApacheHttp5Client client, CloseableHttpClient httpClient,
+                              HttpClientProperties.Target settings) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.banking.httpclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Feign calls with the beans of banking.http-client.wire-format CBOR against a local HTTP server
+ */
+class CborWireFormatTest {
+
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private final Map<String, String> receivedHeaders = new ConcurrentHashMap<>();
+    private final Map<String, Object> receivedBody = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private PooledFeignClient pooledFeignClient;
+    private AccountApi client;
+
+    interface AccountApi {
+
+        @PostMapping("/accounts/transfer")
+        Map<String, Object> transfer(@RequestBody Map<String, Object> request);
+
+        @PostMapping("/accounts/reject")
+        Map<String, Object> reject(@RequestBody Map<String, Object> request);
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/accounts/transfer", exchange -> {
+            receivedHeaders.put("Content-Type", exchange.getRequestHeaders().getFirst("Content-Type"));
+            receivedHeaders.put("Accept", exchange.getRequestHeaders().getFirst("Accept"));
+            receivedBody.putAll(cborMapper.readValue(exchange.getRequestBody(), Map.class));
+            respond(exchange, 200, Map.of("fromAccountId", "1000000016", "newBalance", 400));
+        });
+        server.createContext("/accounts/reject", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            respond(exchange, 400, Map.of("status", 400, "message", "Insufficient funds"));
+        });
+        server.start();
+
+        HttpMessageConverters converters = new HttpMessageConverters();
+        HttpClientAutoConfiguration.CborWireFormatConfiguration cbor =
+                new HttpClientAutoConfiguration.CborWireFormatConfiguration();
+        pooledFeignClient = new PooledFeignClient(new HttpClientProperties(), new SimpleMeterRegistry());
+        client = Feign.builder()
+                .client(pooledFeignClient)
+                .contract(new SpringMvcContract())
+                .encoder(cbor.feignEncoder(() -> converters))
+                .decoder(new SpringDecoder(() -> converters))
+                .errorDecoder(cbor.feignErrorDecoder())
+                .requestInterceptor(cbor.cborAcceptInterceptor())
+                .target(AccountApi.class, "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pooledFeignClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void testCall_SendsAndReadsCbor() {
+        // When
+        Map<String, Object> response = client.transfer(Map.of("fromAccountId", "1000000016", "amount", 100));
+
+        // Then
+        assertThat(receivedHeaders.get("Content-Type")).isEqualTo("application/cbor");
+        assertThat(receivedHeaders.get("Accept")).startsWith("application/cbor");
+        assertThat(receivedBody).containsEntry("fromAccountId", "1000000016").containsEntry("amount", 100);
+        assertThat(response).containsEntry("fromAccountId", "1000000016").containsEntry("newBalance", 400);
+    }
+
+    @Test
+    void testCall_CborErrorBodyReadsAsJson() {
+        // When & Then
+        assertThatThrownBy(() -> client.reject(Map.of("fromAccountId", "1000000016")))
+                .isInstanceOfSatisfying(FeignException.BadRequest.class, e ->
+                        assertThat(e.contentUTF8()).contains("\"message\":\"Insufficient funds\""));
+    }
+
+    private void respond(HttpExchange exchange, int status, Map<String, Object> body) throws IOException {
+        byte[] bytes = cborMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().put("Content-Type", List.of("application/cbor"));
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.banking.httpclient;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Calls through PooledFeignClient to a local HTTP server standing in for the target services
+ */
+class PooledFeignClientTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch releaseSlowCall = new CountDownLatch(1);
+
+    private HttpClientProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private PooledFeignClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/accounts", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            respond(exchange, "{\"id\":\"1000000016\"}");
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                releaseSlowCall.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "{}");
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        properties = new HttpClientProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        client = new PooledFeignClient(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowCall.countDown();
+        client.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testExecute_ReusesKeepAliveConnection() throws IOException {
+        // When
+        for (int call = 0; call < 3; call++) {
+            try (Response response = client.execute(get("account-service", "/accounts/1000000016"), options())) {
+                assertThat(response.status()).isEqualTo(200);
+                assertThat(new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                        .isEqualTo("{\"id\":\"1000000016\"}");
+            }
+        }
+
+        // Then
+        assertThat(clientPorts).hasSize(1);
+        assertThat(meterRegistry.get("http.client.pool.lease").tag("target", "account-service").timer().count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", "account-service", "state", "available").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testExecute_FullPoolFailsAfterLeaseTimeoutWithoutAffectingOtherTargets() throws Exception {
+        // Given
+        HttpClientProperties.Target slowTarget = new HttpClientProperties.Target();
+        slowTarget.setMaxConnections(1);
+        slowTarget.setLeaseTimeout(Duration.ofMillis(200));
+        properties.getTargets().put("transaction-service", slowTarget);
+        CompletableFuture<Response> firstCall = CompletableFuture.supplyAsync(() -> {
+            try {
+                return client.execute(get("transaction-service", "/slow"), options());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (meterRegistry.find("http.client.pool.lease").tag("target", "transaction-service").timer() == null
+                || meterRegistry.get("http.client.pool.lease").tag("target", "transaction-service").timer().count() == 0) {
+            Thread.sleep(10);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> client.execute(get("transaction-service", "/slow"), options()))
+                .isInstanceOf(ConnectionRequestTimeoutException.class);
+        try (Response response = client.execute(get("account-service", "/accounts/1000000016"), options())) {
+            assertThat(response.status()).isEqualTo(200);
+        }
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "transaction-service").gauge().value())
+                .isEqualTo(1);
+
+        releaseSlowCall.countDown();
+        firstCall.get(5, TimeUnit.SECONDS).close();
+    }
+
+    private Request get(String serviceName, String path) {
+        String url = "http://localhost:" + server.getAddress().getPort();
+        RequestTemplate template = new RequestTemplate()
+                .feignTarget(new Target.HardCodedTarget<>(Object.class, serviceName, url));
+        return Request.create(Request.HttpMethod.GET, url + path, Map.of(), null,
+                StandardCharsets.UTF_8, template);
+    }
+
+    private static Request.Options options() {
+        return new Request.Options(1, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().put("Content-Type", List.of("application/json"));
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.banking.outbox;
+
+import com.banking.outbox.idempotency.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The outbox table in the service's own database, its dispatcher and the {@link IdempotencyStore}
+ * (idempotency.*). The service provides a {@link TransactionLogSender} and enables scheduling,
+ * which drives the dispatcher.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(TransactionLogProperties.class)
+@Import(IdempotencyStore.class)
+public class OutboxAutoConfiguration {
+
+    @Bean
+    public TransactionOutbox transactionOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        return new TransactionOutbox(jdbcTemplate, objectMapper);
+    }
+
+    @Bean
+    public TransactionOutboxDispatcher transactionOutboxDispatcher(TransactionOutbox transactionOutbox,
+                                                                   TransactionLogSender transactionLogSender,
+                                                                   TransactionLogProperties transactionLogProperties,
+                                                                   MeterRegistry meterRegistry) {
+        return new TransactionOutboxDispatcher(transactionOutbox, transactionLogSender,
+                transactionLogProperties, meterRegistry);
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.outbox;
+
+import com.banking.contracts.LogTransactionRequest;
+
+import java.time.Instant;
+
+/**
+ * A transaction waiting in the outbox; the request carries its idempotency key
+ */
+public record OutboxEntry(long id, LogTransactionRequest request, Instant createdAt, int attempts) {
+}
@@ -0,0 +1,57 @@
+package com.banking.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * How a service logs the transactions it made in transaction-service (transaction-log.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "transaction-log")
+public class TransactionLogProperties {
+
+    /**
+     * Whether the response waits for transaction-service
+     */
+    private Mode mode = Mode.DIRECT;
+
+    private final Outbox outbox = new Outbox();
+
+    @Data
+    public static class Outbox {
+
+        /**
+         * Transactions delivered per call; transaction-service accepts at most 100
+         */
+        private int batchSize = 100;
+
+        /**
+         * Pause between delivery runs; read by the dispatcher's @Scheduled placeholder
+         */
+        private long pollIntervalMs = 200;
+
+        /**
+         * Wait before retrying a failed delivery, doubled on each further failure up to maxBackoffMs
+         */
+        private long initialBackoffMs = 1000;
+
+        private long maxBackoffMs = 60000;
+
+        /**
+         * Failed deliveries after which a transaction is dead-lettered; 1440 is about a day at maxBackoffMs
+         */
+        private int maxAttempts = 1440;
+    }
+
+    public enum Mode {
+        /**
+         * Log the transaction before responding; the response carries its id
+         */
+        DIRECT,
+        /**
+         * Store the transaction in the local outbox and respond at once with its idempotency key;
+         * the outbox dispatcher delivers it in the background
+         */
+        OUTBOX
+    }
+}
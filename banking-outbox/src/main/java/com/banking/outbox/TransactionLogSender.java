@@ -0,0 +1,17 @@
+package com.banking.outbox;
+
+import com.banking.contracts.LogTransactionRequest;
+
+import java.util.List;
+
+/**
+ * How the outbox dispatcher reaches transaction-service; each service adapts its own client.
+ * Returns once transaction-service has logged all transactions and throws otherwise:
+ * {@link TransactionRejectedException} when the transactions were refused, any other exception when
+ * transaction-service could not be reached and the delivery should be retried.
+ */
+@FunctionalInterface
+public interface TransactionLogSender {
+
+    void send(List<LogTransactionRequest> transactions);
+}
@@ -0,0 +1,159 @@
+package com.banking.outbox;
+
+import com.banking.contracts.LogTransactionRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Transactions still to be logged in transaction-service, kept in this service's own H2 file
+ * database. Once enqueue returns, a transaction survives restarts and outages of transaction-service;
+ * {@link TransactionOutboxDispatcher} delivers it and removes it from the table.
+ * <p>
+ * Transactions that transaction-service rejected, or that could not be delivered within the attempt
+ * limit, stay in the table as dead letters (dead_lettered_at set, last_error saying why) and are no
+ * longer delivered. Clearing dead_lettered_at queues such an entry again.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    public void createTableIfMissing() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS transaction_outbox ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "payload VARCHAR(4000) NOT NULL, "
+                + "created_at TIMESTAMP NOT NULL, "
+                + "attempts INT DEFAULT 0 NOT NULL, "
+                + "next_attempt_at TIMESTAMP NOT NULL, "
+                + "dead_lettered_at TIMESTAMP, "
+                + "last_error VARCHAR(1000))");
+        // Outbox files created before dead-lettering existed
+        jdbcTemplate.execute("ALTER TABLE transaction_outbox ADD COLUMN IF NOT EXISTS dead_lettered_at TIMESTAMP");
+        jdbcTemplate.execute("ALTER TABLE transaction_outbox ADD COLUMN IF NOT EXISTS last_error VARCHAR(1000)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_transaction_outbox_due "
+                + "ON transaction_outbox (next_attempt_at, id)");
+    }
+
+    /**
+     * Stores the requests in one local transaction, each under a new idempotency key,
+     * so a delivery that is retried after transaction-service already logged it is not logged twice.
+     * A request without occurredAt is stamped with the enqueue time, so it is not logged with the
+     * time it was finally delivered.
+     *
+     * @return the idempotency keys, in request order
+     */
+    @Transactional
+    public List<String> enqueue(List<LogTransactionRequest> requests) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<String> keys = new ArrayList<>(requests.size());
+        List<Object[]> rows = new ArrayList<>(requests.size());
+        for (LogTransactionRequest request : requests) {
+            String key = UUID.randomUUID().toString();
+            keys.add(key);
+            LogTransactionRequest queued = request.withIdempotencyKey(key);
+            if (queued.occurredAt() == null) {
+                queued = queued.withOccurredAt(now.toLocalDateTime());
+            }
+            rows.add(new Object[]{toJson(queued), now, now});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transaction_outbox (payload, created_at, next_attempt_at) VALUES (?, ?, ?)", rows);
+        log.debug("Enqueued {} transactions: {}", requests.size(), keys);
+        return keys;
+    }
+
+    /**
+     * Up to limit entries whose next attempt is due, oldest first
+     */
+    public List<OutboxEntry> findDue(int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, payload, created_at, attempts FROM transaction_outbox "
+                        + "WHERE next_attempt_at <= ? AND dead_lettered_at IS NULL ORDER BY id LIMIT ?",
+                this::mapEntry, Timestamp.from(Instant.now()), limit);
+    }
+
+    public void delete(List<OutboxEntry> entries) {
+        jdbcTemplate.batchUpdate("DELETE FROM transaction_outbox WHERE id = ?",
+                entries.stream().map(entry -> new Object[]{entry.id()}).toList());
+    }
+
+    public void retryLater(List<OutboxEntry> entries, Duration delay) {
+        Timestamp nextAttempt = Timestamp.from(Instant.now().plus(delay));
+        jdbcTemplate.batchUpdate(
+                "UPDATE transaction_outbox SET attempts = attempts + 1, next_attempt_at = ? WHERE id = ?",
+                entries.stream().map(entry -> new Object[]{nextAttempt, entry.id()}).toList());
+    }
+
+    /**
+     * Stops delivering the entries, keeping them with the reason for inspection
+     */
+    public void deadLetter(List<OutboxEntry> entries, String error) {
+        Timestamp now = Timestamp.from(Instant.now());
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        jdbcTemplate.batchUpdate(
+                "UPDATE transaction_outbox SET attempts = attempts + 1, dead_lettered_at = ?, last_error = ? WHERE id = ?",
+                entries.stream().map(entry -> new Object[]{now, lastError, entry.id()}).toList());
+    }
+
+    /**
+     * Number of transactions not yet delivered, dead letters excluded
+     */
+    public long depth() {
+        Long depth = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction_outbox WHERE dead_lettered_at IS NULL", Long.class);
+        return depth != null ? depth : 0;
+    }
+
+    public long deadLetters() {
+        Long deadLetters = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction_outbox WHERE dead_lettered_at IS NOT NULL", Long.class);
+        return deadLetters != null ? deadLetters : 0;
+    }
+
+    public Optional<Instant> oldestCreatedAt() {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM transaction_outbox WHERE dead_lettered_at IS NULL", Timestamp.class);
+        return Optional.ofNullable(oldest).map(Timestamp::toInstant);
+    }
+
+    private OutboxEntry mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        return new OutboxEntry(rs.getLong("id"), fromJson(rs.getString("payload")),
+                rs.getTimestamp("created_at").toInstant(), rs.getInt("attempts"));
+    }
+
+    private String toJson(LogTransactionRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize transaction for the outbox", e);
+        }
+    }
+
+    private LogTransactionRequest fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, LogTransactionRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outbox payload: " + payload, e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.banking.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers the outbox to transaction-service in batches. A batch is removed only after
+ * transaction-service confirmed it. A batch that could not be delivered is retried with exponential
+ * backoff; an entry still failing after transaction-log.outbox.max-attempts is dead-lettered.
+ * A batch transaction-service rejected ({@link TransactionRejectedException}) is split in halves
+ * until the rejected entries are isolated; those are dead-lettered at once and the rest is delivered.
+ * Entries carry idempotency keys, so a batch delivered twice (e.g. the confirmation was lost)
+ * is still logged once.
+ * <p>
+ * Metrics: transaction.outbox.depth (entries waiting), transaction.outbox.oldest.age (seconds the
+ * oldest entry has waited), transaction.outbox.delivery.lag (enqueue to confirmed delivery),
+ * transaction.outbox.delivery.failures and transaction.outbox.dead.letters (entries given up on;
+ * alert when above zero).
+ */
+@Slf4j
+public class TransactionOutboxDispatcher {
+
+    private final TransactionOutbox outbox;
+    private final TransactionLogSender transactionLogSender;
+    private final TransactionLogProperties.Outbox properties;
+    private final Timer deliveryLag;
+    private final Counter deliveryFailures;
+
+    public TransactionOutboxDispatcher(TransactionOutbox outbox, TransactionLogSender transactionLogSender,
+                                       TransactionLogProperties transactionLogProperties, MeterRegistry meterRegistry) {
+        this.outbox = outbox;
+        this.transactionLogSender = transactionLogSender;
+        this.properties = transactionLogProperties.getOutbox();
+        Gauge.builder("transaction.outbox.depth", outbox, TransactionOutbox::depth)
+                .description("Transactions waiting to be logged in transaction-service")
+                .register(meterRegistry);
+        Gauge.builder("transaction.outbox.oldest.age", outbox, TransactionOutboxDispatcher::oldestAgeSeconds)
+                .description("How long the oldest waiting transaction has been in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("transaction.outbox.dead.letters", outbox, TransactionOutbox::deadLetters)
+                .description("Transactions that will not be delivered without intervention")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("transaction.outbox.delivery.lag")
+                .description("Time from enqueue to confirmed delivery")
+                .register(meterRegistry);
+        this.deliveryFailures = Counter.builder("transaction.outbox.delivery.failures")
+                .description("Batches transaction-service did not accept")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains due entries batch by batch until none are left or a delivery fails.
+     * Runs regardless of transaction-log.mode, so entries left after switching back to DIRECT are still delivered.
+     */
+    @Scheduled(fixedDelayString = "${transaction-log.outbox.poll-interval-ms:200}")
+    public void dispatch() {
+        List<OutboxEntry> batch;
+        do {
+            batch = outbox.findDue(properties.getBatchSize());
+        } while (!batch.isEmpty() && deliver(batch) && batch.size() == properties.getBatchSize());
+    }
+
+    /**
+     * @return whether dispatching may go on with the next batch
+     */
+    private boolean deliver(List<OutboxEntry> batch) {
+        try {
+            transactionLogSender.send(batch.stream().map(OutboxEntry::request).toList());
+        } catch (TransactionRejectedException e) {
+            deliveryFailures.increment();
+            if (batch.size() == 1) {
+                deadLetter(batch, e);
+                return true;
+            }
+            log.warn("transaction-service rejected a batch of {} outbox transactions, splitting it: {}",
+                    batch.size(), e.getMessage());
+            int half = batch.size() / 2;
+            return deliver(batch.subList(0, half)) && deliver(batch.subList(half, batch.size()));
+        } catch (RuntimeException e) {
+            deliveryFailures.increment();
+            retryLater(batch, e);
+            return false;
+        }
+        outbox.delete(batch);
+        Instant now = Instant.now();
+        batch.forEach(entry -> deliveryLag.record(Duration.between(entry.createdAt(), now)));
+        log.info("Delivered {} outbox transactions", batch.size());
+        return true;
+    }
+
+    private void retryLater(List<OutboxEntry> batch, RuntimeException e) {
+        Map<Boolean, List<OutboxEntry>> exhausted = batch.stream()
+                .collect(Collectors.partitioningBy(entry -> entry.attempts() + 1 >= properties.getMaxAttempts()));
+        if (!exhausted.get(true).isEmpty()) {
+            deadLetter(exhausted.get(true), e);
+        }
+        List<OutboxEntry> retried = exhausted.get(false);
+        if (!retried.isEmpty()) {
+            int attempt = retried.stream().mapToInt(OutboxEntry::attempts).max().orElse(0) + 1;
+            Duration delay = backoff(attempt);
+            log.warn("Delivering {} outbox transactions failed (attempt {}), retrying in {} ms: {}",
+                    retried.size(), attempt, delay.toMillis(), e.getMessage());
+            outbox.retryLater(retried, delay);
+        }
+    }
+
+    private void deadLetter(List<OutboxEntry> entries, RuntimeException e) {
+        log.error("Dead-lettering outbox transactions {} after {} attempts: {}",
+                entries.stream().map(entry -> entry.request().idempotencyKey()).toList(),
+                entries.stream().mapToInt(OutboxEntry::attempts).max().orElse(0) + 1, e.getMessage());
+        outbox.deadLetter(entries, e.getMessage());
+    }
+
+    Duration backoff(int attempt) {
+        long delay = properties.getInitialBackoffMs() << Math.min(attempt - 1, 20);
+        return Duration.ofMillis(Math.min(delay, properties.getMaxBackoffMs()));
+    }
+
+    private static double oldestAgeSeconds(TransactionOutbox outbox) {
+        return outbox.oldestCreatedAt()
+                .map(oldest -> Duration.between(oldest, Instant.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+}
@@ -0,0 +1,12 @@
+package com.banking.outbox;
+
+/**
+ * Thrown by a {@link TransactionLogSender} when transaction-service refused the transactions
+ * themselves (a 4xx other than timeout or rate limiting), so sending them again cannot succeed
+ */
+public class TransactionRejectedException extends RuntimeException {
+
+    public TransactionRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
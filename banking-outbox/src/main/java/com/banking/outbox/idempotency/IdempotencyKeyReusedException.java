@@ -0,0 +1,10 @@
+package com.banking.outbox.idempotency;
+
+/**
+ * Exception thrown when an Idempotency-Key is sent again with a different request body
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency-Key " + idempotencyKey + " was already used for a different request");
+    }
+}
@@ -0,0 +1,212 @@
+package com.banking.outbox.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Responses of requests sent with an Idempotency-Key, so a client retrying a timed-out request
+ * gets the original response instead of moving money a second time. A retry that arrives while
+ * the original is still running waits for it and receives the same response.
+ * <p>
+ * Requests still running are kept until they finish and are never evicted, so a retry can never
+ * start the operation a second time. Finished responses expire after idempotency.ttl and at most
+ * idempotency.maximum-size are kept; keys are stored as SHA-256 hashes, so every entry costs about
+ * the same whatever the client sent.
+ * When the operation throws, waiting retries see the same exception. Whether the key is then
+ * released depends on the {@link PointOfNoReturn}: before it, nothing changed and the next attempt
+ * runs the operation again; after it, e.g. when logging the transaction fails once the balance was
+ * updated, the failure is the terminal outcome and every retry gets it replayed.
+ */
+@Slf4j
+public class IdempotencyStore {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec secretKey;
+    private final Map<String, Entry> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Entry> completed;
+
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${idempotency.ttl:1h}") Duration ttl,
+                            @Value("${idempotency.maximum-size:100000}") long maximumSize) {
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.secretKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        this.completed = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+        Gauge.builder("idempotency.in.flight", inFlight, Map::size)
+                .description("Requests with an Idempotency-Key that are still running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the operation the first time the key is seen and returns its response on every later call
+     *
+     * @param idempotencyKey key sent by the client, already scoped to the caller
+     * @param request        request body; a later call with the same key must send an equal one
+     * @param operation      receives the {@link PointOfNoReturn} to call before it changes state elsewhere
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String idempotencyKey, Object request, Function<PointOfNoReturn, T> operation) {
+        String key = hash(idempotencyKey);
+        Entry entry = new Entry(request, new CompletableFuture<>(), new AtomicBoolean());
+        Entry existing = claim(key, entry);
+        if (existing != null) {
+            if (!existing.request().equals(request)) {
+                throw new IdempotencyKeyReusedException(idempotencyKey);
+            }
+            log.info("Replaying response for Idempotency-Key {}", idempotencyKey);
+            return (T) await(existing.response());
+        }
+        try {
+            T response = operation.apply(entry::reachPointOfNoReturn);
+            succeed(key, entry, response);
+            return response;
+        } catch (Throwable e) {
+            // Errors too, or retries waiting for this entry would block forever
+            fail(idempotencyKey, key, entry, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Keyed digest of a secret request field, e.g. a PIN, for the request passed to {@link #execute}:
+     * a retry with the same secret still matches, but the secret itself is not kept. The key is random
+     * per instance, like the stored responses, so a 6-digit PIN cannot be recovered by hashing every candidate.
+     */
+    public String digestSecret(String secret) {
+        if (secret == null) {
+            return null;
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretKey);
+            return HexFormat.of().formatHex(mac.doFinal(secret.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+        }
+    }
+
+    /**
+     * {@link #execute} for operations that complete later; neither a replay nor a retry waiting for
+     * the original blocks a thread. Cancelling the returned Mono does not cancel the operation.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> executeAsync(String idempotencyKey, Object request,
+                                    Function<PointOfNoReturn, Mono<T>> operation) {
+        return Mono.defer(() -> {
+            String key = hash(idempotencyKey);
+            Entry entry = new Entry(request, new CompletableFuture<>(), new AtomicBoolean());
+            Entry existing = claim(key, entry);
+            if (existing != null) {
+                if (!existing.request().equals(request)) {
+                    return Mono.error(new IdempotencyKeyReusedException(idempotencyKey));
+                }
+                log.info("Replaying response for Idempotency-Key {}", idempotencyKey);
+                return Mono.fromFuture(existing.response(), true).map(response -> (T) response);
+            }
+            Mono.defer(() -> operation.apply(entry::reachPointOfNoReturn)).toFuture().whenComplete((response, e) -> {
+                if (e != null) {
+                    fail(idempotencyKey, key, entry, e);
+                } else {
+                    succeed(key, entry, response);
+                }
+            });
+            return Mono.fromFuture(entry.response(), true).map(response -> (T) response);
+        });
+    }
+
+    /**
+     * The entry already stored for the key, finished or still running, or null once the given entry
+     * has been registered as running
+     */
+    private Entry claim(String key, Entry entry) {
+        Entry finished = completed.getIfPresent(key);
+        if (finished != null) {
+            return finished;
+        }
+        Entry running = inFlight.putIfAbsent(key, entry);
+        if (running != null) {
+            return running;
+        }
+        // Another request may have finished between the two lookups: it is stored as completed
+        // before it leaves inFlight
+        finished = completed.getIfPresent(key);
+        if (finished != null) {
+            inFlight.remove(key, entry);
+        }
+        return finished;
+    }
+
+    private void succeed(String key, Entry entry, Object response) {
+        entry.response().complete(response);
+        completed.put(key, entry);
+        inFlight.remove(key, entry);
+    }
+
+    private void fail(String idempotencyKey, String key, Entry entry, Throwable e) {
+        entry.response().completeExceptionally(e);
+        if (entry.pointOfNoReturnReached().get()) {
+            log.warn("Request with Idempotency-Key {} failed after its point of no return; "
+                    + "replaying the failure to retries: {}", idempotencyKey, e.toString());
+            completed.put(key, entry);
+        }
+        inFlight.remove(key, entry);
+    }
+
+    private static Object await(CompletableFuture<Object> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static String hash(String idempotencyKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(idempotencyKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> response, AtomicBoolean pointOfNoReturnReached) {
+
+        void reachPointOfNoReturn() {
+            pointOfNoReturnReached.set(true);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.banking.outbox.idempotency;
+
+/**
+ * Handed to an operation run by {@link IdempotencyStore}; the operation calls {@link #reached()} right
+ * before it changes state in another service, e.g. before sending a balance update. A failure before
+ * that point changed nothing, so the key is released for a retry. A failure after it may have moved
+ * money already, so the failure is kept and replayed to retries instead of running the operation again.
+ */
+@FunctionalInterface
+public interface PointOfNoReturn {
+
+    /**
+     * For calls without an Idempotency-Key, whose outcome nobody keeps
+     */
+    PointOfNoReturn NONE = () -> {
+    };
+
+    void reached();
+}
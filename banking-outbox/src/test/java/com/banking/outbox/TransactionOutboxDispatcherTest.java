@@ -0,0 +1,186 @@
+package com.banking.outbox;
+
+import com.banking.contracts.LogTransactionRequest;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Outbox and dispatcher against a private in-memory H2 database, with a mocked transaction-service
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Transaction Outbox Dispatcher Tests")
+class TransactionOutboxDispatcherTest {
+
+    @Mock
+    private TransactionLogSender transactionLogSender;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionOutbox outbox;
+    private TransactionLogProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:outbox-test;DB_CLOSE_DELAY=-1"));
+        outbox = new TransactionOutbox(jdbcTemplate, JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        outbox.createTableIfMissing();
+        properties = new TransactionLogProperties();
+        properties.getOutbox().setBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new TransactionOutboxDispatcher(outbox, transactionLogSender, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Should deliver queued transactions in batches with their idempotency keys and empty the outbox")
+    void testDispatch_DeliversInBatches() {
+        // Given
+        List<String> keys = outbox.enqueue(List.of(deposit("10.00"), deposit("20.00"), deposit("30.00")));
+        assertThat(meterRegistry.get("transaction.outbox.depth").gauge().value()).isEqualTo(3.0);
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LogTransactionRequest>> batches = ArgumentCaptor.forClass(List.class);
+        verify(transactionLogSender, times(2)).send(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(batches.getAllValues().stream().flatMap(List::stream))
+                .extracting(LogTransactionRequest::idempotencyKey)
+                .containsExactlyElementsOf(keys);
+        assertThat(outbox.depth()).isZero();
+        assertThat(meterRegistry.get("transaction.outbox.delivery.lag").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep a batch transaction-service could not take and retry it only after the backoff")
+    void testDispatch_FailedDeliveryIsRetriedLater() {
+        // Given
+        outbox.enqueue(List.of(deposit("10.00")));
+        doThrow(new IllegalStateException("transaction-service unavailable")).when(transactionLogSender).send(anyList());
+
+        // When
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        // Then
+        verify(transactionLogSender, times(1)).send(anyList());
+        assertThat(outbox.depth()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT attempts FROM transaction_outbox", Integer.class)).isEqualTo(1);
+        assertThat(outbox.deadLetters()).isZero();
+        assertThat(meterRegistry.get("transaction.outbox.delivery.failures").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should split a rejected batch, dead-letter only the rejected transaction and deliver the rest")
+    void testDispatch_RejectedTransactionIsDeadLettered() {
+        // Given
+        List<String> keys = outbox.enqueue(List.of(deposit("10.00"), deposit("-1.00")));
+        doAnswer(invocation -> {
+            List<LogTransactionRequest> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(request -> request.amount().signum() < 0)) {
+                throw new TransactionRejectedException("400 Bad Request", null);
+            }
+            return null;
+        }).when(transactionLogSender).send(anyList());
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LogTransactionRequest>> batches = ArgumentCaptor.forClass(List.class);
+        verify(transactionLogSender, times(3)).send(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1, 1);
+        assertThat(outbox.depth()).isZero();
+        assertThat(meterRegistry.get("transaction.outbox.dead.letters").gauge().value()).isEqualTo(1.0);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT last_error FROM transaction_outbox WHERE dead_lettered_at IS NOT NULL", String.class))
+                .isEqualTo("400 Bad Request");
+        assertThat(jdbcTemplate.queryForObject("SELECT payload FROM transaction_outbox", String.class))
+                .contains(keys.get(1));
+    }
+
+    @Test
+    @DisplayName("Should dead-letter a transaction that still cannot be delivered after the maximum attempts")
+    void testDispatch_DeadLettersAfterMaxAttempts() {
+        // Given
+        properties.getOutbox().setMaxAttempts(2);
+        outbox.enqueue(List.of(deposit("10.00")));
+        doThrow(new IllegalStateException("transaction-service unavailable")).when(transactionLogSender).send(anyList());
+
+        // When
+        dispatcher.dispatch();
+        jdbcTemplate.update("UPDATE transaction_outbox SET next_attempt_at = CURRENT_TIMESTAMP");
+        dispatcher.dispatch();
+        jdbcTemplate.update("UPDATE transaction_outbox SET next_attempt_at = CURRENT_TIMESTAMP");
+        dispatcher.dispatch();
+
+        // Then
+        verify(transactionLogSender, times(2)).send(anyList());
+        assertThat(outbox.depth()).isZero();
+        assertThat(outbox.deadLetters()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT attempts FROM transaction_outbox", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should deliver the time a transaction happened, stamping the enqueue time only when it is missing")
+    void testDispatch_KeepsOccurredAt() {
+        // Given
+        LocalDateTime movedAt = LocalDateTime.of(2025, 11, 21, 10, 30, 15);
+        LocalDateTime beforeEnqueue = LocalDateTime.now();
+        outbox.enqueue(List.of(deposit("10.00").withOccurredAt(movedAt), deposit("20.00")));
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LogTransactionRequest>> batch = ArgumentCaptor.forClass(List.class);
+        verify(transactionLogSender).send(batch.capture());
+        assertThat(batch.getValue().get(0).occurredAt()).isEqualTo(movedAt);
+        assertThat(batch.getValue().get(1).occurredAt()).isAfterOrEqualTo(beforeEnqueue);
+    }
+
+    @Test
+    @DisplayName("Should double the backoff per attempt up to the maximum")
+    void testBackoff_DoublesUpToMaximum() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(dispatcher.backoff(3)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(dispatcher.backoff(30)).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    private static LogTransactionRequest deposit(String amount) {
+        return new LogTransactionRequest(1000000016L, "DEPOSIT", new BigDecimal(amount), null, "Cash deposit");
+    }
+}
@@ -0,0 +1,238 @@
+package com.banking.outbox.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Idempotency Store Tests")
+class IdempotencyStoreTest {
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    @DisplayName("Should run the operation once and replay its response for the same key")
+    void testExecute_ReplaysResponse() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        String first = store.execute("5:key-1", "request", pointOfNoReturn -> "response-" + calls.incrementAndGet());
+        String retry = store.execute("5:key-1", "request", pointOfNoReturn -> "response-" + calls.incrementAndGet());
+
+        // Then
+        assertThat(first).isEqualTo("response-1");
+        assertThat(retry).isEqualTo("response-1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different request")
+    void testExecute_DifferentRequest_Throws() {
+        // Given
+        store.execute("5:key-1", "request", pointOfNoReturn -> "response");
+
+        // When & Then
+        assertThatThrownBy(() -> store.execute("5:key-1", "other request", pointOfNoReturn -> "other response"))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    @DisplayName("Should make a retry that arrives while the original runs wait for the original's response")
+    void testExecute_InFlightRetryWaits() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> original = CompletableFuture.supplyAsync(() ->
+                store.execute("5:key-1", "request", pointOfNoReturn -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return "response";
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<String> retry = CompletableFuture.supplyAsync(() ->
+                store.execute("5:key-1", "request", pointOfNoReturn -> "response-" + calls.incrementAndGet()));
+        release.countDown();
+
+        // Then
+        assertThat(retry.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+        assertThat(original.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should release the key when the operation fails, so the next attempt runs it again")
+    void testExecute_FailureIsNotCached() {
+        // Given
+        assertThatThrownBy(() -> store.execute("5:key-1", "request", pointOfNoReturn -> {
+            throw new IllegalStateException("Account Service unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // When
+        String retry = store.execute("5:key-1", "request", pointOfNoReturn -> "response");
+
+        // Then
+        assertThat(retry).isEqualTo("response");
+    }
+
+    @Test
+    @DisplayName("Should release the key when the operation throws an Error, so retries neither hang nor are refused")
+    void testExecute_ErrorReleasesKey() throws Exception {
+        // Given
+        assertThatThrownBy(() -> store.execute("5:key-1", "request", pointOfNoReturn -> {
+            throw new OutOfMemoryError("Java heap space");
+        })).isInstanceOf(OutOfMemoryError.class);
+
+        // When
+        CompletableFuture<String> retry = CompletableFuture.supplyAsync(() ->
+                store.execute("5:key-1", "request", pointOfNoReturn -> "response"));
+
+        // Then
+        assertThat(retry.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+    }
+
+    @Test
+    @DisplayName("Should keep a running request however many responses complete, so a retry never runs it twice")
+    void testExecute_InFlightEntryIsNotEvicted() throws Exception {
+        // Given - room for a single finished response
+        store = new IdempotencyStore(new SimpleMeterRegistry(), Duration.ofMinutes(5), 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> original = CompletableFuture.supplyAsync(() ->
+                store.execute("5:key-1", "request", pointOfNoReturn -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return "response";
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 1000; i++) {
+            store.execute("5:other-" + i, "request", pointOfNoReturn -> "other response");
+        }
+
+        // When
+        CompletableFuture<String> retry = CompletableFuture.supplyAsync(() ->
+                store.execute("5:key-1", "request", pointOfNoReturn -> "response-" + calls.incrementAndGet()));
+        release.countDown();
+
+        // Then
+        assertThat(retry.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+        assertThat(original.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a failure after the point of no return and replay it instead of running again")
+    void testExecute_FailureAfterPointOfNoReturnIsReplayed() {
+        // Given: the balance update went out, then logging the transaction failed
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> store.execute("5:key-1", "request", pointOfNoReturn -> {
+            calls.incrementAndGet();
+            pointOfNoReturn.reached();
+            throw new IllegalStateException("Transaction Service unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // When & Then
+        assertThatThrownBy(() -> store.execute("5:key-1", "request", pointOfNoReturn -> {
+            calls.incrementAndGet();
+            return "response";
+        })).isInstanceOf(IllegalStateException.class)
+                .hasMessage("Transaction Service unavailable");
+        assertThat(calls).hasValue(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay a completed async response and attach an in-flight retry without running again")
+    void testExecuteAsync_ReplaysResponse() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> pending = Sinks.one();
+        Mono<String> first = store.executeAsync("5:key-1", "request", pointOfNoReturn -> {
+            calls.incrementAndGet();
+            return pending.asMono();
+        });
+        CompletableFuture<String> original = first.toFuture();
+        CompletableFuture<String> inFlightRetry = store.executeAsync("5:key-1", "request",
+                pointOfNoReturn -> Mono.just("response-" + calls.incrementAndGet())).toFuture();
+
+        // When
+        pending.tryEmitValue("response-1");
+        String laterRetry = store.executeAsync("5:key-1", "request",
+                pointOfNoReturn -> Mono.just("response-" + calls.incrementAndGet())).block();
+
+        // Then
+        assertThat(original.join()).isEqualTo("response-1");
+        assertThat(inFlightRetry.join()).isEqualTo("response-1");
+        assertThat(laterRetry).isEqualTo("response-1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should release the key when the async operation fails, even if it throws before returning a Mono")
+    void testExecuteAsync_FailureReleasesKey() {
+        // Given
+        Mono<String> failing = store.executeAsync("5:key-1", "request", pointOfNoReturn -> {
+            throw new IllegalStateException("downstream unavailable");
+        });
+
+        // When & Then
+        assertThatThrownBy(failing::block).isInstanceOf(IllegalStateException.class);
+        assertThat(store.executeAsync("5:key-1", "request", pointOfNoReturn -> Mono.just("response")).block())
+                .isEqualTo("response");
+        assertThatThrownBy(() -> store.executeAsync("5:key-1", "other request", pointOfNoReturn -> Mono.just("other")).block())
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep an async failure after the point of no return and replay it instead of running again")
+    void testExecuteAsync_FailureAfterPointOfNoReturnIsReplayed() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> failing = store.executeAsync("5:key-1", "request", pointOfNoReturn -> {
+            calls.incrementAndGet();
+            pointOfNoReturn.reached();
+            return Mono.error(new IllegalStateException("Transaction Service unavailable"));
+        });
+        assertThatThrownBy(failing::block).isInstanceOf(IllegalStateException.class);
+
+        // When
+        Mono<String> retry = store.executeAsync("5:key-1", "request", pointOfNoReturn -> {
+            calls.incrementAndGet();
+            return Mono.just("response");
+        });
+
+        // Then
+        assertThatThrownBy(retry::block).isInstanceOf(IllegalStateException.class)
+                .hasMessage("Transaction Service unavailable");
+        assertThat(calls).hasValue(1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.banking.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Bounded Password Encoder Unit Tests")
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash on the pool and record the hash time")
+    void testMatches_RunsOnPool() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new RecordingEncoder(null), 1, 1, meterRegistry);
+
+        // When
+        boolean matches = encoder.matches("123456", "password-hash-1");
+
+        // Then
+        assertThat(matches).isTrue();
+        assertThat(encoder.encode("123456")).isEqualTo("hashed:123456");
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.METRIC_NAME).timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("executor.queued").tag("name", BoundedPasswordEncoder.METRIC_NAME).gauge().value())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject immediately once the threads are busy and the queue is full")
+    void testEncode_RejectsWhenSaturated() throws Exception {
+        // Given
+        encoder = new BoundedPasswordEncoder(new RecordingEncoder(release), 1, 1, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        awaitQueued(0);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueued(1);
+
+        // When & Then
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(HashingCapacityExceededException.class);
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.METRIC_NAME + ".rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:second");
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            double active = meterRegistry.get("executor.active").tag("name", BoundedPasswordEncoder.METRIC_NAME).gauge().value();
+            double queued = meterRegistry.get("executor.queued").tag("name", BoundedPasswordEncoder.METRIC_NAME).gauge().value();
+            if (active == 1 && queued == expected) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Hashing pool did not reach " + expected + " queued");
+    }
+
+    /**
+     * Answers from the calling thread's name so the test can tell the work left the request thread
+     */
+    private record RecordingEncoder(CountDownLatch gate) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return Thread.currentThread().getName().equals(encodedPassword);
+        }
+
+        private void await() {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
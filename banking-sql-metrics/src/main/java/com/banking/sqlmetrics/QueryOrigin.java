@@ -0,0 +1,41 @@
+package com.banking.sqlmetrics;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * What a statement runs on behalf of: the repository method being called on this thread or, for
+ * statements outside one (JdbcTemplate code, flushes at commit), the name of the current
+ * transaction, i.e. the {@code @Transactional} method that started it
+ */
+final class QueryOrigin {
+
+    private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+
+    private QueryOrigin() {
+    }
+
+    /**
+     * @return the origin this one replaces, to be handed back to {@link #exit}
+     */
+    static String enter(String repositoryMethod) {
+        String previous = REPOSITORY_METHOD.get();
+        REPOSITORY_METHOD.set(repositoryMethod);
+        return previous;
+    }
+
+    static void exit(String previous) {
+        if (previous == null) {
+            REPOSITORY_METHOD.remove();
+        } else {
+            REPOSITORY_METHOD.set(previous);
+        }
+    }
+
+    /**
+     * @return the repository method as Interface.method, the fully qualified transaction name, or null
+     */
+    static String current() {
+        String repositoryMethod = REPOSITORY_METHOD.get();
+        return repositoryMethod != null ? repositoryMethod : TransactionSynchronizationManager.getCurrentTransactionName();
+    }
+}
@@ -0,0 +1,42 @@
+package com.banking.sqlmetrics;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.NanoTimeStopwatchFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource bean in a datasource-proxy ProxyDataSource that reports each executed
+ * statement to the query timing listener. Unwrapping still reaches the pool, so its own metrics
+ * and health check are unaffected.
+ */
+class QueryTimingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryTimingListener> listener;
+
+    QueryTimingDataSourcePostProcessor(ObjectProvider<QueryTimingListener> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return wrap(dataSource, beanName, listener.getObject());
+        }
+        return bean;
+    }
+
+    static ProxyDataSource wrap(DataSource dataSource, String name, QueryExecutionListener listener) {
+        ProxyDataSource proxy = new ProxyDataSource(dataSource);
+        proxy.setProxyConfig(ProxyConfig.Builder.create()
+                .dataSourceName(name)
+                .queryListener(listener)
+                .stopwatchFactory(new NanoTimeStopwatchFactory())
+                .build());
+        return proxy;
+    }
+}
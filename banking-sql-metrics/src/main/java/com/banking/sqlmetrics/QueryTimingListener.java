@@ -0,0 +1,140 @@
+package com.banking.sqlmetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records each executed statement, or batch, in the jdbc.query timer, tagged with its
+ * {@link QueryOrigin} and statement type. Slow ones are also counted in jdbc.query.slow and logged
+ * with their SQL, at most once a second for each origin and statement type.
+ */
+@Slf4j
+class QueryTimingListener implements QueryExecutionListener {
+
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final Map<String, Origin> origins = new ConcurrentHashMap<>();
+    private final Origin unknownOrigin;
+
+    QueryTimingListener(MeterRegistry meterRegistry, SqlMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = properties.getSlowQueryThreshold().toNanos();
+        this.unknownOrigin = new Origin("none");
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    /**
+     * Elapsed time is in nanoseconds: the proxy is built with a nanoTime stopwatch
+     */
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        String originName = QueryOrigin.current();
+        Origin origin = originName != null ? origins.computeIfAbsent(originName, Origin::new) : unknownOrigin;
+        Meters meters = origin.meters(StatementType.of(sql));
+
+        long elapsed = execInfo.getElapsedTime();
+        meters.timer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (elapsed >= slowQueryNanos) {
+            meters.slow.increment();
+            long now = System.nanoTime();
+            long lastSample = meters.lastSample.get();
+            if (now - lastSample >= SAMPLE_INTERVAL_NANOS && meters.lastSample.compareAndSet(lastSample, now)) {
+                log.warn("Slow query in {} took {} ms{}: {}", origin.name, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "", sql);
+            }
+        }
+    }
+
+    enum StatementType {
+        SELECT, INSERT, UPDATE, DELETE, MERGE, OTHER;
+
+        private static final StatementType[] KEYWORDS = {SELECT, INSERT, UPDATE, DELETE, MERGE};
+
+        /**
+         * The type named by the first keyword, after leading whitespace and block comments
+         */
+        static StatementType of(String sql) {
+            int start = 0;
+            while (start < sql.length()) {
+                if (Character.isWhitespace(sql.charAt(start))) {
+                    start++;
+                } else if (sql.startsWith("/*", start)) {
+                    int end = sql.indexOf("*/", start + 2);
+                    start = end < 0 ? sql.length() : end + 2;
+                } else {
+                    break;
+                }
+            }
+            for (StatementType type : KEYWORDS) {
+                String keyword = type.name();
+                if (sql.regionMatches(true, start, keyword, 0, keyword.length())) {
+                    return type;
+                }
+            }
+            return OTHER;
+        }
+    }
+
+    /**
+     * Meters of one origin, created per statement type on first use. Two threads may both create
+     * one; the registry hands them the same meters.
+     */
+    private class Origin {
+
+        private final String name;
+        private final Meters[] meters = new Meters[StatementType.values().length];
+
+        Origin(String originName) {
+            int lastDot = originName.lastIndexOf('.');
+            int classDot = lastDot > 0 ? originName.lastIndexOf('.', lastDot - 1) : -1;
+            this.name = originName.substring(classDot + 1);
+        }
+
+        Meters meters(StatementType type) {
+            Meters typeMeters = meters[type.ordinal()];
+            if (typeMeters == null) {
+                typeMeters = new Meters(name, type);
+                meters[type.ordinal()] = typeMeters;
+            }
+            return typeMeters;
+        }
+    }
+
+    private class Meters {
+
+        private final Timer timer;
+        private final Counter slow;
+        private final AtomicLong lastSample = new AtomicLong(System.nanoTime() - SAMPLE_INTERVAL_NANOS);
+
+        Meters(String origin, StatementType type) {
+            timer = Timer.builder("jdbc.query")
+                    .description("Time to execute a JDBC statement or batch")
+                    .tag("origin", origin)
+                    .tag("statement", type.name())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            slow = Counter.builder("jdbc.query.slow")
+                    .description("Statements at or above banking.sql-metrics.slow-query-threshold")
+                    .tag("origin", origin)
+                    .tag("statement", type.name())
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.banking.sqlmetrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Marks every call on a Spring Data repository as the {@link QueryOrigin} of the statements it runs.
+ * The advice goes in front of the repository's transaction interceptor, so a flush at the commit of
+ * a repository-level transaction still counts for the repository method.
+ */
+class RepositoryMethodPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repository) -> proxyFactory.addAdvice(0,
+                            new RepositoryMethodInterceptor(repository.getRepositoryInterface()))));
+        }
+        return bean;
+    }
+
+    static class RepositoryMethodInterceptor implements MethodInterceptor {
+
+        private final Class<?> repositoryInterface;
+        private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+        RepositoryMethodInterceptor(Class<?> repositoryInterface) {
+            this.repositoryInterface = repositoryInterface;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            String name = names.computeIfAbsent(invocation.getMethod(),
+                    method -> repositoryInterface.getSimpleName() + "." + method.getName());
+            String previous = QueryOrigin.enter(name);
+            try {
+                return invocation.proceed();
+            } finally {
+                QueryOrigin.exit(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.banking.sqlmetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * With banking.sql-metrics.enabled, times every statement the service's DataSource executes and
+ * tags it with the repository method or transaction it ran for. Without it nothing here is
+ * created and the DataSource is the pool itself.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "banking.sql-metrics.enabled", havingValue = "true")
+@EnableConfigurationProperties(SqlMetricsProperties.class)
+public class SqlMetricsAutoConfiguration {
+
+    /**
+     * Static, like every BeanPostProcessor bean, so it is registered before the DataSource exists;
+     * the listener and the meter registry are only looked up when the DataSource is wrapped
+     */
+    @Bean
+    public static QueryTimingDataSourcePostProcessor queryTimingDataSourcePostProcessor(
+            ObjectProvider<QueryTimingListener> queryTimingListener) {
+        return new QueryTimingDataSourcePostProcessor(queryTimingListener);
+    }
+
+    @Bean
+    public QueryTimingListener queryTimingListener(MeterRegistry meterRegistry, SqlMetricsProperties properties) {
+        return new QueryTimingListener(meterRegistry, properties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RepositoryFactoryBeanSupport.class)
+    static class RepositoryMethodConfiguration {
+
+        @Bean
+        public static RepositoryMethodPostProcessor repositoryMethodPostProcessor() {
+            return new RepositoryMethodPostProcessor();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.banking.sqlmetrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Query timing of the service's JDBC statements (banking.sql-metrics.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.sql-metrics")
+public class SqlMetricsProperties {
+
+    /**
+     * Off by default: the DataSource is then left unwrapped and statements cost nothing extra
+     */
+    private boolean enabled = false;
+
+    /**
+     * Statements at least this slow are counted in jdbc.query.slow and logged with their SQL
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(100);
+}
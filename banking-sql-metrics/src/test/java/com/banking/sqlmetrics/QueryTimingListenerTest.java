@@ -0,0 +1,108 @@
+package com.banking.sqlmetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements through a DataSource wrapped for query timing, against an in-memory H2 database
+ */
+class QueryTimingListenerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlMetricsProperties properties;
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new SqlMetricsProperties();
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(h2).execute("CREATE TABLE account (id BIGINT PRIMARY KEY, balance DECIMAL(19, 2))");
+    }
+
+    @Test
+    void testAfterQuery_TagsStatementsWithRepositoryMethodOrTransaction() {
+        // Given
+        DataSource dataSource = wrap();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setName("com.banking.account.service.AccountService.updateBalance");
+
+        // When
+        String previous = QueryOrigin.enter("AccountRepository.findById");
+        try {
+            jdbcTemplate.queryForList("SELECT id FROM account WHERE id = ?", Long.class, 1L);
+        } finally {
+            QueryOrigin.exit(previous);
+        }
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO account (id, balance) VALUES (?, ?)", 1L, 100);
+            jdbcTemplate.update("/* credit */ update account SET balance = balance + 1 WHERE id = ?", 1L);
+        });
+        jdbcTemplate.batchUpdate("DELETE FROM account WHERE id = ?", List.of(new Object[]{1L}, new Object[]{2L}));
+
+        // Then
+        assertThat(count("AccountRepository.findById", "SELECT")).isEqualTo(1);
+        assertThat(count("AccountService.updateBalance", "INSERT")).isEqualTo(1);
+        assertThat(count("AccountService.updateBalance", "UPDATE")).isEqualTo(1);
+        assertThat(count("none", "DELETE")).isEqualTo(1);
+        assertThat(meterRegistry.find("jdbc.query.slow").counters()).allMatch(counter -> counter.count() == 0);
+    }
+
+    @Test
+    void testAfterQuery_CountsStatementsAtSlowQueryThreshold() {
+        // Given
+        properties.setSlowQueryThreshold(Duration.ZERO);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(wrap());
+
+        // When
+        jdbcTemplate.queryForList("SELECT id FROM account", Long.class);
+        jdbcTemplate.queryForList("SELECT id FROM account", Long.class);
+
+        // Then
+        assertThat(meterRegistry.get("jdbc.query.slow").tags("origin", "none", "statement", "SELECT").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testAutoConfiguration_WrapsDataSourceOnlyWhenEnabled() {
+        // Given
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(SqlMetricsAutoConfiguration.class))
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withBean(DataSource.class, () -> h2);
+
+        // When & Then
+        runner.run(context -> assertThat(context.getBean(DataSource.class)).isSameAs(h2));
+        runner.withPropertyValues("banking.sql-metrics.enabled=true").run(context -> {
+            DataSource dataSource = context.getBean(DataSource.class);
+            assertThat(dataSource).isNotSameAs(h2);
+            assertThat(dataSource.unwrap(JdbcDataSource.class)).isSameAs(h2);
+        });
+    }
+
+    private DataSource wrap() {
+        return QueryTimingDataSourcePostProcessor.wrap(h2, "dataSource",
+                new QueryTimingListener(meterRegistry, properties));
+    }
+
+    private long count(String origin, String statement) {
+        return meterRegistry.get("jdbc.query").tags("origin", origin, "statement", statement).timer().count();
+    }
+}
@@ -0,0 +1,111 @@
+package com.banking.benchmarks.account;
+
+import com.banking.account.client.RegisterServiceClient;
+import com.banking.account.client.dto.UserDto;
+import com.banking.account.config.BalanceUpdateProperties;
+import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.entity.Account;
+import com.banking.account.repository.AccountRepository;
+import com.banking.account.service.AccountNumberAllocator;
+import com.banking.account.service.AccountService;
+import com.banking.account.service.HotAccountService;
+import com.banking.benchmarks.support.H2JpaConfig;
+import com.banking.contracts.AccountDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account creation with an empty table and with a million existing accounts.
+ * Existing rows are bulk-inserted with ids below the allocator's range, so new
+ * numbers keep being appended at the end of the primary key index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AccountCreationBenchmark {
+
+    private static final CreateAccountRequest REQUEST =
+            new CreateAccountRequest(1L, "1234567890123", "SAVINGS", new BigDecimal("500.00"));
+
+    @Param({"0", "1000000"})
+    public int existingAccounts;
+
+    private AnnotationConfigApplicationContext context;
+    private AccountService accountService;
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(AccountContext.class);
+        accountService = context.getBean(AccountService.class);
+        accountNumberAllocator = context.getBean(AccountNumberAllocator.class);
+        context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO accounts (id, user_id, balance, account_type, created_at, version) "
+                        + "SELECT LPAD(CAST(X AS VARCHAR), 10, '0'), X, 0, 'SAVINGS', CURRENT_TIMESTAMP, 0 "
+                        + "FROM SYSTEM_RANGE(1, ?)", existingAccounts);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountDto createAccount() {
+        return accountService.createAccount(REQUEST);
+    }
+
+    @Benchmark
+    public String nextAccountNumber() {
+        return accountNumberAllocator.nextAccountNumber();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = AccountRepository.class)
+    @Import({AccountService.class, HotAccountService.class, AccountNumberAllocator.class})
+    static class AccountContext extends H2JpaConfig {
+
+        @Override
+        protected Class<?> entityClass() {
+            return Account.class;
+        }
+
+        @Bean
+        public BalanceUpdateProperties balanceUpdateProperties() {
+            return new BalanceUpdateProperties();
+        }
+
+        @Bean
+        public RegisterServiceClient registerServiceClient() {
+            UserDto user = UserDto.builder()
+                    .id(1L)
+                    .citizenId("1234567890123")
+                    .build();
+            return userId -> user;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.banking.benchmarks.account;
+
+import com.banking.account.client.RegisterServiceClient;
+import com.banking.account.config.BalanceUpdateProperties;
+import com.banking.account.entity.Account;
+import com.banking.account.exception.ConcurrentBalanceUpdateException;
+import com.banking.account.repository.AccountRepository;
+import com.banking.account.service.AccountNumberAllocator;
+import com.banking.account.service.AccountService;
+import com.banking.account.service.HotAccountService;
+import com.banking.benchmarks.support.H2JpaConfig;
+import com.banking.contracts.AccountDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eight threads depositing into one account, as a regular account (slots = 0)
+ * and as a hot account split into balance slots
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class HotAccountBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"0", "8"})
+    public int slots;
+
+    @Param({"PESSIMISTIC", "CONDITIONAL"})
+    public BalanceUpdateProperties.Mode mode;
+
+    private AnnotationConfigApplicationContext context;
+    private AccountService accountService;
+    private String accountId;
+
+    @Setup
+    public void setUp() {
+        BalanceUpdateProperties properties = new BalanceUpdateProperties();
+        properties.setMode(mode);
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(BalanceUpdateProperties.class, () -> properties);
+        context.register(AccountContext.class);
+        context.refresh();
+
+        accountService = context.getBean(AccountService.class);
+        accountId = context.getBean(AccountRepository.class).save(Account.builder()
+                .id(context.getBean(AccountNumberAllocator.class).nextAccountNumber())
+                .userId(1L)
+                .balance(BigDecimal.ZERO)
+                .accountType("CHECKING")
+                .build()).getId();
+        if (slots > 0) {
+            accountService.promoteToHotAccount(accountId, slots);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountDto deposit(Outcomes outcomes) {
+        try {
+            return accountService.updateBalance(accountId, AMOUNT);
+        } catch (ConcurrentBalanceUpdateException | ConcurrencyFailureException ex) {
+            outcomes.failures++;
+            return null;
+        }
+    }
+
+    /**
+     * Deposits rolled back by lock conflicts, reported next to throughput
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long failures;
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = AccountRepository.class)
+    @Import({AccountService.class, HotAccountService.class, AccountNumberAllocator.class})
+    static class AccountContext extends H2JpaConfig {
+
+        @Override
+        protected Class<?> entityClass() {
+            return Account.class;
+        }
+
+        @Bean
+        public RegisterServiceClient registerServiceClient() {
+            return userId -> {
+                throw new UnsupportedOperationException("Not used by this benchmark");
+            };
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.banking.benchmarks.account;
+
+import com.banking.account.config.BalanceUpdateProperties;
+import com.banking.account.entity.Account;
+import com.banking.account.repository.AccountRepository;
+import com.banking.account.service.AccountNumberAllocator;
+import com.banking.account.service.AccountService;
+import com.banking.contracts.AccountDto;
+import com.banking.sqlmetrics.SqlMetricsAutoConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of banking.sql-metrics on the account-service hot paths: the PESSIMISTIC balance update
+ * (three statements) and an account read (one), with the DataSource wrapped for query timing or not
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlMetricsBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"false", "true"})
+    public boolean sqlMetrics;
+
+    private AnnotationConfigApplicationContext context;
+    private AccountService accountService;
+    private String accountId;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("banking.sql-metrics.enabled", sqlMetrics)));
+        context.registerBean(BalanceUpdateProperties.class, BalanceUpdateProperties::new);
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.register(SqlMetricsAutoConfiguration.class, AccountServiceBenchmark.AccountContext.class);
+        context.refresh();
+        accountService = context.getBean(AccountService.class);
+        accountId = context.getBean(AccountRepository.class).save(Account.builder()
+                .id(context.getBean(AccountNumberAllocator.class).nextAccountNumber())
+                .userId(1L)
+                .balance(new BigDecimal("1000000.00"))
+                .accountType("SAVINGS")
+                .build()).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountDto updateBalance() {
+        return accountService.updateBalance(accountId, AMOUNT);
+    }
+
+    @Benchmark
+    public AccountDto getAccount() {
+        return accountService.getAccount(accountId);
+    }
+}
@@ -0,0 +1,122 @@
+package com.banking.benchmarks.deposit;
+
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.TransactionDto;
+import com.banking.contracts.UpdateBalanceRequest;
+import com.banking.deposit.client.AccountClient;
+import com.banking.deposit.client.TransactionClient;
+import com.banking.deposit.dto.BatchLogTransactionRequest;
+import com.banking.deposit.dto.DepositRequest;
+import com.banking.deposit.dto.DepositResponse;
+import com.banking.deposit.service.DepositService;
+import com.banking.outbox.TransactionLogProperties;
+import com.banking.outbox.TransactionOutbox;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DepositService.processDeposit latency when transaction-service takes 10 ms to log a transaction:
+ * DIRECT waits for it, OUTBOX only writes the transaction to a local H2 file database.
+ * Account calls return at once so the difference is the logging step alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepositLoggingBenchmark {
+
+    private static final long TRANSACTION_LOG_MILLIS = 10;
+
+    @Param({"DIRECT", "OUTBOX"})
+    public TransactionLogProperties.Mode mode;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DepositService depositService;
+    private DepositRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        Path directory = Files.createTempDirectory("deposit-outbox");
+        dataSource = new SingleConnectionDataSource("jdbc:h2:file:" + directory.resolve("outbox"), "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionOutbox outbox = new TransactionOutbox(jdbcTemplate, JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        outbox.createTableIfMissing();
+
+        TransactionLogProperties properties = new TransactionLogProperties();
+        properties.setMode(mode);
+        depositService = new DepositService(new StubAccountClient(), new StubTransactionClient(), outbox, properties);
+        request = new DepositRequest("1000000016", new BigDecimal("100.00"), 3L, "Benchmark");
+    }
+
+    /**
+     * Nothing delivers the outbox here; empty it so every iteration inserts into a table of the same size
+     */
+    @TearDown(Level.Iteration)
+    public void emptyOutbox() {
+        jdbcTemplate.execute("TRUNCATE TABLE transaction_outbox");
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public DepositResponse deposit() {
+        return depositService.processDeposit(request);
+    }
+
+    private static class StubAccountClient implements AccountClient {
+
+        @Override
+        public AccountDto getAccount(String id) {
+            return AccountDto.builder().id(id).userId(1L).balance(new BigDecimal("1000.00")).build();
+        }
+
+        @Override
+        public AccountDto updateBalance(String id, UpdateBalanceRequest request) {
+            return AccountDto.builder().id(id).userId(1L).balance(new BigDecimal("1100.00")).build();
+        }
+    }
+
+    private static class StubTransactionClient implements TransactionClient {
+
+        @Override
+        public List<TransactionDto> logTransactions(BatchLogTransactionRequest request) {
+            try {
+                Thread.sleep(TRANSACTION_LOG_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(TransactionDto.builder().id(1L).build());
+        }
+    }
+}
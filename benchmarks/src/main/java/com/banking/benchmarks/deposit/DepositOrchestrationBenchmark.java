@@ -0,0 +1,202 @@
+package com.banking.benchmarks.deposit;
+
+import com.banking.deposit.client.AccountClient;
+import com.banking.deposit.client.ReactiveAccountClient;
+import com.banking.deposit.client.ReactiveTransactionClient;
+import com.banking.deposit.client.TransactionClient;
+import com.banking.deposit.dto.DepositRequest;
+import com.banking.deposit.service.DepositService;
+import com.banking.deposit.service.ReactiveDepositService;
+import com.banking.httpclient.HttpClientProperties;
+import com.banking.httpclient.PooledFeignClient;
+import com.banking.outbox.TransactionLogProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Feign;
+import feign.Target;
+import feign.codec.EncodeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.support.WebClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Load test for deposit.orchestration.mode: throughput of 1,000 deposits arriving at once against a
+ * local HTTP stub of account-service and transaction-service that answers every call after 10 ms.
+ * Requests are handed to a 200-thread pool as Tomcat would. feign is the BLOCKING path: DepositService
+ * on Feign clients over the services' pooled HTTP client, so a deposit holds its thread for all three calls. reactive is ReactiveDepositService
+ * on WebClient, whose request thread returns as soon as the calls are sent.
+ * Besides throughput and gc.alloc.rate.norm (bytes per deposit), each iteration prints the peak number
+ * of calls the stub served at once (the concurrency reached), of request threads busy at once and of
+ * live threads. Stub and clients share the machine, so run it on a multi-core one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class DepositOrchestrationBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final Duration REMOTE_CALL = Duration.ofMillis(10);
+    private static final String ACCOUNT_JSON = "{\"id\":\"1000000016\",\"userId\":1,\"balance\":1000.00}";
+    private static final String TRANSACTIONS_JSON = "[{\"id\":1,\"accountId\":1000000016,\"type\":\"DEPOSIT\"}]";
+
+    @Param({"feign", "reactive"})
+    public String orchestration;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicInteger busyThreads = new AtomicInteger();
+    private final AtomicInteger peakBusyThreads = new AtomicInteger();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private DisposableServer downstream;
+    private ConnectionProvider connectionProvider;
+    private PooledFeignClient pooledFeignClient;
+    private ExecutorService requestExecutor;
+    private DepositService depositService;
+    private ReactiveDepositService reactiveDepositService;
+    private DepositRequest request;
+
+    @Setup
+    public void setUp() {
+        downstream = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/accounts/{id}", (request, response) -> respond(request, response, ACCOUNT_JSON))
+                        .put("/accounts/{id}/balance", (request, response) -> respond(request, response, ACCOUNT_JSON))
+                        .post("/transactions/batch", (request, response) -> respond(request, response, TRANSACTIONS_JSON)))
+                .bindNow();
+        String baseUrl = "http://localhost:" + downstream.port();
+        requestExecutor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+
+        if ("reactive".equals(orchestration)) {
+            // Same pool limits as ReactiveClientConfig
+            connectionProvider = ConnectionProvider.builder("deposit-downstream")
+                    .maxConnections(500)
+                    .pendingAcquireMaxCount(10_000)
+                    .build();
+            WebClient webClient = WebClient.builder()
+                    .baseUrl(baseUrl)
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                    .build();
+            HttpServiceProxyFactory factory = HttpServiceProxyFactory.builderFor(WebClientAdapter.create(webClient)).build();
+            reactiveDepositService = new ReactiveDepositService(factory.createClient(ReactiveAccountClient.class),
+                    factory.createClient(ReactiveTransactionClient.class), null, new TransactionLogProperties());
+        } else {
+            ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+            pooledFeignClient = new PooledFeignClient(new HttpClientProperties(), new SimpleMeterRegistry());
+            Feign.Builder feign = Feign.builder()
+                    .client(pooledFeignClient)
+                    .contract(new SpringMvcContract())
+                    .encoder((body, bodyType, template) -> {
+                        try {
+                            template.header("Content-Type", "application/json");
+                            template.body(objectMapper.writeValueAsBytes(body), null);
+                        } catch (Exception e) {
+                            throw new EncodeException(e.getMessage(), e);
+                        }
+                    })
+                    .decoder((response, type) ->
+                            objectMapper.readValue(response.body().asInputStream(), objectMapper.constructType(type)));
+            depositService = new DepositService(
+                    feign.target(new Target.HardCodedTarget<>(AccountClient.class, "account-service", baseUrl)),
+                    feign.target(new Target.HardCodedTarget<>(TransactionClient.class, "transaction-service", baseUrl)),
+                    null, new TransactionLogProperties());
+        }
+        request = new DepositRequest("1000000016", new BigDecimal("100.00"), 3L, "Load test");
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeaks() {
+        peakInFlight.set(0);
+        peakBusyThreads.set(0);
+        threads.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportPeaks() {
+        System.out.printf("%n[%s] peak concurrent downstream calls: %d, busy request threads: %d, live threads: %d%n",
+                orchestration, peakInFlight.get(), peakBusyThreads.get(), threads.getPeakThreadCount());
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        downstream.disposeNow();
+        if (connectionProvider != null) {
+            connectionProvider.disposeLater().block();
+        }
+        if (pooledFeignClient != null) {
+            pooledFeignClient.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void deposit() throws Exception {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[CONCURRENT_REQUESTS];
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses[i] = reactiveDepositService != null
+                    ? CompletableFuture.supplyAsync(() -> onRequestThread(() -> reactiveDepositService.processDeposit(request)),
+                            requestExecutor).thenCompose(Mono::toFuture)
+                    : CompletableFuture.supplyAsync(() -> onRequestThread(() -> depositService.processDeposit(request)),
+                            requestExecutor);
+        }
+        CompletableFuture.allOf(responses).get();
+    }
+
+    private <T> T onRequestThread(Supplier<T> handler) {
+        peakBusyThreads.accumulateAndGet(busyThreads.incrementAndGet(), Math::max);
+        try {
+            return handler.get();
+        } finally {
+            busyThreads.decrementAndGet();
+        }
+    }
+
+    private Mono<Void> respond(HttpServerRequest request, HttpServerResponse response, String json) {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        return request.receive().then()
+                .then(Mono.delay(REMOTE_CALL))
+                .then(response.header("Content-Type", "application/json").sendString(Mono.just(json)).then())
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+}
@@ -0,0 +1,57 @@
+package com.banking.benchmarks.deposit;
+
+import com.banking.deposit.dto.DepositRequest;
+import com.banking.deposit.dto.DepositResponse;
+import com.banking.outbox.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Idempotency-Key store in front of a deposit: replaying a stored response,
+ * and the overhead it adds to a first request (operation itself is a constant)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdempotencyReplayBenchmark {
+
+    private IdempotencyStore store;
+    private DepositRequest request;
+    private DepositResponse response;
+    private long nextKey;
+
+    @Setup
+    public void setUp() {
+        store = new IdempotencyStore(new SimpleMeterRegistry(), Duration.ofHours(1), 100_000);
+        request = new DepositRequest("1000000016", new BigDecimal("100.00"), 3L, "Benchmark");
+        response = new DepositResponse(1L, null, "1000000016", new BigDecimal("100.00"),
+                new BigDecimal("1100.00"), "Deposit successful");
+        store.execute("3:replayed", request, pointOfNoReturn -> response);
+    }
+
+    @Benchmark
+    public DepositResponse replay() {
+        return store.execute("3:replayed", request, pointOfNoReturn -> response);
+    }
+
+    @Benchmark
+    public DepositResponse firstRequest() {
+        return store.execute("3:" + nextKey++, request, pointOfNoReturn -> response);
+    }
+}
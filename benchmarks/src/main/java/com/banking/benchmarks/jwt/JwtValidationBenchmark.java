@@ -0,0 +1,130 @@
+package com.banking.benchmarks.jwt;
+
+import com.banking.gateway.util.JwtUtil;
+import com.banking.gateway.util.TokenClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway JWT validation: the old per-call key/parser construction against the
+ * shared key and parser now held by {@link JwtUtil}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "banking-system-secret-key-for-jwt-token-generation-and-validation";
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private String malformedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, true, 4096);
+        token = Jwts.builder()
+                .claims(Map.of("userId", 42L, "role", "CUSTOMER"))
+                .subject("john_doe")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        malformedToken = "not a token " + "x".repeat(8192);
+    }
+
+    /**
+     * Old gateway filter: validateToken (two parses) plus three extract calls,
+     * each rebuilding the key and the parser
+     */
+    @Benchmark
+    public void legacyFilterPath(Blackhole blackhole) {
+        blackhole.consume(LegacyJwtUtil.validateToken(token));
+        blackhole.consume(LegacyJwtUtil.extractClaims(token).get("userId", Long.class));
+        blackhole.consume(LegacyJwtUtil.extractClaims(token).getSubject());
+        blackhole.consume(LegacyJwtUtil.extractClaims(token).get("role", String.class));
+    }
+
+    /**
+     * Single parse with a freshly built key and parser
+     */
+    @Benchmark
+    public Claims legacySingleParse() {
+        return LegacyJwtUtil.extractClaims(token);
+    }
+
+    /**
+     * Single parse with the shared key and parser
+     */
+    @Benchmark
+    public TokenClaims sharedParserSingleParse() {
+        return jwtUtil.parseToken(token);
+    }
+
+    /**
+     * Malformed input reaching the parser with a freshly built key
+     */
+    @Benchmark
+    public boolean legacyMalformedToken() {
+        return LegacyJwtUtil.validateToken(malformedToken);
+    }
+
+    /**
+     * Malformed input rejected by the pre-size check
+     */
+    @Benchmark
+    public boolean precheckMalformedToken() {
+        return jwtUtil.validateToken(malformedToken);
+    }
+
+    /**
+     * Copy of the gateway JwtUtil parsing code before the key and parser were shared
+     */
+    private static final class LegacyJwtUtil {
+
+        static boolean validateToken(String token) {
+            try {
+                Jwts.parser()
+                        .verifyWith(getSigningKey())
+                        .build()
+                        .parseSignedClaims(token);
+                return !extractClaims(token).getExpiration().before(new Date());
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        static Claims extractClaims(String token) {
+            return Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        }
+
+        private static SecretKey getSigningKey() {
+            return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.banking.benchmarks.mapping;
+
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.TransactionDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing the banking-contracts records with their own serializers (CONTRACT) and with
+ * the bean serializers Jackson derives from the record components (REFLECTIVE), which is what the
+ * per-service DTO classes got. Run with -prof gc to see the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractSerializationBenchmark {
+
+    @Param({"REFLECTIVE", "CONTRACT"})
+    public String serializers;
+
+    private ObjectMapper mapper;
+    private JavaType transactionList;
+    private AccountDto account;
+    private byte[] accountJson;
+    private byte[] historyJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        if ("REFLECTIVE".equals(serializers)) {
+            mapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+                @Override
+                public Object findSerializer(Annotated a) {
+                    return null;
+                }
+
+                @Override
+                public Object findDeserializer(Annotated a) {
+                    return null;
+                }
+            });
+        }
+        transactionList = mapper.getTypeFactory().constructCollectionType(List.class, TransactionDto.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        account = new AccountDto("1000000016", 1L, new BigDecimal("1500.00"), "SAVINGS", now);
+        List<TransactionDto> history = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            history.add(new TransactionDto(1000L + i, 1000000016L, "DEPOSIT", new BigDecimal("25.00"),
+                    null, "Deposit from teller", now, "COMPLETED"));
+        }
+        accountJson = mapper.writeValueAsBytes(account);
+        historyJson = mapper.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public AccountDto readAccount() throws IOException {
+        return mapper.readValue(accountJson, AccountDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeAccount() throws IOException {
+        return mapper.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public List<TransactionDto> readTransactionHistory() throws IOException {
+        return mapper.readValue(historyJson, transactionList);
+    }
+}
@@ -0,0 +1,90 @@
+package com.banking.benchmarks.mapping;
+
+import com.banking.account.entity.Account;
+import com.banking.account.service.AccountService;
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.TransactionDto;
+import com.banking.transaction.entity.Transaction;
+import com.banking.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping in AccountService and TransactionService.
+ * mapToDto is private, so it is reached through a method handle; the services
+ * are built without dependencies because mapping never touches them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private MethodHandle accountMapper;
+    private MethodHandle transactionMapper;
+    private Account account;
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() throws Exception {
+        accountMapper = privateMapper(AccountService.class, Account.class, AccountDto.class);
+        transactionMapper = privateMapper(TransactionService.class, Transaction.class, TransactionDto.class);
+
+        account = Account.builder()
+                .id("1234567")
+                .userId(1L)
+                .balance(new BigDecimal("1500.00"))
+                .accountType("SAVINGS")
+                .createdAt(LocalDateTime.now())
+                .build();
+        transaction = Transaction.builder()
+                .id(1L)
+                .accountId(1234567L)
+                .transactionType("DEPOSIT")
+                .amount(new BigDecimal("500.00"))
+                .relatedAccountId(null)
+                .timestamp(LocalDateTime.now())
+                .description("Deposit from teller")
+                .build();
+    }
+
+    @Benchmark
+    public AccountDto mapAccount() throws Throwable {
+        return (AccountDto) accountMapper.invokeExact(account);
+    }
+
+    @Benchmark
+    public TransactionDto mapTransaction() throws Throwable {
+        return (TransactionDto) transactionMapper.invokeExact(transaction);
+    }
+
+    /**
+     * Bind the private mapToDto method of a service instance created with null dependencies
+     */
+    private static MethodHandle privateMapper(Class<?> serviceType, Class<?> entityType, Class<?> dtoType)
+            throws Exception {
+        Constructor<?> constructor = serviceType.getDeclaredConstructors()[0];
+        Object service = constructor.newInstance(new Object[constructor.getParameterCount()]);
+        return MethodHandles.privateLookupIn(serviceType, MethodHandles.lookup())
+                .findVirtual(serviceType, "mapToDto", MethodType.methodType(dtoType, entityType))
+                .bindTo(service);
+    }
+}
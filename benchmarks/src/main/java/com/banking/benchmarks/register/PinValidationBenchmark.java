@@ -0,0 +1,131 @@
+package com.banking.benchmarks.register;
+
+import com.banking.benchmarks.support.H2JpaConfig;
+import com.banking.register.config.SecurityConfig;
+import com.banking.register.entity.User;
+import com.banking.register.entity.UserRole;
+import com.banking.register.repository.UserRepository;
+import com.banking.register.service.PinVerificationCache;
+import com.banking.register.service.RegisterService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login (RegisterService.validateCredentials) and RegisterService.validatePin: user lookup in H2 plus
+ * a BCrypt comparison, per BCrypt cost. validatePinCorrect repeats a PIN just verified and is answered
+ * by the PIN verification cache; validatePinUncached clears the cache first, as the first request of a user would.
+ * BCrypt runs on the service's bounded hashing pool, so the hand-off to it is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PinValidationBenchmark {
+
+    private static final String PIN = "123456";
+    private static final String PASSWORD = "securePassword123";
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private AnnotationConfigApplicationContext context;
+    private RegisterService registerService;
+    private PinVerificationCache pinVerificationCache;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("bcrypt",
+                Map.of("security.bcrypt.strength", strength)));
+        context.register(RegisterContext.class);
+        context.refresh();
+        registerService = context.getBean(RegisterService.class);
+        pinVerificationCache = context.getBean(PinVerificationCache.class);
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+        userId = context.getBean(UserRepository.class).save(User.builder()
+                .username("john_doe")
+                .password(passwordEncoder.encode(PASSWORD))
+                .email("john.doe@example.com")
+                .citizenId("1234567890123")
+                .thaiName("สมชาย ใจดี")
+                .englishName("Somchai Jaidee")
+                .pin(passwordEncoder.encode(PIN))
+                .role(UserRole.CUSTOMER)
+                .build()).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return registerService.validateCredentials("john_doe", PASSWORD);
+    }
+
+    @Benchmark
+    public boolean validatePinCorrect() {
+        return registerService.validatePin(userId, PIN);
+    }
+
+    @Benchmark
+    public boolean validatePinUncached() {
+        pinVerificationCache.invalidate(userId);
+        return registerService.validatePin(userId, PIN);
+    }
+
+    @Benchmark
+    public boolean validatePinWrong() {
+        return registerService.validatePin(userId, "654321");
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    @Import(RegisterService.class)
+    static class RegisterContext extends H2JpaConfig {
+
+        @Override
+        protected Class<?> entityClass() {
+            return User.class;
+        }
+
+        @Bean
+        public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength}") int strength) {
+            return new SecurityConfig().passwordEncoder(strength, 0, 64, new SimpleMeterRegistry());
+        }
+
+        @Bean
+        public PinVerificationCache pinVerificationCache() {
+            return new PinVerificationCache(new SimpleMeterRegistry(), Duration.ofMinutes(5), 10_000);
+        }
+    }
+}
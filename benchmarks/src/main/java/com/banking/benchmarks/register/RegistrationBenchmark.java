@@ -0,0 +1,133 @@
+package com.banking.benchmarks.register;
+
+import com.banking.benchmarks.support.H2JpaConfig;
+import com.banking.register.dto.RegisterRequest;
+import com.banking.register.dto.RegisterResponse;
+import com.banking.register.entity.User;
+import com.banking.register.entity.UserRole;
+import com.banking.register.repository.UserRepository;
+import com.banking.register.service.PinVerificationCache;
+import com.banking.register.service.RegisterService;
+import com.banking.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RegisterService.registerUser against 100,000 existing users. BCrypt runs at its minimum cost (4)
+ * so the database round trips are not hidden behind hashing.
+ * register creates a new user every call; rejectDuplicate reuses an existing citizen ID
+ * (the last of the uniqueness checks); rejectInvalidPin sends a PIN that is not 6 digits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private static final int EXISTING_USERS = 100_000;
+
+    private AnnotationConfigApplicationContext context;
+    private RegisterService registerService;
+    private long next = EXISTING_USERS;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(RegisterContext.class);
+        registerService = context.getBean(RegisterService.class);
+        context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO users (username, password, email, citizen_id, thai_name, english_name, pin, role, registered_at) "
+                        + "SELECT 'user' || X, 'hash', 'user' || X || '@example.com', LPAD(CAST(X AS VARCHAR), 13, '0'), "
+                        + "'ทดสอบ', 'Test User', 'hash', 'CUSTOMER', CURRENT_TIMESTAMP "
+                        + "FROM SYSTEM_RANGE(1, ?)", EXISTING_USERS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RegisterResponse register() {
+        return registerService.registerUser(request(++next, String.format("%013d", next), "123456"));
+    }
+
+    @Benchmark
+    public Exception rejectDuplicate() {
+        return attempt(request(++next, String.format("%013d", 42), "123456"));
+    }
+
+    @Benchmark
+    public Exception rejectInvalidPin() {
+        return attempt(request(++next, String.format("%013d", next), "12345a"));
+    }
+
+    private Exception attempt(RegisterRequest request) {
+        try {
+            registerService.registerUser(request);
+            throw new IllegalStateException("Registration was expected to be rejected");
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static RegisterRequest request(long n, String citizenId, String pin) {
+        return RegisterRequest.builder()
+                .username("user" + n)
+                .password("securePassword123")
+                .email("user" + n + "@example.com")
+                .citizenId(citizenId)
+                .thaiName("สมชาย ใจดี")
+                .englishName("Somchai Jaidee")
+                .pin(pin)
+                .role(UserRole.CUSTOMER)
+                .build();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    @Import(RegisterService.class)
+    static class RegisterContext extends H2JpaConfig {
+
+        @Override
+        protected Class<?> entityClass() {
+            return User.class;
+        }
+
+        @Bean
+        public PasswordEncoder passwordEncoder() {
+            return new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 0, 64, new SimpleMeterRegistry());
+        }
+
+        @Bean
+        public PinVerificationCache pinVerificationCache() {
+            return new PinVerificationCache(new SimpleMeterRegistry(), Duration.ofMinutes(5), 10_000);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.banking.benchmarks.threading;
+
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.TransactionDto;
+import com.banking.contracts.UpdateBalanceRequest;
+import com.banking.deposit.dto.DepositRequest;
+import com.banking.deposit.service.DepositService;
+import com.banking.outbox.TransactionLogProperties;
+import com.banking.transfer.config.TransferExecutorConfig;
+import com.banking.transfer.dto.BatchGetAccountsRequest;
+import com.banking.transfer.dto.BatchLogTransactionRequest;
+import com.banking.transfer.dto.TransferFundsRequest;
+import com.banking.transfer.dto.TransferFundsResponse;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.service.TransferService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load harness for the orchestrators: saturation throughput (requests/s) of
+ * DepositService.processDeposit and TransferService.transfer when 1,000 requests arrive at once
+ * and every Feign call takes 10 ms. Requests are handled the way Tomcat would:
+ * platform runs them on a 200-thread pool (server.tomcat.threads.max default);
+ * virtual gives each request a virtual thread, as spring.threads.virtual.enabled does.
+ * The transfer validation executor comes from TransferExecutorConfig under the same setting.
+ * The virtual variant needs a Java 21+ JVM to run the benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ServletSaturationBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long REMOTE_CALL_MILLIS = 10;
+
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    private Executor requestExecutor;
+    private AnnotationConfigApplicationContext transferContext;
+    private DepositService depositService;
+    private TransferService transferService;
+
+    @Setup
+    public void setUp() {
+        boolean virtual = "virtual".equals(threading);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("The virtual variant needs a Java 21+ JVM, running on " + Runtime.version());
+        }
+        requestExecutor = virtual
+                ? new VirtualThreadTaskExecutor("request-")
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+
+        transferContext = new AnnotationConfigApplicationContext();
+        transferContext.getEnvironment().getPropertySources().addFirst(new MapPropertySource("threading",
+                Map.of("spring.threads.virtual.enabled", virtual)));
+        transferContext.register(TransferExecutorConfig.class);
+        transferContext.refresh();
+
+        depositService = new DepositService(new DepositAccountStub(), new DepositTransactionStub(),
+                null, new TransactionLogProperties());
+        transferService = new TransferService(new TransferAccountStub(), new TransferTransactionStub(),
+                new TransferUserStub(), transferContext.getBean("transferValidationExecutor", Executor.class),
+                null, new TransactionLogProperties());
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (requestExecutor instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+        transferContext.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void deposit() throws InterruptedException {
+        DepositRequest request = new DepositRequest("1000000016", new BigDecimal("100.00"), 3L, "Load test");
+        handleConcurrently(() -> depositService.processDeposit(request));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void transfer() throws InterruptedException {
+        TransferRequest request = new TransferRequest(1000000016L, 1000000024L, new BigDecimal("10.00"), "123456", "Load test");
+        handleConcurrently(() -> transferService.transfer(request, 1L));
+    }
+
+    private void handleConcurrently(Runnable handler) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            requestExecutor.execute(() -> {
+                try {
+                    handler.run();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private static void remoteCall() {
+        try {
+            Thread.sleep(REMOTE_CALL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class DepositAccountStub implements com.banking.deposit.client.AccountClient {
+
+        @Override
+        public AccountDto getAccount(String id) {
+            remoteCall();
+            return AccountDto.builder().id(id).userId(1L).balance(BigDecimal.TEN).build();
+        }
+
+        @Override
+        public AccountDto updateBalance(String id, UpdateBalanceRequest request) {
+            remoteCall();
+            return AccountDto.builder().id(id).userId(1L).balance(BigDecimal.TEN).build();
+        }
+    }
+
+    private static class DepositTransactionStub implements com.banking.deposit.client.TransactionClient {
+
+        @Override
+        public List<TransactionDto> logTransactions(com.banking.deposit.dto.BatchLogTransactionRequest request) {
+            remoteCall();
+            return List.of(TransactionDto.builder().id(1L).build());
+        }
+    }
+
+    private static class TransferUserStub implements com.banking.transfer.client.UserClient {
+
+        @Override
+        public Boolean validatePin(Long userId, String pin) {
+            remoteCall();
+            return true;
+        }
+    }
+
+    private static class TransferAccountStub implements com.banking.transfer.client.AccountClient {
+
+        @Override
+        public AccountDto getAccount(String id) {
+            remoteCall();
+            return account(id);
+        }
+
+        @Override
+        public Map<String, AccountDto> getAccounts(BatchGetAccountsRequest request) {
+            remoteCall();
+            Map<String, AccountDto> accounts = new LinkedHashMap<>();
+            request.getIds().forEach(id -> accounts.put(id, account(id)));
+            return accounts;
+        }
+
+        @Override
+        public TransferFundsResponse transfer(TransferFundsRequest request) {
+            remoteCall();
+            return new TransferFundsResponse(account(request.getFromAccountId()), account(request.getToAccountId()));
+        }
+
+        private static AccountDto account(String id) {
+            return AccountDto.builder().id(id).userId(1L).balance(new BigDecimal("1000.00")).build();
+        }
+    }
+
+    private static class TransferTransactionStub implements com.banking.transfer.client.TransactionClient {
+
+        @Override
+        public List<TransactionDto> logTransactions(BatchLogTransactionRequest request) {
+            remoteCall();
+            return List.of(TransactionDto.builder().id(1L).build(),
+                    TransactionDto.builder().id(2L).build());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.banking.benchmarks.transaction;
+
+import com.banking.benchmarks.support.H2JpaConfig;
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.LogTransactionRequest;
+import com.banking.contracts.TransactionDto;
+import com.banking.transaction.client.AccountServiceClient;
+import com.banking.transaction.client.RegisterServiceClient;
+import com.banking.transaction.dto.BatchGetAccountsRequest;
+import com.banking.transaction.dto.TransactionPage;
+import com.banking.transaction.entity.Transaction;
+import com.banking.transaction.repository.TransactionRepository;
+import com.banking.transaction.service.AccountOwnerCache;
+import com.banking.transaction.service.StatementExportService;
+import com.banking.transaction.service.StatementFormat;
+import com.banking.transaction.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionService.logTransaction against H2 through the real repository
+ * and transaction boundaries. The transfer benchmarks log both legs of a
+ * transfer, as two single calls and as one batch. The history benchmarks read
+ * a page of a 10,000-transaction account from the top and from deep inside it;
+ * the export benchmark streams that account's full CSV statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private TransactionService transactionService;
+    private StatementExportService statementExportService;
+    private LogTransactionRequest request;
+    private List<LogTransactionRequest> transferLegs;
+    private String deepCursor;
+
+    private static final Long HISTORY_ACCOUNT = 2000001L;
+    private static final int HISTORY_SIZE = 10_000;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(TransactionContext.class);
+        transactionService = context.getBean(TransactionService.class);
+        statementExportService = context.getBean(StatementExportService.class);
+        request = new LogTransactionRequest(1000001L, "DEPOSIT", new BigDecimal("500.00"), null, "Benchmark deposit");
+        transferLegs = List.of(
+                new LogTransactionRequest(1000001L, "TRANSFER_OUT", new BigDecimal("500.00"), 1000002L, "Benchmark transfer"),
+                new LogTransactionRequest(1000002L, "TRANSFER_IN", new BigDecimal("500.00"), 1000001L, "Benchmark transfer"));
+
+        List<LogTransactionRequest> history = new ArrayList<>();
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            history.add(new LogTransactionRequest(HISTORY_ACCOUNT, "DEPOSIT", BigDecimal.TEN, null, "History " + i));
+            if (history.size() == 100) {
+                transactionService.logTransactions(history);
+                history.clear();
+            }
+        }
+        // Cursor of the page starting 9,000 transactions into the history
+        String cursor = null;
+        for (int page = 0; page < 45; page++) {
+            cursor = transactionService.getTransactionsByAccountId(HISTORY_ACCOUNT, null, null, "TELLER", cursor, 200)
+                    .getNextCursor();
+        }
+        deepCursor = cursor;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionDto logTransaction() {
+        return transactionService.logTransaction(request);
+    }
+
+    @Benchmark
+    public void logTransferSeparately(Blackhole blackhole) {
+        for (LogTransactionRequest leg : transferLegs) {
+            blackhole.consume(transactionService.logTransaction(leg));
+        }
+    }
+
+    @Benchmark
+    public List<TransactionDto> logTransferAsBatch() {
+        return transactionService.logTransactions(transferLegs);
+    }
+
+    @Benchmark
+    public TransactionPage historyFirstPage() {
+        return transactionService.getTransactionsByAccountId(HISTORY_ACCOUNT, null, null, "TELLER",
+                null, TransactionService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TransactionPage historyDeepPage() {
+        return transactionService.getTransactionsByAccountId(HISTORY_ACCOUNT, null, null, "TELLER",
+                deepCursor, TransactionService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void exportStatement() throws IOException {
+        statementExportService.exportStatement(HISTORY_ACCOUNT, null, null, "TELLER", null, null, StatementFormat.CSV)
+                .writeTo(OutputStream.nullOutputStream());
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = TransactionRepository.class)
+    @Import({TransactionService.class, StatementExportService.class})
+    static class TransactionContext extends H2JpaConfig {
+
+        @Override
+        protected Class<?> entityClass() {
+            return Transaction.class;
+        }
+
+        @Override
+        protected Map<String, Object> hibernateProperties() {
+            return Map.of("hibernate.jdbc.batch_size", 50, "hibernate.order_inserts", true);
+        }
+
+        @Bean
+        public AccountOwnerCache accountOwnerCache() {
+            return new AccountOwnerCache(new SimpleMeterRegistry(), Duration.ofMinutes(10), 100_000);
+        }
+
+        @Bean
+        public AccountServiceClient accountServiceClient() {
+            return new AccountServiceClient() {
+                @Override
+                public AccountDto getAccountById(String id) {
+                    // The statement's current balance
+                    return new AccountDto(id, 1L, BigDecimal.ZERO, "SAVINGS", null);
+                }
+
+                @Override
+                public Map<String, AccountDto> getAccountsByIds(BatchGetAccountsRequest request) {
+                    throw new UnsupportedOperationException("Not used by this benchmark");
+                }
+            };
+        }
+
+        @Bean
+        public RegisterServiceClient registerServiceClient() {
+            return (userId, pin) -> {
+                throw new UnsupportedOperationException("Not used by this benchmark");
+            };
+        }
+    }
+}
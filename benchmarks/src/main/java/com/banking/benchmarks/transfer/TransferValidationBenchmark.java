@@ -0,0 +1,140 @@
+package com.banking.benchmarks.transfer;
+
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.TransactionDto;
+import com.banking.outbox.TransactionLogProperties;
+import com.banking.transfer.client.AccountClient;
+import com.banking.transfer.client.TransactionClient;
+import com.banking.transfer.client.UserClient;
+import com.banking.transfer.config.TransferExecutorConfig;
+import com.banking.transfer.dto.BatchGetAccountsRequest;
+import com.banking.transfer.dto.BatchLogTransactionRequest;
+import com.banking.transfer.dto.TransferFundsRequest;
+import com.banking.transfer.dto.TransferFundsResponse;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.service.TransferService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransferService.transfer latency (see the p99 percentile) with Feign clients replaced by
+ * stubs that sleep like remote calls: PIN check 8 ms, each account lookup 4 ms.
+ * sequential runs the validation calls on the request thread, as before they were fanned out;
+ * parallel uses the pool transfer-service configures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferValidationBenchmark {
+
+    private static final long PIN_CHECK_MILLIS = 8;
+    private static final long ACCOUNT_LOOKUP_MILLIS = 4;
+
+    @Param({"sequential", "parallel"})
+    public String executor;
+
+    private ThreadPoolTaskExecutor pool;
+    private TransferService transferService;
+    private TransferRequest request;
+
+    @Setup
+    public void setUp() {
+        Executor validationExecutor;
+        if ("parallel".equals(executor)) {
+            pool = new TransferExecutorConfig().transferValidationExecutor(32, 100);
+            pool.initialize();
+            validationExecutor = pool;
+        } else {
+            validationExecutor = new SyncTaskExecutor();
+        }
+        transferService = new TransferService(new StubAccountClient(), new StubTransactionClient(),
+                new StubUserClient(), validationExecutor, null, new TransactionLogProperties());
+        request = new TransferRequest(1000000016L, 1000000024L, new BigDecimal("10.00"), "123456", "Benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public TransferResponse transfer() {
+        return transferService.transfer(request, 1L);
+    }
+
+    private static void remoteCall(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AccountDto account(String id) {
+        return AccountDto.builder().id(id).userId(1L).balance(new BigDecimal("1000.00")).build();
+    }
+
+    private static class StubUserClient implements UserClient {
+
+        @Override
+        public Boolean validatePin(Long userId, String pin) {
+            remoteCall(PIN_CHECK_MILLIS);
+            return true;
+        }
+    }
+
+    private static class StubAccountClient implements AccountClient {
+
+        @Override
+        public AccountDto getAccount(String id) {
+            remoteCall(ACCOUNT_LOOKUP_MILLIS);
+            return account(id);
+        }
+
+        @Override
+        public Map<String, AccountDto> getAccounts(BatchGetAccountsRequest request) {
+            remoteCall(ACCOUNT_LOOKUP_MILLIS);
+            Map<String, AccountDto> accounts = new LinkedHashMap<>();
+            request.getIds().forEach(id -> accounts.put(id, account(id)));
+            return accounts;
+        }
+
+        @Override
+        public TransferFundsResponse transfer(TransferFundsRequest request) {
+            return new TransferFundsResponse(account(request.getFromAccountId()), account(request.getToAccountId()));
+        }
+    }
+
+    private static class StubTransactionClient implements TransactionClient {
+
+        @Override
+        public List<TransactionDto> logTransactions(BatchLogTransactionRequest request) {
+            return List.of(TransactionDto.builder().id(1L).build(), TransactionDto.builder().id(2L).build());
+        }
+    }
+}
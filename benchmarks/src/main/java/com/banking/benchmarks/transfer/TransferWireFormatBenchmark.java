@@ -0,0 +1,104 @@
+package com.banking.benchmarks.transfer;
+
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.LogTransactionRequest;
+import com.banking.contracts.TransactionDto;
+import com.banking.transfer.dto.BatchLogTransactionRequest;
+import com.banking.transfer.dto.TransferFundsRequest;
+import com.banking.transfer.dto.TransferFundsResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization work of one transfer's internal calls, per banking.http-client.wire-format: every
+ * request and response body written by one side and read by the other, with the object mappers
+ * Spring's JSON and CBOR message converters build. The calls are validatePin, two getAccount,
+ * transfer and logTransactions. Setup prints the bytes a transfer puts on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferWireFormatBenchmark {
+
+    @Param({"JSON", "CBOR"})
+    public String wireFormat;
+
+    private ObjectMapper mapper;
+    private JavaType transactionList;
+
+    private AccountDto sender;
+    private AccountDto receiver;
+    private TransferFundsRequest transferRequest;
+    private TransferFundsResponse transferResponse;
+    private BatchLogTransactionRequest logRequest;
+    private List<TransactionDto> loggedTransactions;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "CBOR".equals(wireFormat)
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        transactionList = mapper.getTypeFactory().constructCollectionType(List.class, TransactionDto.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        sender = new AccountDto("1000000016", 1L, new BigDecimal("1500.00"), "SAVINGS", now);
+        receiver = new AccountDto("1000000024", 2L, new BigDecimal("320.50"), "CURRENT", now);
+        transferRequest = new TransferFundsRequest("1000000016", "1000000024", new BigDecimal("250.00"));
+        transferResponse = new TransferFundsResponse(
+                new AccountDto("1000000016", 1L, new BigDecimal("1250.00"), "SAVINGS", now),
+                new AccountDto("1000000024", 2L, new BigDecimal("570.50"), "CURRENT", now));
+        logRequest = new BatchLogTransactionRequest(List.of(
+                new LogTransactionRequest(1000000016L, "TRANSFER_OUT", new BigDecimal("250.00"),
+                        1000000024L, "Rent for March"),
+                new LogTransactionRequest(1000000024L, "TRANSFER_IN", new BigDecimal("250.00"),
+                        1000000016L, "Rent for March")));
+        loggedTransactions = List.of(
+                new TransactionDto(81L, 1000000016L, "TRANSFER_OUT", new BigDecimal("250.00"),
+                        1000000024L, "Rent for March", now, "COMPLETED"),
+                new TransactionDto(82L, 1000000024L, "TRANSFER_IN", new BigDecimal("250.00"),
+                        1000000016L, "Rent for March", now, "COMPLETED"));
+
+        long bytes = mapper.writeValueAsBytes(Boolean.TRUE).length
+                + mapper.writeValueAsBytes(sender).length
+                + mapper.writeValueAsBytes(receiver).length
+                + mapper.writeValueAsBytes(transferRequest).length
+                + mapper.writeValueAsBytes(transferResponse).length
+                + mapper.writeValueAsBytes(logRequest).length
+                + mapper.writeValueAsBytes(loggedTransactions).length;
+        System.out.printf("%n%s: %d body bytes per transfer%n", wireFormat, bytes);
+    }
+
+    @Benchmark
+    public void transfer(Blackhole blackhole) throws IOException {
+        blackhole.consume(mapper.readValue(mapper.writeValueAsBytes(Boolean.TRUE), Boolean.class));
+        blackhole.consume(mapper.readValue(mapper.writeValueAsBytes(sender), AccountDto.class));
+        blackhole.consume(mapper.readValue(mapper.writeValueAsBytes(receiver), AccountDto.class));
+        blackhole.consume(mapper.readValue(mapper.writeValueAsBytes(transferRequest), TransferFundsRequest.class));
+        blackhole.consume(mapper.readValue(mapper.writeValueAsBytes(transferResponse), TransferFundsResponse.class));
+        blackhole.consume(mapper.readValue(mapper.writeValueAsBytes(logRequest), BatchLogTransactionRequest.class));
+        blackhole.consume(mapper.<List<TransactionDto>>readValue(
+                mapper.writeValueAsBytes(loggedTransactions), transactionList));
+    }
+}
@@ -1,7 +1,7 @@
 package com.banking.deposit.client;
 
-import com.banking.deposit.dto.AccountDto;
-import com.banking.deposit.dto.UpdateBalanceRequest;
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.UpdateBalanceRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
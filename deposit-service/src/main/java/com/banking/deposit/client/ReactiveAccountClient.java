@@ -0,0 +1,24 @@
+package com.banking.deposit.client;
+
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.UpdateBalanceRequest;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.PutExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link AccountClient}, used with deposit.orchestration.mode REACTIVE
+ */
+public interface ReactiveAccountClient {
+
+    @GetExchange("/accounts/{id}")
+    Mono<AccountDto> getAccount(@PathVariable("id") String id);
+
+    @PutExchange("/accounts/{id}/balance")
+    Mono<AccountDto> updateBalance(
+            @PathVariable("id") String id,
+            @RequestBody UpdateBalanceRequest request
+    );
+}
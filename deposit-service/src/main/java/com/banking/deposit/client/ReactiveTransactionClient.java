@@ -0,0 +1,21 @@
+package com.banking.deposit.client;
+
+import com.banking.contracts.TransactionDto;
+import com.banking.deposit.dto.BatchLogTransactionRequest;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.service.annotation.PostExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link TransactionClient}, used with deposit.orchestration.mode REACTIVE
+ */
+public interface ReactiveTransactionClient {
+
+    /**
+     * Logs all transactions in one call and one database transaction; results are in request order
+     */
+    @PostExchange("/transactions/batch")
+    Mono<List<TransactionDto>> logTransactions(@RequestBody BatchLogTransactionRequest request);
+}
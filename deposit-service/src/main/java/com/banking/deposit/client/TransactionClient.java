@@ -1,14 +1,19 @@
 package com.banking.deposit.client;
 
-import com.banking.deposit.dto.LogTransactionRequest;
-import com.banking.deposit.dto.TransactionDto;
+import com.banking.contracts.TransactionDto;
+import com.banking.deposit.dto.BatchLogTransactionRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+
 @FeignClient(name = "transaction-service")
 public interface TransactionClient {
 
-    @PostMapping("/transactions")
-    TransactionDto logTransaction(@RequestBody LogTransactionRequest request);
+    /**
+     * Logs all transactions in one call and one database transaction; results are in request order
+     */
+    @PostMapping("/transactions/batch")
+    List<TransactionDto> logTransactions(@RequestBody BatchLogTransactionRequest request);
 }
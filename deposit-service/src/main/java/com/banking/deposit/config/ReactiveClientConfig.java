@@ -0,0 +1,73 @@
+package com.banking.deposit.config;
+
+import com.banking.deposit.client.ReactiveAccountClient;
+import com.banking.deposit.client.ReactiveTransactionClient;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.support.WebClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * WebClient-backed clients for deposit.orchestration.mode REACTIVE. Services are resolved through
+ * Eureka by the same names the Feign clients use, and the timeouts match Feign's defaults.
+ * Reactor Netty's default pool has two connections per core (at least 16) and rejects calls once twice
+ * that many are waiting, far fewer than the deposits this mode keeps in flight, so both clients share
+ * a larger pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "deposit.orchestration.mode", havingValue = "REACTIVE")
+public class ReactiveClientConfig {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofSeconds(60);
+    private static final int MAX_CONNECTIONS = 500;
+    private static final int MAX_PENDING_ACQUIRES = 10_000;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider reactiveClientConnectionProvider() {
+        return ConnectionProvider.builder("deposit-downstream")
+                .maxConnections(MAX_CONNECTIONS)
+                .pendingAcquireMaxCount(MAX_PENDING_ACQUIRES)
+                .build();
+    }
+
+    @Bean
+    public ReactiveAccountClient reactiveAccountClient(WebClient.Builder builder,
+                                                       ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                                                       ConnectionProvider reactiveClientConnectionProvider) {
+        return client(builder, loadBalancer, reactiveClientConnectionProvider,
+                "http://account-service", ReactiveAccountClient.class);
+    }
+
+    @Bean
+    public ReactiveTransactionClient reactiveTransactionClient(WebClient.Builder builder,
+                                                               ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                                                               ConnectionProvider reactiveClientConnectionProvider) {
+        return client(builder, loadBalancer, reactiveClientConnectionProvider,
+                "http://transaction-service", ReactiveTransactionClient.class);
+    }
+
+    private static <T> T client(WebClient.Builder builder, ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                                ConnectionProvider connectionProvider, String serviceUrl, Class<T> clientType) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS)
+                .responseTimeout(RESPONSE_TIMEOUT);
+        WebClient webClient = builder.clone()
+                .baseUrl(serviceUrl)
+                .filter(loadBalancer)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        return HttpServiceProxyFactory.builderFor(WebClientAdapter.create(webClient))
+                .build()
+                .createClient(clientType);
+    }
+}
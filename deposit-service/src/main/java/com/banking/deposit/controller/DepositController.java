@@ -3,7 +3,9 @@ package com.banking.deposit.controller;
 import com.banking.deposit.dto.DepositRequest;
 import com.banking.deposit.dto.DepositResponse;
 import com.banking.deposit.service.DepositService;
+import com.banking.outbox.idempotency.IdempotencyStore;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,10 +15,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+/**
+ * Deposits orchestrated with Feign on the request thread; {@link ReactiveDepositController} replaces it
+ * with deposit.orchestration.mode REACTIVE
+ */
 @RestController
+@ConditionalOnProperty(name = "deposit.orchestration.mode", havingValue = "BLOCKING", matchIfMissing = true)
 @RequestMapping("/deposit")
 @Tag(name = "Deposit Operations", description = "Endpoints for deposit orchestration")
 @SecurityRequirement(name = "bearerAuth")
@@ -25,11 +33,13 @@ import org.springframework.web.bind.annotation.*;
 public class DepositController {
 
     private final DepositService depositService;
+    private final IdempotencyStore idempotencyStore;
 
     @Operation(
             summary = "Make a Deposit",
             description = "Deposits money into a specified account. " +
                     "Coordinates with Account Service to update balance and Transaction Service to log the transaction. " +
+                    "A retry sent with the same Idempotency-Key returns the original response without depositing again. " +
                     "**AUTHORIZATION: Only users with TELLER role can perform deposits.**"
     )
     @ApiResponses(value = {
@@ -43,7 +53,7 @@ public class DepositController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Invalid request data"
+                    description = "Invalid request data, or an Idempotency-Key without X-User-Id"
             ),
             @ApiResponse(
                     responseCode = "403",
@@ -53,6 +63,10 @@ public class DepositController {
                     responseCode = "404",
                     description = "Account not found"
             ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Idempotency-Key already used for a different deposit"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized - Invalid or missing JWT token"
@@ -61,20 +75,44 @@ public class DepositController {
     @PostMapping
     public ResponseEntity<DepositResponse> deposit(
             @Valid @RequestBody DepositRequest request,
-            @RequestHeader(value = "X-User-Role", required = false) String userRole
+            @RequestHeader(value = "X-User-Role", required = false) String userRole,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId,
+            @Parameter(description = "Client-chosen key, e.g. a UUID, that makes retries of this deposit safe")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
         log.info("POST /deposit - accountId: {}, amount: {}, userRole: {}", 
                 request.getAccountId(), request.getAmount(), userRole);
         
-        // Only TELLER can perform deposits
+        requireTeller(userRole);
+        
+        DepositResponse response = idempotencyKey != null
+                ? idempotencyStore.execute(idempotencyScope(userId, idempotencyKey), request,
+                        pointOfNoReturn -> depositService.processDeposit(request, pointOfNoReturn))
+                : depositService.processDeposit(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Only TELLER can perform deposits
+     */
+    static void requireTeller(String userRole) {
         if (!"TELLER".equals(userRole)) {
             log.warn("Unauthorized deposit attempt by role: {}", userRole);
             throw new com.banking.deposit.exception.UnauthorizedException(
                     "Only tellers are authorized to perform deposits");
         }
-        
-        DepositResponse response = depositService.processDeposit(request);
-        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Keys are per teller, so two tellers cannot collide on the same key. Without X-User-Id
+     * every caller would share one scope, so such a key is refused rather than scoped to "null"
+     */
+    static String idempotencyScope(Long userId, String idempotencyKey) {
+        if (userId == null) {
+            throw new com.banking.deposit.exception.MissingUserIdException(
+                    "Idempotency-Key requires the X-User-Id header");
+        }
+        return userId + ":" + idempotencyKey;
     }
 
     @Operation(
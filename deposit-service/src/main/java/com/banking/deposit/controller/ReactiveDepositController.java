@@ -0,0 +1,105 @@
+package com.banking.deposit.controller;
+
+import com.banking.deposit.dto.DepositRequest;
+import com.banking.deposit.dto.DepositResponse;
+import com.banking.deposit.service.ReactiveDepositService;
+import com.banking.outbox.idempotency.IdempotencyStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * The deposit endpoints with deposit.orchestration.mode REACTIVE. Spring MVC releases the servlet
+ * thread when the Mono is returned and writes the response once it completes.
+ */
+@RestController
+@ConditionalOnProperty(name = "deposit.orchestration.mode", havingValue = "REACTIVE")
+@RequestMapping("/deposit")
+@Tag(name = "Deposit Operations", description = "Endpoints for deposit orchestration")
+@SecurityRequirement(name = "bearerAuth")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDepositController {
+
+    private final ReactiveDepositService depositService;
+    private final IdempotencyStore idempotencyStore;
+
+    @Operation(
+            summary = "Make a Deposit",
+            description = "Deposits money into a specified account. " +
+                    "Coordinates with Account Service to update balance and Transaction Service to log the transaction. " +
+                    "A retry sent with the same Idempotency-Key returns the original response without depositing again. " +
+                    "**AUTHORIZATION: Only users with TELLER role can perform deposits.**"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Deposit successful",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DepositResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request data, or an Idempotency-Key without X-User-Id"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Only tellers are authorized to perform deposits"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Account not found"
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Idempotency-Key already used for a different deposit"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token"
+            )
+    })
+    @PostMapping
+    public Mono<ResponseEntity<DepositResponse>> deposit(
+            @Valid @RequestBody DepositRequest request,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId,
+            @Parameter(description = "Client-chosen key, e.g. a UUID, that makes retries of this deposit safe")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        log.info("POST /deposit - accountId: {}, amount: {}, userRole: {}",
+                request.getAccountId(), request.getAmount(), userRole);
+
+        DepositController.requireTeller(userRole);
+
+        Mono<DepositResponse> response = idempotencyKey != null
+                ? idempotencyStore.executeAsync(DepositController.idempotencyScope(userId, idempotencyKey), request,
+                        pointOfNoReturn -> depositService.processDeposit(request, pointOfNoReturn))
+                : depositService.processDeposit(request);
+        return response.map(ResponseEntity::ok);
+    }
+
+    @Operation(
+            summary = "Health Check",
+            description = "Returns the health status of the deposit service"
+    )
+    @ApiResponse(responseCode = "200", description = "Service is healthy")
+    @GetMapping("/health")
+    public ResponseEntity<String> health() {
+        return ResponseEntity.ok("Deposit Service is running");
+    }
+}
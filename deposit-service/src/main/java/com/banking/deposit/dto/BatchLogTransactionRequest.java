@@ -0,0 +1,16 @@
+package com.banking.deposit.dto;
+
+import com.banking.contracts.LogTransactionRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLogTransactionRequest {
+
+    private List<LogTransactionRequest> transactions;
+}
@@ -3,6 +3,7 @@ package com.banking.deposit.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.DecimalMin;
@@ -15,7 +16,7 @@ import java.math.BigDecimal;
 @Schema(description = "Deposit request")
 public class DepositRequest {
 
-    @Schema(description = "Account ID to deposit into (7-digit account number)", example = "1234567", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "Account ID to deposit into (10-digit account number)", example = "1000000016", requiredMode = Schema.RequiredMode.REQUIRED)
     @NotNull(message = "Account ID is required")
     private String accountId;
 
@@ -29,4 +30,13 @@ public class DepositRequest {
 
     @Schema(description = "Deposit description", example = "Cash deposit")
     private String description;
+
+    /**
+     * Equality compares the amount by value, so an Idempotency-Key retry sending 100.0 instead of
+     * 100.00 is replayed rather than rejected as a different request
+     */
+    @EqualsAndHashCode.Include(replaces = "amount")
+    private BigDecimal amountValue() {
+        return amount != null ? amount.stripTrailingZeros() : null;
+    }
 }
@@ -1,5 +1,6 @@
 package com.banking.deposit.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,10 +14,15 @@ import java.math.BigDecimal;
 @Schema(description = "Deposit response")
 public class DepositResponse {
 
-    @Schema(description = "Transaction ID", example = "1001")
+    @Schema(description = "Transaction ID; absent while the transaction is still in the outbox", example = "1001")
     private Long transactionId;
 
-    @Schema(description = "Account ID (7-digit account number)", example = "1234567")
+    @Schema(description = "Idempotency key of the queued transaction (transaction-log.mode OUTBOX only)",
+            example = "3f2b6c1e-8d4a-4e59-9a57-0c1d2e3f4a5b")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String transactionReference;
+
+    @Schema(description = "Account ID (10-digit account number)", example = "1000000016")
     private String accountId;
 
     @Schema(description = "Deposited amount", example = "1000.00")
@@ -1,17 +0,0 @@
-package com.banking.deposit.dto;
-
-import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.math.BigDecimal;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class UpdateBalanceRequest {
-    
-    @NotNull(message = "Amount is required")
-    private BigDecimal amount;
-}
@@ -1,5 +1,6 @@
 package com.banking.deposit.exception;
 
+import com.banking.outbox.idempotency.IdempotencyKeyReusedException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -7,6 +8,8 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import feign.FeignException;
 
 import java.time.LocalDateTime;
@@ -28,6 +31,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        log.error("Idempotency key reused: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    @ExceptionHandler(MissingUserIdException.class)
+    public ResponseEntity<ErrorResponse> handleMissingUserId(MissingUserIdException ex) {
+        log.error("Missing user id: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleAccountNotFound(AccountNotFoundException ex) {
         log.error("Account not found: {}", ex.getMessage());
@@ -71,15 +96,33 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(FeignException.class)
     public ResponseEntity<ErrorResponse> handleFeignException(FeignException ex) {
         log.error("Feign client error: {} - {}", ex.status(), ex.getMessage());
-        
+        return downstreamError(ex.status(), ex.contentUTF8());
+    }
+
+    /**
+     * Failed calls of deposit.orchestration.mode REACTIVE, answered like the Feign ones
+     */
+    @ExceptionHandler(WebClientResponseException.class)
+    public ResponseEntity<ErrorResponse> handleWebClientResponseException(WebClientResponseException ex) {
+        log.error("WebClient error: {} - {}", ex.getStatusCode().value(), ex.getMessage());
+        return downstreamError(ex.getStatusCode().value(), ex.getResponseBodyAsString());
+    }
+
+    @ExceptionHandler(WebClientRequestException.class)
+    public ResponseEntity<ErrorResponse> handleWebClientRequestException(WebClientRequestException ex) {
+        log.error("WebClient request failed: {}", ex.getMessage());
+        return downstreamError(-1, null);
+    }
+
+    private ResponseEntity<ErrorResponse> downstreamError(int downstreamStatus, String downstreamBody) {
         String message;
         HttpStatus status;
         
-        if (ex.status() == 404) {
+        if (downstreamStatus == 404) {
             message = "Account or resource not found";
             status = HttpStatus.NOT_FOUND;
-        } else if (ex.status() == 400) {
-            message = "Invalid request to downstream service: " + ex.contentUTF8();
+        } else if (downstreamStatus == 400) {
+            message = "Invalid request to downstream service: " + downstreamBody;
             status = HttpStatus.BAD_REQUEST;
         } else {
             message = "Error communicating with downstream service";
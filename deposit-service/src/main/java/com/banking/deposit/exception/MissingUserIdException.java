@@ -0,0 +1,7 @@
+package com.banking.deposit.exception;
+
+public class MissingUserIdException extends RuntimeException {
+    public MissingUserIdException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,22 @@
 package com.banking.deposit.service;
 
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.LogTransactionRequest;
+import com.banking.contracts.TransactionDto;
+import com.banking.contracts.UpdateBalanceRequest;
 import com.banking.deposit.client.AccountClient;
 import com.banking.deposit.client.TransactionClient;
 import com.banking.deposit.dto.*;
+import com.banking.outbox.TransactionLogProperties;
+import com.banking.outbox.TransactionOutbox;
+import com.banking.outbox.idempotency.PointOfNoReturn;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -16,53 +25,90 @@ public class DepositService {
 
     private final AccountClient accountClient;
     private final TransactionClient transactionClient;
+    private final TransactionOutbox transactionOutbox;
+    private final TransactionLogProperties transactionLogProperties;
 
     /**
      * Orchestrates deposit operation:
      * 1. Validate account exists by fetching it
      * 2. Update account balance (add deposit amount)
-     * 3. Log transaction in transaction service
+     * 3. Log transaction in transaction service, or with transaction-log.mode OUTBOX queue it
+     *    locally and leave the delivery to the outbox dispatcher
      */
     public DepositResponse processDeposit(DepositRequest request) {
+        return processDeposit(request, PointOfNoReturn.NONE);
+    }
+
+    /**
+     * {@link #processDeposit(DepositRequest)} for an idempotent request; the point of no return is
+     * reached right before the balance update is sent
+     */
+    public DepositResponse processDeposit(DepositRequest request, PointOfNoReturn pointOfNoReturn) {
         log.info("Processing deposit for account: {}, amount: {}", 
                 request.getAccountId(), request.getAmount());
 
         // Step 1: Validate account exists
         AccountDto account = accountClient.getAccount(request.getAccountId());
         log.debug("Account found: {}, current balance: {}", 
-                account.getId(), account.getBalance());
+                account.id(), account.balance());
 
         // Step 2: Update balance (add deposit amount)
+        pointOfNoReturn.reached();
         UpdateBalanceRequest balanceUpdate = new UpdateBalanceRequest(request.getAmount());
         AccountDto updatedAccount = accountClient.updateBalance(request.getAccountId(), balanceUpdate);
-        log.info("Balance updated. New balance: {}", updatedAccount.getBalance());
+        log.info("Balance updated. New balance: {}", updatedAccount.balance());
 
         // Step 3: Log transaction
+        LogTransactionRequest transactionRequest = transactionRequest(request, account);
+        
+        Long transactionId = null;
+        String transactionReference = null;
+        if (transactionLogProperties.getMode() == TransactionLogProperties.Mode.OUTBOX) {
+            transactionReference = transactionOutbox.enqueue(List.of(transactionRequest)).get(0);
+            log.info("Transaction queued with reference: {}", transactionReference);
+        } else {
+            TransactionDto transaction = transactionClient.logTransactions(
+                    new BatchLogTransactionRequest(List.of(transactionRequest))).get(0);
+            transactionId = transaction.id();
+            log.info("Transaction logged with ID: {}", transactionId);
+        }
+
+        // Step 4: Build response
+        DepositResponse response = response(request, updatedAccount, transactionId, transactionReference);
+
+        log.info("Deposit completed successfully for account: {}", request.getAccountId());
+        return response;
+    }
+
+    /**
+     * The DEPOSIT transaction to log for an account found in step 1, stamped with the current time as the
+     * balance was just updated; shared with {@link ReactiveDepositService}
+     */
+    static LogTransactionRequest transactionRequest(DepositRequest request, AccountDto account) {
         String description = request.getDescription() != null 
                 ? request.getDescription() 
                 : "Deposit" + (request.getTellerId() != null ? " by teller " + request.getTellerId() : "");
         
-        LogTransactionRequest transactionRequest = new LogTransactionRequest(
-                Long.parseLong(account.getId()), // Convert String account ID to Long for transaction
+        return new LogTransactionRequest(
+                Long.parseLong(account.id()), // Convert String account ID to Long for transaction
                 "DEPOSIT",
                 request.getAmount(),
                 null, // No related account for deposits
-                description
+                description,
+                null, // The outbox assigns idempotency keys
+                LocalDateTime.now()
         );
-        
-        TransactionDto transaction = transactionClient.logTransaction(transactionRequest);
-        log.info("Transaction logged with ID: {}", transaction.getId());
+    }
 
-        // Step 4: Build response
-        DepositResponse response = new DepositResponse(
-                transaction.getId(),
-                updatedAccount.getId(),
+    static DepositResponse response(DepositRequest request, AccountDto updatedAccount,
+                                    Long transactionId, String transactionReference) {
+        return new DepositResponse(
+                transactionId,
+                transactionReference,
+                updatedAccount.id(),
                 request.getAmount(),
-                updatedAccount.getBalance(),
+                updatedAccount.balance(),
                 "Deposit successful"
         );
-
-        log.info("Deposit completed successfully for account: {}", request.getAccountId());
-        return response;
     }
 }
@@ -0,0 +1,86 @@
+package com.banking.deposit.service;
+
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.LogTransactionRequest;
+import com.banking.contracts.UpdateBalanceRequest;
+import com.banking.deposit.client.ReactiveAccountClient;
+import com.banking.deposit.client.ReactiveTransactionClient;
+import com.banking.deposit.dto.*;
+import com.banking.outbox.TransactionLogProperties;
+import com.banking.outbox.TransactionOutbox;
+import com.banking.outbox.idempotency.PointOfNoReturn;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * The deposit flow of {@link DepositService} on WebClient, for deposit.orchestration.mode REACTIVE.
+ * No thread waits while account-service and transaction-service respond, so an in-flight deposit
+ * costs only its pipeline, not a servlet thread. Only the local outbox insert (JDBC) runs on a
+ * worker thread.
+ */
+@Service
+@ConditionalOnProperty(name = "deposit.orchestration.mode", havingValue = "REACTIVE")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDepositService {
+
+    private final ReactiveAccountClient accountClient;
+    private final ReactiveTransactionClient transactionClient;
+    private final TransactionOutbox transactionOutbox;
+    private final TransactionLogProperties transactionLogProperties;
+
+    /**
+     * Same steps as {@link DepositService#processDeposit}. The deposit starts right away and runs to the end
+     * even if the caller cancels, as a servlet thread would: a balance update is always followed by its
+     * transaction log.
+     */
+    public Mono<DepositResponse> processDeposit(DepositRequest request) {
+        return processDeposit(request, PointOfNoReturn.NONE);
+    }
+
+    /**
+     * {@link #processDeposit(DepositRequest)} for an idempotent request; the point of no return is
+     * reached right before the balance update is sent
+     */
+    public Mono<DepositResponse> processDeposit(DepositRequest request, PointOfNoReturn pointOfNoReturn) {
+        log.info("Processing deposit for account: {}, amount: {}",
+                request.getAccountId(), request.getAmount());
+
+        Mono<DepositResponse> deposit = accountClient.getAccount(request.getAccountId())
+                .flatMap(account -> {
+                    log.debug("Account found: {}, current balance: {}", account.id(), account.balance());
+                    pointOfNoReturn.reached();
+                    return accountClient.updateBalance(request.getAccountId(), new UpdateBalanceRequest(request.getAmount()))
+                            .flatMap(updatedAccount -> {
+                                log.info("Balance updated. New balance: {}", updatedAccount.balance());
+                                return logTransaction(request, account, updatedAccount);
+                            });
+                })
+                .doOnNext(response -> log.info("Deposit completed successfully for account: {}", request.getAccountId()));
+        return Mono.fromFuture(deposit.toFuture(), true);
+    }
+
+    private Mono<DepositResponse> logTransaction(DepositRequest request, AccountDto account, AccountDto updatedAccount) {
+        LogTransactionRequest transactionRequest = DepositService.transactionRequest(request, account);
+        if (transactionLogProperties.getMode() == TransactionLogProperties.Mode.OUTBOX) {
+            return Mono.fromCallable(() -> transactionOutbox.enqueue(List.of(transactionRequest)).get(0))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(transactionReference -> {
+                        log.info("Transaction queued with reference: {}", transactionReference);
+                        return DepositService.response(request, updatedAccount, null, transactionReference);
+                    });
+        }
+        return transactionClient.logTransactions(new BatchLogTransactionRequest(List.of(transactionRequest)))
+                .map(transactions -> {
+                    Long transactionId = transactions.get(0).id();
+                    log.info("Transaction logged with ID: {}", transactionId);
+                    return DepositService.response(request, updatedAccount, transactionId, null);
+                });
+    }
+}
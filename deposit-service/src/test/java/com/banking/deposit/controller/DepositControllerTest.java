@@ -2,16 +2,22 @@ package com.banking.deposit.controller;
 
 import com.banking.deposit.dto.DepositRequest;
 import com.banking.deposit.dto.DepositResponse;
+import com.banking.deposit.exception.AccountNotFoundException;
+import com.banking.deposit.exception.DepositServiceException;
 import com.banking.deposit.service.DepositService;
+import com.banking.outbox.idempotency.IdempotencyStore;
+import com.banking.outbox.idempotency.PointOfNoReturn;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.FeignException;
 import feign.Request;
 import feign.RequestTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -19,6 +25,9 @@ import java.math.BigDecimal;
 import java.util.HashMap;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -29,6 +38,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Uses @WebMvcTest for lightweight controller testing
  */
 @WebMvcTest(DepositController.class)
+@Import({IdempotencyStore.class, SimpleMeterRegistry.class})
 class DepositControllerTest {
 
     @Autowired
@@ -54,6 +64,7 @@ class DepositControllerTest {
 
         successResponse = new DepositResponse(
                 101L,
+                null,
                 "1234567",
                 new BigDecimal("1000.00"),
                 new BigDecimal("2500.00"),
@@ -271,6 +282,7 @@ class DepositControllerTest {
 
         DepositResponse minimalResponse = new DepositResponse(
                 102L,
+                null,
                 "1234567",
                 new BigDecimal("500.00"),
                 new BigDecimal("2000.00"),
@@ -311,4 +323,139 @@ class DepositControllerTest {
                         .content(invalidJson))
                 .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    void testDeposit_RetryWithSameIdempotencyKey_ReturnsOriginalResponseWithoutDepositingAgain() throws Exception {
+        // Given
+        when(depositService.processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class)))
+                .thenReturn(successResponse);
+
+        // When
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/deposit")
+                            .header("X-User-Role", "TELLER")
+                            .header("X-User-Id", "5")
+                            .header("Idempotency-Key", "deposit-retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.transactionId").value(101));
+        }
+
+        // Then
+        verify(depositService, times(1)).processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class));
+    }
+
+    @Test
+    void testDeposit_RetryWithAmountInAnotherScale_ReturnsOriginalResponse() throws Exception {
+        // Given
+        when(depositService.processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class)))
+                .thenReturn(successResponse);
+
+        // When
+        for (String amount : new String[]{"1000.00", "1000.0"}) {
+            mockMvc.perform(post("/deposit")
+                            .header("X-User-Role", "TELLER")
+                            .header("X-User-Id", "5")
+                            .header("Idempotency-Key", "deposit-scale-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"accountId\": \"1234567\", \"amount\": " + amount + "}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.transactionId").value(101));
+        }
+
+        // Then
+        verify(depositService, times(1)).processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class));
+    }
+
+    @Test
+    void testDeposit_RetryAfterFailureFollowingBalanceUpdate_ReplaysFailureWithoutDepositingAgain() throws Exception {
+        // Given - the balance update was sent, then logging the transaction failed
+        when(depositService.processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, PointOfNoReturn.class).reached();
+                    throw new DepositServiceException("Transaction Service unavailable");
+                });
+
+        // When
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/deposit")
+                            .header("X-User-Role", "TELLER")
+                            .header("X-User-Id", "5")
+                            .header("Idempotency-Key", "deposit-failed-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validRequest)))
+                    .andExpect(status().isInternalServerError());
+        }
+
+        // Then
+        verify(depositService, times(1)).processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class));
+    }
+
+    @Test
+    void testDeposit_RetryAfterFailureBeforeBalanceUpdate_DepositsAgain() throws Exception {
+        // Given - the account lookup failed, so nothing was changed
+        when(depositService.processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class)))
+                .thenThrow(new AccountNotFoundException("1234567"))
+                .thenReturn(successResponse);
+
+        // When
+        mockMvc.perform(post("/deposit")
+                        .header("X-User-Role", "TELLER")
+                        .header("X-User-Id", "5")
+                        .header("Idempotency-Key", "deposit-failed-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/deposit")
+                        .header("X-User-Role", "TELLER")
+                        .header("X-User-Id", "5")
+                        .header("Idempotency-Key", "deposit-failed-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(depositService, times(2)).processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class));
+    }
+
+    @Test
+    void testDeposit_IdempotencyKeyReusedForDifferentDeposit_Returns422() throws Exception {
+        // Given
+        when(depositService.processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class)))
+                .thenReturn(successResponse);
+        DepositRequest otherRequest = new DepositRequest("1234567", new BigDecimal("20.00"), 5L, "Cash deposit");
+
+        mockMvc.perform(post("/deposit")
+                        .header("X-User-Role", "TELLER")
+                        .header("X-User-Id", "5")
+                        .header("Idempotency-Key", "deposit-reused-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(post("/deposit")
+                        .header("X-User-Role", "TELLER")
+                        .header("X-User-Id", "5")
+                        .header("Idempotency-Key", "deposit-reused-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(otherRequest)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422));
+        verify(depositService, times(1)).processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class));
+    }
+
+    @Test
+    void testDeposit_IdempotencyKeyWithoutUserId_Returns400() throws Exception {
+        // When & Then - without a user the key would be shared by every caller
+        mockMvc.perform(post("/deposit")
+                        .header("X-User-Role", "TELLER")
+                        .header("Idempotency-Key", "deposit-anonymous-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        verify(depositService, never()).processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class));
+    }
 }
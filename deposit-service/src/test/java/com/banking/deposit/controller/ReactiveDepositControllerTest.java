@@ -0,0 +1,136 @@
+package com.banking.deposit.controller;
+
+import com.banking.deposit.dto.DepositRequest;
+import com.banking.deposit.dto.DepositResponse;
+import com.banking.deposit.service.ReactiveDepositService;
+import com.banking.outbox.idempotency.IdempotencyStore;
+import com.banking.outbox.idempotency.PointOfNoReturn;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Controller tests for ReactiveDepositController, active with deposit.orchestration.mode REACTIVE
+ */
+@WebMvcTest(controllers = ReactiveDepositController.class, properties = "deposit.orchestration.mode=REACTIVE")
+@Import({IdempotencyStore.class, SimpleMeterRegistry.class})
+class ReactiveDepositControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReactiveDepositService depositService;
+
+    private DepositRequest validRequest;
+    private DepositResponse successResponse;
+
+    @BeforeEach
+    void setUp() {
+        validRequest = new DepositRequest("1234567", new BigDecimal("1000.00"), 5L, "Cash deposit");
+        successResponse = new DepositResponse(101L, null, "1234567",
+                new BigDecimal("1000.00"), new BigDecimal("2500.00"), "Deposit successful");
+    }
+
+    @Test
+    void testDeposit_WithTellerRole_ReturnsResponseAsynchronously() throws Exception {
+        // Given
+        when(depositService.processDeposit(any(DepositRequest.class))).thenReturn(Mono.just(successResponse));
+
+        // When
+        MvcResult started = mockMvc.perform(post("/deposit")
+                        .header("X-User-Role", "TELLER")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionId").value(101))
+                .andExpect(jsonPath("$.newBalance").value(2500.00));
+    }
+
+    @Test
+    void testDeposit_WithCustomerRole_Returns403() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/deposit")
+                        .header("X-User-Role", "CUSTOMER")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Only tellers are authorized to perform deposits"));
+        verifyNoInteractions(depositService);
+    }
+
+    @Test
+    void testDeposit_AccountNotFound_Returns404() throws Exception {
+        // Given
+        when(depositService.processDeposit(any(DepositRequest.class))).thenReturn(Mono.error(
+                WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8)));
+
+        // When
+        MvcResult started = mockMvc.perform(post("/deposit")
+                        .header("X-User-Role", "TELLER")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    @Test
+    void testDeposit_RetryWithSameIdempotencyKey_ReturnsOriginalResponseWithoutDepositingAgain() throws Exception {
+        // Given
+        when(depositService.processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class))).thenReturn(Mono.just(successResponse));
+
+        // When
+        for (int attempt = 0; attempt < 2; attempt++) {
+            MvcResult started = mockMvc.perform(post("/deposit")
+                            .header("X-User-Role", "TELLER")
+                            .header("X-User-Id", "5")
+                            .header("Idempotency-Key", "deposit-retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validRequest)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.transactionId").value(101));
+        }
+
+        // Then
+        verify(depositService, times(1)).processDeposit(any(DepositRequest.class), any(PointOfNoReturn.class));
+    }
+}
@@ -1,21 +1,31 @@
 package com.banking.deposit.service;
 
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.TransactionDto;
+import com.banking.contracts.UpdateBalanceRequest;
 import com.banking.deposit.client.AccountClient;
 import com.banking.deposit.client.TransactionClient;
 import com.banking.deposit.dto.*;
+import com.banking.deposit.exception.AccountNotFoundException;
+import com.banking.outbox.TransactionLogProperties;
+import com.banking.outbox.TransactionOutbox;
+import com.banking.outbox.idempotency.PointOfNoReturn;
 import feign.FeignException;
 import feign.Request;
 import feign.RequestTemplate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -36,6 +46,12 @@ class DepositServiceTest {
     @Mock
     private TransactionClient transactionClient;
 
+    @Mock
+    private TransactionOutbox transactionOutbox;
+
+    @Spy
+    private TransactionLogProperties transactionLogProperties = new TransactionLogProperties();
+
     @InjectMocks
     private DepositService depositService;
 
@@ -88,8 +104,8 @@ class DepositServiceTest {
         when(accountClient.getAccount(depositRequest.getAccountId())).thenReturn(accountDto);
         when(accountClient.updateBalance(eq(depositRequest.getAccountId()), any(UpdateBalanceRequest.class)))
                 .thenReturn(updatedAccountDto);
-        when(transactionClient.logTransaction(any(LogTransactionRequest.class)))
-                .thenReturn(transactionDto);
+        when(transactionClient.logTransactions(any(BatchLogTransactionRequest.class)))
+                .thenReturn(List.of(transactionDto));
 
         // When
         DepositResponse response = depositService.processDeposit(depositRequest);
@@ -105,7 +121,7 @@ class DepositServiceTest {
         // Verify interactions
         verify(accountClient).getAccount("1234567");
         verify(accountClient).updateBalance(eq("1234567"), any(UpdateBalanceRequest.class));
-        verify(transactionClient).logTransaction(any(LogTransactionRequest.class));
+        verify(transactionClient).logTransactions(any(BatchLogTransactionRequest.class));
     }
 
     @Test
@@ -138,10 +154,10 @@ class DepositServiceTest {
         assertThatThrownBy(() -> depositService.processDeposit(invalidRequest))
                 .isInstanceOf(FeignException.NotFound.class);
 
-        // Verify that updateBalance and logTransaction were NOT called
+        // Verify that updateBalance and logTransactions were NOT called
         verify(accountClient).getAccount("9999999");
         verify(accountClient, never()).updateBalance(anyString(), any());
-        verify(transactionClient, never()).logTransaction(any());
+        verify(transactionClient, never()).logTransactions(any());
     }
 
     @Test
@@ -159,8 +175,8 @@ class DepositServiceTest {
         when(accountClient.updateBalance(eq(invalidRequest.getAccountId()), any(UpdateBalanceRequest.class)))
                 .thenReturn(accountDto); // Balance unchanged
 
-        when(transactionClient.logTransaction(any(LogTransactionRequest.class)))
-                .thenReturn(transactionDto);
+        when(transactionClient.logTransactions(any(BatchLogTransactionRequest.class)))
+                .thenReturn(List.of(transactionDto));
 
         // When
         DepositResponse response = depositService.processDeposit(invalidRequest);
@@ -198,7 +214,7 @@ class DepositServiceTest {
         // Verify that transaction was NOT logged
         verify(accountClient).getAccount("1234567");
         verify(accountClient).updateBalance(eq("1234567"), any(UpdateBalanceRequest.class));
-        verify(transactionClient, never()).logTransaction(any());
+        verify(transactionClient, never()).logTransactions(any());
     }
 
     @Test
@@ -214,8 +230,8 @@ class DepositServiceTest {
         when(accountClient.getAccount(requestWithoutTeller.getAccountId())).thenReturn(accountDto);
         when(accountClient.updateBalance(eq(requestWithoutTeller.getAccountId()), any(UpdateBalanceRequest.class)))
                 .thenReturn(updatedAccountDto);
-        when(transactionClient.logTransaction(any(LogTransactionRequest.class)))
-                .thenReturn(transactionDto);
+        when(transactionClient.logTransactions(any(BatchLogTransactionRequest.class)))
+                .thenReturn(List.of(transactionDto));
 
         // When
         DepositResponse response = depositService.processDeposit(requestWithoutTeller);
@@ -225,8 +241,9 @@ class DepositServiceTest {
         assertThat(response.getMessage()).isEqualTo("Deposit successful");
 
         // Verify transaction description is just "Deposit"
-        verify(transactionClient).logTransaction(argThat(req ->
-                req.getDescription().equals("Deposit")
+        verify(transactionClient).logTransactions(argThat(batch ->
+                batch.getTransactions().size() == 1
+                        && batch.getTransactions().get(0).description().equals("Deposit")
         ));
     }
 
@@ -236,15 +253,15 @@ class DepositServiceTest {
         when(accountClient.getAccount(depositRequest.getAccountId())).thenReturn(accountDto);
         when(accountClient.updateBalance(eq(depositRequest.getAccountId()), any(UpdateBalanceRequest.class)))
                 .thenReturn(updatedAccountDto);
-        when(transactionClient.logTransaction(any(LogTransactionRequest.class)))
-                .thenReturn(transactionDto);
+        when(transactionClient.logTransactions(any(BatchLogTransactionRequest.class)))
+                .thenReturn(List.of(transactionDto));
 
         // When
         depositService.processDeposit(depositRequest);
 
         // Then - verify description uses the provided one (not default)
-        verify(transactionClient).logTransaction(argThat(req ->
-                req.getDescription().equals("Cash deposit")
+        verify(transactionClient).logTransactions(argThat(batch ->
+                batch.getTransactions().get(0).description().equals("Cash deposit")
         ));
     }
 
@@ -257,13 +274,13 @@ class DepositServiceTest {
         
         Request request = Request.create(
                 Request.HttpMethod.POST,
-                "/transactions",
+                "/transactions/batch",
                 new HashMap<>(),
                 null,
                 new RequestTemplate()
         );
         
-        when(transactionClient.logTransaction(any(LogTransactionRequest.class)))
+        when(transactionClient.logTransactions(any(BatchLogTransactionRequest.class)))
                 .thenThrow(new FeignException.InternalServerError(
                         "Transaction service error",
                         request,
@@ -278,6 +295,61 @@ class DepositServiceTest {
         // Verify all steps were attempted
         verify(accountClient).getAccount("1234567");
         verify(accountClient).updateBalance(eq("1234567"), any(UpdateBalanceRequest.class));
-        verify(transactionClient).logTransaction(any(LogTransactionRequest.class));
+        verify(transactionClient).logTransactions(any(BatchLogTransactionRequest.class));
+    }
+
+    @Test
+    void testDeposit_ReachesPointOfNoReturnRightBeforeBalanceUpdate() {
+        // Given
+        PointOfNoReturn pointOfNoReturn = mock(PointOfNoReturn.class);
+        when(accountClient.getAccount(depositRequest.getAccountId())).thenReturn(accountDto);
+        when(accountClient.updateBalance(eq(depositRequest.getAccountId()), any(UpdateBalanceRequest.class)))
+                .thenReturn(updatedAccountDto);
+        when(transactionClient.logTransactions(any(BatchLogTransactionRequest.class)))
+                .thenReturn(List.of(transactionDto));
+
+        // When
+        depositService.processDeposit(depositRequest, pointOfNoReturn);
+
+        // Then
+        InOrder inOrder = inOrder(accountClient, pointOfNoReturn, transactionClient);
+        inOrder.verify(accountClient).getAccount("1234567");
+        inOrder.verify(pointOfNoReturn).reached();
+        inOrder.verify(accountClient).updateBalance(eq("1234567"), any(UpdateBalanceRequest.class));
+        inOrder.verify(transactionClient).logTransactions(any(BatchLogTransactionRequest.class));
+    }
+
+    @Test
+    void testDeposit_AccountLookupFails_DoesNotReachPointOfNoReturn() {
+        // Given
+        PointOfNoReturn pointOfNoReturn = mock(PointOfNoReturn.class);
+        when(accountClient.getAccount(depositRequest.getAccountId()))
+                .thenThrow(new AccountNotFoundException(depositRequest.getAccountId()));
+
+        // When & Then
+        assertThatThrownBy(() -> depositService.processDeposit(depositRequest, pointOfNoReturn))
+                .isInstanceOf(AccountNotFoundException.class);
+        verify(pointOfNoReturn, never()).reached();
+    }
+
+    @Test
+    void testDeposit_OutboxMode_QueuesTransactionInsteadOfCallingTransactionService() {
+        // Given
+        transactionLogProperties.setMode(TransactionLogProperties.Mode.OUTBOX);
+        when(accountClient.getAccount(depositRequest.getAccountId())).thenReturn(accountDto);
+        when(accountClient.updateBalance(eq(depositRequest.getAccountId()), any(UpdateBalanceRequest.class)))
+                .thenReturn(updatedAccountDto);
+        when(transactionOutbox.enqueue(anyList())).thenReturn(List.of("3f2b6c1e-8d4a-4e59-9a57-0c1d2e3f4a5b"));
+
+        // When
+        DepositResponse response = depositService.processDeposit(depositRequest);
+
+        // Then
+        assertThat(response.getTransactionId()).isNull();
+        assertThat(response.getTransactionReference()).isEqualTo("3f2b6c1e-8d4a-4e59-9a57-0c1d2e3f4a5b");
+        assertThat(response.getNewBalance()).isEqualByComparingTo(new BigDecimal("2500.00"));
+        verify(transactionOutbox).enqueue(argThat(requests -> requests.size() == 1
+                && "DEPOSIT".equals(requests.get(0).transactionType())));
+        verifyNoInteractions(transactionClient);
     }
 }
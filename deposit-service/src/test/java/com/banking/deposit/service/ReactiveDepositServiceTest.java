@@ -0,0 +1,154 @@
+package com.banking.deposit.service;
+
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.TransactionDto;
+import com.banking.contracts.UpdateBalanceRequest;
+import com.banking.deposit.client.ReactiveAccountClient;
+import com.banking.deposit.client.ReactiveTransactionClient;
+import com.banking.deposit.dto.*;
+import com.banking.outbox.TransactionLogProperties;
+import com.banking.outbox.TransactionOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReactiveDepositService with mocked WebClient-backed clients
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveDepositServiceTest {
+
+    @Mock
+    private ReactiveAccountClient accountClient;
+
+    @Mock
+    private ReactiveTransactionClient transactionClient;
+
+    @Mock
+    private TransactionOutbox transactionOutbox;
+
+    @Spy
+    private TransactionLogProperties transactionLogProperties = new TransactionLogProperties();
+
+    @InjectMocks
+    private ReactiveDepositService depositService;
+
+    private DepositRequest depositRequest;
+    private AccountDto accountDto;
+    private AccountDto updatedAccountDto;
+    private TransactionDto transactionDto;
+
+    @BeforeEach
+    void setUp() {
+        depositRequest = new DepositRequest("1234567", new BigDecimal("1000.00"), 5L, null);
+        accountDto = AccountDto.builder()
+                .id("1234567")
+                .userId(10L)
+                .balance(new BigDecimal("1500.00"))
+                .build();
+        updatedAccountDto = AccountDto.builder()
+                .id("1234567")
+                .userId(10L)
+                .balance(new BigDecimal("2500.00"))
+                .build();
+        transactionDto = new TransactionDto(101L, 1234567L, "DEPOSIT", new BigDecimal("1000.00"),
+                null, "Deposit by teller 5", LocalDateTime.now(), "COMPLETED");
+    }
+
+    @Test
+    void testDeposit_Success_UpdatesBalanceAndLogsTransaction() {
+        // Given
+        when(accountClient.getAccount("1234567")).thenReturn(Mono.just(accountDto));
+        when(accountClient.updateBalance(eq("1234567"), any(UpdateBalanceRequest.class)))
+                .thenReturn(Mono.just(updatedAccountDto));
+        when(transactionClient.logTransactions(any(BatchLogTransactionRequest.class)))
+                .thenReturn(Mono.just(List.of(transactionDto)));
+
+        // When
+        DepositResponse response = depositService.processDeposit(depositRequest).block();
+
+        // Then
+        assertThat(response.getTransactionId()).isEqualTo(101L);
+        assertThat(response.getNewBalance()).isEqualByComparingTo("2500.00");
+        ArgumentCaptor<BatchLogTransactionRequest> logged = ArgumentCaptor.forClass(BatchLogTransactionRequest.class);
+        verify(transactionClient).logTransactions(logged.capture());
+        assertThat(logged.getValue().getTransactions()).singleElement()
+                .satisfies(transaction -> {
+                    assertThat(transaction.accountId()).isEqualTo(1234567L);
+                    assertThat(transaction.transactionType()).isEqualTo("DEPOSIT");
+                    assertThat(transaction.description()).isEqualTo("Deposit by teller 5");
+                });
+        verifyNoInteractions(transactionOutbox);
+    }
+
+    @Test
+    void testDeposit_OutboxMode_QueuesTransactionLocally() {
+        // Given
+        transactionLogProperties.setMode(TransactionLogProperties.Mode.OUTBOX);
+        when(accountClient.getAccount("1234567")).thenReturn(Mono.just(accountDto));
+        when(accountClient.updateBalance(eq("1234567"), any(UpdateBalanceRequest.class)))
+                .thenReturn(Mono.just(updatedAccountDto));
+        when(transactionOutbox.enqueue(anyList())).thenReturn(List.of("reference-1"));
+
+        // When
+        DepositResponse response = depositService.processDeposit(depositRequest).block();
+
+        // Then
+        assertThat(response.getTransactionId()).isNull();
+        assertThat(response.getTransactionReference()).isEqualTo("reference-1");
+        verifyNoInteractions(transactionClient);
+    }
+
+    @Test
+    void testDeposit_AccountNotFound_FailsWithoutUpdatingBalance() {
+        // Given
+        when(accountClient.getAccount("1234567")).thenReturn(Mono.error(WebClientResponseException.create(
+                404, "Not Found", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8)));
+
+        // When & Then
+        assertThatThrownBy(() -> depositService.processDeposit(depositRequest).block())
+                .isInstanceOf(WebClientResponseException.NotFound.class);
+        verify(accountClient, never()).updateBalance(any(), any());
+        verifyNoInteractions(transactionClient, transactionOutbox);
+    }
+
+    @Test
+    void testDeposit_CallerCancels_StillLogsTransaction() {
+        // Given
+        Sinks.One<AccountDto> balanceUpdate = Sinks.one();
+        when(accountClient.getAccount("1234567")).thenReturn(Mono.just(accountDto));
+        when(accountClient.updateBalance(eq("1234567"), any(UpdateBalanceRequest.class)))
+                .thenReturn(balanceUpdate.asMono());
+        when(transactionClient.logTransactions(any(BatchLogTransactionRequest.class)))
+                .thenReturn(Mono.just(List.of(transactionDto)));
+
+        // When
+        Disposable caller = depositService.processDeposit(depositRequest).subscribe();
+        caller.dispose();
+        balanceUpdate.tryEmitValue(updatedAccountDto);
+
+        // Then
+        verify(transactionClient).logTransactions(any(BatchLogTransactionRequest.class));
+    }
+}
@@ -1,13 +1,16 @@
 package com.banking.register;
 
+import com.banking.register.config.UserImportProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableFeignClients
+@EnableConfigurationProperties(UserImportProperties.class)
 public class RegisterServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(RegisterServiceApplication.class, args);
@@ -1,15 +1,26 @@
 package com.banking.register.client;
 
-import com.banking.register.client.dto.AccountDto;
+import com.banking.contracts.AccountDto;
+import com.banking.register.client.dto.BatchCreateAccountRequest;
 import com.banking.register.client.dto.CreateAccountRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.util.List;
 
 @FeignClient(name = "account-service")
 public interface AccountClient {
     
     @PostMapping("/accounts/create")
     ResponseEntity<AccountDto> createAccount(@RequestBody CreateAccountRequest request);
+    
+    /**
+     * At most 500 accounts per call; account-service only accepts it with the TELLER role
+     */
+    @PostMapping("/accounts/batch")
+    List<AccountDto> createAccounts(@RequestBody BatchCreateAccountRequest request,
+                                    @RequestHeader("X-User-Role") String userRole);
 }
@@ -0,0 +1,15 @@
+package com.banking.register.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateAccountRequest {
+    
+    private List<CreateAccountRequest> accounts;
+}
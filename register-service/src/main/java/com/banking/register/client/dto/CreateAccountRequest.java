@@ -14,6 +14,7 @@ import java.math.BigDecimal;
 public class CreateAccountRequest {
     
     private Long userId;
+    private String citizenId;
     private String accountType;
     private BigDecimal initialBalance;
 }
@@ -1,5 +1,8 @@
 package com.banking.register.config;
 
+import com.banking.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,9 +15,17 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * Each step of the cost doubles the work per hash. Hashes keep the cost they were created with,
+     * so changing it affects only passwords and PINs set afterwards.
+     * Hashing runs on its own pool, see {@link BoundedPasswordEncoder}.
+     */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength,
+                                                  @Value("${security.bcrypt.pool-size:0}") int poolSize,
+                                                  @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                                  MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,40 @@
+package com.banking.register.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors for bulk user imports: imports run one at a time, and each feeds its rows
+ * to the password hashing pool from several threads
+ */
+@Configuration
+public class UserImportExecutorConfig {
+
+    /**
+     * When the queue is full new imports are refused with 503 rather than piling up
+     */
+    @Bean
+    public ThreadPoolTaskExecutor userImportExecutor(UserImportProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("user-import-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor userImportHashExecutor(UserImportProperties properties) {
+        int threads = properties.getHashParallelism() > 0
+                ? properties.getHashParallelism() : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("user-import-hash-");
+        return executor;
+    }
+}
@@ -0,0 +1,45 @@
+package com.banking.register.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bulk user imports through POST /register/import (user-import.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "user-import")
+public class UserImportProperties {
+
+    /**
+     * Rows checked for conflicts, hashed and inserted together
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Rows hashed at the same time, 0 for one per CPU core. Hashing itself runs on the shared
+     * password hashing pool, which stays available to logins in between.
+     */
+    private int hashParallelism = 0;
+
+    /**
+     * Default accounts requested from account-service per call; it accepts at most 500
+     */
+    private int accountBatchSize = 500;
+
+    /**
+     * Imports waiting for the running one to finish before new ones are refused
+     */
+    private int queueCapacity = 4;
+
+    /**
+     * Where uploads are spooled and rejected-rows files are kept
+     */
+    private String directory = System.getProperty("java.io.tmpdir") + "/user-imports";
+
+    /**
+     * How long a finished import's status and rejected rows stay available
+     */
+    private Duration retention = Duration.ofHours(24);
+}
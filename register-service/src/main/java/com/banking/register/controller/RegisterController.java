@@ -3,7 +3,10 @@ package com.banking.register.controller;
 import com.banking.register.dto.RegisterRequest;
 import com.banking.register.dto.RegisterResponse;
 import com.banking.register.dto.UserDto;
+import com.banking.register.dto.UserImportStatus;
+import com.banking.register.exception.UnauthorizedAccessException;
 import com.banking.register.service.RegisterService;
+import com.banking.register.service.UserImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,10 +15,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/register")
 @RequiredArgsConstructor
@@ -23,7 +31,10 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "User Registration", description = "APIs for user registration")
 public class RegisterController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    
     private final RegisterService registerService;
+    private final UserImportService userImportService;
     
     @PostMapping
     @Operation(summary = "Register a new user", description = "Creates a new user with a default savings account")
@@ -87,9 +98,74 @@ public class RegisterController {
         return ResponseEntity.ok(isValid);
     }
     
+    @PostMapping(value = "/import", consumes = NDJSON)
+    @Operation(summary = "Import users in bulk", 
+               description = "Takes one registration request per line (NDJSON) and imports them in the background. " +
+                       "Poll the returned import for progress and download its rejected rows. " +
+                       "**AUTHORIZATION: Only users with TELLER role can import users.**")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Import queued"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - TELLER role required"),
+        @ApiResponse(responseCode = "503", description = "Too many imports waiting")
+    })
+    public ResponseEntity<UserImportStatus> importUsers(
+            InputStream body,
+            @Parameter(description = "Also create a default account for each imported user")
+            @RequestParam(defaultValue = "false") boolean createAccounts,
+            @Parameter(description = "Type of the default accounts", example = "SAVINGS")
+            @RequestParam(defaultValue = "SAVINGS") String accountType,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole) {
+        log.info("POST /register/import - createAccounts: {}, userRole: {}", createAccounts, userRole);
+        
+        requireTeller(userRole);
+        UserImportStatus status = userImportService.startImport(body, createAccounts, accountType);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
+    
+    @GetMapping("/import/{importId}")
+    @Operation(summary = "Get import progress", 
+               description = "**AUTHORIZATION: Only users with TELLER role can view imports.**")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Import progress"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - TELLER role required"),
+        @ApiResponse(responseCode = "404", description = "Import not found")
+    })
+    public ResponseEntity<UserImportStatus> getImport(
+            @PathVariable String importId,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole) {
+        requireTeller(userRole);
+        return ResponseEntity.ok(userImportService.getStatus(importId));
+    }
+    
+    @GetMapping(value = "/import/{importId}/rejected", produces = NDJSON)
+    @Operation(summary = "Download rejected rows", 
+               description = "One JSON object per rejected row with its line number and the reason; " +
+                       "grows while the import runs. Passwords and PINs are never included. " +
+                       "**AUTHORIZATION: Only users with TELLER role can view imports.**")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Rejected rows"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - TELLER role required"),
+        @ApiResponse(responseCode = "404", description = "Import not found or not started")
+    })
+    public ResponseEntity<Resource> getRejectedRows(
+            @PathVariable String importId,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole) {
+        requireTeller(userRole);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(new FileSystemResource(userImportService.getRejectedRows(importId)));
+    }
+    
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the service is running")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Register Service is running");
     }
+    
+    private void requireTeller(String userRole) {
+        if (!"TELLER".equals(userRole)) {
+            log.warn("Unauthorized user import access by role: {}", userRole);
+            throw new UnauthorizedAccessException("Only tellers are authorized to import users");
+        }
+    }
 }
@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -35,6 +36,7 @@ public class RegisterRequest {
     
     @NotBlank(message = "Citizen ID is required")
     @Size(min = 13, max = 13, message = "Citizen ID must be exactly 13 digits")
+    @Pattern(regexp = "\\d{13}", message = "Citizen ID must be exactly 13 digits")
     @Schema(description = "Thai national ID (13 digits)", example = "1234567890123")
     private String citizenId;
     
@@ -50,6 +52,7 @@ public class RegisterRequest {
     
     @NotBlank(message = "PIN is required")
     @Size(min = 6, max = 6, message = "PIN must be exactly 6 digits")
+    @Pattern(regexp = "\\d{6}", message = "PIN must be exactly 6 digits")
     @Schema(description = "6-digit PIN for transactions", example = "123456")
     private String pin;
     
@@ -0,0 +1,50 @@
+package com.banking.register.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Progress of a bulk user import")
+public class UserImportStatus {
+    
+    @Schema(description = "Import ID", example = "4f1c2b9e-8d7a-4e55-9a61-0c3d2e1f5b7a")
+    private String importId;
+    
+    @Schema(description = "QUEUED, RUNNING, COMPLETED or FAILED", example = "RUNNING")
+    private String state;
+    
+    @Schema(description = "Lines in the uploaded file", example = "20000")
+    private long totalLines;
+    
+    @Schema(description = "Rows imported or rejected so far", example = "7500")
+    private long processed;
+    
+    @Schema(description = "Users created", example = "7450")
+    private long imported;
+    
+    @Schema(description = "Rows rejected; see the rejected rows file", example = "50")
+    private long rejected;
+    
+    @Schema(description = "Default accounts created", example = "7000")
+    private long accountsCreated;
+    
+    @Schema(description = "Imported users whose default account could not be created", example = "0")
+    private long accountsFailed;
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime finishedAt;
+    
+    @Schema(description = "Why the import stopped, when FAILED")
+    private String error;
+}
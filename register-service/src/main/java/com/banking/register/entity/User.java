@@ -9,27 +9,36 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.UNIQUE_USERNAME, columnNames = "username"),
+        @UniqueConstraint(name = User.UNIQUE_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = User.UNIQUE_CITIZEN_ID, columnNames = "citizen_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class User {
     
+    // Named so that a violation on insert can be traced back to the field
+    public static final String UNIQUE_USERNAME = "uk_users_username";
+    public static final String UNIQUE_EMAIL = "uk_users_email";
+    public static final String UNIQUE_CITIZEN_ID = "uk_users_citizen_id";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false, unique = true, length = 50)
+    @Column(nullable = false, length = 50)
     private String username;
     
     @Column(nullable = false)
     private String password; // BCrypt hashed
     
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
     
-    @Column(nullable = false, unique = true, length = 13)
+    @Column(nullable = false, length = 13)
     private String citizenId; // Thai national ID (13 digits)
     
     @Column(nullable = false, length = 100)
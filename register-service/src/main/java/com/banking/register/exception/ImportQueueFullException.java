@@ -0,0 +1,8 @@
+package com.banking.register.exception;
+
+public class ImportQueueFullException extends RuntimeException {
+    
+    public ImportQueueFullException(String message) {
+        super(message);
+    }
+}
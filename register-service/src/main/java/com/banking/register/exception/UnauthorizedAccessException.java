@@ -0,0 +1,8 @@
+package com.banking.register.exception;
+
+public class UnauthorizedAccessException extends RuntimeException {
+    
+    public UnauthorizedAccessException(String message) {
+        super(message);
+    }
+}
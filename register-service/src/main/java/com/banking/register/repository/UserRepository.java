@@ -2,8 +2,11 @@ package com.banking.register.repository;
 
 import com.banking.register.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,9 +18,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByCitizenId(String citizenId);
     
-    boolean existsByUsername(String username);
-    
-    boolean existsByEmail(String email);
-    
-    boolean existsByCitizenId(String citizenId);
+    /**
+     * Which of the unique fields are already taken, in one round trip: each branch is a lookup
+     * on that column's unique index
+     *
+     * @return the unique constraint names ({@link User#UNIQUE_USERNAME} etc.) that the values would violate
+     */
+    @Query(value = "SELECT '" + User.UNIQUE_USERNAME + "' FROM users WHERE username = :username " +
+            "UNION ALL SELECT '" + User.UNIQUE_EMAIL + "' FROM users WHERE email = :email " +
+            "UNION ALL SELECT '" + User.UNIQUE_CITIZEN_ID + "' FROM users WHERE citizen_id = :citizenId",
+            nativeQuery = true)
+    List<String> findTakenUniqueFields(@Param("username") String username,
+                                       @Param("email") String email,
+                                       @Param("citizenId") String citizenId);
 }
@@ -0,0 +1,82 @@
+package com.banking.register.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Recently verified PINs, so a user making several transfers or history requests in a row
+ * pays for one BCrypt comparison instead of one per request.
+ * <p>
+ * Each user has at most one entry: an HMAC-SHA256 of userId and PIN under a key generated at startup,
+ * which is never stored, plus the PIN hash it was verified against. An entry only counts while the user's
+ * stored PIN hash is unchanged, so a PIN change invalidates it without any explicit eviction.
+ * Only successful verifications are recorded; a wrong PIN always costs a full BCrypt comparison.
+ */
+@Component
+public class PinVerificationCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec hmacKey;
+    private final Cache<Long, VerifiedPin> cache;
+
+    public PinVerificationCache(MeterRegistry meterRegistry,
+                                @Value("${pin.cache.ttl:5m}") Duration ttl,
+                                @Value("${pin.cache.maximum-size:10000}") long maximumSize) {
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.hmacKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "pin.verification");
+    }
+
+    /**
+     * Whether this PIN was verified for the user, against the PIN hash the user still has, within the TTL
+     */
+    public boolean isVerified(Long userId, String pin, String pinHash) {
+        if (pin == null) {
+            return false;
+        }
+        VerifiedPin verified = cache.getIfPresent(userId);
+        return verified != null
+                && verified.pinHash().equals(pinHash)
+                && MessageDigest.isEqual(verified.fingerprint(), fingerprint(userId, pin));
+    }
+
+    public void recordVerified(Long userId, String pin, String pinHash) {
+        cache.put(userId, new VerifiedPin(fingerprint(userId, pin), pinHash));
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private byte[] fingerprint(Long userId, String pin) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            return mac.doFinal((userId + ":" + pin).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+        }
+    }
+
+    private record VerifiedPin(byte[] fingerprint, String pinHash) {
+    }
+}
@@ -8,50 +8,63 @@ import com.banking.register.exception.UserAlreadyExistsException;
 import com.banking.register.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RegisterService {
     
+    static final Pattern CITIZEN_ID_FORMAT = Pattern.compile("\\d{13}");
+    static final Pattern PIN_FORMAT = Pattern.compile("\\d{6}");
+    
+    /**
+     * Unique constraint names of the users table and the column each one covers
+     */
+    private static final Map<String, String> UNIQUE_COLUMNS = Map.of(
+            User.UNIQUE_USERNAME, "username",
+            User.UNIQUE_EMAIL, "email",
+            User.UNIQUE_CITIZEN_ID, "citizen_id");
+    
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
+    private final PinVerificationCache pinVerificationCache;
     
-    @Transactional
+    /**
+     * Formats are checked before any database access or hashing. The unique fields are checked in one
+     * query, which reports every field already taken; a concurrent registration that slips past it
+     * is stopped by the unique constraints on insert. Not transactional, so no connection is held
+     * while hashing: the insert is a single statement.
+     */
     public RegisterResponse registerUser(RegisterRequest request) {
         log.info("Registering new user: {}", request.getUsername());
         
-        // Validate unique username
-        if (userRepository.existsByUsername(request.getUsername())) {
-            log.warn("Username already exists: {}", request.getUsername());
-            throw new UserAlreadyExistsException("Username '" + request.getUsername() + "' is already taken");
-        }
-        
-        // Validate unique email
-        if (userRepository.existsByEmail(request.getEmail())) {
-            log.warn("Email already exists: {}", request.getEmail());
-            throw new UserAlreadyExistsException("Email '" + request.getEmail() + "' is already registered");
-        }
-        
-        // Validate unique citizen ID
-        if (userRepository.existsByCitizenId(request.getCitizenId())) {
-            log.warn("Citizen ID already exists: {}", request.getCitizenId());
-            throw new UserAlreadyExistsException("Citizen ID '" + request.getCitizenId() + "' is already registered");
-        }
-        
         // Validate citizen ID format (13 digits)
-        if (!request.getCitizenId().matches("\\d{13}")) {
+        if (!CITIZEN_ID_FORMAT.matcher(request.getCitizenId()).matches()) {
             throw new IllegalArgumentException("Citizen ID must be exactly 13 digits");
         }
         
         // Validate PIN format (6 digits)
-        if (!request.getPin().matches("\\d{6}")) {
+        if (!PIN_FORMAT.matcher(request.getPin()).matches()) {
             throw new IllegalArgumentException("PIN must be exactly 6 digits");
         }
         
+        // Validate unique username, email and citizen ID
+        List<String> taken = userRepository.findTakenUniqueFields(
+                request.getUsername(), request.getEmail(), request.getCitizenId());
+        if (!taken.isEmpty()) {
+            log.warn("Registration of {} conflicts with existing users on: {}", request.getUsername(), taken);
+            throw new UserAlreadyExistsException(conflictMessage(taken, request));
+        }
+        
         // Hash password and PIN with BCrypt
         String hashedPassword = passwordEncoder.encode(request.getPassword());
         String hashedPin = passwordEncoder.encode(request.getPin());
@@ -68,7 +81,17 @@ public class RegisterService {
                 .role(request.getRole())
                 .build();
         
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String constraint = violatedUniqueConstraint(e);
+            if (constraint == null) {
+                throw e;
+            }
+            log.warn("Registration of {} lost a race with a concurrent registration on: {}", request.getUsername(), constraint);
+            throw new UserAlreadyExistsException(conflictMessage(List.of(constraint), request));
+        }
         log.info("User created with ID: {}", savedUser.getId());
         
         // Build response
@@ -91,6 +114,51 @@ public class RegisterService {
                 .build();
     }
     
+    static String conflictMessage(List<String> constraints, RegisterRequest request) {
+        List<String> messages = new ArrayList<>();
+        if (constraints.contains(User.UNIQUE_USERNAME)) {
+            messages.add("Username '" + request.getUsername() + "' is already taken");
+        }
+        if (constraints.contains(User.UNIQUE_EMAIL)) {
+            messages.add("Email '" + request.getEmail() + "' is already registered");
+        }
+        if (constraints.contains(User.UNIQUE_CITIZEN_ID)) {
+            messages.add("Citizen ID '" + request.getCitizenId() + "' is already registered");
+        }
+        return String.join("; ", messages);
+    }
+    
+    /**
+     * The databases name the violated constraint or its index in the error message, ahead of the
+     * offending values; the first name found wins in case a value happens to contain another one.
+     * Databases created before the constraints were named carry Hibernate's generated names
+     * (uk_r43af9...), so the indexed column (e.g. users(email) in H2) identifies the constraint too.
+     */
+    static String violatedUniqueConstraint(DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        String violated = null;
+        int position = Integer.MAX_VALUE;
+        for (Map.Entry<String, String> constraint : UNIQUE_COLUMNS.entrySet()) {
+            int index = indexOfFirst(message, constraint.getKey(), "users(" + constraint.getValue());
+            if (index >= 0 && index < position) {
+                violated = constraint.getKey();
+                position = index;
+            }
+        }
+        return violated;
+    }
+
+    private static int indexOfFirst(String message, String... names) {
+        int first = -1;
+        for (String name : names) {
+            int index = message.indexOf(name);
+            if (index >= 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+        return first;
+    }
+    
     private String maskCitizenId(String citizenId) {
         if (citizenId == null || citizenId.length() != 13) {
             return citizenId;
@@ -144,13 +212,24 @@ public class RegisterService {
                 .orElse(false);
     }
     
+    /**
+     * A PIN verified recently is accepted from {@link PinVerificationCache} without another BCrypt comparison
+     */
     public boolean validatePin(Long userId, String pin) {
         log.info("Validating PIN for user ID: {}", userId);
         
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new com.banking.register.exception.UserNotFoundException("User not found with ID: " + userId));
         
+        if (pinVerificationCache.isVerified(userId, pin, user.getPin())) {
+            log.info("PIN validation result for user {}: true (recently verified)", userId);
+            return true;
+        }
+        
         boolean isValid = passwordEncoder.matches(pin, user.getPin());
+        if (isValid) {
+            pinVerificationCache.recordVerified(userId, pin, user.getPin());
+        }
         log.info("PIN validation result for user {}: {}", userId, isValid);
         
         return isValid;
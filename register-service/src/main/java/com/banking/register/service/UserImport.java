@@ -0,0 +1,82 @@
+package com.banking.register.service;
+
+import com.banking.register.dto.UserImportStatus;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State of one bulk import; counters are written by the import thread and read by status requests
+ */
+class UserImport {
+
+    enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    final String id;
+    final Path upload;
+    final Path rejectedRows;
+    final long totalLines;
+    final boolean createAccounts;
+    final String accountType;
+
+    final AtomicLong imported = new AtomicLong();
+    final AtomicLong rejected = new AtomicLong();
+    final AtomicLong accountsCreated = new AtomicLong();
+    final AtomicLong accountsFailed = new AtomicLong();
+
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    UserImport(String id, Path upload, Path rejectedRows, long totalLines, boolean createAccounts, String accountType) {
+        this.id = id;
+        this.upload = upload;
+        this.rejectedRows = rejectedRows;
+        this.totalLines = totalLines;
+        this.createAccounts = createAccounts;
+        this.accountType = accountType;
+    }
+
+    void started() {
+        startedAt = LocalDateTime.now();
+        state = State.RUNNING;
+    }
+
+    void completed() {
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    void failed(String reason) {
+        error = reason;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    /**
+     * Null while the import is queued or running
+     */
+    LocalDateTime finishedAt() {
+        return finishedAt;
+    }
+
+    UserImportStatus toStatus() {
+        long importedRows = imported.get();
+        long rejectedRows = rejected.get();
+        return UserImportStatus.builder()
+                .importId(id)
+                .state(state.name())
+                .totalLines(totalLines)
+                .processed(importedRows + rejectedRows)
+                .imported(importedRows)
+                .rejected(rejectedRows)
+                .accountsCreated(accountsCreated.get())
+                .accountsFailed(accountsFailed.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+}
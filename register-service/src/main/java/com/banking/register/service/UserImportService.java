@@ -0,0 +1,581 @@
+package com.banking.register.service;
+
+import com.banking.contracts.AccountDto;
+import com.banking.register.client.AccountClient;
+import com.banking.register.client.dto.BatchCreateAccountRequest;
+import com.banking.register.client.dto.CreateAccountRequest;
+import com.banking.register.config.UserImportProperties;
+import com.banking.register.dto.RegisterRequest;
+import com.banking.register.dto.UserImportStatus;
+import com.banking.register.entity.User;
+import com.banking.register.exception.ImportNotFoundException;
+import com.banking.register.exception.ImportQueueFullException;
+import com.banking.security.HashingCapacityExceededException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bulk onboarding of users from NDJSON, one RegisterRequest per line. The upload is spooled to disk
+ * and imported in the background, one import at a time, in chunks: rows are validated, deduplicated
+ * against the rest of the file, checked for existing users with one query per chunk, hashed in
+ * parallel and inserted with one JDBC batch. Rejected rows go to a file the caller can download;
+ * it never contains passwords or PINs. Import state is kept in memory on the instance that took the upload.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final String TAKEN_SQL =
+            "SELECT '" + User.UNIQUE_USERNAME + "' AS constraint_name, username AS taken FROM users WHERE username IN (:usernames) " +
+            "UNION ALL SELECT '" + User.UNIQUE_EMAIL + "', email FROM users WHERE email IN (:emails) " +
+            "UNION ALL SELECT '" + User.UNIQUE_CITIZEN_ID + "', citizen_id FROM users WHERE citizen_id IN (:citizenIds)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (username, password, email, citizen_id, thai_name, english_name, pin, role, registered_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Pause before offering a hash again when logins have filled the hashing queue
+     */
+    private static final long HASHING_BACKOFF_MILLIS = 50;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final AccountClient accountClient;
+    private final ObjectReader requestReader;
+    private final TaskExecutor importExecutor;
+    private final TaskExecutor hashExecutor;
+    private final UserImportProperties properties;
+
+    private final Map<String, UserImport> imports = new ConcurrentHashMap<>();
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PasswordEncoder passwordEncoder,
+                             AccountClient accountClient,
+                             ObjectMapper objectMapper,
+                             @Qualifier("userImportExecutor") TaskExecutor importExecutor,
+                             @Qualifier("userImportHashExecutor") TaskExecutor hashExecutor,
+                             UserImportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setName(UserImportService.class.getName() + ".insertBatch");
+        this.passwordEncoder = passwordEncoder;
+        this.accountClient = accountClient;
+        this.requestReader = objectMapper.readerFor(RegisterRequest.class);
+        this.importExecutor = importExecutor;
+        this.hashExecutor = hashExecutor;
+        this.properties = properties;
+    }
+
+    /**
+     * Spools the upload and queues the import
+     *
+     * @param createAccounts whether each imported user also gets a default account of accountType
+     */
+    public UserImportStatus startImport(InputStream body, boolean createAccounts, String accountType) {
+        removeExpiredImports();
+        String importId = UUID.randomUUID().toString();
+        Path directory = Path.of(properties.getDirectory());
+        Path upload = directory.resolve(importId + ".ndjson");
+        long totalLines;
+        try {
+            Files.createDirectories(directory);
+            totalLines = spool(body, upload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the import upload", e);
+        }
+
+        UserImport userImport = new UserImport(importId, upload, directory.resolve(importId + "-rejected.ndjson"),
+                totalLines, createAccounts, accountType);
+        imports.put(importId, userImport);
+        try {
+            importExecutor.execute(() -> runImport(userImport));
+        } catch (TaskRejectedException e) {
+            imports.remove(importId);
+            deleteQuietly(upload);
+            throw new ImportQueueFullException("Too many imports waiting, please retry later");
+        }
+        log.info("Queued user import {} with {} lines, default accounts: {}", importId, totalLines, createAccounts);
+        return userImport.toStatus();
+    }
+
+    public UserImportStatus getStatus(String importId) {
+        return find(importId).toStatus();
+    }
+
+    /**
+     * Rejected rows written so far, one JSON object per line
+     */
+    public Path getRejectedRows(String importId) {
+        UserImport userImport = find(importId);
+        if (!Files.exists(userImport.rejectedRows)) {
+            throw new ImportNotFoundException("Import " + importId + " has not started yet");
+        }
+        return userImport.rejectedRows;
+    }
+
+    private UserImport find(String importId) {
+        UserImport userImport = imports.get(importId);
+        if (userImport == null) {
+            throw new ImportNotFoundException("Import not found: " + importId);
+        }
+        return userImport;
+    }
+
+    void runImport(UserImport userImport) {
+        userImport.started();
+        log.info("Starting user import {}", userImport.id);
+        try (BufferedReader reader = Files.newBufferedReader(userImport.upload, StandardCharsets.UTF_8);
+             RejectedRowWriter rejected = new RejectedRowWriter(Files.newOutputStream(userImport.rejectedRows))) {
+            ImportRun run = new ImportRun(userImport, rejected);
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    run.accept(lineNumber, line);
+                }
+            }
+            run.finish();
+            userImport.completed();
+            log.info("Finished user import {}: {} imported, {} rejected", userImport.id,
+                    userImport.imported.get(), userImport.rejected.get());
+        } catch (RuntimeException | IOException e) {
+            log.error("User import {} failed", userImport.id, e);
+            userImport.failed(e.getMessage());
+        } finally {
+            deleteQuietly(userImport.upload);
+        }
+    }
+
+    /**
+     * One pass over an upload; holds the values seen so far and the rows waiting for the next chunk
+     */
+    private class ImportRun {
+
+        private final UserImport userImport;
+        private final RejectedRowWriter rejected;
+        private final Map<String, Integer> usernames = new HashMap<>();
+        private final Map<String, Integer> emails = new HashMap<>();
+        private final Map<String, Integer> citizenIds = new HashMap<>();
+        private final List<Row> chunk = new ArrayList<>();
+        private final List<Row> awaitingAccounts = new ArrayList<>();
+
+        ImportRun(UserImport userImport, RejectedRowWriter rejected) {
+            this.userImport = userImport;
+            this.rejected = rejected;
+        }
+
+        void accept(int lineNumber, String line) throws IOException {
+            RegisterRequest request;
+            try {
+                request = requestReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                reject(new Row(lineNumber, null), "Malformed JSON: " + e.getOriginalMessage());
+                return;
+            }
+            Row row = new Row(lineNumber, request);
+
+            String invalid = invalidReason(request);
+            if (invalid != null) {
+                reject(row, invalid);
+                return;
+            }
+
+            String duplicate = duplicateWithinImport(row);
+            if (duplicate != null) {
+                reject(row, duplicate);
+                return;
+            }
+
+            chunk.add(row);
+            if (chunk.size() >= properties.getChunkSize()) {
+                importChunk();
+            }
+        }
+
+        void finish() throws IOException {
+            importChunk();
+            createAccounts();
+        }
+
+        /**
+         * The first row with a value wins; later rows are rejected even if the first one is too
+         */
+        private String duplicateWithinImport(Row row) {
+            RegisterRequest request = row.request();
+            Integer first = usernames.putIfAbsent(request.getUsername(), row.line());
+            if (first != null) {
+                return "Username '" + request.getUsername() + "' already appears on line " + first;
+            }
+            first = emails.putIfAbsent(request.getEmail(), row.line());
+            if (first != null) {
+                return "Email '" + request.getEmail() + "' already appears on line " + first;
+            }
+            first = citizenIds.putIfAbsent(request.getCitizenId(), row.line());
+            if (first != null) {
+                return "Citizen ID '" + request.getCitizenId() + "' already appears on line " + first;
+            }
+            return null;
+        }
+
+        private void importChunk() throws IOException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<Row> fresh = rejectExisting(chunk);
+            List<User> users = hashAll(fresh);
+
+            List<Long> ids;
+            try {
+                ids = transactionTemplate.execute(status -> insertBatch(users));
+            } catch (DataIntegrityViolationException e) {
+                // A registration took one of the values after the lookup; find it row by row
+                log.info("Batch insert of user import {} hit a unique constraint, inserting rows one by one", userImport.id);
+                ids = insertOneByOne(fresh, users);
+            }
+
+            for (int i = 0; i < fresh.size(); i++) {
+                if (ids.get(i) != null) {
+                    userImport.imported.incrementAndGet();
+                    if (userImport.createAccounts) {
+                        awaitingAccounts.add(fresh.get(i).withUserId(ids.get(i)));
+                    }
+                }
+            }
+            chunk.clear();
+            rejected.flush();
+
+            if (awaitingAccounts.size() >= properties.getAccountBatchSize()) {
+                createAccounts();
+            }
+        }
+
+        private List<Row> rejectExisting(List<Row> rows) throws IOException {
+            MapSqlParameterSource values = new MapSqlParameterSource()
+                    .addValue("usernames", rows.stream().map(row -> row.request().getUsername()).toList())
+                    .addValue("emails", rows.stream().map(row -> row.request().getEmail()).toList())
+                    .addValue("citizenIds", rows.stream().map(row -> row.request().getCitizenId()).toList());
+            Map<String, Set<String>> taken = new HashMap<>();
+            namedJdbcTemplate.query(TAKEN_SQL, values, rs -> {
+                taken.computeIfAbsent(rs.getString("constraint_name"), name -> new HashSet<>()).add(rs.getString("taken"));
+            });
+            if (taken.isEmpty()) {
+                return rows;
+            }
+
+            List<Row> fresh = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                List<String> conflicts = new ArrayList<>();
+                if (taken.getOrDefault(User.UNIQUE_USERNAME, Set.of()).contains(row.request().getUsername())) {
+                    conflicts.add(User.UNIQUE_USERNAME);
+                }
+                if (taken.getOrDefault(User.UNIQUE_EMAIL, Set.of()).contains(row.request().getEmail())) {
+                    conflicts.add(User.UNIQUE_EMAIL);
+                }
+                if (taken.getOrDefault(User.UNIQUE_CITIZEN_ID, Set.of()).contains(row.request().getCitizenId())) {
+                    conflicts.add(User.UNIQUE_CITIZEN_ID);
+                }
+                if (conflicts.isEmpty()) {
+                    fresh.add(row);
+                } else {
+                    reject(row, RegisterService.conflictMessage(conflicts, row.request()));
+                }
+            }
+            return fresh;
+        }
+
+        private List<User> hashAll(List<Row> rows) {
+            List<CompletableFuture<User>> users = rows.stream()
+                    .map(row -> CompletableFuture.supplyAsync(() -> toUser(row.request()), hashExecutor))
+                    .toList();
+            return users.stream().map(CompletableFuture::join).toList();
+        }
+
+        private List<Long> insertOneByOne(List<Row> rows, List<User> users) throws IOException {
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    ids.add(insertBatch(List.of(users.get(i))).get(0));
+                } catch (DataIntegrityViolationException e) {
+                    String constraint = RegisterService.violatedUniqueConstraint(e);
+                    reject(rows.get(i), constraint != null
+                            ? RegisterService.conflictMessage(List.of(constraint), rows.get(i).request())
+                            : "Rejected by the database: " + e.getMostSpecificCause().getMessage().lines().findFirst().orElse(""));
+                    ids.add(null);
+                }
+            }
+            return ids;
+        }
+
+        private void createAccounts() throws IOException {
+            if (awaitingAccounts.isEmpty()) {
+                return;
+            }
+            List<CreateAccountRequest> requests = awaitingAccounts.stream()
+                    .map(row -> CreateAccountRequest.builder()
+                            .userId(row.userId())
+                            .citizenId(row.request().getCitizenId())
+                            .accountType(userImport.accountType)
+                            .build())
+                    .toList();
+            try {
+                // Only tellers can start an import, so the calls are made with that role
+                List<AccountDto> accounts = accountClient.createAccounts(new BatchCreateAccountRequest(requests), "TELLER");
+                userImport.accountsCreated.addAndGet(accounts.size());
+            } catch (FeignException e) {
+                log.error("Creating {} default accounts for user import {} failed: {}",
+                        requests.size(), userImport.id, e.getMessage());
+                userImport.accountsFailed.addAndGet(requests.size());
+                for (Row row : awaitingAccounts) {
+                    rejected.write(row, "User imported with ID " + row.userId() + ", but the default account was not created");
+                }
+                rejected.flush();
+            }
+            awaitingAccounts.clear();
+        }
+
+        private void reject(Row row, String reason) throws IOException {
+            userImport.rejected.incrementAndGet();
+            rejected.write(row, reason);
+        }
+    }
+
+    /**
+     * The checks RegisterRequest declares, which also keep every value within its column
+     */
+    static String invalidReason(RegisterRequest request) {
+        List<String> problems = new ArrayList<>();
+        if (isBlank(request.getUsername()) || request.getUsername().length() < 3 || request.getUsername().length() > 50) {
+            problems.add("Username must be between 3 and 50 characters");
+        }
+        if (isBlank(request.getPassword()) || request.getPassword().length() < 6) {
+            problems.add("Password must be at least 6 characters");
+        }
+        if (isBlank(request.getEmail()) || request.getEmail().length() > 100 || !request.getEmail().contains("@")) {
+            problems.add("Email must be valid");
+        }
+        if (request.getCitizenId() == null || !RegisterService.CITIZEN_ID_FORMAT.matcher(request.getCitizenId()).matches()) {
+            problems.add("Citizen ID must be exactly 13 digits");
+        }
+        if (isBlank(request.getThaiName()) || request.getThaiName().length() > 100) {
+            problems.add("Thai name is required and must not exceed 100 characters");
+        }
+        if (isBlank(request.getEnglishName()) || request.getEnglishName().length() > 100) {
+            problems.add("English name is required and must not exceed 100 characters");
+        }
+        if (request.getPin() == null || !RegisterService.PIN_FORMAT.matcher(request.getPin()).matches()) {
+            problems.add("PIN must be exactly 6 digits");
+        }
+        if (request.getRole() == null) {
+            problems.add("Role is required");
+        }
+        return problems.isEmpty() ? null : String.join("; ", problems);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private User toUser(RegisterRequest request) {
+        return User.builder()
+                .username(request.getUsername())
+                .password(hash(request.getPassword()))
+                .email(request.getEmail())
+                .citizenId(request.getCitizenId())
+                .thaiName(request.getThaiName())
+                .englishName(request.getEnglishName())
+                .pin(hash(request.getPin()))
+                .role(request.getRole())
+                .registeredAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * The import waits for room on the hashing pool instead of failing, so logins keep their share of it
+     */
+    private String hash(String raw) {
+        while (true) {
+            try {
+                return passwordEncoder.encode(raw);
+            } catch (HashingCapacityExceededException e) {
+                try {
+                    Thread.sleep(HASHING_BACKOFF_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting to hash", interrupted);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the generated user IDs, in the order of the users
+     */
+    private List<Long> insertBatch(List<User> users) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        User user = users.get(i);
+                        statement.setString(1, user.getUsername());
+                        statement.setString(2, user.getPassword());
+                        statement.setString(3, user.getEmail());
+                        statement.setString(4, user.getCitizenId());
+                        statement.setString(5, user.getThaiName());
+                        statement.setString(6, user.getEnglishName());
+                        statement.setString(7, user.getPin());
+                        statement.setString(8, user.getRole().name());
+                        statement.setTimestamp(9, Timestamp.valueOf(user.getRegisteredAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                }, keys);
+        return keys.getKeyList().stream()
+                .map(key -> ((Number) key.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    /**
+     * Counts lines while copying, so progress can be reported against a total
+     */
+    private static long spool(InputStream body, Path target) throws IOException {
+        long lines = 0;
+        int last = '\n';
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+                last = buffer[read - 1];
+            }
+        }
+        return last == '\n' ? lines : lines + 1;
+    }
+
+    private void removeExpiredImports() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        imports.values().removeIf(userImport -> {
+            LocalDateTime finishedAt = userImport.finishedAt();
+            if (finishedAt == null || finishedAt.isAfter(cutoff)) {
+                return false;
+            }
+            deleteQuietly(userImport.rejectedRows);
+            return true;
+        });
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private record Row(int line, RegisterRequest request, Long userId) {
+
+        Row(int line, RegisterRequest request) {
+            this(line, request, null);
+        }
+
+        Row withUserId(Long id) {
+            return new Row(line, request, id);
+        }
+    }
+
+    /**
+     * One JSON object per rejected row: line number, identifying fields and the reason
+     */
+    private static class RejectedRowWriter implements AutoCloseable {
+
+        private final OutputStream out;
+        private final JsonGenerator json;
+
+        RejectedRowWriter(OutputStream out) throws IOException {
+            this.out = out;
+            this.json = JSON_FACTORY.createGenerator(out);
+            json.setRootValueSeparator(null);
+        }
+
+        void write(Row row, String reason) throws IOException {
+            json.writeStartObject();
+            json.writeNumberField("line", row.line());
+            if (row.request() != null) {
+                json.writeStringField("username", row.request().getUsername());
+                json.writeStringField("email", row.request().getEmail());
+                json.writeStringField("citizenId", row.request().getCitizenId());
+            }
+            json.writeStringField("reason", reason);
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        void flush() throws IOException {
+            json.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.close();
+            out.close();
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.banking.register.controller;
 import com.banking.register.dto.RegisterRequest;
 import com.banking.register.dto.RegisterResponse;
 import com.banking.register.dto.UserDto;
+import com.banking.register.dto.UserImportStatus;
 import com.banking.register.entity.UserRole;
 import com.banking.register.exception.UserAlreadyExistsException;
 import com.banking.register.service.RegisterService;
+import com.banking.register.service.UserImportService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +22,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -39,6 +43,9 @@ class RegisterControllerTest {
     @MockBean
     private RegisterService registerService;
     
+    @MockBean
+    private UserImportService userImportService;
+    
     private RegisterRequest validRequest;
     private RegisterResponse registerResponse;
     private UserDto userDto;
@@ -49,6 +56,10 @@ class RegisterControllerTest {
                 .username("john_doe")
                 .password("password123")
                 .email("john.doe@example.com")
+                .citizenId("1234567890123")
+                .thaiName("สมชาย ใจดี")
+                .englishName("Somchai Jaidee")
+                .pin("123456")
                 .role(UserRole.CUSTOMER)
                 .build();
         
@@ -101,6 +112,24 @@ class RegisterControllerTest {
                 .andExpect(status().isConflict());
     }
     
+    @Test
+    @DisplayName("POST /register - Should return 400 for a PIN or citizen ID that is not all digits, without registering")
+    void testRegisterUser_NonNumericPinAndCitizenId_Returns400() throws Exception {
+        // Given
+        validRequest.setPin("12345a");
+        validRequest.setCitizenId("123456789012x");
+        
+        // When & Then
+        mockMvc.perform(post("/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.pin").value("PIN must be exactly 6 digits"))
+                .andExpect(jsonPath("$.validationErrors.citizenId").value("Citizen ID must be exactly 13 digits"));
+        
+        verifyNoInteractions(registerService);
+    }
+    
     @Test
     @DisplayName("GET /register/user/{username} - Should return user by username")
     void testGetUserByUsername_ValidUsername_Returns200() throws Exception {
@@ -131,6 +160,42 @@ class RegisterControllerTest {
                 .andExpect(jsonPath("$.role").value("CUSTOMER"));
     }
     
+    @Test
+    @DisplayName("POST /register/import - Should queue import for teller and return 202")
+    void testImportUsers_AsTeller_Returns202() throws Exception {
+        // Given
+        UserImportStatus queued = UserImportStatus.builder()
+                .importId("import-1")
+                .state("QUEUED")
+                .totalLines(2)
+                .build();
+        when(userImportService.startImport(any(), eq(true), eq("SAVINGS"))).thenReturn(queued);
+        
+        // When & Then
+        mockMvc.perform(post("/register/import")
+                .param("createAccounts", "true")
+                .header("X-User-Role", "TELLER")
+                .contentType("application/x-ndjson")
+                .content("{\"username\":\"a\"}\n{\"username\":\"b\"}\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.importId").value("import-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"))
+                .andExpect(jsonPath("$.totalLines").value(2));
+    }
+    
+    @Test
+    @DisplayName("POST /register/import - Should return 403 for customer")
+    void testImportUsers_AsCustomer_Returns403() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/register/import")
+                .header("X-User-Role", "CUSTOMER")
+                .contentType("application/x-ndjson")
+                .content("{\"username\":\"a\"}\n"))
+                .andExpect(status().isForbidden());
+        
+        verifyNoInteractions(userImportService);
+    }
+    
     @Test
     @DisplayName("GET /register/health - Should return health check")
     void testHealth_ReturnsOk() throws Exception {
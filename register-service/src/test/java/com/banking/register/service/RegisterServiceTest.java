@@ -6,6 +6,7 @@ import com.banking.register.entity.User;
 import com.banking.register.entity.UserRole;
 import com.banking.register.exception.UserAlreadyExistsException;
 import com.banking.register.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,10 +14,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -32,7 +39,11 @@ class RegisterServiceTest {
     private UserRepository userRepository;
     
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
+    
+    @Spy
+    private PinVerificationCache pinVerificationCache =
+            new PinVerificationCache(new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
     
     @InjectMocks
     private RegisterService registerService;
@@ -71,12 +82,10 @@ class RegisterServiceTest {
     @DisplayName("Should register user successfully and hash password")
     void testRegisterUser_Success_HashesPassword() {
         // Given
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByCitizenId(anyString())).thenReturn(false);
+        when(userRepository.findTakenUniqueFields(anyString(), anyString(), anyString())).thenReturn(List.of());
         when(passwordEncoder.encode("password123")).thenReturn("$2a$10$hashedPassword");
         when(passwordEncoder.encode("123456")).thenReturn("$2a$10$hashedPin");
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
         
         // When
         RegisterResponse response = registerService.registerUser(registerRequest);
@@ -99,7 +108,7 @@ class RegisterServiceTest {
         
         // Verify user was saved
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
         User capturedUser = userCaptor.getValue();
         assertThat(capturedUser.getUsername()).isEqualTo("john_doe");
         assertThat(capturedUser.getPassword()).isEqualTo("$2a$10$hashedPassword");
@@ -111,7 +120,8 @@ class RegisterServiceTest {
     @DisplayName("Should throw exception when username already exists")
     void testRegisterUser_DuplicateUsername_ThrowsException() {
         // Given
-        when(userRepository.existsByUsername("john_doe")).thenReturn(true);
+        when(userRepository.findTakenUniqueFields("john_doe", "john.doe@example.com", "1234567890123"))
+                .thenReturn(List.of(User.UNIQUE_USERNAME));
         
         // When & Then
         assertThatThrownBy(() -> registerService.registerUser(registerRequest))
@@ -119,15 +129,15 @@ class RegisterServiceTest {
                 .hasMessageContaining("Username 'john_doe' is already taken");
         
         // Verify no user was saved
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
     
     @Test
     @DisplayName("Should throw exception when email already exists")
     void testRegisterUser_DuplicateEmail_ThrowsException() {
         // Given
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail("john.doe@example.com")).thenReturn(true);
+        when(userRepository.findTakenUniqueFields("john_doe", "john.doe@example.com", "1234567890123"))
+                .thenReturn(List.of(User.UNIQUE_EMAIL));
         
         // When & Then
         assertThatThrownBy(() -> registerService.registerUser(registerRequest))
@@ -135,18 +145,16 @@ class RegisterServiceTest {
                 .hasMessageContaining("Email 'john.doe@example.com' is already registered");
         
         // Verify no user was saved
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
     
     @Test
     @DisplayName("Should not create account when registering user")
     void testRegisterUser_DoesNotCreateAccount() {
         // Given
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByCitizenId(anyString())).thenReturn(false);
+        when(userRepository.findTakenUniqueFields(anyString(), anyString(), anyString())).thenReturn(List.of());
         when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
         
         // When
         RegisterResponse response = registerService.registerUser(registerRequest);
@@ -156,30 +164,56 @@ class RegisterServiceTest {
     }
     
     @Test
-    @DisplayName("Should validate username uniqueness before email")
-    void testRegisterUser_ChecksUsernameBeforeEmail() {
+    @DisplayName("Should report every taken field from a single query, before hashing")
+    void testRegisterUser_ReportsAllConflicts() {
         // Given
-        when(userRepository.existsByUsername("john_doe")).thenReturn(true);
+        when(userRepository.findTakenUniqueFields("john_doe", "john.doe@example.com", "1234567890123"))
+                .thenReturn(List.of(User.UNIQUE_EMAIL, User.UNIQUE_USERNAME));
         
         // When & Then
         assertThatThrownBy(() -> registerService.registerUser(registerRequest))
                 .isInstanceOf(UserAlreadyExistsException.class)
-                .hasMessageContaining("Username");
+                .hasMessage("Username 'john_doe' is already taken; Email 'john.doe@example.com' is already registered");
         
-        // Verify email check was not performed
-        verify(userRepository).existsByUsername("john_doe");
-        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository).findTakenUniqueFields(anyString(), anyString(), anyString());
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(passwordEncoder);
+    }
+    
+    @Test
+    @DisplayName("Should translate a unique constraint violation from a concurrent registration")
+    void testRegisterUser_ConcurrentDuplicate_ThrowsException() {
+        // Given
+        when(userRepository.findTakenUniqueFields(anyString(), anyString(), anyString())).thenReturn(List.of());
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL NULLS FIRST)\"")));
+        
+        // When & Then
+        assertThatThrownBy(() -> registerService.registerUser(registerRequest))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .hasMessage("Email 'john.doe@example.com' is already registered");
+    }
+    
+    @Test
+    @DisplayName("Should recognise a violated unique constraint by its column when the database predates the constraint names")
+    void testViolatedUniqueConstraint_GeneratedConstraintName() {
+        // Given
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_R43AF9AP4EDM43MMTQ01ODDJ6_INDEX_4 "
+                        + "ON PUBLIC.USERS(USERNAME NULLS FIRST) VALUES ( /* 1 */ 'john_email' )\""));
+        
+        // When & Then
+        assertThat(RegisterService.violatedUniqueConstraint(e)).isEqualTo(User.UNIQUE_USERNAME);
     }
     
     @Test
     @DisplayName("Should include all user information in response")
     void testRegisterUser_IncludesAllUserInformation() {
         // Given
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByCitizenId(anyString())).thenReturn(false);
+        when(userRepository.findTakenUniqueFields(anyString(), anyString(), anyString())).thenReturn(List.of());
         when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
         
         // When
         RegisterResponse response = registerService.registerUser(registerRequest);
@@ -199,9 +233,8 @@ class RegisterServiceTest {
     @DisplayName("Should throw exception when citizen ID already exists")
     void testRegisterUser_DuplicateCitizenId_ThrowsException() {
         // Given
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByCitizenId("1234567890123")).thenReturn(true);
+        when(userRepository.findTakenUniqueFields("john_doe", "john.doe@example.com", "1234567890123"))
+                .thenReturn(List.of(User.UNIQUE_CITIZEN_ID));
         
         // When & Then
         assertThatThrownBy(() -> registerService.registerUser(registerRequest))
@@ -209,7 +242,7 @@ class RegisterServiceTest {
                 .hasMessageContaining("Citizen ID '1234567890123' is already registered");
         
         // Verify no user was saved
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
     
     @Test
@@ -217,17 +250,14 @@ class RegisterServiceTest {
     void testRegisterUser_InvalidCitizenIdFormat_ThrowsException() {
         // Given
         registerRequest.setCitizenId("12345"); // Invalid: not 13 digits
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByCitizenId(anyString())).thenReturn(false);
         
         // When & Then
         assertThatThrownBy(() -> registerService.registerUser(registerRequest))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Citizen ID must be exactly 13 digits");
         
-        // Verify no user was saved
-        verify(userRepository, never()).save(any(User.class));
+        // Verify it was rejected before any database access or hashing
+        verifyNoInteractions(userRepository, passwordEncoder);
     }
     
     @Test
@@ -235,16 +265,67 @@ class RegisterServiceTest {
     void testRegisterUser_InvalidPinFormat_ThrowsException() {
         // Given
         registerRequest.setPin("123"); // Invalid: not 6 digits
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByCitizenId(anyString())).thenReturn(false);
         
         // When & Then
         assertThatThrownBy(() -> registerService.registerUser(registerRequest))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("PIN must be exactly 6 digits");
         
-        // Verify no user was saved
-        verify(userRepository, never()).save(any(User.class));
+        // Verify it was rejected before any database access or hashing
+        verifyNoInteractions(userRepository, passwordEncoder);
+    }
+    
+    @Test
+    @DisplayName("Should skip BCrypt for a PIN verified moments ago")
+    void testValidatePin_RecentlyVerified_SkipsBcrypt() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(savedUser));
+        when(passwordEncoder.matches("123456", "$2a$10$hashedPin")).thenReturn(true);
+        
+        // When
+        boolean first = registerService.validatePin(1L, "123456");
+        boolean second = registerService.validatePin(1L, "123456");
+        
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+    
+    @Test
+    @DisplayName("Should always run BCrypt for a wrong PIN, even after the right one was verified")
+    void testValidatePin_WrongPin_AlwaysRunsBcrypt() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(savedUser));
+        when(passwordEncoder.matches("123456", "$2a$10$hashedPin")).thenReturn(true);
+        when(passwordEncoder.matches("654321", "$2a$10$hashedPin")).thenReturn(false);
+        registerService.validatePin(1L, "123456");
+        
+        // When
+        boolean first = registerService.validatePin(1L, "654321");
+        boolean second = registerService.validatePin(1L, "654321");
+        
+        // Then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        verify(passwordEncoder, times(2)).matches("654321", "$2a$10$hashedPin");
+    }
+    
+    @Test
+    @DisplayName("Should verify again with BCrypt once the stored PIN hash has changed")
+    void testValidatePin_PinChanged_CacheNoLongerApplies() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(savedUser));
+        when(passwordEncoder.matches("123456", "$2a$10$hashedPin")).thenReturn(true);
+        registerService.validatePin(1L, "123456");
+        savedUser.setPin("$2a$10$newHashedPin");
+        when(passwordEncoder.matches("123456", "$2a$10$newHashedPin")).thenReturn(false);
+        
+        // When
+        boolean isValid = registerService.validatePin(1L, "123456");
+        
+        // Then
+        assertThat(isValid).isFalse();
+        verify(passwordEncoder).matches("123456", "$2a$10$newHashedPin");
     }
 }
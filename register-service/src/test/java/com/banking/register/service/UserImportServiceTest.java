@@ -0,0 +1,198 @@
+package com.banking.register.service;
+
+import com.banking.contracts.AccountDto;
+import com.banking.register.client.AccountClient;
+import com.banking.register.client.dto.BatchCreateAccountRequest;
+import com.banking.register.config.UserImportProperties;
+import com.banking.register.dto.UserImportStatus;
+import com.banking.register.exception.ImportQueueFullException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Request;
+import feign.RequestTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Imports against a private in-memory H2 database, run on the calling thread
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Import Service Tests")
+class UserImportServiceTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private AccountClient accountClient;
+
+    @TempDir
+    private Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private UserImportProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:user-import-test;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "username VARCHAR(50) NOT NULL, password VARCHAR(255) NOT NULL, email VARCHAR(100) NOT NULL, "
+                + "citizen_id VARCHAR(13) NOT NULL, thai_name VARCHAR(100) NOT NULL, english_name VARCHAR(100) NOT NULL, "
+                + "pin VARCHAR(255) NOT NULL, role VARCHAR(20) NOT NULL, registered_at TIMESTAMP NOT NULL, "
+                + "CONSTRAINT uk_users_username UNIQUE (username), CONSTRAINT uk_users_email UNIQUE (email), "
+                + "CONSTRAINT uk_users_citizen_id UNIQUE (citizen_id))");
+        jdbcTemplate.update("INSERT INTO users (username, password, email, citizen_id, thai_name, english_name, pin, role, registered_at) "
+                + "VALUES ('existing', 'x', 'existing@example.com', '9999999999999', 'ทดสอบ', 'Existing', 'x', 'CUSTOMER', CURRENT_TIMESTAMP)");
+        properties = new UserImportProperties();
+        properties.setDirectory(directory.toString());
+        properties.setChunkSize(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Should import valid rows and reject malformed, invalid, repeated and existing ones without their secrets")
+    void testImport_ImportsValidRowsAndRejectsTheRest() throws Exception {
+        // Given
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+        String upload = String.join("\n",
+                row("alice", "alice@example.com", "1000000000001", "111111"),
+                "{not json",
+                row("bob", "bob@example.com", "1000000000002", "12ab56"),
+                row("alice", "alice2@example.com", "1000000000003", "111111"),
+                "",
+                row("existing", "carol@example.com", "1000000000004", "111111"),
+                row("dave", "dave@example.com", "1000000000005", "222222"),
+                row("erin", "erin@example.com", "1000000000006", "333333"));
+
+        // When
+        UserImportStatus status = service(new SyncTaskExecutor()).startImport(body(upload), false, "SAVINGS");
+
+        // Then
+        assertThat(status.getState()).isEqualTo("COMPLETED");
+        assertThat(status.getTotalLines()).isEqualTo(8);
+        assertThat(status.getImported()).isEqualTo(3);
+        assertThat(status.getRejected()).isEqualTo(4);
+        assertThat(status.getProcessed()).isEqualTo(7);
+        assertThat(jdbcTemplate.queryForList("SELECT username FROM users WHERE username <> 'existing' ORDER BY id", String.class))
+                .containsExactly("alice", "dave", "erin");
+        assertThat(jdbcTemplate.queryForObject("SELECT pin FROM users WHERE username = 'dave'", String.class))
+                .isEqualTo("hashed:222222");
+        verifyNoInteractions(accountClient);
+
+        List<String> rejected = Files.readAllLines(rejectedRows(status));
+        assertThat(rejected).hasSize(4);
+        assertThat(rejected.get(0)).startsWith("{\"line\":2,\"reason\":\"Malformed JSON");
+        assertThat(rejected.get(1)).contains("\"line\":3", "PIN must be exactly 6 digits");
+        assertThat(rejected.get(2)).contains("\"line\":4", "Username 'alice' already appears on line 1");
+        assertThat(rejected.get(3)).contains("\"line\":6", "Username 'existing' is already taken");
+        assertThat(String.join("\n", rejected)).doesNotContain("secret1", "111111", "12ab56");
+    }
+
+    @Test
+    @DisplayName("Should create default accounts in batches as a teller and count failed batches")
+    void testImport_CreatesDefaultAccountsInBatches() throws Exception {
+        // Given
+        properties.setAccountBatchSize(2);
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        FeignException unavailable = new FeignException.ServiceUnavailable("Service Unavailable",
+                Request.create(Request.HttpMethod.POST, "/accounts/batch", new HashMap<>(), null, new RequestTemplate()),
+                null, Collections.emptyMap());
+        when(accountClient.createAccounts(any(BatchCreateAccountRequest.class), eq("TELLER")))
+                .thenReturn(List.of(AccountDto.builder().build(), AccountDto.builder().build()))
+                .thenThrow(unavailable);
+        String upload = String.join("\n",
+                row("alice", "alice@example.com", "1000000000001", "111111"),
+                row("bob", "bob@example.com", "1000000000002", "111111"),
+                row("carol", "carol@example.com", "1000000000003", "111111")) + "\n";
+
+        // When
+        UserImportStatus status = service(new SyncTaskExecutor()).startImport(body(upload), true, "SAVINGS");
+
+        // Then
+        assertThat(status.getTotalLines()).isEqualTo(3);
+        assertThat(status.getImported()).isEqualTo(3);
+        assertThat(status.getAccountsCreated()).isEqualTo(2);
+        assertThat(status.getAccountsFailed()).isEqualTo(1);
+        ArgumentCaptor<BatchCreateAccountRequest> batches = ArgumentCaptor.forClass(BatchCreateAccountRequest.class);
+        verify(accountClient, times(2)).createAccounts(batches.capture(), eq("TELLER"));
+        assertThat(batches.getAllValues().get(0).getAccounts())
+                .extracting("citizenId", "accountType")
+                .containsExactly(
+                        tuple("1000000000001", "SAVINGS"),
+                        tuple("1000000000002", "SAVINGS"));
+        assertThat(Files.readAllLines(rejectedRows(status)))
+                .singleElement().asString().contains("\"line\":3", "default account was not created");
+    }
+
+    @Test
+    @DisplayName("Should refuse an import when the queue is full and drop its upload")
+    void testImport_QueueFull() throws Exception {
+        // Given
+        TaskExecutor full = task -> {
+            throw new TaskRejectedException("full");
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> service(full).startImport(body(row("alice", "alice@example.com", "1000000000001", "111111")),
+                false, "SAVINGS"))
+                .isInstanceOf(ImportQueueFullException.class);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private UserImportService service(TaskExecutor importExecutor) {
+        return new UserImportService(jdbcTemplate, new DataSourceTransactionManager(jdbcTemplate.getDataSource()),
+                passwordEncoder, accountClient, new ObjectMapper(), importExecutor, new SyncTaskExecutor(), properties);
+    }
+
+    private Path rejectedRows(UserImportStatus status) {
+        return directory.resolve(status.getImportId() + "-rejected.ndjson");
+    }
+
+    private static InputStream body(String upload) {
+        return new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String row(String username, String email, String citizenId, String pin) {
+        return "{\"username\":\"" + username + "\",\"password\":\"secret1\",\"email\":\"" + email + "\","
+                + "\"citizenId\":\"" + citizenId + "\",\"thaiName\":\"ทดสอบ\",\"englishName\":\"Test User\","
+                + "\"pin\":\"" + pin + "\",\"role\":\"CUSTOMER\"}";
+    }
+}
@@ -55,19 +55,19 @@ assert_greater_than() {
     fi
 }
 
-# Function to validate account number format (7 digits)
+# Function to validate account number format (10 digits)
 validate_account_number() {
     local account_number="$1"
     local length=${#account_number}
     
-    if [ "$length" -eq 7 ] && [[ "$account_number" =~ ^[0-9]{7}$ ]]; then
+    if [ "$length" -eq 10 ] && [[ "$account_number" =~ ^[0-9]{10}$ ]]; then
         echo -e "${GREEN}✓ PASSED: Account number format is correct${NC}"
-        echo -e "  Account: $account_number (7 digits)"
+        echo -e "  Account: $account_number (10 digits)"
         ((TESTS_PASSED++))
         return 0
     else
         echo -e "${RED}✗ FAILED: Account number format is incorrect${NC}"
-        echo -e "  Account: $account_number (Length: $length, Expected: 7 digits)"
+        echo -e "  Account: $account_number (Length: $length, Expected: 10 digits)"
         FAILED_TESTS+=("Account number format validation")
         ((TESTS_FAILED++))
         return 1
@@ -474,7 +474,7 @@ if [ $TESTS_FAILED -eq 0 ]; then
     echo "Verified Functionality:"
     echo "  ✓ User registration with correct data"
     echo "  ✓ Authentication and token generation"
-    echo "  ✓ Account creation with valid account numbers (7 digits)"
+    echo "  ✓ Account creation with valid account numbers (10 digits)"
     echo "  ✓ Initial balance set correctly"
     echo "  ✓ Money deposit increases balance correctly"
     echo "  ✓ Money transfer decreases sender balance"
@@ -1,13 +1,24 @@
 package com.banking.transaction.client;
 
-import com.banking.transaction.dto.AccountDto;
+import com.banking.contracts.AccountDto;
+import com.banking.transaction.dto.BatchGetAccountsRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Map;
 
 @FeignClient(name = "account-service")
 public interface AccountServiceClient {
     
     @GetMapping("/accounts/{id}")
     AccountDto getAccountById(@PathVariable("id") String id);
+    
+    /**
+     * Every requested ID is a key of the result; IDs with no account map to null
+     */
+    @PostMapping("/accounts/batch-get")
+    Map<String, AccountDto> getAccountsByIds(@RequestBody BatchGetAccountsRequest request);
 }
@@ -0,0 +1,61 @@
+package com.banking.transaction.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves transaction_seq past the ids already in the transactions table.
+ * Databases created while ids were IDENTITY columns get a fresh sequence starting at 1 from
+ * ddl-auto, which would hand out ids that already exist. Hibernate's pooled optimizer treats
+ * each sequence value as the top of a block of {@link #ALLOCATION_SIZE} ids, so the sequence
+ * restarts at MAX(id) + ALLOCATION_SIZE to make MAX(id) + 1 the first id handed out.
+ * Runs after the schema is created and before the first insert; a sequence that is already
+ * far enough ahead is left alone. Only H2 databases are touched: the IDENTITY ids only ever
+ * existed in this service's H2 files, and the sequence's position is read from H2's own
+ * INFORMATION_SCHEMA.SEQUENCES.BASE_VALUE.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class TransactionSequenceInitializer {
+
+    static final String SEQUENCE = "transaction_seq";
+
+    // Must match the allocationSize of the Transaction id generator
+    static final long ALLOCATION_SIZE = 50;
+
+    private static final String H2_PRODUCT_NAME = "H2";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void startAfterExistingIds() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!H2_PRODUCT_NAME.equals(database)) {
+            log.debug("Leaving {} alone on {}", SEQUENCE, database);
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long restartWith = maxId + ALLOCATION_SIZE;
+        Long nextValue = jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                Long.class, SEQUENCE.toUpperCase());
+        if (nextValue != null && nextValue >= restartWith) {
+            return;
+        }
+        log.info("Restarting {} at {} to follow the existing transaction ids", SEQUENCE, restartWith);
+        jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " RESTART WITH " + restartWith);
+    }
+}
@@ -1,10 +1,15 @@
 package com.banking.transaction.controller;
 
-import com.banking.transaction.dto.LogTransactionRequest;
-import com.banking.transaction.dto.TransactionDto;
+import com.banking.contracts.LogTransactionRequest;
+import com.banking.contracts.TransactionDto;
+import com.banking.transaction.dto.BatchLogTransactionRequest;
+import com.banking.transaction.dto.TransactionPage;
+import com.banking.transaction.service.StatementExportService;
+import com.banking.transaction.service.StatementFormat;
 import com.banking.transaction.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,9 +18,15 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,21 +36,32 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TransactionController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final String RUNNING_BALANCE_APPROXIMATE_HEADER = "X-Running-Balance-Approximate";
+
     private final TransactionService transactionService;
+    private final StatementExportService statementExportService;
 
     @Operation(
             summary = "Get Transactions by Account",
-            description = "Retrieves transaction history for a specific account"
+            description = "Retrieves one page of the transaction history for a specific account, newest first. " +
+                    "When more transactions follow, the X-Next-Cursor response header holds the cursor for the next page."
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "Transaction history retrieved",
+                    description = "Transaction history page retrieved",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page; absent on the last page"),
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = TransactionDto.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized"
@@ -51,11 +73,60 @@ public class TransactionController {
             @PathVariable Long accountId,
             @Parameter(description = "6-digit PIN for validation", example = "123456", required = true)
             @RequestParam String pin,
+            @Parameter(description = "X-Next-Cursor of the previous page; omit for the newest transactions")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + TransactionService.MAX_PAGE_SIZE, example = "50")
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(value = "X-User-Id", required = false) Long authenticatedUserId,
+            @RequestHeader(value = "X-User-Role", required = false) String userRole
+    ) {
+        TransactionPage page = transactionService.getTransactionsByAccountId(
+                accountId, pin, authenticatedUserId, userRole, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getTransactions());
+    }
+
+    @Operation(
+            summary = "Export Account Statement",
+            description = "Streams every transaction of the account in the date range, oldest first, with a running " +
+                    "balance, as NDJSON (one JSON object per line) or CSV. The running balance is anchored to the " +
+                    "account's current balance in Account Service, so it includes the initial balance; transactions " +
+                    "not yet logged when the statement is exported (e.g. still in an outbox) shift it. The " +
+                    "X-Running-Balance-Approximate response header is true when the services log through an outbox."
+    )
+    @ApiResponse(responseCode = "200", description = "Statement streamed",
+            headers = @Header(name = RUNNING_BALANCE_APPROXIMATE_HEADER,
+                    description = "Whether transactions not logged yet may shift the running balance"))
+    @ApiResponse(responseCode = "400", description = "Unsupported format or start date after end date")
+    @GetMapping("/account/{accountId}/statement")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @Parameter(description = "Account ID", example = "101")
+            @PathVariable Long accountId,
+            @Parameter(description = "6-digit PIN for validation (customers only)", example = "123456")
+            @RequestParam(required = false) String pin,
+            @Parameter(description = "First day included (ISO date); omit for the start of the history", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day included (ISO date); omit for today", example = "2025-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "ndjson or csv", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
             @RequestHeader(value = "X-User-Id", required = false) Long authenticatedUserId,
             @RequestHeader(value = "X-User-Role", required = false) String userRole
     ) {
-        List<TransactionDto> transactions = transactionService.getTransactionsByAccountId(accountId, pin, authenticatedUserId, userRole);
-        return ResponseEntity.ok(transactions);
+        StatementFormat statementFormat = StatementFormat.fromParameter(format);
+        StreamingResponseBody body = statementExportService.exportStatement(
+                accountId, pin, authenticatedUserId, userRole, from, to, statementFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(statementFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("statement-" + accountId + "." + statementFormat.getFileExtension())
+                        .build().toString())
+                .header(RUNNING_BALANCE_APPROXIMATE_HEADER,
+                        String.valueOf(statementExportService.isRunningBalanceApproximate()))
+                .body(body);
     }
 
     @Operation(
@@ -88,4 +159,34 @@ public class TransactionController {
         TransactionDto transaction = transactionService.logTransaction(request);
         return ResponseEntity.status(201).body(transaction);
     }
+
+    @Operation(
+            summary = "Log Transactions in Batch",
+            description = "Records several transactions in one database transaction, e.g. both legs of a transfer " +
+                    "(used internally by orchestrator services). Either all are stored or none."
+    )
+    @ApiResponse(responseCode = "201", description = "Transactions logged successfully, in request order")
+    @ApiResponse(responseCode = "400", description = "Invalid request")
+    @PostMapping("/batch")
+    public ResponseEntity<List<TransactionDto>> logTransactions(
+            @Valid @RequestBody BatchLogTransactionRequest request
+    ) {
+        List<TransactionDto> transactions = transactionService.logTransactions(request.getTransactions());
+        return ResponseEntity.status(201).body(transactions);
+    }
+
+    @Operation(
+            summary = "Evict Account Owner",
+            description = "Drops the cached owner of an account, so the next ownership check asks Account Service " +
+                    "(used internally by Account Service when an account changes hands; the API Gateway refuses it with 403)"
+    )
+    @ApiResponse(responseCode = "204", description = "Owner evicted, or was not cached")
+    @DeleteMapping("/account-owners/{accountId}")
+    public ResponseEntity<Void> evictAccountOwner(
+            @Parameter(description = "Account ID", example = "101")
+            @PathVariable Long accountId
+    ) {
+        transactionService.evictAccountOwner(accountId);
+        return ResponseEntity.noContent().build();
+    }
 }
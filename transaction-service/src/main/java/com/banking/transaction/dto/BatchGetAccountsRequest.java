@@ -0,0 +1,17 @@
+package com.banking.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request to look up several accounts in one account-service call (at most 500 IDs)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetAccountsRequest {
+    private List<String> ids;
+}
@@ -0,0 +1,25 @@
+package com.banking.transaction.dto;
+
+import com.banking.contracts.LogTransactionRequest;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to log several transactions in one call")
+public class BatchLogTransactionRequest {
+
+    @NotEmpty(message = "Transactions are required")
+    @Size(max = 100, message = "At most 100 transactions per batch")
+    @Valid
+    @Schema(description = "Transactions to log, stored in this order")
+    private List<LogTransactionRequest> transactions;
+}
@@ -0,0 +1,22 @@
+package com.banking.transaction.dto;
+
+import com.banking.contracts.TransactionDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of an account's transaction history, newest first.
+ * nextCursor is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPage {
+
+    private List<TransactionDto> transactions;
+
+    private String nextCursor;
+}
@@ -10,15 +10,23 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // Serves the paginated history: each page is one range scan in (timestamp, id) order
+        @Index(name = "idx_transactions_account_history", columnList = "accountId, timestamp DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Transaction {
     
+    /**
+     * Sequence ids are fetched 50 at a time; unlike IDENTITY they are known before the insert,
+     * which lets Hibernate send several inserts as one JDBC batch
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -39,8 +47,17 @@ public class Transaction {
     @Column(length = 500)
     private String description;
     
+    @Column(unique = true, length = 36)
+    private String idempotencyKey; // Set by senders that may deliver the same transaction twice
+    
+    /**
+     * Senders stamp the time the money moved, which a delayed delivery (e.g. from an outbox) must not change;
+     * only transactions logged without one get the time of logging
+     */
     @PrePersist
     protected void onCreate() {
-        timestamp = LocalDateTime.now();
+        if (timestamp == null) {
+            timestamp = LocalDateTime.now();
+        }
     }
 }
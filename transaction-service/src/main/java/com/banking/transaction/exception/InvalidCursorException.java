@@ -0,0 +1,10 @@
+package com.banking.transaction.exception;
+
+/**
+ * Exception thrown when a history continuation token cannot be decoded
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.banking.transaction.exception;
+
+/**
+ * Exception thrown when a statement export asks for an unknown format or an empty date range
+ */
+public class InvalidStatementRequestException extends RuntimeException {
+    public InvalidStatementRequestException(String message) {
+        super(message);
+    }
+}
@@ -1,15 +1,41 @@
 package com.banking.transaction.repository;
 
 import com.banking.transaction.entity.Transaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     
-    List<Transaction> findByAccountIdOrderByTimestampDesc(Long accountId);
+    /**
+     * Newest transactions of an account; first page of the history
+     */
+    List<Transaction> findByAccountIdOrderByTimestampDescIdDesc(Long accountId, Limit limit);
+    
+    /**
+     * Transactions strictly older than (timestamp, id) in history order; the following pages.
+     * The timestamp bound is spelled out separately so the database can turn it into a range
+     * scan of idx_transactions_account_history instead of filtering the whole account.
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.accountId = :accountId " +
+            "AND t.timestamp <= :timestamp AND (t.timestamp < :timestamp OR t.id < :id) " +
+            "ORDER BY t.timestamp DESC, t.id DESC")
+    List<Transaction> findHistoryPageAfter(@Param("accountId") Long accountId,
+                                           @Param("timestamp") LocalDateTime timestamp,
+                                           @Param("id") Long id,
+                                           Limit limit);
+    
+    /**
+     * Transactions already logged under any of the keys; used to make batch deliveries idempotent
+     */
+    List<Transaction> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
     
     List<Transaction> findByAccountIdOrRelatedAccountIdOrderByTimestampDesc(Long accountId, Long relatedAccountId);
 }
@@ -0,0 +1,48 @@
+package com.banking.transaction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Owner user ID per account, so customer history and transaction lookups do not ask Account Service
+ * who owns an account on every request. Accounts never change owner today; entries still expire after
+ * the TTL, and Account Service can evict one through {@code DELETE /transactions/account-owners/{accountId}}.
+ * Failed lookups are not cached.
+ */
+@Component
+public class AccountOwnerCache {
+
+    private final Cache<Long, Long> cache;
+
+    public AccountOwnerCache(MeterRegistry meterRegistry,
+                             @Value("${account-owner.cache.ttl:10m}") Duration ttl,
+                             @Value("${account-owner.cache.maximum-size:100000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "account.owner");
+    }
+
+    /**
+     * The cached owner, or null if the account is not cached
+     */
+    public Long getOwner(Long accountId) {
+        return cache.getIfPresent(accountId);
+    }
+
+    public void putOwner(Long accountId, Long ownerUserId) {
+        cache.put(accountId, ownerUserId);
+    }
+
+    public void invalidate(Long accountId) {
+        cache.invalidate(accountId);
+    }
+}
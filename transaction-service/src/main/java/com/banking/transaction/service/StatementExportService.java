@@ -0,0 +1,283 @@
+package com.banking.transaction.service;
+
+import com.banking.transaction.client.AccountServiceClient;
+import com.banking.transaction.exception.InvalidStatementRequestException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Account statements of any length. Rows are read through a forward-only JDBC cursor and written
+ * to the response one at a time, so memory use does not depend on the number of transactions.
+ * <p>
+ * The running balance is anchored to the balance account-service reports at export time: the opening
+ * balance is that balance minus every transaction logged since the start of the range. The log does not
+ * hold an account's initial balance, so summing it from zero would be off by exactly that amount.
+ * Transactions that moved money but are not logged yet (e.g. still in an outbox) shift the opening balance,
+ * so with statement.transaction-log-mode OUTBOX the running balance is reported as approximate.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatementExportService {
+
+    static final int FETCH_SIZE = 500;
+
+    /**
+     * Amounts are logged as positive values; these types take money out of the account
+     */
+    private static final Set<String> DEBIT_TYPES = Set.of("TRANSFER_OUT", "WITHDRAWAL");
+
+    private static final String NET_CHANGE_SQL =
+            "SELECT COALESCE(SUM(CASE WHEN transaction_type IN ('TRANSFER_OUT', 'WITHDRAWAL') " +
+            "THEN -amount ELSE amount END), 0) " +
+            "FROM transactions WHERE account_id = ?";
+
+    private static final String NET_CHANGE_FROM_SQL = " AND timestamp >= ?";
+
+    private static final String STATEMENT_SQL =
+            "SELECT id, timestamp, transaction_type, amount, related_account_id, description " +
+            "FROM transactions WHERE account_id = ? AND timestamp < ?";
+
+    private static final String STATEMENT_ORDER_SQL = " ORDER BY timestamp, id";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionService transactionService;
+    private final AccountServiceClient accountServiceClient;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * The transaction-log.mode of the services that log into this one; with OUTBOX, money can have
+     * moved before its transaction arrives here
+     */
+    @Value("${statement.transaction-log-mode:DIRECT}")
+    private String transactionLogMode;
+
+    /**
+     * Whether the running balance may be off by transactions not logged yet
+     */
+    public boolean isRunningBalanceApproximate() {
+        return !"DIRECT".equalsIgnoreCase(transactionLogMode);
+    }
+
+    /**
+     * Checks access and the date range up front, so errors still turn into proper status codes,
+     * and returns the body that streams the statement once the response is committed.
+     *
+     * @param from first day included, or null for the start of the history
+     * @param to   last day included, or null for today
+     */
+    public StreamingResponseBody exportStatement(Long accountId, String pin, Long authenticatedUserId, String userRole,
+                                                 LocalDate from, LocalDate to, StatementFormat format) {
+        LocalDate lastDay = to != null ? to : LocalDate.now();
+        if (from != null && from.isAfter(lastDay)) {
+            throw new InvalidStatementRequestException("Statement start date " + from + " is after end date " + lastDay);
+        }
+        transactionService.authorizeAccountAccess(accountId, pin, authenticatedUserId, userRole);
+        BigDecimal currentBalance = currentBalance(accountId);
+
+        LocalDateTime start = from != null ? from.atStartOfDay() : null;
+        LocalDateTime end = lastDay.plusDays(1).atStartOfDay();
+        log.info("Exporting {} statement for account: {} from {} to {}", format, accountId, from, lastDay);
+        return out -> writeStatement(accountId, currentBalance, start, end, format, out);
+    }
+
+    /**
+     * Opening balance and rows are read in one read-only transaction, so they agree with each other
+     *
+     * @param currentBalance the account's balance in account-service, which the logged transactions lead up to
+     */
+    void writeStatement(Long accountId, BigDecimal currentBalance, LocalDateTime start, LocalDateTime end,
+                        StatementFormat format, OutputStream out) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setName(StatementExportService.class.getName() + ".writeStatement");
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            BigDecimal changeSinceStart = start != null
+                    ? jdbcTemplate.queryForObject(NET_CHANGE_SQL + NET_CHANGE_FROM_SQL, BigDecimal.class,
+                            accountId, Timestamp.valueOf(start))
+                    : jdbcTemplate.queryForObject(NET_CHANGE_SQL, BigDecimal.class, accountId);
+            BigDecimal openingBalance = currentBalance.subtract(changeSinceStart);
+            try (StatementWriter writer = format == StatementFormat.CSV ? new CsvWriter(out) : new NdjsonWriter(out)) {
+                writer.writeHeader();
+                StatementRowHandler rows = new StatementRowHandler(writer, openingBalance);
+                String sql = STATEMENT_SQL + (start != null ? NET_CHANGE_FROM_SQL : "") + STATEMENT_ORDER_SQL;
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(sql,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(FETCH_SIZE);
+                    statement.setLong(1, accountId);
+                    statement.setTimestamp(2, Timestamp.valueOf(end));
+                    if (start != null) {
+                        statement.setTimestamp(3, Timestamp.valueOf(start));
+                    }
+                    return statement;
+                }, rows);
+                log.info("Exported {} transactions for account: {}", rows.count, accountId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private BigDecimal currentBalance(Long accountId) {
+        try {
+            return accountServiceClient.getAccountById(accountId.toString()).balance();
+        } catch (FeignException e) {
+            log.error("Error reading the balance of account {}: {}", accountId, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to read the account balance");
+        }
+    }
+
+    private static class StatementRowHandler implements RowCallbackHandler {
+
+        private final StatementWriter writer;
+        private BigDecimal runningBalance;
+        private long count;
+
+        StatementRowHandler(StatementWriter writer, BigDecimal openingBalance) {
+            this.writer = writer;
+            this.runningBalance = openingBalance;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String type = rs.getString("transaction_type");
+            BigDecimal amount = rs.getBigDecimal("amount");
+            runningBalance = DEBIT_TYPES.contains(type) ? runningBalance.subtract(amount) : runningBalance.add(amount);
+            long relatedAccountId = rs.getLong("related_account_id");
+            Long related = rs.wasNull() ? null : relatedAccountId;
+            try {
+                writer.writeRow(rs.getLong("id"), rs.getTimestamp("timestamp").toLocalDateTime(), type, amount,
+                        related, rs.getString("description"), runningBalance);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count++;
+        }
+    }
+
+    private interface StatementWriter extends AutoCloseable {
+
+        void writeHeader() throws IOException;
+
+        void writeRow(long id, LocalDateTime timestamp, String type, BigDecimal amount, Long relatedAccountId,
+                      String description, BigDecimal runningBalance) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * One JSON object per line
+     */
+    private static class NdjsonWriter implements StatementWriter {
+
+        private final JsonGenerator json;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            json = JSON_FACTORY.createGenerator(out);
+            // Lines are terminated explicitly below instead of separating root values with a space
+            json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void writeRow(long id, LocalDateTime timestamp, String type, BigDecimal amount, Long relatedAccountId,
+                             String description, BigDecimal runningBalance) throws IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", id);
+            json.writeStringField("timestamp", timestamp.toString());
+            json.writeStringField("type", type);
+            json.writeNumberField("amount", amount);
+            if (relatedAccountId != null) {
+                json.writeNumberField("relatedAccountId", relatedAccountId);
+            }
+            if (description != null) {
+                json.writeStringField("description", description);
+            }
+            json.writeNumberField("runningBalance", runningBalance);
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.close();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header line
+     */
+    private static class CsvWriter implements StatementWriter {
+
+        private final Writer csv;
+
+        CsvWriter(OutputStream out) {
+            csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            csv.write("id,timestamp,type,amount,related_account_id,description,running_balance\r\n");
+        }
+
+        @Override
+        public void writeRow(long id, LocalDateTime timestamp, String type, BigDecimal amount, Long relatedAccountId,
+                             String description, BigDecimal runningBalance) throws IOException {
+            csv.write(id + "," + timestamp + "," + type + "," + amount.toPlainString() + ","
+                    + (relatedAccountId != null ? relatedAccountId : "") + "," + quote(description) + ","
+                    + runningBalance.toPlainString() + "\r\n");
+        }
+
+        private static String quote(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Flush only; the servlet container owns the response stream
+            csv.flush();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.banking.transaction.service;
+
+import com.banking.transaction.exception.InvalidStatementRequestException;
+
+import java.util.Locale;
+
+/**
+ * Output formats of the statement export
+ */
+public enum StatementFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    StatementFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static StatementFormat fromParameter(String format) {
+        try {
+            return valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidStatementRequestException("Unsupported statement format: " + format);
+        }
+    }
+}
@@ -1,21 +1,34 @@
 package com.banking.transaction.service;
 
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.LogTransactionRequest;
+import com.banking.contracts.TransactionDto;
 import com.banking.transaction.client.AccountServiceClient;
 import com.banking.transaction.client.RegisterServiceClient;
-import com.banking.transaction.dto.AccountDto;
-import com.banking.transaction.dto.LogTransactionRequest;
-import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.dto.TransactionPage;
 import com.banking.transaction.entity.Transaction;
+import com.banking.transaction.exception.InvalidCursorException;
 import com.banking.transaction.exception.TransactionNotFoundException;
 import com.banking.transaction.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,33 +36,119 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TransactionService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final TransactionRepository transactionRepository;
     private final AccountServiceClient accountServiceClient;
     private final RegisterServiceClient registerServiceClient;
+    private final AccountOwnerCache accountOwnerCache;
 
     @Transactional
     public TransactionDto logTransaction(LogTransactionRequest request) {
         log.info("Logging transaction for account: {}, type: {}, amount: {}", 
-                request.getAccountId(), request.getTransactionType(), request.getAmount());
-
-        Transaction transaction = Transaction.builder()
-                .accountId(request.getAccountId())
-                .transactionType(request.getTransactionType())
-                .amount(request.getAmount())
-                .relatedAccountId(request.getRelatedAccountId())
-                .description(request.getDescription())
-                .build();
+                request.accountId(), request.transactionType(), request.amount());
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
+        Transaction savedTransaction = transactionRepository.save(toEntity(request));
         log.info("Transaction logged successfully with ID: {}", savedTransaction.getId());
 
         return mapToDto(savedTransaction);
     }
 
+    /**
+     * Log several transactions in one database transaction; with sequence ids and
+     * hibernate.jdbc.batch_size the inserts go out as a single JDBC batch.
+     * Requests whose idempotency key is already logged are not inserted again; the transaction
+     * logged the first time is returned in their place, so a sender can safely retry a batch.
+     */
+    @Transactional
+    public List<TransactionDto> logTransactions(List<LogTransactionRequest> requests) {
+        log.info("Logging batch of {} transactions", requests.size());
+
+        Set<String> keys = requests.stream()
+                .map(LogTransactionRequest::idempotencyKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        // Collections.emptyMap, unlike Map.of, accepts lookups of the null key of unkeyed requests
+        Map<String, Transaction> alreadyLogged = keys.isEmpty() ? Collections.emptyMap()
+                : transactionRepository.findByIdempotencyKeyIn(keys).stream()
+                        .collect(Collectors.toMap(Transaction::getIdempotencyKey, Function.identity()));
+        if (!alreadyLogged.isEmpty()) {
+            log.info("Skipping {} transactions already logged: {}", alreadyLogged.size(), alreadyLogged.keySet());
+        }
+
+        List<Transaction> savedTransactions = transactionRepository.saveAll(requests.stream()
+                .filter(request -> !alreadyLogged.containsKey(request.idempotencyKey()))
+                .map(this::toEntity)
+                .collect(Collectors.toList()));
+        log.info("Batch logged successfully with IDs: {}", 
+                savedTransactions.stream().map(Transaction::getId).collect(Collectors.toList()));
+
+        Iterator<Transaction> saved = savedTransactions.iterator();
+        return requests.stream()
+                .map(request -> alreadyLogged.containsKey(request.idempotencyKey())
+                        ? alreadyLogged.get(request.idempotencyKey())
+                        : saved.next())
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    private Transaction toEntity(LogTransactionRequest request) {
+        return Transaction.builder()
+                .accountId(request.accountId())
+                .transactionType(request.transactionType())
+                .amount(request.amount())
+                .relatedAccountId(request.relatedAccountId())
+                .description(request.description())
+                .idempotencyKey(request.idempotencyKey())
+                .timestamp(request.occurredAt())
+                .build();
+    }
+
+    /**
+     * One page of the account's history, newest first. Pages are keyed on (timestamp, id) of the
+     * last row returned rather than an offset, so every page costs the same however deep it is.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param size   page size, clamped to 1..MAX_PAGE_SIZE
+     */
     @Transactional(readOnly = true)
-    public List<TransactionDto> getTransactionsByAccountId(Long accountId, String pin, Long authenticatedUserId, String userRole) {
+    public TransactionPage getTransactionsByAccountId(Long accountId, String pin, Long authenticatedUserId, String userRole,
+                                                      String cursor, int size) {
         log.info("Fetching transactions for account: {} by user: {} with role: {}", accountId, authenticatedUserId, userRole);
         
+        authorizeAccountAccess(accountId, pin, authenticatedUserId, userRole);
+        
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // One extra row tells whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+        List<Transaction> transactions;
+        if (cursor == null) {
+            transactions = transactionRepository.findByAccountIdOrderByTimestampDescIdDesc(accountId, limit);
+        } else {
+            Cursor after = decodeCursor(cursor);
+            transactions = transactionRepository.findHistoryPageAfter(accountId, after.timestamp(), after.id(), limit);
+        }
+        
+        String nextCursor = null;
+        if (transactions.size() > pageSize) {
+            transactions = transactions.subList(0, pageSize);
+            nextCursor = encodeCursor(transactions.get(pageSize - 1));
+        }
+        
+        log.info("Found {} transactions for account: {}", transactions.size(), accountId);
+        
+        return new TransactionPage(
+                transactions.stream()
+                        .map(this::mapToDto)
+                        .collect(Collectors.toList()),
+                nextCursor);
+    }
+
+    /**
+     * Access rule for an account's transactions, shared by the history and the statement export
+     */
+    public void authorizeAccountAccess(Long accountId, String pin, Long authenticatedUserId, String userRole) {
         // Only CUSTOMER needs ownership validation and PIN verification
         // TELLERs can view any transaction without PIN
         if ("CUSTOMER".equals(userRole)) {
@@ -58,15 +157,6 @@ public class TransactionService {
             // Validate PIN for the authenticated user
             validateUserPin(authenticatedUserId, pin);
         }
-        
-        List<Transaction> transactions = transactionRepository
-                .findByAccountIdOrderByTimestampDesc(accountId);
-        
-        log.info("Found {} transactions for account: {}", transactions.size(), accountId);
-        
-        return transactions.stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
@@ -84,13 +174,27 @@ public class TransactionService {
         return mapToDto(transaction);
     }
 
+    public void evictAccountOwner(Long accountId) {
+        log.info("Evicting cached owner of account: {}", accountId);
+        accountOwnerCache.invalidate(accountId);
+    }
+
+    /**
+     * Warm accounts are checked against the owner cache without calling Account Service.
+     * A cached owner that does not match is looked up again, so a stale entry can never deny the real owner.
+     */
     private void validateAccountOwnership(Long accountId, Long authenticatedUserId) {
         try {
-            AccountDto account = accountServiceClient.getAccountById(accountId.toString());
+            Long ownerId = accountOwnerCache.getOwner(accountId);
+            if (!Objects.equals(ownerId, authenticatedUserId)) {
+                AccountDto account = accountServiceClient.getAccountById(accountId.toString());
+                ownerId = account.userId();
+                accountOwnerCache.putOwner(accountId, ownerId);
+            }
             
-            if (!account.getUserId().equals(authenticatedUserId)) {
+            if (!ownerId.equals(authenticatedUserId)) {
                 log.warn("User {} attempted to access account {} owned by user {}", 
-                        authenticatedUserId, accountId, account.getUserId());
+                        authenticatedUserId, accountId, ownerId);
                 throw new ResponseStatusException(
                         HttpStatus.FORBIDDEN, 
                         "You are not authorized to access transactions for this account"
@@ -133,16 +237,39 @@ public class TransactionService {
         }
     }
 
+    /**
+     * Opaque to clients: base64url of "timestamp|id" of the last row on the page
+     */
+    private static String encodeCursor(Transaction last) {
+        String key = last.getTimestamp() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.indexOf('|');
+            return new Cursor(LocalDateTime.parse(key.substring(0, separator)), Long.parseLong(key.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Position of the last row on a page, in history order
+     */
+    private record Cursor(LocalDateTime timestamp, Long id) {
+    }
+
     private TransactionDto mapToDto(Transaction transaction) {
-        TransactionDto dto = new TransactionDto();
-        dto.setId(transaction.getId());
-        dto.setAccountId(transaction.getAccountId());
-        dto.setType(transaction.getTransactionType());
-        dto.setAmount(transaction.getAmount());
-        dto.setRelatedAccountId(transaction.getRelatedAccountId());
-        dto.setDescription(transaction.getDescription());
-        dto.setTimestamp(transaction.getTimestamp());
-        dto.setStatus("COMPLETED");
-        return dto;
+        return new TransactionDto(
+                transaction.getId(),
+                transaction.getAccountId(),
+                transaction.getTransactionType(),
+                transaction.getAmount(),
+                transaction.getRelatedAccountId(),
+                transaction.getDescription(),
+                transaction.getTimestamp(),
+                "COMPLETED");
     }
 }
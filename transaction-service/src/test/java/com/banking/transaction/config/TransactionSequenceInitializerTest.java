@@ -0,0 +1,92 @@
+package com.banking.transaction.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Transaction Sequence Initializer Tests")
+class TransactionSequenceInitializerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionSequenceInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:sequence-init;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE transactions (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE SEQUENCE transaction_seq START WITH 1 INCREMENT BY 50");
+        initializer = new TransactionSequenceInitializer(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Should restart the sequence so the first pooled id follows the existing ids")
+    void startAfterExistingIds_ExistingIds_RestartsPastMaxId() {
+        // Given
+        jdbcTemplate.update("INSERT INTO transactions (id) VALUES (1), (2), (137)");
+
+        // When
+        initializer.startAfterExistingIds();
+
+        // Then: the pooled optimizer hands out value - 49 .. value
+        Long nextValue = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR transaction_seq", Long.class);
+        assertThat(nextValue - TransactionSequenceInitializer.ALLOCATION_SIZE + 1).isEqualTo(138L);
+    }
+
+    @Test
+    @DisplayName("Should leave the sequence alone when the table is empty")
+    void startAfterExistingIds_EmptyTable_KeepsSequence() {
+        // When
+        initializer.startAfterExistingIds();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR transaction_seq", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should not move the sequence back when it is already ahead of the ids")
+    void startAfterExistingIds_SequenceAhead_KeepsSequence() {
+        // Given
+        jdbcTemplate.execute("ALTER SEQUENCE transaction_seq RESTART WITH 1001");
+        jdbcTemplate.update("INSERT INTO transactions (id) VALUES (500)");
+
+        // When
+        initializer.startAfterExistingIds();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR transaction_seq", Long.class)).isEqualTo(1001L);
+    }
+
+    @Test
+    @DisplayName("Should not read H2's sequence metadata on another database")
+    void startAfterExistingIds_OtherDatabase_LeavesSequenceAlone() {
+        // Given
+        JdbcTemplate otherDatabase = mock(JdbcTemplate.class);
+        when(otherDatabase.execute(ArgumentMatchers.<ConnectionCallback<String>>any())).thenReturn("PostgreSQL");
+
+        // When
+        new TransactionSequenceInitializer(otherDatabase).startAfterExistingIds();
+
+        // Then
+        verify(otherDatabase, never()).queryForObject(anyString(), eq(Long.class));
+        verify(otherDatabase, never()).execute(anyString());
+    }
+}
@@ -1,8 +1,13 @@
 package com.banking.transaction.controller;
 
-import com.banking.transaction.dto.LogTransactionRequest;
-import com.banking.transaction.dto.TransactionDto;
+import com.banking.contracts.LogTransactionRequest;
+import com.banking.contracts.TransactionDto;
+import com.banking.transaction.dto.BatchLogTransactionRequest;
+import com.banking.transaction.dto.TransactionPage;
+import com.banking.transaction.exception.InvalidCursorException;
 import com.banking.transaction.exception.TransactionNotFoundException;
+import com.banking.transaction.service.StatementExportService;
+import com.banking.transaction.service.StatementFormat;
 import com.banking.transaction.service.TransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,15 +18,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +50,9 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private StatementExportService statementExportService;
+
     private TransactionDto transactionDto;
     private LogTransactionRequest logRequest;
     private LocalDateTime now;
@@ -47,21 +61,10 @@ class TransactionControllerTest {
     void setUp() {
         now = LocalDateTime.now();
 
-        transactionDto = new TransactionDto();
-        transactionDto.setId(1001L);
-        transactionDto.setAccountId(101L);
-        transactionDto.setType("DEPOSIT");
-        transactionDto.setAmount(new BigDecimal("500.00"));
-        transactionDto.setRelatedAccountId(null);
-        transactionDto.setDescription("Test deposit");
-        transactionDto.setTimestamp(now);
-        transactionDto.setStatus("COMPLETED");
-
-        logRequest = new LogTransactionRequest();
-        logRequest.setAccountId(101L);
-        logRequest.setTransactionType("DEPOSIT");
-        logRequest.setAmount(new BigDecimal("500.00"));
-        logRequest.setDescription("Test deposit");
+        transactionDto = new TransactionDto(1001L, 101L, "DEPOSIT", new BigDecimal("500.00"), null,
+                "Test deposit", now, "COMPLETED");
+
+        logRequest = new LogTransactionRequest(101L, "DEPOSIT", new BigDecimal("500.00"), null, "Test deposit");
     }
 
     @Test
@@ -89,7 +92,7 @@ class TransactionControllerTest {
     @DisplayName("Should return 400 when logging transaction with invalid request (null accountId)")
     void testLogTransaction_InvalidRequest_Returns400() throws Exception {
         // Given
-        logRequest.setAccountId(null); // Invalid
+        logRequest = new LogTransactionRequest(null, "DEPOSIT", new BigDecimal("500.00"), null, "Test deposit"); // Invalid
 
         // When & Then
         mockMvc.perform(post("/transactions")
@@ -104,7 +107,7 @@ class TransactionControllerTest {
     @DisplayName("Should return 400 when logging transaction with negative amount")
     void testLogTransaction_NegativeAmount_Returns400() throws Exception {
         // Given
-        logRequest.setAmount(new BigDecimal("-100.00")); // Invalid
+        logRequest = new LogTransactionRequest(101L, "DEPOSIT", new BigDecimal("-100.00"), null, "Test deposit"); // Invalid
 
         // When & Then
         mockMvc.perform(post("/transactions")
@@ -119,7 +122,7 @@ class TransactionControllerTest {
     @DisplayName("Should return 400 when logging transaction with null transaction type")
     void testLogTransaction_NullTransactionType_Returns400() throws Exception {
         // Given
-        logRequest.setTransactionType(null); // Invalid
+        logRequest = new LogTransactionRequest(101L, null, new BigDecimal("500.00"), null, "Test deposit"); // Invalid
 
         // When & Then
         mockMvc.perform(post("/transactions")
@@ -181,25 +184,28 @@ class TransactionControllerTest {
         Long userId = 1L;
         String role = "CUSTOMER";
         
-        TransactionDto tx1 = new TransactionDto();
-        tx1.setId(1001L);
-        tx1.setAccountId(accountId);
-        tx1.setType("DEPOSIT");
-        tx1.setAmount(new BigDecimal("500.00"));
-        tx1.setTimestamp(now);
-        tx1.setStatus("COMPLETED");
-
-        TransactionDto tx2 = new TransactionDto();
-        tx2.setId(1002L);
-        tx2.setAccountId(accountId);
-        tx2.setType("WITHDRAWAL");
-        tx2.setAmount(new BigDecimal("100.00"));
-        tx2.setTimestamp(now);
-        tx2.setStatus("COMPLETED");
+        TransactionDto tx1 = TransactionDto.builder()
+                .id(1001L)
+                .accountId(accountId)
+                .type("DEPOSIT")
+                .amount(new BigDecimal("500.00"))
+                .timestamp(now)
+                .status("COMPLETED")
+                .build();
+
+        TransactionDto tx2 = TransactionDto.builder()
+                .id(1002L)
+                .accountId(accountId)
+                .type("WITHDRAWAL")
+                .amount(new BigDecimal("100.00"))
+                .timestamp(now)
+                .status("COMPLETED")
+                .build();
 
         List<TransactionDto> transactions = Arrays.asList(tx1, tx2);
         String pin = "123456";
-        when(transactionService.getTransactionsByAccountId(eq(accountId), eq(pin), eq(userId), eq(role))).thenReturn(transactions);
+        when(transactionService.getTransactionsByAccountId(eq(accountId), eq(pin), eq(userId), eq(role), isNull(), eq(50)))
+                .thenReturn(new TransactionPage(transactions, null));
 
         // When & Then
         mockMvc.perform(get("/transactions/account/{accountId}", accountId)
@@ -212,9 +218,10 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1001L))
                 .andExpect(jsonPath("$[0].type").value("DEPOSIT"))
                 .andExpect(jsonPath("$[1].id").value(1002L))
-                .andExpect(jsonPath("$[1].type").value("WITHDRAWAL"));
+                .andExpect(jsonPath("$[1].type").value("WITHDRAWAL"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
 
-        verify(transactionService, times(1)).getTransactionsByAccountId(eq(accountId), eq(pin), eq(userId), eq(role));
+        verify(transactionService, times(1)).getTransactionsByAccountId(eq(accountId), eq(pin), eq(userId), eq(role), isNull(), eq(50));
     }
 
     @Test
@@ -225,7 +232,8 @@ class TransactionControllerTest {
         Long userId = 1L;
         String role = "CUSTOMER";
         String pin = "123456";
-        when(transactionService.getTransactionsByAccountId(eq(accountId), eq(pin), eq(userId), eq(role))).thenReturn(Arrays.asList());
+        when(transactionService.getTransactionsByAccountId(eq(accountId), eq(pin), eq(userId), eq(role), isNull(), eq(50)))
+                .thenReturn(new TransactionPage(Arrays.asList(), null));
 
         // When & Then
         mockMvc.perform(get("/transactions/account/{accountId}", accountId)
@@ -236,20 +244,59 @@ class TransactionControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(transactionService, times(1)).getTransactionsByAccountId(eq(accountId), eq(pin), eq(userId), eq(role));
+        verify(transactionService, times(1)).getTransactionsByAccountId(eq(accountId), eq(pin), eq(userId), eq(role), isNull(), eq(50));
+    }
+
+    @Test
+    @DisplayName("Should pass cursor and size through and return the next cursor in a header")
+    void testGetTransactionsByAccount_WithCursor_ReturnsNextCursorHeader() throws Exception {
+        // Given
+        Long accountId = 101L;
+        Long userId = 1L;
+        String role = "CUSTOMER";
+        String pin = "123456";
+        when(transactionService.getTransactionsByAccountId(eq(accountId), eq(pin), eq(userId), eq(role), eq("cursor-1"), eq(1)))
+                .thenReturn(new TransactionPage(List.of(transactionDto), "cursor-2"));
+
+        // When & Then
+        mockMvc.perform(get("/transactions/account/{accountId}", accountId)
+                        .param("pin", pin)
+                        .param("cursor", "cursor-1")
+                        .param("size", "1")
+                        .header("X-User-Id", userId)
+                        .header("X-User-Role", role))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(1001L))
+                .andExpect(header().string("X-Next-Cursor", "cursor-2"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when cursor is invalid")
+    void testGetTransactionsByAccount_InvalidCursor_Returns400() throws Exception {
+        // Given
+        when(transactionService.getTransactionsByAccountId(eq(101L), eq("123456"), eq(1L), eq("CUSTOMER"), eq("garbage"), eq(50)))
+                .thenThrow(new InvalidCursorException("Invalid cursor: garbage"));
+
+        // When & Then
+        mockMvc.perform(get("/transactions/account/{accountId}", 101L)
+                        .param("pin", "123456")
+                        .param("cursor", "garbage")
+                        .header("X-User-Id", 1L)
+                        .header("X-User-Role", "CUSTOMER"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: garbage"));
     }
 
     @Test
     @DisplayName("Should log transfer transaction with related account")
     void testLogTransaction_Transfer_Returns201() throws Exception {
         // Given
-        logRequest.setTransactionType("TRANSFER");
-        logRequest.setRelatedAccountId(102L);
-        logRequest.setDescription("Transfer to account 102");
+        logRequest = new LogTransactionRequest(101L, "TRANSFER", new BigDecimal("500.00"), 102L,
+                "Transfer to account 102");
 
-        transactionDto.setType("TRANSFER");
-        transactionDto.setRelatedAccountId(102L);
-        transactionDto.setDescription("Transfer to account 102");
+        transactionDto = new TransactionDto(1001L, 101L, "TRANSFER", new BigDecimal("500.00"), 102L,
+                "Transfer to account 102", now, "COMPLETED");
 
         when(transactionService.logTransaction(any(LogTransactionRequest.class))).thenReturn(transactionDto);
 
@@ -264,4 +311,128 @@ class TransactionControllerTest {
 
         verify(transactionService, times(1)).logTransaction(any(LogTransactionRequest.class));
     }
+
+    @Test
+    @DisplayName("Should log a batch of transactions and return 201 with results in order")
+    void testLogTransactions_ValidBatch_Returns201() throws Exception {
+        // Given
+        TransactionDto second = TransactionDto.builder().id(1002L).accountId(102L).build();
+        when(transactionService.logTransactions(anyList())).thenReturn(List.of(transactionDto, second));
+
+        BatchLogTransactionRequest batch = new BatchLogTransactionRequest(List.of(logRequest,
+                new LogTransactionRequest(102L, "DEPOSIT", new BigDecimal("10.00"), null, null)));
+
+        // When & Then
+        mockMvc.perform(post("/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(1001L))
+                .andExpect(jsonPath("$[1].id").value(1002L));
+
+        verify(transactionService, times(1)).logTransactions(anyList());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the batch is empty")
+    void testLogTransactions_EmptyBatch_Returns400() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchLogTransactionRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionService, never()).logTransactions(any());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when any transaction in the batch is invalid")
+    void testLogTransactions_InvalidElement_Returns400() throws Exception {
+        // Given
+        LogTransactionRequest invalid = new LogTransactionRequest(102L, "DEPOSIT", new BigDecimal("-5.00"), null, null);
+
+        // When & Then
+        mockMvc.perform(post("/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchLogTransactionRequest(List.of(logRequest, invalid)))))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionService, never()).logTransactions(any());
+    }
+
+    @Test
+    @DisplayName("Should stream a CSV statement as an attachment")
+    void testExportStatement_Csv_StreamsBody() throws Exception {
+        // Given
+        String csv = "id,timestamp,type,amount,related_account_id,description,running_balance\r\n";
+        StreamingResponseBody body = out -> out.write(csv.getBytes(StandardCharsets.UTF_8));
+        when(statementExportService.exportStatement(eq(101L), isNull(), eq(2L), eq("TELLER"),
+                eq(LocalDate.of(2025, 1, 1)), eq(LocalDate.of(2025, 1, 31)), eq(StatementFormat.CSV)))
+                .thenReturn(body);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/transactions/account/{accountId}/statement", 101L)
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-01-31")
+                        .param("format", "csv")
+                        .header("X-User-Id", 2L)
+                        .header("X-User-Role", "TELLER"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"statement-101.csv\""))
+                .andExpect(header().string("X-Running-Balance-Approximate", "false"))
+                .andExpect(content().string(csv));
+    }
+
+    @Test
+    @DisplayName("Should mark the running balance as approximate when the services log through an outbox")
+    void testExportStatement_OutboxLogging_MarksRunningBalanceApproximate() throws Exception {
+        // Given
+        when(statementExportService.exportStatement(eq(101L), isNull(), eq(2L), eq("TELLER"),
+                isNull(), isNull(), eq(StatementFormat.NDJSON)))
+                .thenReturn(out -> { });
+        when(statementExportService.isRunningBalanceApproximate()).thenReturn(true);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/transactions/account/{accountId}/statement", 101L)
+                        .header("X-User-Id", 2L)
+                        .header("X-User-Role", "TELLER"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Running-Balance-Approximate", "true"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unsupported statement format")
+    void testExportStatement_UnsupportedFormat_Returns400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/transactions/account/{accountId}/statement", 101L)
+                        .param("format", "pdf")
+                        .header("X-User-Id", 2L)
+                        .header("X-User-Role", "TELLER"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported statement format: pdf"));
+
+        verifyNoInteractions(statementExportService);
+    }
+
+    @Test
+    @DisplayName("Should evict a cached account owner and return 204")
+    void testEvictAccountOwner_Returns204() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/transactions/account-owners/{accountId}", 101L))
+                .andExpect(status().isNoContent());
+
+        verify(transactionService, times(1)).evictAccountOwner(101L);
+    }
 }
@@ -0,0 +1,146 @@
+package com.banking.transaction.service;
+
+import com.banking.contracts.AccountDto;
+import com.banking.transaction.client.AccountServiceClient;
+import com.banking.transaction.exception.InvalidStatementRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Statement Export Service Unit Tests")
+class StatementExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountServiceClient accountServiceClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private StatementExportService statementExportService;
+
+    private final LocalDateTime start = LocalDate.of(2025, 1, 1).atStartOfDay();
+    private final LocalDateTime end = LocalDate.of(2025, 2, 1).atStartOfDay();
+
+    @Test
+    @DisplayName("Should reject a range that starts after it ends, before checking access")
+    void testExportStatement_StartAfterEnd() {
+        // When & Then
+        assertThatThrownBy(() -> statementExportService.exportStatement(101L, "123456", 1L, "CUSTOMER",
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), StatementFormat.NDJSON))
+                .isInstanceOf(InvalidStatementRequestException.class);
+
+        verifyNoInteractions(transactionService, accountServiceClient, jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should check account access and read the current balance before returning the body")
+    void testExportStatement_ChecksAccess() {
+        // Given
+        when(accountServiceClient.getAccountById("101"))
+                .thenReturn(new AccountDto("101", 1L, new BigDecimal("220.00"), "SAVINGS", start));
+
+        // When
+        statementExportService.exportStatement(101L, "123456", 1L, "CUSTOMER",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), StatementFormat.NDJSON);
+
+        // Then
+        InOrder inOrder = inOrder(transactionService, accountServiceClient);
+        inOrder.verify(transactionService).authorizeAccountAccess(101L, "123456", 1L, "CUSTOMER");
+        inOrder.verify(accountServiceClient).getAccountById("101");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should write NDJSON lines with a running balance from the current balance less the changes since the start")
+    void testWriteStatement_Ndjson() throws Exception {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(BigDecimal.class), eq(101L), eq(Timestamp.valueOf(start))))
+                .thenReturn(new BigDecimal("120.00"));
+        stubRows(
+                row(1L, start.plusHours(1), "DEPOSIT", "50.00", null, "Cash"),
+                row(2L, start.plusHours(2), "TRANSFER_OUT", "30.00", 102L, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        statementExportService.writeStatement(101L, new BigDecimal("220.00"), start, end, StatementFormat.NDJSON, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"timestamp\":\"2025-01-01T01:00\",\"type\":\"DEPOSIT\",\"amount\":50.00,"
+                        + "\"description\":\"Cash\",\"runningBalance\":150.00}\n"
+                        + "{\"id\":2,\"timestamp\":\"2025-01-01T02:00\",\"type\":\"TRANSFER_OUT\",\"amount\":30.00,"
+                        + "\"relatedAccountId\":102,\"runningBalance\":120.00}\n");
+    }
+
+    @Test
+    @DisplayName("Should write CSV with a header, quoting descriptions that need it, from the initial balance without a start date")
+    void testWriteStatement_Csv() throws Exception {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(BigDecimal.class), eq(101L))).thenReturn(new BigDecimal("25.50"));
+        stubRows(row(7L, start, "TRANSFER_IN", "25.50", 102L, "Rent, \"January\""));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        statementExportService.writeStatement(101L, new BigDecimal("525.50"), null, end, StatementFormat.CSV, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,timestamp,type,amount,related_account_id,description,running_balance\r\n"
+                        + "7,2025-01-01T00:00,TRANSFER_IN,25.50,102,\"Rent, \"\"January\"\"\",525.50\r\n");
+    }
+
+    private void stubRows(ResultSet... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private ResultSet row(long id, LocalDateTime timestamp, String type, String amount,
+                          Long relatedAccountId, String description) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getTimestamp("timestamp")).thenReturn(Timestamp.valueOf(timestamp));
+        when(rs.getString("transaction_type")).thenReturn(type);
+        when(rs.getBigDecimal("amount")).thenReturn(new BigDecimal(amount));
+        when(rs.getLong("related_account_id")).thenReturn(relatedAccountId != null ? relatedAccountId : 0L);
+        when(rs.wasNull()).thenReturn(relatedAccountId == null);
+        when(rs.getString("description")).thenReturn(description);
+        return rs;
+    }
+}
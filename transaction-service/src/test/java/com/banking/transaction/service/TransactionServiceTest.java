@@ -1,8 +1,11 @@
 package com.banking.transaction.service;
 
-import com.banking.transaction.dto.LogTransactionRequest;
-import com.banking.transaction.dto.TransactionDto;
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.LogTransactionRequest;
+import com.banking.contracts.TransactionDto;
+import com.banking.transaction.dto.TransactionPage;
 import com.banking.transaction.entity.Transaction;
+import com.banking.transaction.exception.InvalidCursorException;
 import com.banking.transaction.exception.TransactionNotFoundException;
 import com.banking.transaction.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,17 +14,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +49,9 @@ class TransactionServiceTest {
     @Mock
     private com.banking.transaction.client.RegisterServiceClient registerServiceClient;
 
+    @Spy
+    private AccountOwnerCache accountOwnerCache = new AccountOwnerCache(new SimpleMeterRegistry(), Duration.ofMinutes(10), 1000);
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -49,12 +64,7 @@ class TransactionServiceTest {
         now = LocalDateTime.now();
 
         // Setup log transaction request
-        logRequest = new LogTransactionRequest();
-        logRequest.setAccountId(101L);
-        logRequest.setTransactionType("DEPOSIT");
-        logRequest.setAmount(new BigDecimal("500.00"));
-        logRequest.setRelatedAccountId(null);
-        logRequest.setDescription("Test deposit");
+        logRequest = new LogTransactionRequest(101L, "DEPOSIT", new BigDecimal("500.00"), null, "Test deposit");
 
         // Setup transaction entity
         transaction = Transaction.builder()
@@ -79,24 +89,37 @@ class TransactionServiceTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo(1001L);
-        assertThat(result.getAccountId()).isEqualTo(101L);
-        assertThat(result.getType()).isEqualTo("DEPOSIT");
-        assertThat(result.getAmount()).isEqualByComparingTo(new BigDecimal("500.00"));
-        assertThat(result.getDescription()).isEqualTo("Test deposit");
-        assertThat(result.getStatus()).isEqualTo("COMPLETED");
-        assertThat(result.getTimestamp()).isEqualTo(now);
+        assertThat(result.id()).isEqualTo(1001L);
+        assertThat(result.accountId()).isEqualTo(101L);
+        assertThat(result.type()).isEqualTo("DEPOSIT");
+        assertThat(result.amount()).isEqualByComparingTo(new BigDecimal("500.00"));
+        assertThat(result.description()).isEqualTo("Test deposit");
+        assertThat(result.status()).isEqualTo("COMPLETED");
+        assertThat(result.timestamp()).isEqualTo(now);
 
         verify(transactionRepository, times(1)).save(any(Transaction.class));
     }
 
+    @Test
+    @DisplayName("Should keep the time the sender says the transaction happened")
+    void testLogTransaction_KeepsOccurredAt() {
+        // Given - delivered from an outbox long after the money moved
+        LocalDateTime movedAt = now.minusHours(3);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        TransactionDto result = transactionService.logTransaction(logRequest.withOccurredAt(movedAt));
+
+        // Then
+        assertThat(result.timestamp()).isEqualTo(movedAt);
+    }
+
     @Test
     @DisplayName("Should log transfer transaction with related account")
     void testLogTransaction_TransferWithRelatedAccount() {
         // Given
-        logRequest.setTransactionType("TRANSFER");
-        logRequest.setRelatedAccountId(102L);
-        logRequest.setDescription("Transfer to account 102");
+        logRequest = new LogTransactionRequest(101L, "TRANSFER", new BigDecimal("500.00"), 102L,
+                "Transfer to account 102");
 
         Transaction transferTransaction = Transaction.builder()
                 .id(1002L)
@@ -115,13 +138,68 @@ class TransactionServiceTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getType()).isEqualTo("TRANSFER");
-        assertThat(result.getRelatedAccountId()).isEqualTo(102L);
-        assertThat(result.getDescription()).isEqualTo("Transfer to account 102");
+        assertThat(result.type()).isEqualTo("TRANSFER");
+        assertThat(result.relatedAccountId()).isEqualTo(102L);
+        assertThat(result.description()).isEqualTo("Transfer to account 102");
 
         verify(transactionRepository, times(1)).save(any(Transaction.class));
     }
 
+    @Test
+    @DisplayName("Should log a batch of transactions with a single saveAll and keep request order")
+    void testLogTransactions_SavesAllInOneCall() {
+        // Given
+        LogTransactionRequest transferOut = new LogTransactionRequest(101L, "TRANSFER_OUT", new BigDecimal("200.00"), 102L, "Transfer to account 102");
+        LogTransactionRequest transferIn = new LogTransactionRequest(102L, "TRANSFER_IN", new BigDecimal("200.00"), 101L, "Transfer from account 101");
+
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Transaction> toSave = invocation.getArgument(0);
+            for (int i = 0; i < toSave.size(); i++) {
+                toSave.get(i).setId(2001L + i);
+            }
+            return toSave;
+        });
+
+        // When
+        List<TransactionDto> result = transactionService.logTransactions(List.of(transferOut, transferIn));
+
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).id()).isEqualTo(2001L);
+        assertThat(result.get(0).type()).isEqualTo("TRANSFER_OUT");
+        assertThat(result.get(1).id()).isEqualTo(2002L);
+        assertThat(result.get(1).accountId()).isEqualTo(102L);
+
+        verify(transactionRepository, times(1)).saveAll(anyList());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("Should return the already logged transaction for a repeated idempotency key instead of inserting it again")
+    void testLogTransactions_SkipsKnownIdempotencyKeys() {
+        // Given
+        LogTransactionRequest retried = new LogTransactionRequest(101L, "TRANSFER_OUT", new BigDecimal("200.00"), 102L, "Transfer to account 102", "key-1", null);
+        LogTransactionRequest fresh = new LogTransactionRequest(102L, "TRANSFER_IN", new BigDecimal("200.00"), 101L, "Transfer from account 101", "key-2", null);
+        Transaction logged = Transaction.builder().id(1500L).accountId(101L).transactionType("TRANSFER_OUT")
+                .amount(new BigDecimal("200.00")).relatedAccountId(102L).idempotencyKey("key-1").build();
+
+        when(transactionRepository.findByIdempotencyKeyIn(Set.of("key-1", "key-2"))).thenReturn(List.of(logged));
+        List<Transaction> inserted = new ArrayList<>();
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Transaction> toSave = invocation.getArgument(0);
+            toSave.forEach(transaction -> transaction.setId(2001L));
+            inserted.addAll(toSave);
+            return toSave;
+        });
+
+        // When
+        List<TransactionDto> result = transactionService.logTransactions(List.of(retried, fresh));
+
+        // Then
+        assertThat(result).extracting(TransactionDto::id).containsExactly(1500L, 2001L);
+        assertThat(inserted).extracting(Transaction::getIdempotencyKey).containsExactly("key-2");
+    }
+
     @Test
     @DisplayName("Should get transactions by account ID and return list ordered by timestamp")
     void testGetTransactionsByAccountId_ReturnsTransactions() {
@@ -132,9 +210,7 @@ class TransactionServiceTest {
         String pin = "123456";
         
         // Mock account service to return account owned by user
-        com.banking.transaction.dto.AccountDto accountDto = new com.banking.transaction.dto.AccountDto();
-        accountDto.setId("101");
-        accountDto.setUserId(userId);
+        AccountDto accountDto = AccountDto.builder().id("101").userId(userId).build();
         when(accountServiceClient.getAccountById(String.valueOf(accountId))).thenReturn(accountDto);
         
         // Mock PIN validation
@@ -168,24 +244,83 @@ class TransactionServiceTest {
                 .build();
 
         List<Transaction> transactions = Arrays.asList(tx3, tx2, tx1); // Ordered by timestamp desc
-        when(transactionRepository.findByAccountIdOrderByTimestampDesc(accountId)).thenReturn(transactions);
+        when(transactionRepository.findByAccountIdOrderByTimestampDescIdDesc(accountId, Limit.of(51))).thenReturn(transactions);
 
         // When
-        List<TransactionDto> result = transactionService.getTransactionsByAccountId(accountId, pin, userId, role);
+        TransactionPage page = transactionService.getTransactionsByAccountId(accountId, pin, userId, role, null, 50);
+        List<TransactionDto> result = page.getTransactions();
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).hasSize(3);
-        assertThat(result.get(0).getId()).isEqualTo(1003L);
-        assertThat(result.get(0).getType()).isEqualTo("DEPOSIT");
-        assertThat(result.get(1).getId()).isEqualTo(1002L);
-        assertThat(result.get(1).getType()).isEqualTo("WITHDRAWAL");
-        assertThat(result.get(2).getId()).isEqualTo(1001L);
-        assertThat(result.get(2).getType()).isEqualTo("DEPOSIT");
+        assertThat(result.get(0).id()).isEqualTo(1003L);
+        assertThat(result.get(0).type()).isEqualTo("DEPOSIT");
+        assertThat(result.get(1).id()).isEqualTo(1002L);
+        assertThat(result.get(1).type()).isEqualTo("WITHDRAWAL");
+        assertThat(result.get(2).id()).isEqualTo(1001L);
+        assertThat(result.get(2).type()).isEqualTo("DEPOSIT");
+        assertThat(page.getNextCursor()).isNull();
 
         verify(accountServiceClient, times(1)).getAccountById(String.valueOf(accountId));
         verify(registerServiceClient, times(1)).validatePin(userId, pin);
-        verify(transactionRepository, times(1)).findByAccountIdOrderByTimestampDesc(accountId);
+        verify(transactionRepository, times(1)).findByAccountIdOrderByTimestampDescIdDesc(accountId, Limit.of(51));
+    }
+
+    @Test
+    @DisplayName("Should check a warm account's owner without calling account service")
+    void testGetTransactionsByAccountId_WarmOwner_SkipsAccountService() {
+        // Given
+        Long accountId = 101L;
+        Long userId = 1L;
+        AccountDto accountDto = AccountDto.builder().id("101").userId(userId).build();
+        when(accountServiceClient.getAccountById("101")).thenReturn(accountDto);
+        when(registerServiceClient.validatePin(userId, "123456")).thenReturn(true);
+        when(transactionRepository.findByAccountIdOrderByTimestampDescIdDesc(accountId, Limit.of(51))).thenReturn(List.of());
+
+        // When
+        transactionService.getTransactionsByAccountId(accountId, "123456", userId, "CUSTOMER", null, 50);
+        transactionService.getTransactionsByAccountId(accountId, "123456", userId, "CUSTOMER", null, 50);
+        transactionService.getTransactionsByAccountId(accountId, "123456", userId, "CUSTOMER", null, 50);
+
+        // Then
+        verify(accountServiceClient, times(1)).getAccountById("101");
+        assertThat(accountOwnerCache.getOwner(accountId)).isEqualTo(userId);
+    }
+
+    @Test
+    @DisplayName("Should ask account service again before denying on a cached owner")
+    void testGetTransactionById_StaleOwner_RechecksBeforeDenying() {
+        // Given
+        accountOwnerCache.putOwner(101L, 2L);
+        AccountDto accountDto = AccountDto.builder().id("101").userId(1L).build();
+        when(accountServiceClient.getAccountById("101")).thenReturn(accountDto);
+        when(transactionRepository.findById(1001L)).thenReturn(Optional.of(transaction));
+
+        // When
+        TransactionDto result = transactionService.getTransactionById(1001L, 1L, "CUSTOMER");
+
+        // Then
+        assertThat(result.id()).isEqualTo(1001L);
+        assertThat(accountOwnerCache.getOwner(101L)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should deny another user's account and look it up again after eviction")
+    void testGetTransactionById_OtherOwner_DeniedUntilEvicted() {
+        // Given
+        AccountDto accountDto = AccountDto.builder().id("101").userId(2L).build();
+        when(accountServiceClient.getAccountById("101")).thenReturn(accountDto);
+        when(transactionRepository.findById(1001L)).thenReturn(Optional.of(transaction));
+        transactionService.getTransactionById(1001L, 2L, "CUSTOMER");
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.getTransactionById(1001L, 1L, "CUSTOMER"))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        transactionService.evictAccountOwner(101L);
+        transactionService.getTransactionById(1001L, 2L, "CUSTOMER");
+        verify(accountServiceClient, times(3)).getAccountById("101");
     }
 
     @Test
@@ -198,18 +333,17 @@ class TransactionServiceTest {
         String pin = "123456";
         
         // Mock account service to return account owned by user
-        com.banking.transaction.dto.AccountDto accountDto = new com.banking.transaction.dto.AccountDto();
-        accountDto.setId("999");
-        accountDto.setUserId(userId);
+        AccountDto accountDto = AccountDto.builder().id("999").userId(userId).build();
         when(accountServiceClient.getAccountById(String.valueOf(accountId))).thenReturn(accountDto);
         
         // Mock PIN validation
         when(registerServiceClient.validatePin(userId, pin)).thenReturn(true);
         
-        when(transactionRepository.findByAccountIdOrderByTimestampDesc(accountId)).thenReturn(Arrays.asList());
+        when(transactionRepository.findByAccountIdOrderByTimestampDescIdDesc(accountId, Limit.of(51))).thenReturn(Arrays.asList());
 
         // When
-        List<TransactionDto> result = transactionService.getTransactionsByAccountId(accountId, pin, userId, role);
+        List<TransactionDto> result = transactionService.getTransactionsByAccountId(accountId, pin, userId, role, null, 50)
+                .getTransactions();
 
         // Then
         assertThat(result).isNotNull();
@@ -217,7 +351,60 @@ class TransactionServiceTest {
 
         verify(accountServiceClient, times(1)).getAccountById(String.valueOf(accountId));
         verify(registerServiceClient, times(1)).validatePin(userId, pin);
-        verify(transactionRepository, times(1)).findByAccountIdOrderByTimestampDesc(accountId);
+        verify(transactionRepository, times(1)).findByAccountIdOrderByTimestampDescIdDesc(accountId, Limit.of(51));
+    }
+
+    @Test
+    @DisplayName("Should return a cursor when more transactions follow and continue after it")
+    void testGetTransactionsByAccountId_Paginates() {
+        // Given
+        Long accountId = 101L;
+        Transaction newest = Transaction.builder().id(1003L).accountId(accountId).transactionType("DEPOSIT")
+                .amount(new BigDecimal("200.00")).timestamp(now).build();
+        Transaction middle = Transaction.builder().id(1002L).accountId(accountId).transactionType("WITHDRAWAL")
+                .amount(new BigDecimal("100.00")).timestamp(now.minusHours(1)).build();
+        Transaction oldest = Transaction.builder().id(1001L).accountId(accountId).transactionType("DEPOSIT")
+                .amount(new BigDecimal("500.00")).timestamp(now.minusHours(2)).build();
+        when(transactionRepository.findByAccountIdOrderByTimestampDescIdDesc(accountId, Limit.of(3)))
+                .thenReturn(List.of(newest, middle, oldest));
+        when(transactionRepository.findHistoryPageAfter(accountId, middle.getTimestamp(), 1002L, Limit.of(3)))
+                .thenReturn(List.of(oldest));
+
+        // When
+        TransactionPage first = transactionService.getTransactionsByAccountId(accountId, null, 2L, "TELLER", null, 2);
+        TransactionPage second = transactionService.getTransactionsByAccountId(accountId, null, 2L, "TELLER", first.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getTransactions()).extracting(TransactionDto::id).containsExactly(1003L, 1002L);
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(second.getTransactions()).extracting(TransactionDto::id).containsExactly(1001L);
+        assertThat(second.getNextCursor()).isNull();
+        verifyNoInteractions(accountServiceClient, registerServiceClient);
+    }
+
+    @Test
+    @DisplayName("Should cap the page size")
+    void testGetTransactionsByAccountId_CapsPageSize() {
+        // Given
+        when(transactionRepository.findByAccountIdOrderByTimestampDescIdDesc(101L, Limit.of(TransactionService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        // When
+        TransactionPage page = transactionService.getTransactionsByAccountId(101L, null, 2L, "TELLER", null, 100_000);
+
+        // Then
+        assertThat(page.getTransactions()).isEmpty();
+        verify(transactionRepository).findByAccountIdOrderByTimestampDescIdDesc(101L, Limit.of(TransactionService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that cannot be decoded")
+    void testGetTransactionsByAccountId_InvalidCursor() {
+        // When & Then
+        assertThatThrownBy(() -> transactionService.getTransactionsByAccountId(101L, null, 2L, "TELLER", "not-a-cursor", 50))
+                .isInstanceOf(InvalidCursorException.class);
+
+        verifyNoInteractions(transactionRepository);
     }
 
     @Test
@@ -229,9 +416,7 @@ class TransactionServiceTest {
         String role = "CUSTOMER";
         
         // Mock account service to return account owned by user
-        com.banking.transaction.dto.AccountDto accountDto = new com.banking.transaction.dto.AccountDto();
-        accountDto.setId("101");
-        accountDto.setUserId(userId);
+        AccountDto accountDto = AccountDto.builder().id("101").userId(userId).build();
         when(accountServiceClient.getAccountById("101")).thenReturn(accountDto);
         when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
 
@@ -240,11 +425,11 @@ class TransactionServiceTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo(1001L);
-        assertThat(result.getAccountId()).isEqualTo(101L);
-        assertThat(result.getType()).isEqualTo("DEPOSIT");
-        assertThat(result.getAmount()).isEqualByComparingTo(new BigDecimal("500.00"));
-        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.id()).isEqualTo(1001L);
+        assertThat(result.accountId()).isEqualTo(101L);
+        assertThat(result.type()).isEqualTo("DEPOSIT");
+        assertThat(result.amount()).isEqualByComparingTo(new BigDecimal("500.00"));
+        assertThat(result.status()).isEqualTo("COMPLETED");
 
         verify(accountServiceClient, times(1)).getAccountById("101");
         verify(transactionRepository, times(1)).findById(transactionId);
@@ -284,9 +469,7 @@ class TransactionServiceTest {
                 .build();
 
         // Mock account service to return account owned by user
-        com.banking.transaction.dto.AccountDto accountDto = new com.banking.transaction.dto.AccountDto();
-        accountDto.setId("101");
-        accountDto.setUserId(userId);
+        AccountDto accountDto = AccountDto.builder().id("101").userId(userId).build();
         when(accountServiceClient.getAccountById("101")).thenReturn(accountDto);
         when(transactionRepository.findById(1005L)).thenReturn(Optional.of(txWithRelated));
 
@@ -294,13 +477,13 @@ class TransactionServiceTest {
         TransactionDto result = transactionService.getTransactionById(1005L, userId, role);
 
         // Then
-        assertThat(result.getId()).isEqualTo(1005L);
-        assertThat(result.getAccountId()).isEqualTo(101L);
-        assertThat(result.getType()).isEqualTo("TRANSFER");
-        assertThat(result.getAmount()).isEqualByComparingTo(new BigDecimal("750.50"));
-        assertThat(result.getRelatedAccountId()).isEqualTo(102L);
-        assertThat(result.getDescription()).isEqualTo("Transfer transaction");
-        assertThat(result.getTimestamp()).isEqualTo(now);
-        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.id()).isEqualTo(1005L);
+        assertThat(result.accountId()).isEqualTo(101L);
+        assertThat(result.type()).isEqualTo("TRANSFER");
+        assertThat(result.amount()).isEqualByComparingTo(new BigDecimal("750.50"));
+        assertThat(result.relatedAccountId()).isEqualTo(102L);
+        assertThat(result.description()).isEqualTo("Transfer transaction");
+        assertThat(result.timestamp()).isEqualTo(now);
+        assertThat(result.status()).isEqualTo("COMPLETED");
     }
 }
@@ -1,13 +1,17 @@
 package com.banking.transfer.client;
 
-import com.banking.transfer.dto.AccountDto;
-import com.banking.transfer.dto.UpdateBalanceRequest;
+import com.banking.contracts.AccountDto;
+import com.banking.transfer.dto.BatchGetAccountsRequest;
+import com.banking.transfer.dto.TransferFundsRequest;
+import com.banking.transfer.dto.TransferFundsResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.Map;
+
 /**
  * Feign client for Account Service
  */
@@ -17,6 +21,12 @@ public interface AccountClient {
     @GetMapping("/accounts/{id}")
     AccountDto getAccount(@PathVariable("id") String id);
 
-    @PutMapping("/accounts/{id}/balance")
-    AccountDto updateBalance(@PathVariable("id") String id, @RequestBody UpdateBalanceRequest request);
+    /**
+     * Every requested ID is a key of the result; IDs with no account map to null
+     */
+    @PostMapping("/accounts/batch-get")
+    Map<String, AccountDto> getAccounts(@RequestBody BatchGetAccountsRequest request);
+
+    @PostMapping("/accounts/transfer")
+    TransferFundsResponse transfer(@RequestBody TransferFundsRequest request);
 }
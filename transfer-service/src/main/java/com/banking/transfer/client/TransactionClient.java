@@ -1,17 +1,22 @@
 package com.banking.transfer.client;
 
-import com.banking.transfer.dto.LogTransactionRequest;
-import com.banking.transfer.dto.TransactionDto;
+import com.banking.contracts.TransactionDto;
+import com.banking.transfer.dto.BatchLogTransactionRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+
 /**
  * Feign client for Transaction Service
  */
 @FeignClient(name = "transaction-service")
 public interface TransactionClient {
 
-    @PostMapping("/transactions")
-    TransactionDto logTransaction(@RequestBody LogTransactionRequest request);
+    /**
+     * Logs all transactions in one call and one database transaction; results are in request order
+     */
+    @PostMapping("/transactions/batch")
+    List<TransactionDto> logTransactions(@RequestBody BatchLogTransactionRequest request);
 }
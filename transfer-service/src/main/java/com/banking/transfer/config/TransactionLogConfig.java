@@ -0,0 +1,40 @@
+package com.banking.transfer.config;
+
+import com.banking.outbox.TransactionLogSender;
+import com.banking.outbox.TransactionRejectedException;
+import com.banking.transfer.client.TransactionClient;
+import com.banking.transfer.dto.BatchLogTransactionRequest;
+import feign.FeignException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Delivery of the transaction outbox (banking-outbox) through the Feign client
+ */
+@Configuration
+public class TransactionLogConfig {
+
+    /**
+     * A 4xx means transaction-service refused the batch, except for 408 and 429 which may pass on retry
+     */
+    @Bean
+    public TransactionLogSender transactionLogSender(TransactionClient transactionClient) {
+        return transactions -> {
+            try {
+                transactionClient.logTransactions(new BatchLogTransactionRequest(transactions));
+            } catch (FeignException e) {
+                if (isRejection(e.status())) {
+                    throw new TransactionRejectedException("transaction-service rejected the batch: " + e.getMessage(), e);
+                }
+                throw e;
+            }
+        };
+    }
+
+    private static boolean isRejection(int status) {
+        return status >= 400 && status < 500
+                && status != HttpStatus.REQUEST_TIMEOUT.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+}
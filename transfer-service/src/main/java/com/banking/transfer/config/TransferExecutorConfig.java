@@ -0,0 +1,50 @@
+package com.banking.transfer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor for the remote validation calls TransferService issues in parallel:
+ * a bounded platform-thread pool by default, virtual threads under the virtual-threads profile
+ */
+@Configuration
+public class TransferExecutorConfig {
+
+    /**
+     * Each transfer occupies up to three threads for the length of its slowest validation call.
+     * When the pool and queue are full the request thread makes the call itself, so overload
+     * degrades to the sequential behaviour instead of failing transfers.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor transferValidationExecutor(
+            @Value("${transfer.validation.pool-size:32}") int poolSize,
+            @Value("${transfer.validation.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("transfer-validation-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * With spring.threads.virtual.enabled on Java 21+ every validation call gets its own virtual
+     * thread; blocking in Feign costs no platform thread, so there is no pool to size
+     */
+    @Bean("transferValidationExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualTransferValidationExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("transfer-validation-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
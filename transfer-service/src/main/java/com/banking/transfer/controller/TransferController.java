@@ -1,9 +1,11 @@
 package com.banking.transfer.controller;
 
+import com.banking.outbox.idempotency.IdempotencyStore;
 import com.banking.transfer.dto.TransferRequest;
 import com.banking.transfer.dto.TransferResponse;
 import com.banking.transfer.service.TransferService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -26,13 +28,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 public class TransferController {
 
     private final TransferService transferService;
+    private final IdempotencyStore idempotencyStore;
 
     @Operation(
             summary = "Transfer Funds",
             description = "Transfers money from one account to another. " +
                     "Requires a valid 6-digit PIN for authorization. " +
                     "Coordinates with Account Service to deduct from source, credit to destination, " +
-                    "and Transaction Service to log the transfer."
+                    "and Transaction Service to log the transfer. " +
+                    "A retry sent with the same Idempotency-Key returns the original response without transferring again."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -58,17 +62,28 @@ public class TransferController {
             @ApiResponse(
                     responseCode = "404",
                     description = "Account not found"
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Idempotency-Key already used for a different transfer"
             )
     })
     @PostMapping
     public ResponseEntity<TransferResponse> transfer(
             @Valid @RequestBody TransferRequest request,
-            @RequestHeader("X-User-Id") Long authenticatedUserId
+            @RequestHeader("X-User-Id") Long authenticatedUserId,
+            @Parameter(description = "Client-chosen key, e.g. a UUID, that makes retries of this transfer safe")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
         log.info("POST /transfer - userId: {}, from: {}, to: {}, amount: {}", 
                 authenticatedUserId, request.getFromAccountId(), request.getToAccountId(), request.getAmount());
         
-        TransferResponse response = transferService.transfer(request, authenticatedUserId);
+        // Keys are per user, so one user's key can never return another user's transfer
+        TransferResponse response = idempotencyKey != null
+                ? idempotencyStore.execute(authenticatedUserId + ":" + idempotencyKey,
+                        request.fingerprint(idempotencyStore.digestSecret(request.getPin())),
+                        pointOfNoReturn -> transferService.transfer(request, authenticatedUserId, pointOfNoReturn))
+                : transferService.transfer(request, authenticatedUserId);
         return ResponseEntity.ok(response);
     }
 
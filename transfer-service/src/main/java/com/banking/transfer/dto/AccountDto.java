@@ -1,24 +0,0 @@
-package com.banking.transfer.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-
-/**
- * Account DTO for communication with Account Service
- */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-public class AccountDto {
-    private String id;
-    private Long userId;
-    private BigDecimal balance;
-    private String accountType;
-    private LocalDateTime createdAt;
-}
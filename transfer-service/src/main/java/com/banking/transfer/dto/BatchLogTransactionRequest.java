@@ -0,0 +1,19 @@
+package com.banking.transfer.dto;
+
+import com.banking.contracts.LogTransactionRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request to log several transactions in one call
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLogTransactionRequest {
+
+    private List<LogTransactionRequest> transactions;
+}
@@ -1,31 +0,0 @@
-package com.banking.transfer.dto;
-
-import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.math.BigDecimal;
-
-/**
- * Request to log a transaction
- */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class LogTransactionRequest {
-
-    @NotNull(message = "Account ID is required")
-    private Long accountId;
-
-    @NotNull(message = "Transaction type is required")
-    private String transactionType;
-
-    @NotNull(message = "Amount is required")
-    @Positive(message = "Amount must be positive")
-    private BigDecimal amount;
-
-    private Long relatedAccountId;
-    private String description;
-}
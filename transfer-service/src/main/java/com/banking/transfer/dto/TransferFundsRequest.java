@@ -1,6 +1,5 @@
 package com.banking.transfer.dto;
 
-import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,13 +7,13 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 /**
- * Request to update account balance
+ * Request to move funds between two accounts in one account-service transaction
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class UpdateBalanceRequest {
-    
-    @NotNull(message = "Amount is required")
+public class TransferFundsRequest {
+    private String fromAccountId;
+    private String toAccountId;
     private BigDecimal amount;
 }
@@ -0,0 +1,17 @@
+package com.banking.transfer.dto;
+
+import com.banking.contracts.AccountDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Both accounts as returned by account-service after a transfer
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferFundsResponse {
+    private AccountDto fromAccount;
+    private AccountDto toAccount;
+}
@@ -34,4 +34,18 @@ public class TransferRequest {
 
     @Schema(description = "Transfer description", example = "Payment for services")
     private String description;
+
+    /**
+     * What an Idempotency-Key retry has to repeat, kept in place of the request so the PIN is not:
+     * the amount by value, so a retry sending 100.0 instead of 100.00 is replayed rather than rejected,
+     * and the PIN only as the given digest
+     */
+    public Fingerprint fingerprint(String pinDigest) {
+        return new Fingerprint(fromAccountId, toAccountId, amount != null ? amount.stripTrailingZeros() : null,
+                description, pinDigest);
+    }
+
+    public record Fingerprint(Long fromAccountId, Long toAccountId, BigDecimal amount, String description,
+                              String pinDigest) {
+    }
 }
@@ -1,5 +1,6 @@
 package com.banking.transfer.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,9 +14,14 @@ import java.math.BigDecimal;
 @Schema(description = "Transfer response")
 public class TransferResponse {
 
-    @Schema(description = "Transaction ID", example = "1002")
+    @Schema(description = "Transaction ID of the sender's leg; absent while the transfer is still in the outbox", example = "1002")
     private Long transactionId;
 
+    @Schema(description = "Idempotency key of the sender's queued leg (transaction-log.mode OUTBOX only)",
+            example = "3f2b6c1e-8d4a-4e59-9a57-0c1d2e3f4a5b")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String transactionReference;
+
     @Schema(description = "Source account ID", example = "101")
     private Long fromAccountId;
 
@@ -1,5 +1,12 @@
 package com.banking.transfer.service;
 
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.AccountErrors;
+import com.banking.contracts.LogTransactionRequest;
+import com.banking.contracts.TransactionDto;
+import com.banking.outbox.TransactionLogProperties;
+import com.banking.outbox.TransactionOutbox;
+import com.banking.outbox.idempotency.PointOfNoReturn;
 import com.banking.transfer.client.AccountClient;
 import com.banking.transfer.client.TransactionClient;
 import com.banking.transfer.client.UserClient;
@@ -9,12 +16,19 @@ import com.banking.transfer.exception.InsufficientFundsException;
 import com.banking.transfer.exception.InvalidPinException;
 import com.banking.transfer.exception.SameAccountTransferException;
 import com.banking.transfer.exception.UnauthorizedTransferException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Service for handling fund transfers between accounts
@@ -24,9 +38,14 @@ import java.math.BigDecimal;
 @Slf4j
 public class TransferService {
 
+    private static final ObjectMapper ERROR_READER = new ObjectMapper();
+
     private final AccountClient accountClient;
     private final TransactionClient transactionClient;
     private final UserClient userClient;
+    private final Executor transferValidationExecutor;
+    private final TransactionOutbox transactionOutbox;
+    private final TransactionLogProperties transactionLogProperties;
 
     /**
      * Transfer funds from one account to another
@@ -36,6 +55,14 @@ public class TransferService {
      * @return Transfer response with transaction details
      */
     public TransferResponse transfer(TransferRequest request, Long authenticatedUserId) {
+        return transfer(request, authenticatedUserId, PointOfNoReturn.NONE);
+    }
+
+    /**
+     * {@link #transfer(TransferRequest, Long)} for an idempotent request; the point of no return is
+     * reached right before the transfer is sent to Account Service
+     */
+    public TransferResponse transfer(TransferRequest request, Long authenticatedUserId, PointOfNoReturn pointOfNoReturn) {
         String fromAccountId = String.valueOf(request.getFromAccountId());
         String toAccountId = String.valueOf(request.getToAccountId());
         BigDecimal amount = request.getAmount();
@@ -43,78 +70,72 @@ public class TransferService {
         log.info("Processing transfer: from={}, to={}, amount={}", 
                 fromAccountId, toAccountId, amount);
         
-        // 1. Validate PIN
-        log.info("Validating PIN for user: {}", authenticatedUserId);
-        try {
-            Boolean isPinValid = userClient.validatePin(authenticatedUserId, request.getPin());
-            if (isPinValid == null || !isPinValid) {
-                log.error("Invalid PIN for user: {}", authenticatedUserId);
-                throw new InvalidPinException(authenticatedUserId);
-            }
-            log.info("PIN validated successfully for user: {}", authenticatedUserId);
-        } catch (FeignException.NotFound e) {
-            log.error("User not found during PIN validation: {}", authenticatedUserId);
-            throw new InvalidPinException(authenticatedUserId);
-        } catch (FeignException e) {
-            log.error("Error validating PIN with Register Service: {}", e.getMessage());
-            throw new RuntimeException("Unable to validate PIN at this time");
-        }
-        
-        // 2. Validate not transferring to the same account
+        // 1. Validate not transferring to the same account; only the PIN is checked before it, as no account is needed
         if (request.getFromAccountId().equals(request.getToAccountId())) {
+            validatePin(authenticatedUserId, request.getPin());
             log.error("Same account transfer attempted: {}", fromAccountId);
             throw new SameAccountTransferException();
         }
         
-        // 3. Validate sender account exists and user owns it
+        // 2. PIN validation and both account lookups are independent: issue them together,
+        //    so the validation phase takes as long as the slowest call instead of the sum.
+        //    The sender's owner and funds are checked (4, 5) as soon as its lookup returns,
+        //    and the receiver lookup (6) fails on its own if the account does not exist
+        CompletableFuture<Void> pinCheck = CompletableFuture.runAsync(
+                () -> validatePin(authenticatedUserId, request.getPin()), transferValidationExecutor);
+        CompletableFuture<AccountDto> senderLookup = CompletableFuture.supplyAsync(
+                () -> getAccount(fromAccountId, "Sender"), transferValidationExecutor);
+        CompletableFuture<AccountDto> senderCheck = senderLookup.thenApply(
+                account -> checkSender(account, fromAccountId, authenticatedUserId, amount));
+        CompletableFuture<AccountDto> receiverLookup = CompletableFuture.supplyAsync(
+                () -> getAccount(toAccountId, "Receiver"), transferValidationExecutor);
+        
+        // 3. The PIN gates everything: a bad PIN is reported at once, and nothing about the accounts
+        //    is reported before the PIN has passed. After that the first account failure wins.
+        //    Any failure abandons the calls still in flight
         AccountDto senderAccount;
+        AccountDto receiverAccount;
         try {
-            senderAccount = accountClient.getAccount(fromAccountId);
-            log.info("Sender account found: id={}, userId={}, balance={}", 
-                    senderAccount.getId(), senderAccount.getUserId(), senderAccount.getBalance());
-        } catch (FeignException.NotFound e) {
-            log.error("Sender account not found: {}", fromAccountId);
-            throw new AccountNotFoundException(fromAccountId);
+            await(pinCheck);
+            await(allOrFirstFailure(senderCheck, receiverLookup));
+            senderAccount = senderCheck.join();
+            receiverAccount = receiverLookup.join();
+        } catch (RuntimeException e) {
+            pinCheck.cancel(false);
+            senderLookup.cancel(false);
+            receiverLookup.cancel(false);
+            throw e;
         }
+        log.info("Sender account found: id={}, userId={}, balance={}", 
+                senderAccount.id(), senderAccount.userId(), senderAccount.balance());
+        log.info("Receiver account found: id={}, balance={}", 
+                receiverAccount.id(), receiverAccount.balance());
         
-        // 4. Verify the authenticated user owns the source account
-        if (!senderAccount.getUserId().equals(authenticatedUserId)) {
-            log.error("User {} attempted to transfer from account {} owned by user {}",
-                    authenticatedUserId, fromAccountId, senderAccount.getUserId());
-            throw new UnauthorizedTransferException(fromAccountId, authenticatedUserId);
-        }
-        
-        // 5. Validate sufficient funds
-        if (senderAccount.getBalance().compareTo(amount) < 0) {
-            log.error("Insufficient funds in account {}: balance={}, requested={}", 
-                    fromAccountId, senderAccount.getBalance(), amount);
-            throw new InsufficientFundsException(fromAccountId);
-        }
-        
-        // 6. Validate receiver account exists
-        AccountDto receiverAccount;
+        // 7. Debit sender and credit receiver atomically in account-service
+        AccountDto updatedSenderAccount;
+        AccountDto updatedReceiverAccount;
+        pointOfNoReturn.reached();
         try {
-            receiverAccount = accountClient.getAccount(toAccountId);
-            log.info("Receiver account found: id={}, balance={}", 
-                    receiverAccount.getId(), receiverAccount.getBalance());
-        } catch (FeignException.NotFound e) {
-            log.error("Receiver account not found: {}", toAccountId);
-            throw new AccountNotFoundException(toAccountId);
+            TransferFundsResponse transferResult = accountClient.transfer(
+                    new TransferFundsRequest(fromAccountId, toAccountId, amount));
+            updatedSenderAccount = transferResult.getFromAccount();
+            updatedReceiverAccount = transferResult.getToAccount();
+        } catch (FeignException.BadRequest e) {
+            if (!isInsufficientFunds(e)) {
+                throw e;
+            }
+            // Balance was checked above, so this is a concurrent debit winning the race
+            log.error("Transfer rejected by Account Service for account {}: {}", fromAccountId, e.getMessage());
+            throw new InsufficientFundsException(fromAccountId);
         }
+        LocalDateTime movedAt = LocalDateTime.now();
+        log.info("Moved {} from account {} (new balance: {}) to account {} (new balance: {})", 
+                amount, fromAccountId, updatedSenderAccount.balance(), 
+                toAccountId, updatedReceiverAccount.balance());
         
-        // 7. Deduct from sender
-        UpdateBalanceRequest deductRequest = new UpdateBalanceRequest(amount.negate());
-        AccountDto updatedSenderAccount = accountClient.updateBalance(fromAccountId, deductRequest);
-        log.info("Deducted {} from account {}, new balance: {}", 
-                amount, fromAccountId, updatedSenderAccount.getBalance());
-        
-        // 8. Add to receiver
-        UpdateBalanceRequest addRequest = new UpdateBalanceRequest(amount);
-        AccountDto updatedReceiverAccount = accountClient.updateBalance(toAccountId, addRequest);
-        log.info("Added {} to account {}, new balance: {}", 
-                amount, toAccountId, updatedReceiverAccount.getBalance());
-        
-        // 9. Log transaction for sender (withdrawal)
+        // 8. Log both legs (sender withdrawal, receiver deposit) in one batch; with transaction-log.mode
+        //    OUTBOX both are queued locally in one transaction and delivered in the background. Both carry
+        //    the time the money moved, so a late delivery does not change when the transfer happened
         LogTransactionRequest senderTransaction = new LogTransactionRequest(
                 request.getFromAccountId(),
                 "TRANSFER_OUT",
@@ -122,12 +143,10 @@ public class TransferService {
                 request.getToAccountId(),
                 request.getDescription() != null 
                     ? request.getDescription() 
-                    : "Transfer to account " + toAccountId
+                    : "Transfer to account " + toAccountId,
+                null,
+                movedAt
         );
-        TransactionDto senderTxn = transactionClient.logTransaction(senderTransaction);
-        log.info("Logged sender transaction: {}", senderTxn.getId());
-        
-        // 10. Log transaction for receiver (deposit)
         LogTransactionRequest receiverTransaction = new LogTransactionRequest(
                 request.getToAccountId(),
                 "TRANSFER_IN",
@@ -135,23 +154,124 @@ public class TransferService {
                 request.getFromAccountId(),
                 request.getDescription() != null 
                     ? request.getDescription() 
-                    : "Transfer from account " + fromAccountId
+                    : "Transfer from account " + fromAccountId,
+                null,
+                movedAt
         );
-        TransactionDto receiverTxn = transactionClient.logTransaction(receiverTransaction);
-        log.info("Logged receiver transaction: {}", receiverTxn.getId());
+        Long transactionId = null;
+        String transactionReference = null;
+        if (transactionLogProperties.getMode() == TransactionLogProperties.Mode.OUTBOX) {
+            List<String> keys = transactionOutbox.enqueue(List.of(senderTransaction, receiverTransaction));
+            transactionReference = keys.get(0);
+            log.info("Queued sender transaction: {}, receiver transaction: {}", keys.get(0), keys.get(1));
+        } else {
+            List<TransactionDto> loggedTransactions = transactionClient.logTransactions(
+                    new BatchLogTransactionRequest(List.of(senderTransaction, receiverTransaction)));
+            TransactionDto senderTxn = loggedTransactions.get(0);
+            TransactionDto receiverTxn = loggedTransactions.get(1);
+            transactionId = senderTxn.id();
+            log.info("Logged sender transaction: {}, receiver transaction: {}", senderTxn.id(), receiverTxn.id());
+        }
         
-        // 11. Build response
+        // 9. Build response
         TransferResponse response = new TransferResponse(
-                senderTxn.getId(),
+                transactionId,
+                transactionReference,
                 request.getFromAccountId(),
                 request.getToAccountId(),
                 amount,
-                updatedSenderAccount.getBalance(),
-                updatedReceiverAccount.getBalance(),
+                updatedSenderAccount.balance(),
+                updatedReceiverAccount.balance(),
                 "Transfer successful"
         );
         
-        log.info("Transfer completed successfully: txnId={}", senderTxn.getId());
+        log.info("Transfer completed successfully: txnId={}", transactionId != null ? transactionId : transactionReference);
         return response;
     }
+
+    private void validatePin(Long authenticatedUserId, String pin) {
+        log.info("Validating PIN for user: {}", authenticatedUserId);
+        try {
+            Boolean isPinValid = userClient.validatePin(authenticatedUserId, pin);
+            if (isPinValid == null || !isPinValid) {
+                log.error("Invalid PIN for user: {}", authenticatedUserId);
+                throw new InvalidPinException(authenticatedUserId);
+            }
+            log.info("PIN validated successfully for user: {}", authenticatedUserId);
+        } catch (FeignException.NotFound e) {
+            log.error("User not found during PIN validation: {}", authenticatedUserId);
+            throw new InvalidPinException(authenticatedUserId);
+        } catch (FeignException e) {
+            log.error("Error validating PIN with Register Service: {}", e.getMessage());
+            throw new RuntimeException("Unable to validate PIN at this time");
+        }
+    }
+
+    private AccountDto checkSender(AccountDto senderAccount, String fromAccountId, Long authenticatedUserId,
+                                   BigDecimal amount) {
+        // 4. Verify the authenticated user owns the source account
+        if (!senderAccount.userId().equals(authenticatedUserId)) {
+            log.error("User {} attempted to transfer from account {} owned by user {}",
+                    authenticatedUserId, fromAccountId, senderAccount.userId());
+            throw new UnauthorizedTransferException(fromAccountId, authenticatedUserId);
+        }
+        
+        // 5. Validate sufficient funds
+        if (senderAccount.balance().compareTo(amount) < 0) {
+            log.error("Insufficient funds in account {}: balance={}, requested={}", 
+                    fromAccountId, senderAccount.balance(), amount);
+            throw new InsufficientFundsException(fromAccountId);
+        }
+        return senderAccount;
+    }
+
+    private AccountDto getAccount(String accountId, String role) {
+        try {
+            return accountClient.getAccount(accountId);
+        } catch (FeignException.NotFound e) {
+            log.error("{} account not found: {}", role, accountId);
+            throw new AccountNotFoundException(accountId);
+        }
+    }
+
+    /**
+     * Whether Account Service rejected the transfer for the balance; its other 400s (same account,
+     * malformed body) are not the caller's funds and stay Feign errors
+     */
+    private static boolean isInsufficientFunds(FeignException.BadRequest e) {
+        try {
+            return AccountErrors.INSUFFICIENT_FUNDS.equals(ERROR_READER.readTree(e.contentUTF8()).path("error").asText());
+        } catch (JsonProcessingException notJson) {
+            return false;
+        }
+    }
+
+    /**
+     * Completes once all futures have, or exceptionally as soon as any of them fails
+     */
+    private static CompletableFuture<Void> allOrFirstFailure(CompletableFuture<?>... futures) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures);
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    all.completeExceptionally(failure);
+                }
+            });
+        }
+        return all;
+    }
+
+    /**
+     * Wait for a validation call and rethrow its exception as the caller would have seen it
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 }
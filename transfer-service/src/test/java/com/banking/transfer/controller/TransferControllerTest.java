@@ -1,5 +1,7 @@
 package com.banking.transfer.controller;
 
+import com.banking.outbox.idempotency.IdempotencyStore;
+import com.banking.outbox.idempotency.PointOfNoReturn;
 import com.banking.transfer.dto.TransferRequest;
 import com.banking.transfer.dto.TransferResponse;
 import com.banking.transfer.exception.AccountNotFoundException;
@@ -7,11 +9,13 @@ import com.banking.transfer.exception.InsufficientFundsException;
 import com.banking.transfer.exception.SameAccountTransferException;
 import com.banking.transfer.service.TransferService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -28,6 +32,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Controller tests for TransferController
  */
 @WebMvcTest(TransferController.class)
+@Import({IdempotencyStore.class, SimpleMeterRegistry.class})
 class TransferControllerTest {
 
     private static final Long AUTHENTICATED_USER_ID = 1L;
@@ -56,6 +61,7 @@ class TransferControllerTest {
 
         transferResponse = new TransferResponse(
                 1001L,
+                null,
                 101L,
                 102L,
                 new BigDecimal("500.00"),
@@ -248,4 +254,85 @@ class TransferControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("Transfer Service is running"));
     }
+
+    @Test
+    void testTransfer_RetryWithSameIdempotencyKey_ReturnsOriginalResponseWithoutTransferringAgain() throws Exception {
+        // Given
+        when(transferService.transfer(any(TransferRequest.class), any(Long.class), any(PointOfNoReturn.class))).thenReturn(transferResponse);
+
+        // When
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/transfer")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("X-User-Id", AUTHENTICATED_USER_ID)
+                            .header("Idempotency-Key", "transfer-retry-1")
+                            .content(objectMapper.writeValueAsString(validRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.transactionId", is(1001)));
+        }
+
+        // Then
+        verify(transferService, times(1)).transfer(any(TransferRequest.class), any(Long.class), any(PointOfNoReturn.class));
+    }
+
+    @Test
+    void testTransfer_SameIdempotencyKeyFromAnotherUser_IsNotReplayed() throws Exception {
+        // Given
+        when(transferService.transfer(any(TransferRequest.class), any(Long.class), any(PointOfNoReturn.class))).thenReturn(transferResponse);
+
+        // When
+        for (long userId : new long[]{AUTHENTICATED_USER_ID, AUTHENTICATED_USER_ID + 1}) {
+            mockMvc.perform(post("/transfer")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("X-User-Id", userId)
+                            .header("Idempotency-Key", "transfer-shared-1")
+                            .content(objectMapper.writeValueAsString(validRequest)))
+                    .andExpect(status().isOk());
+        }
+
+        // Then
+        verify(transferService, times(2)).transfer(any(TransferRequest.class), any(Long.class), any(PointOfNoReturn.class));
+    }
+
+    @Test
+    void testTransfer_RetryWithAmountInAnotherScale_IsReplayed() throws Exception {
+        // Given
+        when(transferService.transfer(any(TransferRequest.class), any(Long.class), any(PointOfNoReturn.class))).thenReturn(transferResponse);
+
+        // When
+        for (String amount : new String[]{"500.00", "500.0"}) {
+            validRequest.setAmount(new BigDecimal(amount));
+            mockMvc.perform(post("/transfer")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("X-User-Id", AUTHENTICATED_USER_ID)
+                            .header("Idempotency-Key", "transfer-scale-1")
+                            .content(objectMapper.writeValueAsString(validRequest)))
+                    .andExpect(status().isOk());
+        }
+
+        // Then
+        verify(transferService, times(1)).transfer(any(TransferRequest.class), any(Long.class), any(PointOfNoReturn.class));
+    }
+
+    @Test
+    void testTransfer_RetryWithAnotherPin_Returns422() throws Exception {
+        // Given
+        when(transferService.transfer(any(TransferRequest.class), any(Long.class), any(PointOfNoReturn.class))).thenReturn(transferResponse);
+        mockMvc.perform(post("/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-User-Id", AUTHENTICATED_USER_ID)
+                        .header("Idempotency-Key", "transfer-pin-1")
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isOk());
+        validRequest.setPin("654321");
+
+        // When & Then - the PIN is compared by digest, not kept
+        mockMvc.perform(post("/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-User-Id", AUTHENTICATED_USER_ID)
+                        .header("Idempotency-Key", "transfer-pin-1")
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isUnprocessableEntity());
+        verify(transferService, times(1)).transfer(any(TransferRequest.class), any(Long.class), any(PointOfNoReturn.class));
+    }
 }
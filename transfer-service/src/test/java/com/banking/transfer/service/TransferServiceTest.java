@@ -1,11 +1,17 @@
 package com.banking.transfer.service;
 
+import com.banking.contracts.AccountDto;
+import com.banking.contracts.TransactionDto;
+import com.banking.outbox.TransactionLogProperties;
+import com.banking.outbox.TransactionOutbox;
+import com.banking.outbox.idempotency.PointOfNoReturn;
 import com.banking.transfer.client.AccountClient;
 import com.banking.transfer.client.TransactionClient;
 import com.banking.transfer.client.UserClient;
 import com.banking.transfer.dto.*;
 import com.banking.transfer.exception.AccountNotFoundException;
 import com.banking.transfer.exception.InsufficientFundsException;
+import com.banking.transfer.exception.InvalidPinException;
 import com.banking.transfer.exception.SameAccountTransferException;
 import com.banking.transfer.exception.UnauthorizedTransferException;
 import feign.FeignException;
@@ -14,18 +20,27 @@ import feign.RequestTemplate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -45,6 +60,15 @@ class TransferServiceTest {
     @Mock
     private UserClient userClient;
 
+    @Spy
+    private Executor transferValidationExecutor = new SyncTaskExecutor();
+
+    @Mock
+    private TransactionOutbox transactionOutbox;
+
+    @Spy
+    private TransactionLogProperties transactionLogProperties = new TransactionLogProperties();
+
     @InjectMocks
     private TransferService transferService;
 
@@ -107,7 +131,7 @@ class TransferServiceTest {
         senderTransaction = TransactionDto.builder()
                 .id(1001L)
                 .accountId(101L)
-                .transactionType("TRANSFER_OUT")
+                .type("TRANSFER_OUT")
                 .amount(new BigDecimal("500.00"))
                 .relatedAccountId(102L)
                 .description("Payment for services")
@@ -118,7 +142,7 @@ class TransferServiceTest {
         receiverTransaction = TransactionDto.builder()
                 .id(1002L)
                 .accountId(102L)
-                .transactionType("TRANSFER_IN")
+                .type("TRANSFER_IN")
                 .amount(new BigDecimal("500.00"))
                 .relatedAccountId(101L)
                 .description("Payment for services")
@@ -127,18 +151,15 @@ class TransferServiceTest {
     }
 
     @Test
-    void testTransfer_Success_UpdatesBothAccountsAndLogsTransactions() {
+    void testTransfer_Success_TransfersInSingleCallAndLogsTransactions() {
         // Given
         when(userClient.validatePin(AUTHENTICATED_USER_ID, "123456")).thenReturn(true);
         when(accountClient.getAccount("101")).thenReturn(senderAccount);
         when(accountClient.getAccount("102")).thenReturn(receiverAccount);
-        when(accountClient.updateBalance(eq("101"), any(UpdateBalanceRequest.class)))
-                .thenReturn(updatedSenderAccount);
-        when(accountClient.updateBalance(eq("102"), any(UpdateBalanceRequest.class)))
-                .thenReturn(updatedReceiverAccount);
-        when(transactionClient.logTransaction(any(LogTransactionRequest.class)))
-                .thenReturn(senderTransaction)
-                .thenReturn(receiverTransaction);
+        when(accountClient.transfer(new TransferFundsRequest("101", "102", new BigDecimal("500.00"))))
+                .thenReturn(new TransferFundsResponse(updatedSenderAccount, updatedReceiverAccount));
+        when(transactionClient.logTransactions(any(BatchLogTransactionRequest.class)))
+                .thenReturn(List.of(senderTransaction, receiverTransaction));
 
         // When
         TransferResponse response = transferService.transfer(transferRequest, AUTHENTICATED_USER_ID);
@@ -156,9 +177,58 @@ class TransferServiceTest {
         // Verify interactions
         verify(accountClient).getAccount("101");
         verify(accountClient).getAccount("102");
-        verify(accountClient).updateBalance(eq("101"), any(UpdateBalanceRequest.class));
-        verify(accountClient).updateBalance(eq("102"), any(UpdateBalanceRequest.class));
-        verify(transactionClient, times(2)).logTransaction(any(LogTransactionRequest.class));
+        verify(accountClient, times(1)).transfer(any(TransferFundsRequest.class));
+        verify(transactionClient, times(1)).logTransactions(argThat(batch ->
+                batch.getTransactions().size() == 2
+                        && batch.getTransactions().get(0).transactionType().equals("TRANSFER_OUT")
+                        && batch.getTransactions().get(1).transactionType().equals("TRANSFER_IN")));
+    }
+
+    @Test
+    void testTransfer_OutboxMode_QueuesBothLegsInsteadOfCallingTransactionService() {
+        // Given
+        transactionLogProperties.setMode(TransactionLogProperties.Mode.OUTBOX);
+        when(userClient.validatePin(AUTHENTICATED_USER_ID, "123456")).thenReturn(true);
+        when(accountClient.getAccount("101")).thenReturn(senderAccount);
+        when(accountClient.getAccount("102")).thenReturn(receiverAccount);
+        when(accountClient.transfer(new TransferFundsRequest("101", "102", new BigDecimal("500.00"))))
+                .thenReturn(new TransferFundsResponse(updatedSenderAccount, updatedReceiverAccount));
+        when(transactionOutbox.enqueue(anyList())).thenReturn(List.of("sender-key", "receiver-key"));
+
+        // When
+        TransferResponse response = transferService.transfer(transferRequest, AUTHENTICATED_USER_ID);
+
+        // Then
+        assertThat(response.getTransactionId()).isNull();
+        assertThat(response.getTransactionReference()).isEqualTo("sender-key");
+        assertThat(response.getFromAccountNewBalance()).isEqualByComparingTo(new BigDecimal("1000.00"));
+        verify(transactionOutbox).enqueue(argThat(legs -> legs.size() == 2
+                && legs.get(0).transactionType().equals("TRANSFER_OUT")
+                && legs.get(1).transactionType().equals("TRANSFER_IN")));
+        verifyNoInteractions(transactionClient);
+    }
+
+    @Test
+    void testTransfer_ReachesPointOfNoReturnOnlyAfterValidation() {
+        // Given
+        PointOfNoReturn pointOfNoReturn = mock(PointOfNoReturn.class);
+        when(userClient.validatePin(AUTHENTICATED_USER_ID, "123456")).thenReturn(true);
+        when(accountClient.getAccount("101")).thenReturn(senderAccount);
+        when(accountClient.getAccount("102")).thenReturn(receiverAccount);
+        when(accountClient.transfer(new TransferFundsRequest("101", "102", new BigDecimal("500.00"))))
+                .thenReturn(new TransferFundsResponse(updatedSenderAccount, updatedReceiverAccount));
+        when(transactionClient.logTransactions(any(BatchLogTransactionRequest.class)))
+                .thenThrow(new IllegalStateException("Transaction Service unavailable"));
+
+        // When
+        assertThatThrownBy(() -> transferService.transfer(transferRequest, AUTHENTICATED_USER_ID, pointOfNoReturn))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Then - the money moved before the failure, so the failure must not release the key
+        InOrder inOrder = inOrder(accountClient, pointOfNoReturn, transactionClient);
+        inOrder.verify(pointOfNoReturn).reached();
+        inOrder.verify(accountClient).transfer(any(TransferFundsRequest.class));
+        inOrder.verify(transactionClient).logTransactions(any(BatchLogTransactionRequest.class));
     }
 
     @Test
@@ -179,11 +249,11 @@ class TransferServiceTest {
         assertThatThrownBy(() -> transferService.transfer(transferRequest, AUTHENTICATED_USER_ID))
                 .isInstanceOf(InsufficientFundsException.class);
 
-        // Verify that we only fetched the sender account and didn't proceed further
+        // The receiver lookup runs alongside the sender lookup, but nothing is moved
         verify(accountClient).getAccount("101");
-        verify(accountClient, never()).getAccount("102");
-        verify(accountClient, never()).updateBalance(anyString(), any());
-        verify(transactionClient, never()).logTransaction(any());
+        verify(accountClient).getAccount("102");
+        verify(accountClient, never()).transfer(any());
+        verify(transactionClient, never()).logTransactions(any());
     }
 
     @Test
@@ -205,8 +275,8 @@ class TransferServiceTest {
 
         // Verify that no external calls were made
         verify(accountClient, never()).getAccount(anyString());
-        verify(accountClient, never()).updateBalance(anyString(), any());
-        verify(transactionClient, never()).logTransaction(any());
+        verify(accountClient, never()).transfer(any());
+        verify(transactionClient, never()).logTransactions(any());
     }
 
     @Test
@@ -225,11 +295,11 @@ class TransferServiceTest {
                 .isInstanceOf(AccountNotFoundException.class)
                 .hasMessageContaining("101");
 
-        // Verify that we only tried to fetch the sender account
+        // The receiver lookup runs alongside the sender lookup, but nothing is moved
         verify(accountClient).getAccount("101");
-        verify(accountClient, never()).getAccount("102");
-        verify(accountClient, never()).updateBalance(anyString(), any());
-        verify(transactionClient, never()).logTransaction(any());
+        verify(accountClient).getAccount("102");
+        verify(accountClient, never()).transfer(any());
+        verify(transactionClient, never()).logTransactions(any());
     }
 
     @Test
@@ -246,15 +316,17 @@ class TransferServiceTest {
         when(accountClient.getAccount("102")).thenThrow(notFound);
 
         // When & Then
-        assertThatThrownBy(() -> transferService.transfer(transferRequest, AUTHENTICATED_USER_ID))
+        PointOfNoReturn pointOfNoReturn = mock(PointOfNoReturn.class);
+        assertThatThrownBy(() -> transferService.transfer(transferRequest, AUTHENTICATED_USER_ID, pointOfNoReturn))
                 .isInstanceOf(AccountNotFoundException.class)
                 .hasMessageContaining("102");
 
         // Verify interactions
         verify(accountClient).getAccount("101");
         verify(accountClient).getAccount("102");
-        verify(accountClient, never()).updateBalance(anyString(), any());
-        verify(transactionClient, never()).logTransaction(any());
+        verify(accountClient, never()).transfer(any());
+        verify(transactionClient, never()).logTransactions(any());
+        verify(pointOfNoReturn, never()).reached();
     }
 
     @Test
@@ -270,10 +342,149 @@ class TransferServiceTest {
                 .hasMessageContaining("999")
                 .hasMessageContaining("101");
 
-        // Verify that we only fetched the sender account and didn't proceed further
+        // The receiver lookup runs alongside the sender lookup, but nothing is moved
         verify(accountClient).getAccount("101");
-        verify(accountClient, never()).getAccount("102");
-        verify(accountClient, never()).updateBalance(anyString(), any());
-        verify(transactionClient, never()).logTransaction(any());
+        verify(accountClient).getAccount("102");
+        verify(accountClient, never()).transfer(any());
+        verify(transactionClient, never()).logTransactions(any());
+    }
+
+    @Test
+    void testTransfer_ConcurrentDebitRejectedByAccountService_ThrowsInsufficientFunds() {
+        // Given - balance looked sufficient but account-service rejects the debit
+        Request request = Request.create(Request.HttpMethod.POST, "/accounts/transfer",
+                new HashMap<>(), null, new RequestTemplate());
+        FeignException.BadRequest badRequest = new FeignException.BadRequest(
+                "Insufficient funds", request,
+                "{\"status\":400,\"error\":\"Insufficient Funds\",\"message\":\"Insufficient funds. Current balance: 0\"}"
+                        .getBytes(StandardCharsets.UTF_8), null);
+
+        when(userClient.validatePin(AUTHENTICATED_USER_ID, "123456")).thenReturn(true);
+        when(accountClient.getAccount("101")).thenReturn(senderAccount);
+        when(accountClient.getAccount("102")).thenReturn(receiverAccount);
+        when(accountClient.transfer(any(TransferFundsRequest.class))).thenThrow(badRequest);
+
+        // When & Then
+        assertThatThrownBy(() -> transferService.transfer(transferRequest, AUTHENTICATED_USER_ID))
+                .isInstanceOf(InsufficientFundsException.class)
+                .hasMessageContaining("101");
+
+        verify(transactionClient, never()).logTransactions(any());
+    }
+
+    @Test
+    void testTransfer_OtherBadRequestFromAccountService_IsNotInsufficientFunds() {
+        // Given - account-service rejects the transfer for a reason other than the balance
+        Request request = Request.create(Request.HttpMethod.POST, "/accounts/transfer",
+                new HashMap<>(), null, new RequestTemplate());
+        FeignException.BadRequest badRequest = new FeignException.BadRequest(
+                "Bad request", request,
+                "{\"status\":400,\"error\":\"Bad Request\",\"message\":\"Cannot transfer to the same account\"}"
+                        .getBytes(StandardCharsets.UTF_8), null);
+
+        when(userClient.validatePin(AUTHENTICATED_USER_ID, "123456")).thenReturn(true);
+        when(accountClient.getAccount("101")).thenReturn(senderAccount);
+        when(accountClient.getAccount("102")).thenReturn(receiverAccount);
+        when(accountClient.transfer(any(TransferFundsRequest.class))).thenThrow(badRequest);
+
+        // When & Then
+        assertThatThrownBy(() -> transferService.transfer(transferRequest, AUTHENTICATED_USER_ID))
+                .isSameAs(badRequest);
+
+        verify(transactionClient, never()).logTransactions(any());
+    }
+
+    @Test
+    void testTransfer_InvalidPinAndMissingAccount_ReportsInvalidPin() {
+        // Given - both the PIN check and the sender lookup fail
+        Request request = Request.create(Request.HttpMethod.GET, "/accounts/101",
+                new HashMap<>(), null, new RequestTemplate());
+        when(userClient.validatePin(AUTHENTICATED_USER_ID, "123456")).thenReturn(false);
+        when(accountClient.getAccount("101")).thenThrow(new FeignException.NotFound(
+                "Account not found", request, null, null));
+
+        // When & Then - the PIN failure wins, as when the checks ran one after another
+        assertThatThrownBy(() -> transferService.transfer(transferRequest, AUTHENTICATED_USER_ID))
+                .isInstanceOf(InvalidPinException.class);
+
+        verify(accountClient, never()).transfer(any());
+    }
+
+    @Test
+    void testTransfer_ValidationCallsRunConcurrently() {
+        // Given - each validation call only returns once all three are in flight
+        CountDownLatch allStarted = new CountDownLatch(3);
+        when(userClient.validatePin(AUTHENTICATED_USER_ID, "123456")).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return true;
+        });
+        when(accountClient.getAccount("101")).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return senderAccount;
+        });
+        when(accountClient.getAccount("102")).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return receiverAccount;
+        });
+        when(accountClient.transfer(any(TransferFundsRequest.class)))
+                .thenReturn(new TransferFundsResponse(updatedSenderAccount, updatedReceiverAccount));
+        when(transactionClient.logTransactions(any(BatchLogTransactionRequest.class)))
+                .thenReturn(List.of(senderTransaction, receiverTransaction));
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            TransferService parallelTransferService = new TransferService(accountClient, transactionClient, userClient, pool,
+                    transactionOutbox, transactionLogProperties);
+
+            // When
+            TransferResponse response = parallelTransferService.transfer(transferRequest, AUTHENTICATED_USER_ID);
+
+            // Then
+            assertThat(response.getMessage()).isEqualTo("Transfer successful");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testTransfer_InvalidPin_WinsOverAccountFailuresThatCompleteFirst() {
+        // Given - both account lookups fail before the PIN check returns
+        CountDownLatch accountLookupsFailed = new CountDownLatch(2);
+        when(userClient.validatePin(AUTHENTICATED_USER_ID, "123456")).thenAnswer(invocation -> {
+            accountLookupsFailed.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+        AccountDto otherUsersAccount = new AccountDto("101", 999L, new BigDecimal("1000.00"), "SAVINGS", null);
+        when(accountClient.getAccount("101")).thenAnswer(invocation -> {
+            accountLookupsFailed.countDown();
+            return otherUsersAccount;
+        });
+        Request request = Request.create(Request.HttpMethod.GET, "/accounts/102",
+                new HashMap<>(), null, new RequestTemplate());
+        when(accountClient.getAccount("102")).thenAnswer(invocation -> {
+            accountLookupsFailed.countDown();
+            throw new FeignException.NotFound("Account not found", request, null, null);
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            TransferService parallelTransferService = new TransferService(accountClient, transactionClient, userClient, pool,
+                    transactionOutbox, transactionLogProperties);
+
+            // When & Then - no account information comes back without a valid PIN
+            assertThatThrownBy(() -> parallelTransferService.transfer(transferRequest, AUTHENTICATED_USER_ID))
+                    .isInstanceOf(InvalidPinException.class);
+            assertThat(accountLookupsFailed.getCount()).isZero();
+            verify(accountClient, never()).transfer(any());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitOthers(CountDownLatch allStarted) throws InterruptedException {
+        allStarted.countDown();
+        if (!allStarted.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Validation calls did not overlap");
+        }
     }
 }